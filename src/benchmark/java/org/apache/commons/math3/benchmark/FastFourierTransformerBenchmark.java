@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.transform.DftNormalization;
+import org.apache.commons.math3.transform.FastFourierTransformer;
+import org.apache.commons.math3.transform.FourierTransformPlan;
+import org.apache.commons.math3.transform.TransformType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for fast Fourier transforms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastFourierTransformerBenchmark {
+
+    /** Transform size (powers of two, mixed radix and prime sizes). */
+    @Param({ "1024", "65536", "1000", "44100", "1009" })
+    public int size;
+
+    /** Transformer. */
+    private FastFourierTransformer transformer;
+
+    /** Plan for power of two sizes, null for other sizes. */
+    private FourierTransformPlan plan;
+
+    /** Real signal. */
+    private double[] signal;
+
+    /** Workspace for real parts. */
+    private double[] re;
+
+    /** Workspace for imaginary parts. */
+    private double[] im;
+
+    /** Build the signal. */
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0x71c4e3a92b5f0d68L);
+        transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+        plan = ((size & (size - 1)) == 0) ? new FourierTransformPlan(size, DftNormalization.STANDARD) : null;
+        signal = new double[size];
+        for (int i = 0; i < size; ++i) {
+            signal[i] = 2 * random.nextDouble() - 1;
+        }
+        re = new double[size];
+        im = new double[size];
+    }
+
+    /**
+     * Transform producing {@link Complex} instances.
+     * @return transform
+     */
+    @Benchmark
+    public Complex[] transformComplexArray() {
+        return transformer.transform(signal, TransformType.FORWARD);
+    }
+
+    /**
+     * In-place transform on split arrays.
+     * @return real parts of the transform
+     */
+    @Benchmark
+    public double[] transformSplitArrays() {
+        System.arraycopy(signal, 0, re, 0, size);
+        Arrays.fill(im, 0.0);
+        transformer.transform(re, im, TransformType.FORWARD);
+        return re;
+    }
+
+    /**
+     * Real to half-complex transform using a precomputed plan (power of two sizes only).
+     * @return real parts of the transform
+     */
+    @Benchmark
+    public double[] transformRealPlan() {
+        if (plan == null) {
+            return re;
+        }
+        final int half = size / 2 + 1;
+        final double[] outRe = new double[half];
+        final double[] outIm = new double[half];
+        plan.transformReal(signal, outRe, outIm);
+        return outRe;
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks comparing {@link FastMath} with {@link Math}.
+ * <p>
+ * Each invocation evaluates the function on a fixed array of arguments
+ * and returns the sum of the results, so the figures are given per call.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastMathBenchmark {
+
+    /** Number of arguments. */
+    private static final int SIZE = 1024;
+
+    /** Arguments in [-10; 10]. */
+    private double[] x;
+
+    /** Positive arguments in ]0; 100]. */
+    private double[] positive;
+
+    /** Build the arguments. */
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0x4b2e9d7a1f3c8065L);
+        x = new double[SIZE];
+        positive = new double[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            x[i]        = 20 * random.nextDouble() - 10;
+            positive[i] = 100 * (1 - random.nextDouble());
+        }
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathExp() {
+        double sum = 0;
+        for (final double v : x) {
+            sum += FastMath.exp(v);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathExp() {
+        double sum = 0;
+        for (final double v : x) {
+            sum += Math.exp(v);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathLog() {
+        double sum = 0;
+        for (final double v : positive) {
+            sum += FastMath.log(v);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathLog() {
+        double sum = 0;
+        for (final double v : positive) {
+            sum += Math.log(v);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathSin() {
+        double sum = 0;
+        for (final double v : x) {
+            sum += FastMath.sin(v);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathSin() {
+        double sum = 0;
+        for (final double v : x) {
+            sum += Math.sin(v);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathPow() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.pow(positive[i], x[i]);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathPow() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.pow(positive[i], x[i]);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double fastMathAtan2() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.atan2(x[i], positive[i]);
+        }
+        return sum;
+    }
+
+    /** @return sum of results */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double mathAtan2() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.atan2(x[i], positive[i]);
+        }
+        return sum;
+    }
+
+}
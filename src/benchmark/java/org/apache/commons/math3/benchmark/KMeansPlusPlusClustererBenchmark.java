@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.ml.clustering.CentroidCluster;
+import org.apache.commons.math3.ml.clustering.DoublePoint;
+import org.apache.commons.math3.ml.clustering.KMeansPlusPlusClusterer;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for k-means++ clustering.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KMeansPlusPlusClustererBenchmark {
+
+    /** Number of points. */
+    @Param({ "1000", "20000" })
+    public int size;
+
+    /** Number of clusters. */
+    @Param({ "8", "32" })
+    public int k;
+
+    /** Dimension of the points. */
+    private static final int DIMENSION = 4;
+
+    /** Points to cluster. */
+    private List<DoublePoint> points;
+
+    /** Build the points, as gaussian blobs around random centers. */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937c(0x1b873593cc9e2d51L);
+        final double[][] centers = new double[k][DIMENSION];
+        for (final double[] center : centers) {
+            for (int j = 0; j < DIMENSION; ++j) {
+                center[j] = 100 * random.nextDouble();
+            }
+        }
+        points = new ArrayList<DoublePoint>(size);
+        for (int i = 0; i < size; ++i) {
+            final double[] center = centers[i % k];
+            final double[] p = new double[DIMENSION];
+            for (int j = 0; j < DIMENSION; ++j) {
+                p[j] = center[j] + 3 * random.nextGaussian();
+            }
+            points.add(new DoublePoint(p));
+        }
+    }
+
+    /**
+     * Cluster the points, with a fixed seed so each invocation does the same work.
+     * @return clusters
+     */
+    @Benchmark
+    public List<CentroidCluster<DoublePoint>> cluster() {
+        final KMeansPlusPlusClusterer<DoublePoint> clusterer =
+                new KMeansPlusPlusClusterer<DoublePoint>(k, 100, new EuclideanDistance(),
+                                                         new Well19937c(0x2545f4914f6cdd1dL));
+        return clusterer.cluster(points);
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for dense linear algebra: matrix product and decompositions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinearAlgebraBenchmark {
+
+    /** Dimension of the square matrices. */
+    @Param({ "50", "200", "500" })
+    public int size;
+
+    /** General matrix. */
+    private BlockRealMatrix a;
+
+    /** Other general matrix. */
+    private BlockRealMatrix b;
+
+    /** Symmetric matrix. */
+    private RealMatrix symmetric;
+
+    /** Symmetric positive definite matrix. */
+    private RealMatrix positiveDefinite;
+
+    /** Build the matrices. */
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0x5d6b0f9a3c1e7842L);
+        final double[][] data = new double[size][size];
+        final double[][] other = new double[size][size];
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) {
+                data[i][j]  = 2 * random.nextDouble() - 1;
+                other[i][j] = 2 * random.nextDouble() - 1;
+            }
+        }
+        a = new BlockRealMatrix(data);
+        b = new BlockRealMatrix(other);
+        symmetric = a.add(a.transpose());
+        positiveDefinite = a.multiply(a.transpose()).add(MatrixUtils.createRealIdentityMatrix(size));
+    }
+
+    /**
+     * Matrix product.
+     * @return product
+     */
+    @Benchmark
+    public RealMatrix multiply() {
+        return a.multiply(b);
+    }
+
+    /**
+     * LU decomposition.
+     * @return determinant (forces the decomposition)
+     */
+    @Benchmark
+    public double lu() {
+        return new LUDecomposition(a).getDeterminant();
+    }
+
+    /**
+     * Blocked LU decomposition, in the calling thread.
+     * @return determinant (forces the decomposition)
+     */
+    @Benchmark
+    public double blockedLu() {
+        return new LUDecomposition(a, 1.0e-11, null).getDeterminant();
+    }
+
+    /**
+     * QR decomposition.
+     * @return R factor
+     */
+    @Benchmark
+    public RealMatrix qr() {
+        return new QRDecomposition(a).getR();
+    }
+
+    /**
+     * Blocked QR decomposition.
+     * @return R factor
+     */
+    @Benchmark
+    public RealMatrix qrBlocked() {
+        return new QRDecomposition(a, 0.0, null).getR();
+    }
+
+    /**
+     * Cholesky decomposition.
+     * @return determinant
+     */
+    @Benchmark
+    public double cholesky() {
+        return new CholeskyDecomposition(positiveDefinite).getDeterminant();
+    }
+
+    /**
+     * Eigen decomposition of a symmetric matrix.
+     * @return eigenvalues
+     */
+    @Benchmark
+    public double[] eigen() {
+        return new EigenDecomposition(symmetric).getRealEigenvalues();
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
+import org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for percentiles estimation, exact and streaming.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentileBenchmark {
+
+    /** Number of sample values. */
+    @Param({ "1000", "100000" })
+    public int size;
+
+    /** Sample values. */
+    private double[] values;
+
+    /** Build the sample. */
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0x2f8e4b1a9c7d3065L);
+        values = new double[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = random.nextGaussian();
+        }
+    }
+
+    /**
+     * Exact median, evaluated on a fresh estimator (no cached pivots).
+     * @return median
+     */
+    @Benchmark
+    public double median() {
+        return new Percentile().evaluate(values, 50.0);
+    }
+
+    /**
+     * Several percentiles of the same data, sharing the estimator.
+     * @return sum of the percentiles
+     */
+    @Benchmark
+    public double percentiles() {
+        final Percentile percentile = new Percentile();
+        percentile.setData(values);
+        return percentile.evaluate(5.0) + percentile.evaluate(50.0) + percentile.evaluate(95.0);
+    }
+
+    /**
+     * Streaming median estimate.
+     * @return estimated median
+     */
+    @Benchmark
+    public double tDigestMedian() {
+        final TDigestPercentile digest = new TDigestPercentile(50.0);
+        digest.incrementAll(values);
+        return digest.getResult();
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.random.BitsStreamGenerator;
+import org.apache.commons.math3.random.ISAACRandom;
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.Well44497b;
+import org.apache.commons.math3.random.Well512a;
+import org.apache.commons.math3.random.ZigguratSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the pseudo-random generators.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomGeneratorBenchmark {
+
+    /** Generator name. */
+    @Param({ "JDK", "MersenneTwister", "Well512a", "Well1024a", "Well19937c", "Well44497b", "ISAAC" })
+    public String generatorName;
+
+    /** Size of the buffers for bulk generation. */
+    private static final int BUFFER_SIZE = 1024;
+
+    /** Generator. */
+    private RandomGenerator generator;
+
+    /** Buffer for bulk generation of doubles. */
+    private final double[] doubles = new double[BUFFER_SIZE];
+
+    /** Buffer for bulk generation of ints. */
+    private final int[] ints = new int[BUFFER_SIZE];
+
+    /** Build the generator. */
+    @Setup
+    public void setUp() {
+        final long seed = 0x6c8e9cf570932bd5L;
+        if ("JDK".equals(generatorName)) {
+            final JDKRandomGenerator jdk = new JDKRandomGenerator();
+            jdk.setSeed(seed);
+            generator = jdk;
+        } else if ("MersenneTwister".equals(generatorName)) {
+            generator = new MersenneTwister(seed);
+        } else if ("Well512a".equals(generatorName)) {
+            generator = new Well512a(seed);
+        } else if ("Well1024a".equals(generatorName)) {
+            generator = new Well1024a(seed);
+        } else if ("Well19937c".equals(generatorName)) {
+            generator = new Well19937c(seed);
+        } else if ("Well44497b".equals(generatorName)) {
+            generator = new Well44497b(seed);
+        } else if ("ISAAC".equals(generatorName)) {
+            generator = new ISAACRandom(seed);
+        } else {
+            throw new IllegalArgumentException(generatorName);
+        }
+    }
+
+    /** @return generated value */
+    @Benchmark
+    public int nextInt() {
+        return generator.nextInt();
+    }
+
+    /** @return generated value */
+    @Benchmark
+    public int nextIntBounded() {
+        return generator.nextInt(1000);
+    }
+
+    /** @return generated value */
+    @Benchmark
+    public long nextLong() {
+        return generator.nextLong();
+    }
+
+    /** @return generated value */
+    @Benchmark
+    public double nextDouble() {
+        return generator.nextDouble();
+    }
+
+    /** @return generated value */
+    @Benchmark
+    public double nextGaussian() {
+        return generator.nextGaussian();
+    }
+
+    /** @return generated value */
+    @Benchmark
+    public double nextGaussianZiggurat() {
+        return ZigguratSampler.nextGaussian(generator);
+    }
+
+    /** @return generated value */
+    @Benchmark
+    public double nextExponentialZiggurat() {
+        return ZigguratSampler.nextExponential(generator);
+    }
+
+    /** @return buffer filled with generated values */
+    @Benchmark
+    public double[] nextDoubles() {
+        if (generator instanceof BitsStreamGenerator) {
+            ((BitsStreamGenerator) generator).nextDoubles(doubles, 0, BUFFER_SIZE);
+        } else {
+            for (int i = 0; i < BUFFER_SIZE; ++i) {
+                doubles[i] = generator.nextDouble();
+            }
+        }
+        return doubles;
+    }
+
+    /** @return buffer filled with generated values */
+    @Benchmark
+    public int[] nextInts() {
+        if (generator instanceof BitsStreamGenerator) {
+            ((BitsStreamGenerator) generator).nextInts(ints, 0, BUFFER_SIZE);
+        } else {
+            for (int i = 0; i < BUFFER_SIZE; ++i) {
+                ints[i] = generator.nextInt();
+            }
+        }
+        return ints;
+    }
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * JMH micro-benchmarks for the performance-sensitive parts of the library.
+ * <p>
+ * All benchmarks share the same conventions: the input data is built in
+ * {@code @Setup} methods from a fixed seed, so successive runs measure the
+ * same work, and results are returned from the benchmark methods (or sunk
+ * into a {@code Blackhole}) so the JIT compiler cannot eliminate the
+ * computation.
+ * </p>
+ */
+package org.apache.commons.math3.benchmark;
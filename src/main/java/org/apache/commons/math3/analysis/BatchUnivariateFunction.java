@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+
+/**
+ * Extension of {@link UnivariateFunction} evaluating many points at once.
+ * <p>
+ * Evaluating a function point by point over a large grid costs one
+ * (often megamorphic) virtual call per point, and prevents implementations
+ * from sharing work between points, for example the search of the interval
+ * containing each point in a piecewise function. Implementations of this
+ * interface evaluate a whole array in one call.
+ * </p>
+ * <p>
+ * The results must be identical to those of {@link #value(double)} for each
+ * point. Code that accepts any {@link UnivariateFunction} can use
+ * {@link FunctionUtils#value(UnivariateFunction, double[], double[])}, which
+ * falls back to point by point evaluation for functions that do not implement
+ * this interface.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public interface BatchUnivariateFunction extends UnivariateFunction {
+
+    /**
+     * Compute the values of the function at several points.
+     * <p>
+     * The {@code y} array may be the same array as {@code x}, in which case
+     * the points are replaced by the values of the function.
+     * </p>
+     *
+     * @param x points at which the function values should be computed
+     * @param y placeholder where to put the function values, must have the
+     * same length as {@code x}
+     * @throws DimensionMismatchException if {@code y.length != x.length}
+     */
+    void value(double[] x, double[] y) throws DimensionMismatchException;
+
+}
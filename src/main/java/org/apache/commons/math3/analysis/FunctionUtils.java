@@ -26,6 +26,7 @@ import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.MathArrays;
 
 /**
  * Utilities for manipulating function objects.
@@ -438,11 +439,38 @@ public class FunctionUtils {
         final double[] s = new double[n];
         final double h = (max - min) / n;
         for (int i = 0; i < n; i++) {
-            s[i] = f.value(min + i * h);
+            s[i] = min + i * h;
         }
+        value(f, s, s);
         return s;
     }
 
+    /**
+     * Computes the values of a univariate function at several points.
+     * <p>
+     * If the function implements {@link BatchUnivariateFunction}, all points
+     * are evaluated in one call, otherwise they are evaluated one at a time.
+     * The {@code y} array may be the same array as {@code x}.
+     * </p>
+     *
+     * @param f Function to evaluate.
+     * @param x Points at which the function values should be computed.
+     * @param y Placeholder where to put the function values.
+     * @throws DimensionMismatchException if {@code y.length != x.length}.
+     * @since 3.3
+     */
+    public static void value(final UnivariateFunction f, final double[] x, final double[] y)
+        throws DimensionMismatchException {
+        if (f instanceof BatchUnivariateFunction) {
+            ((BatchUnivariateFunction) f).value(x, y);
+        } else {
+            MathArrays.checkEqualLength(x, y);
+            for (int i = 0; i < x.length; ++i) {
+                y[i] = f.value(x[i]);
+            }
+        }
+    }
+
     /** Convert a {@link UnivariateDifferentiableFunction} into a {@link DifferentiableUnivariateFunction}.
      * @param f function to convert
      * @return converted function
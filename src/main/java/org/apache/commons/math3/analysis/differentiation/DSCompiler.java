@@ -804,7 +804,7 @@ public class DSCompiler {
                        final double[] rhs, final int rhsOffset,
                        final double[] result, final int resultOffset) {
         final double[] reciprocal = new double[getSize()];
-        pow(rhs, lhsOffset, -1, reciprocal, 0);
+        pow(rhs, rhsOffset, -1, reciprocal, 0);
         multiply(lhs, lhsOffset, reciprocal, 0, result, resultOffset);
     }
 
@@ -850,31 +850,42 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        // [a^x, ln(a) a^x, ln(a)^2 a^x,, ln(a)^3 a^x, ... ]
         final double[] function = new double[1 + order];
+        constantPowDerivatives(a, operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the a<sup>x</sup> function.
+     * @param a number to exponentiate
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void constantPowDerivatives(final double a, final double x, final double[] function) {
+        // [a^x, ln(a) a^x, ln(a)^2 a^x,, ln(a)^3 a^x, ... ]
         if (a == 0) {
-            if (operand[operandOffset] == 0) {
+            if (x == 0) {
                 function[0] = 1;
                 double infinity = Double.POSITIVE_INFINITY;
-                for (int i = 1; i < function.length; ++i) {
+                for (int i = 1; i <= order; ++i) {
                     infinity = -infinity;
                     function[i] = infinity;
                 }
-            } else if (operand[operandOffset] < 0) {
-                Arrays.fill(function, Double.NaN);
+            } else if (x < 0) {
+                Arrays.fill(function, 0, 1 + order, Double.NaN);
+            } else {
+                Arrays.fill(function, 0, 1 + order, 0.0);
             }
         } else {
-            function[0] = FastMath.pow(a, operand[operandOffset]);
+            function[0] = FastMath.pow(a, x);
             final double lnA = FastMath.log(a);
-            for (int i = 1; i < function.length; ++i) {
+            for (int i = 1; i <= order; ++i) {
                 function[i] = lnA * function[i - 1];
             }
         }
-
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute power of a derivative structure.
@@ -890,12 +901,26 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
+        final double[] function = new double[1 + order];
+        powDerivatives(operand[operandOffset], p, function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the x<sup>p</sup> function.
+     * @param x point at which the function is evaluated
+     * @param p power to apply
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void powDerivatives(final double x, final double p, final double[] function) {
         // [x^p, px^(p-1), p(p-1)x^(p-2), ... ]
-        double[] function = new double[1 + order];
-        double xk = FastMath.pow(operand[operandOffset], p - order);
+        double xk = FastMath.pow(x, p - order);
         for (int i = order; i > 0; --i) {
             function[i] = xk;
-            xk *= operand[operandOffset];
+            xk *= x;
         }
         function[0] = xk;
         double coefficient = p;
@@ -903,10 +928,6 @@ public class DSCompiler {
             function[i] *= coefficient;
             coefficient *= p - i;
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute integer power of a derivative structure.
@@ -929,21 +950,36 @@ public class DSCompiler {
         }
 
         // create the power function value and derivatives
-        // [x^n, nx^(n-1), n(n-1)x^(n-2), ... ]
-        double[] function = new double[1 + order];
+        final double[] function = new double[1 + order];
+        powDerivatives(operand[operandOffset], n, function);
 
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the x<sup>n</sup> function.
+     * @param x point at which the function is evaluated
+     * @param n power to apply (must be non-zero)
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void powDerivatives(final double x, final int n, final double[] function) {
+
+        // [x^n, nx^(n-1), n(n-1)x^(n-2), ... ]
         if (n > 0) {
             // strictly positive power
             final int maxOrder = FastMath.min(order, n);
-            double xk = FastMath.pow(operand[operandOffset], n - maxOrder);
+            double xk = FastMath.pow(x, n - maxOrder);
             for (int i = maxOrder; i > 0; --i) {
                 function[i] = xk;
-                xk *= operand[operandOffset];
+                xk *= x;
             }
             function[0] = xk;
+            Arrays.fill(function, maxOrder + 1, 1 + order, 0.0);
         } else {
             // strictly negative power
-            final double inv = 1.0 / operand[operandOffset];
+            final double inv = 1.0 / x;
             double xk = FastMath.pow(inv, -n);
             for (int i = 0; i <= order; ++i) {
                 function[i] = xk;
@@ -957,9 +993,6 @@ public class DSCompiler {
             coefficient *= n - i;
         }
 
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute power of a derivative structure.
@@ -995,29 +1028,39 @@ public class DSCompiler {
                       final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
+        final double[] function = new double[1 + order];
+        rootNDerivatives(operand[operandOffset], n, function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the n<sup>th</sup> root function.
+     * @param x point at which the function is evaluated
+     * @param n order of the root
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void rootNDerivatives(final double x, final int n, final double[] function) {
         // [x^(1/n), (1/n)x^((1/n)-1), (1-n)/n^2x^((1/n)-2), ... ]
-        double[] function = new double[1 + order];
         double xk;
         if (n == 2) {
-            function[0] = FastMath.sqrt(operand[operandOffset]);
+            function[0] = FastMath.sqrt(x);
             xk          = 0.5 / function[0];
         } else if (n == 3) {
-            function[0] = FastMath.cbrt(operand[operandOffset]);
+            function[0] = FastMath.cbrt(x);
             xk          = 1.0 / (3.0 * function[0] * function[0]);
         } else {
-            function[0] = FastMath.pow(operand[operandOffset], 1.0 / n);
+            function[0] = FastMath.pow(x, 1.0 / n);
             xk          = 1.0 / (n * FastMath.pow(function[0], n - 1));
         }
         final double nReciprocal = 1.0 / n;
-        final double xReciprocal = 1.0 / operand[operandOffset];
+        final double xReciprocal = 1.0 / x;
         for (int i = 1; i <= order; ++i) {
             function[i] = xk;
             xk *= xReciprocal * (nReciprocal - i);
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute exponential of a derivative structure.
@@ -1032,14 +1075,23 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        Arrays.fill(function, FastMath.exp(operand[operandOffset]));
+        final double[] function = new double[1 + order];
+        expDerivatives(operand[operandOffset], function);
 
         // apply function composition
         compose(operand, operandOffset, function, result, resultOffset);
 
     }
 
+    /** Compute the value and derivatives of the exponential function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void expDerivatives(final double x, final double[] function) {
+        Arrays.fill(function, 0, 1 + order, FastMath.exp(x));
+    }
+
     /** Compute exp(x) - 1 of a derivative structure.
      * @param operand array holding the operand
      * @param operandOffset offset of the operand in its array
@@ -1052,15 +1104,24 @@ public class DSCompiler {
                       final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.expm1(operand[operandOffset]);
-        Arrays.fill(function, 1, 1 + order, FastMath.exp(operand[operandOffset]));
+        final double[] function = new double[1 + order];
+        expm1Derivatives(operand[operandOffset], function);
 
         // apply function composition
         compose(operand, operandOffset, function, result, resultOffset);
 
     }
 
+    /** Compute the value and derivatives of the exp(x) - 1 function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void expm1Derivatives(final double x, final double[] function) {
+        function[0] = FastMath.expm1(x);
+        Arrays.fill(function, 1, 1 + order, FastMath.exp(x));
+    }
+
     /** Compute natural logarithm of a derivative structure.
      * @param operand array holding the operand
      * @param operandOffset offset of the operand in its array
@@ -1073,20 +1134,29 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.log(operand[operandOffset]);
+        final double[] function = new double[1 + order];
+        logDerivatives(operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the natural logarithm function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void logDerivatives(final double x, final double[] function) {
+        function[0] = FastMath.log(x);
         if (order > 0) {
-            double inv = 1.0 / operand[operandOffset];
+            double inv = 1.0 / x;
             double xk  = inv;
             for (int i = 1; i <= order; ++i) {
                 function[i] = xk;
                 xk *= -i * inv;
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Computes shifted logarithm of a derivative structure.
@@ -1100,20 +1170,29 @@ public class DSCompiler {
                       final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.log1p(operand[operandOffset]);
+        final double[] function = new double[1 + order];
+        log1pDerivatives(operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the shifted logarithm function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void log1pDerivatives(final double x, final double[] function) {
+        function[0] = FastMath.log1p(x);
         if (order > 0) {
-            double inv = 1.0 / (1.0 + operand[operandOffset]);
+            double inv = 1.0 / (1.0 + x);
             double xk  = inv;
             for (int i = 1; i <= order; ++i) {
                 function[i] = xk;
                 xk *= -i * inv;
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Computes base 10 logarithm of a derivative structure.
@@ -1127,20 +1206,29 @@ public class DSCompiler {
                       final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.log10(operand[operandOffset]);
+        final double[] function = new double[1 + order];
+        log10Derivatives(operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the base 10 logarithm function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void log10Derivatives(final double x, final double[] function) {
+        function[0] = FastMath.log10(x);
         if (order > 0) {
-            double inv = 1.0 / operand[operandOffset];
+            double inv = 1.0 / x;
             double xk  = inv / FastMath.log(10.0);
             for (int i = 1; i <= order; ++i) {
                 function[i] = xk;
                 xk *= -i * inv;
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute cosine of a derivative structure.
@@ -1155,18 +1243,27 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.cos(operand[operandOffset]);
+        final double[] function = new double[1 + order];
+        cosDerivatives(operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the cosine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void cosDerivatives(final double x, final double[] function) {
+        function[0] = FastMath.cos(x);
         if (order > 0) {
-            function[1] = -FastMath.sin(operand[operandOffset]);
+            function[1] = -FastMath.sin(x);
             for (int i = 2; i <= order; ++i) {
                 function[i] = -function[i - 2];
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute sine of a derivative structure.
@@ -1181,18 +1278,27 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.sin(operand[operandOffset]);
+        final double[] function = new double[1 + order];
+        sinDerivatives(operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the sine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void sinDerivatives(final double x, final double[] function) {
+        function[0] = FastMath.sin(x);
         if (order > 0) {
-            function[1] = FastMath.cos(operand[operandOffset]);
+            function[1] = FastMath.cos(x);
             for (int i = 2; i <= order; ++i) {
                 function[i] = -function[i - 2];
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute tangent of a derivative structure.
@@ -1208,7 +1314,22 @@ public class DSCompiler {
 
         // create the function value and derivatives
         final double[] function = new double[1 + order];
-        final double t = FastMath.tan(operand[operandOffset]);
+        tanDerivatives(operand[operandOffset], function, new double[order + 2]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the tangent function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param p work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order + 2})
+     */
+    void tanDerivatives(final double x, final double[] function, final double[] p) {
+        final double t = FastMath.tan(x);
         function[0] = t;
 
         if (order > 0) {
@@ -1220,7 +1341,7 @@ public class DSCompiler {
             // the general recurrence relation for P_n is:
             // P_n(x) = (1+t^2) P_(n-1)'(t)
             // as per polynomial parity, we can store coefficients of both P_(n-1) and P_n in the same array
-            final double[] p = new double[order + 2];
+            Arrays.fill(p, 0, order + 2, 0.0);
             p[1] = 1;
             final double t2 = t * t;
             for (int n = 1; n <= order; ++n) {
@@ -1244,10 +1365,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute arc cosine of a derivative structure.
@@ -1262,8 +1379,22 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        final double x = operand[operandOffset];
+        final double[] function = new double[1 + order];
+        acosDerivatives(operand[operandOffset], function, new double[order]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the arc cosine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param p work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order})
+     */
+    void acosDerivatives(final double x, final double[] function, final double[] p) {
         function[0] = FastMath.acos(x);
         if (order > 0) {
             // the nth order derivative of acos has the form:
@@ -1273,7 +1404,7 @@ public class DSCompiler {
             // the general recurrence relation for P_n is:
             // P_n(x) = (1-x^2) P_(n-1)'(x) + (2n-3) x P_(n-1)(x)
             // as per polynomial parity, we can store coefficients of both P_(n-1) and P_n in the same array
-            final double[] p = new double[order];
+            Arrays.fill(p, 0, order, 0.0);
             p[0] = -1;
             final double x2    = x * x;
             final double f     = 1.0 / (1 - x2);
@@ -1301,10 +1432,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute arc sine of a derivative structure.
@@ -1319,8 +1446,22 @@ public class DSCompiler {
                     final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        final double x = operand[operandOffset];
+        final double[] function = new double[1 + order];
+        asinDerivatives(operand[operandOffset], function, new double[order]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the arc sine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param p work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order})
+     */
+    void asinDerivatives(final double x, final double[] function, final double[] p) {
         function[0] = FastMath.asin(x);
         if (order > 0) {
             // the nth order derivative of asin has the form:
@@ -1330,7 +1471,7 @@ public class DSCompiler {
             // the general recurrence relation for P_n is:
             // P_n(x) = (1-x^2) P_(n-1)'(x) + (2n-3) x P_(n-1)(x)
             // as per polynomial parity, we can store coefficients of both P_(n-1) and P_n in the same array
-            final double[] p = new double[order];
+            Arrays.fill(p, 0, order, 0.0);
             p[0] = 1;
             final double x2    = x * x;
             final double f     = 1.0 / (1 - x2);
@@ -1358,10 +1499,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute arc tangent of a derivative structure.
@@ -1376,8 +1513,22 @@ public class DSCompiler {
                      final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        final double x = operand[operandOffset];
+        final double[] function = new double[1 + order];
+        atanDerivatives(operand[operandOffset], function, new double[order]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the arc tangent function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param q work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order})
+     */
+    void atanDerivatives(final double x, final double[] function, final double[] q) {
         function[0] = FastMath.atan(x);
         if (order > 0) {
             // the nth order derivative of atan has the form:
@@ -1387,7 +1538,7 @@ public class DSCompiler {
             // the general recurrence relation for Q_n is:
             // Q_n(x) = (1+x^2) Q_(n-1)'(x) - 2(n-1) x Q_(n-1)(x)
             // as per polynomial parity, we can store coefficients of both Q_(n-1) and Q_n in the same array
-            final double[] q = new double[order];
+            Arrays.fill(q, 0, order, 0.0);
             q[0] = 1;
             final double x2    = x * x;
             final double f     = 1.0 / (1 + x2);
@@ -1415,10 +1566,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute two arguments arc tangent of a derivative structure.
@@ -1484,18 +1631,27 @@ public class DSCompiler {
                      final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.cosh(operand[operandOffset]);
+        final double[] function = new double[1 + order];
+        coshDerivatives(operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the hyperbolic cosine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void coshDerivatives(final double x, final double[] function) {
+        function[0] = FastMath.cosh(x);
         if (order > 0) {
-            function[1] = FastMath.sinh(operand[operandOffset]);
+            function[1] = FastMath.sinh(x);
             for (int i = 2; i <= order; ++i) {
                 function[i] = function[i - 2];
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute hyperbolic sine of a derivative structure.
@@ -1510,18 +1666,27 @@ public class DSCompiler {
                      final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        function[0] = FastMath.sinh(operand[operandOffset]);
+        final double[] function = new double[1 + order];
+        sinhDerivatives(operand[operandOffset], function);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the hyperbolic sine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     */
+    void sinhDerivatives(final double x, final double[] function) {
+        function[0] = FastMath.sinh(x);
         if (order > 0) {
-            function[1] = FastMath.cosh(operand[operandOffset]);
+            function[1] = FastMath.cosh(x);
             for (int i = 2; i <= order; ++i) {
                 function[i] = function[i - 2];
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute hyperbolic tangent of a derivative structure.
@@ -1537,7 +1702,22 @@ public class DSCompiler {
 
         // create the function value and derivatives
         final double[] function = new double[1 + order];
-        final double t = FastMath.tanh(operand[operandOffset]);
+        tanhDerivatives(operand[operandOffset], function, new double[order + 2]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the hyperbolic tangent function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param p work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order + 2})
+     */
+    void tanhDerivatives(final double x, final double[] function, final double[] p) {
+        final double t = FastMath.tanh(x);
         function[0] = t;
 
         if (order > 0) {
@@ -1549,7 +1729,7 @@ public class DSCompiler {
             // the general recurrence relation for P_n is:
             // P_n(x) = (1-t^2) P_(n-1)'(t)
             // as per polynomial parity, we can store coefficients of both P_(n-1) and P_n in the same array
-            final double[] p = new double[order + 2];
+            Arrays.fill(p, 0, order + 2, 0.0);
             p[1] = 1;
             final double t2 = t * t;
             for (int n = 1; n <= order; ++n) {
@@ -1573,10 +1753,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute inverse hyperbolic cosine of a derivative structure.
@@ -1591,8 +1767,22 @@ public class DSCompiler {
                      final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        final double x = operand[operandOffset];
+        final double[] function = new double[1 + order];
+        acoshDerivatives(operand[operandOffset], function, new double[order]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the inverse hyperbolic cosine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param p work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order})
+     */
+    void acoshDerivatives(final double x, final double[] function, final double[] p) {
         function[0] = FastMath.acosh(x);
         if (order > 0) {
             // the nth order derivative of acosh has the form:
@@ -1602,7 +1792,7 @@ public class DSCompiler {
             // the general recurrence relation for P_n is:
             // P_n(x) = (x^2-1) P_(n-1)'(x) - (2n-3) x P_(n-1)(x)
             // as per polynomial parity, we can store coefficients of both P_(n-1) and P_n in the same array
-            final double[] p = new double[order];
+            Arrays.fill(p, 0, order, 0.0);
             p[0] = 1;
             final double x2  = x * x;
             final double f   = 1.0 / (x2 - 1);
@@ -1630,10 +1820,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute inverse hyperbolic sine of a derivative structure.
@@ -1648,8 +1834,22 @@ public class DSCompiler {
                      final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        final double x = operand[operandOffset];
+        final double[] function = new double[1 + order];
+        asinhDerivatives(operand[operandOffset], function, new double[order]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the inverse hyperbolic sine function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param p work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order})
+     */
+    void asinhDerivatives(final double x, final double[] function, final double[] p) {
         function[0] = FastMath.asinh(x);
         if (order > 0) {
             // the nth order derivative of asinh has the form:
@@ -1659,7 +1859,7 @@ public class DSCompiler {
             // the general recurrence relation for P_n is:
             // P_n(x) = (x^2+1) P_(n-1)'(x) - (2n-3) x P_(n-1)(x)
             // as per polynomial parity, we can store coefficients of both P_(n-1) and P_n in the same array
-            final double[] p = new double[order];
+            Arrays.fill(p, 0, order, 0.0);
             p[0] = 1;
             final double x2    = x * x;
             final double f     = 1.0 / (1 + x2);
@@ -1687,10 +1887,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute inverse hyperbolic tangent of a derivative structure.
@@ -1705,8 +1901,22 @@ public class DSCompiler {
                       final double[] result, final int resultOffset) {
 
         // create the function value and derivatives
-        double[] function = new double[1 + order];
-        final double x = operand[operandOffset];
+        final double[] function = new double[1 + order];
+        atanhDerivatives(operand[operandOffset], function, new double[order]);
+
+        // apply function composition
+        compose(operand, operandOffset, function, result, resultOffset);
+
+    }
+
+    /** Compute the value and derivatives of the inverse hyperbolic tangent function.
+     * @param x point at which the function is evaluated
+     * @param function array where the value and derivatives must be stored
+     * (its length must be at least {@code 1 + order})
+     * @param q work array for the polynomial coefficients of the derivatives
+     * (its length must be at least {@code order})
+     */
+    void atanhDerivatives(final double x, final double[] function, final double[] q) {
         function[0] = FastMath.atanh(x);
         if (order > 0) {
             // the nth order derivative of atanh has the form:
@@ -1716,7 +1926,7 @@ public class DSCompiler {
             // the general recurrence relation for Q_n is:
             // Q_n(x) = (1-x^2) Q_(n-1)'(x) + 2(n-1) x Q_(n-1)(x)
             // as per polynomial parity, we can store coefficients of both Q_(n-1) and Q_n in the same array
-            final double[] q = new double[order];
+            Arrays.fill(q, 0, order, 0.0);
             q[0] = 1;
             final double x2 = x * x;
             final double f  = 1.0 / (1 - x2);
@@ -1744,10 +1954,6 @@ public class DSCompiler {
 
             }
         }
-
-        // apply function composition
-        compose(operand, operandOffset, function, result, resultOffset);
-
     }
 
     /** Compute composition of a derivative structure by a function.
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/** Pool of reusable {@link MutableDerivativeStructure} instances.
+ * <p>
+ * A pool provides temporary instances for intermediate results of model
+ * evaluations. Instances are acquired one at a time and released all together,
+ * in a stack-like way: {@link #mark()} records the current state of the pool
+ * and {@link #release(int)} makes all instances acquired since then available
+ * again. Once the pool has grown to the number of temporaries needed by an
+ * evaluation, later evaluations do not allocate anything.
+ * </p>
+ * <p>
+ * Typical use is:
+ * </p>
+ * <pre>
+ *   final int mark = pool.mark();
+ *   try {
+ *       MutableDerivativeStructure tmp = pool.acquire();
+ *       ...
+ *   } finally {
+ *       pool.release(mark);
+ *   }
+ * </pre>
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe, each thread should
+ * use its own pool.
+ * </p>
+ * @see MutableDerivativeStructure
+ * @version $Id$
+ * @since 3.3
+ */
+public class DerivativeStructurePool {
+
+    /** Number of free parameters. */
+    private final int parameters;
+
+    /** Derivation order. */
+    private final int order;
+
+    /** Instances managed by the pool. */
+    private final List<MutableDerivativeStructure> instances;
+
+    /** Number of instances currently acquired. */
+    private int acquired;
+
+    /** Build an empty pool.
+     * @param parameters number of free parameters
+     * @param order derivation order
+     * @throws NumberIsTooLargeException if order is too large
+     */
+    public DerivativeStructurePool(final int parameters, final int order)
+        throws NumberIsTooLargeException {
+        // check dimensions before any instance is built
+        DSCompiler.getCompiler(parameters, order);
+        this.parameters = parameters;
+        this.order      = order;
+        this.instances  = new ArrayList<MutableDerivativeStructure>();
+        this.acquired   = 0;
+    }
+
+    /** Get the number of free parameters.
+     * @return number of free parameters
+     */
+    public int getFreeParameters() {
+        return parameters;
+    }
+
+    /** Get the derivation order.
+     * @return derivation order
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /** Get the number of instances currently acquired.
+     * @return number of instances currently acquired
+     */
+    public int getAcquired() {
+        return acquired;
+    }
+
+    /** Get the number of instances managed by the pool.
+     * @return number of instances managed by the pool, either
+     * acquired or available
+     */
+    public int getCapacity() {
+        return instances.size();
+    }
+
+    /** Acquire an instance set to 0.
+     * @return an instance set to 0
+     */
+    public MutableDerivativeStructure acquire() {
+        return acquireConstant(0.0);
+    }
+
+    /** Acquire an instance representing a constant value.
+     * @param value value of the constant
+     * @return an instance representing the constant
+     */
+    public MutableDerivativeStructure acquireConstant(final double value) {
+        return next().setConstant(value);
+    }
+
+    /** Acquire an instance representing a free variable.
+     * @param index index of the variable (from 0 to {@code parameters - 1})
+     * @param value value of the variable
+     * @return an instance representing the variable
+     * @exception NumberIsTooLargeException if {@code index >= parameters}.
+     */
+    public MutableDerivativeStructure acquireVariable(final int index, final double value)
+        throws NumberIsTooLargeException {
+        return next().setVariable(index, value);
+    }
+
+    /** Acquire instances representing all free variables.
+     * @param values values of the variables
+     * @return instances representing the variables
+     * @exception NumberIsTooLargeException if there are more values than
+     * free parameters
+     */
+    public MutableDerivativeStructure[] acquireVariables(final double ... values)
+        throws NumberIsTooLargeException {
+        final MutableDerivativeStructure[] variables = new MutableDerivativeStructure[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            variables[i] = acquireVariable(i, values[i]);
+        }
+        return variables;
+    }
+
+    /** Get a mark for releasing instances.
+     * @return mark to be used with {@link #release(int)}
+     */
+    public int mark() {
+        return acquired;
+    }
+
+    /** Release all instances acquired since a mark.
+     * <p>
+     * Released instances must not be used anymore by their previous owners.
+     * </p>
+     * @param mark mark returned by a previous call to {@link #mark()}
+     * @exception OutOfRangeException if the mark is not between 0 and
+     * the number of instances currently acquired
+     */
+    public void release(final int mark) throws OutOfRangeException {
+        if (mark < 0 || mark > acquired) {
+            throw new OutOfRangeException(mark, 0, acquired);
+        }
+        acquired = mark;
+    }
+
+    /** Release all instances.
+     * <p>
+     * Released instances must not be used anymore by their previous owners.
+     * </p>
+     */
+    public void releaseAll() {
+        acquired = 0;
+    }
+
+    /** Get the next available instance, growing the pool if needed.
+     * @return next available instance
+     */
+    private MutableDerivativeStructure next() {
+        if (acquired == instances.size()) {
+            instances.add(new MutableDerivativeStructure(parameters, order));
+        }
+        return instances.get(acquired++);
+    }
+
+}
@@ -23,6 +23,12 @@ import org.apache.commons.math3.analysis.MultivariateVectorFunction;
  * The vectorial components of the function represent the derivatives
  * with respect to each function parameters.
  * </p>
+ * <p>
+ * When built from a {@link MultivariateMutableDifferentiableFunction}, the
+ * intermediate results are taken from a {@link DerivativeStructurePool}
+ * reused from one evaluation to the next (one pool per thread), so
+ * evaluations do not allocate memory for each operation.
+ * </p>
  * @version $Id$
  * @since 3.1
  */
@@ -31,16 +37,38 @@ public class GradientFunction implements MultivariateVectorFunction {
     /** Underlying real-valued function. */
     private final MultivariateDifferentiableFunction f;
 
+    /** Underlying real-valued function using mutable derivative structures. */
+    private final MultivariateMutableDifferentiableFunction mutableF;
+
+    /** Pools for mutable derivative structures, one for each thread. */
+    private final ThreadLocal<DerivativeStructurePool> pools;
+
     /** Simple constructor.
      * @param f underlying real-valued function
      */
     public GradientFunction(final MultivariateDifferentiableFunction f) {
-        this.f = f;
+        this.f        = f;
+        this.mutableF = null;
+        this.pools    = null;
+    }
+
+    /** Simple constructor.
+     * @param f underlying real-valued function using mutable derivative structures
+     * @since 3.3
+     */
+    public GradientFunction(final MultivariateMutableDifferentiableFunction f) {
+        this.f        = null;
+        this.mutableF = f;
+        this.pools    = new ThreadLocal<DerivativeStructurePool>();
     }
 
     /** {@inheritDoc} */
     public double[] value(double[] point) {
 
+        if (mutableF != null) {
+            return mutableValue(point);
+        }
+
         // set up parameters
         final DerivativeStructure[] dsX = new DerivativeStructure[point.length];
         for (int i = 0; i < point.length; ++i) {
@@ -63,4 +91,39 @@ public class GradientFunction implements MultivariateVectorFunction {
 
     }
 
+    /** Compute the gradient using mutable derivative structures.
+     * @param point point at which the gradient must be evaluated
+     * @return gradient at the specified point
+     */
+    private double[] mutableValue(final double[] point) {
+
+        DerivativeStructurePool pool = pools.get();
+        if (pool == null || pool.getFreeParameters() != point.length) {
+            pool = new DerivativeStructurePool(point.length, 1);
+            pools.set(pool);
+        }
+
+        final int mark = pool.mark();
+        try {
+
+            // compute the derivatives
+            final MutableDerivativeStructure dsY = mutableF.value(pool.acquireVariables(point), pool);
+
+            // extract the gradient
+            final double[] y = new double[point.length];
+            final int[] orders = new int[point.length];
+            for (int i = 0; i < point.length; ++i) {
+                orders[i] = 1;
+                y[i] = dsY.getPartialDerivative(orders);
+                orders[i] = 0;
+            }
+
+            return y;
+
+        } finally {
+            pool.release(mark);
+        }
+
+    }
+
 }
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.util.MathArrays;
+
+/** Tape recording operations for reverse mode automatic differentiation.
+ * <p>
+ * {@link DerivativeStructure} implements forward mode differentiation: each
+ * intermediate result carries all its partial derivatives with respect to
+ * all free parameters, so the cost of each operation grows with the number of
+ * parameters. Reverse mode (also known as adjoint mode) differentiation is
+ * better suited to scalar functions of many parameters, like objective
+ * functions of optimization problems. Each operation performed on
+ * {@link TapeVariable tape variables} is recorded on a tape as the indices
+ * of its operands and the local partial derivatives with respect to them.
+ * Once the function value has been computed, a single backward sweep over
+ * the tape computes the partial derivatives of this value with respect to
+ * all variables, at a cost independent of the number of variables (a small
+ * multiple of the cost of the function evaluation itself).
+ * </p>
+ * <p>
+ * The tape is stored in primitive arrays that grow as needed and are reused
+ * after a call to {@link #reset()}, so repeated evaluations of the same
+ * function do not allocate memory for the tape. Operations involving only
+ * constants are not recorded at all.
+ * </p>
+ * <p>
+ * Typical use is:
+ * </p>
+ * <pre>
+ *   GradientTape tape = new GradientTape();
+ *   TapeVariable x = tape.variable(1.5);
+ *   TapeVariable y = tape.variable(-0.5);
+ *   TapeVariable f = x.multiply(y).add(x.sin());
+ *   double[] gradient = tape.gradient(f, x, y);
+ *   tape.reset(); // x, y and f are not usable anymore
+ * </pre>
+ * <p>
+ * Only first order derivatives are available. All variables combined
+ * together must belong to the same tape. Instances of this class are
+ * <em>not</em> thread-safe.
+ * </p>
+ * @see TapeVariable
+ * @see ReverseModeDifferentiator
+ * @version $Id$
+ * @since 3.3
+ */
+public class GradientTape {
+
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** Marker for missing operands. */
+    private static final int NONE = -1;
+
+    /** Number of recorded nodes. */
+    private int size;
+
+    /** Index of the first operand of each node. */
+    private int[] firstOperand;
+
+    /** Partial derivative of each node with respect to its first operand. */
+    private double[] firstPartial;
+
+    /** Index of the second operand of each node. */
+    private int[] secondOperand;
+
+    /** Partial derivative of each node with respect to its second operand. */
+    private double[] secondPartial;
+
+    /** Adjoints used during the backward sweep. */
+    private double[] adjoints;
+
+    /** Build an empty tape with default initial capacity.
+     */
+    public GradientTape() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Build an empty tape.
+     * @param initialCapacity initial number of nodes that can be
+     * recorded before the tape grows
+     * @exception NotStrictlyPositiveException if initial capacity is not positive
+     */
+    public GradientTape(final int initialCapacity)
+        throws NotStrictlyPositiveException {
+        if (initialCapacity <= 0) {
+            throw new NotStrictlyPositiveException(initialCapacity);
+        }
+        size          = 0;
+        firstOperand  = new int[initialCapacity];
+        firstPartial  = new double[initialCapacity];
+        secondOperand = new int[initialCapacity];
+        secondPartial = new double[initialCapacity];
+        adjoints      = new double[initialCapacity];
+    }
+
+    /** Create a new independent variable.
+     * @param value value of the variable
+     * @return new variable, with respect to which derivatives can be computed
+     */
+    public TapeVariable variable(final double value) {
+        return new TapeVariable(this, record(NONE, 0, NONE, 0), value);
+    }
+
+    /** Create several new independent variables.
+     * @param values values of the variables
+     * @return new variables, with respect to which derivatives can be computed
+     */
+    public TapeVariable[] variables(final double ... values) {
+        final TapeVariable[] variables = new TapeVariable[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            variables[i] = variable(values[i]);
+        }
+        return variables;
+    }
+
+    /** Create a constant.
+     * <p>
+     * Constants are not recorded on the tape, their derivatives are always 0.
+     * </p>
+     * @param value value of the constant
+     * @return new constant
+     */
+    public TapeVariable constant(final double value) {
+        return new TapeVariable(this, NONE, value);
+    }
+
+    /** Get the number of nodes recorded on the tape.
+     * @return number of nodes recorded on the tape
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Clear the tape.
+     * <p>
+     * The memory allocated for the tape is kept for reuse. All variables
+     * created before the reset become invalid and must not be used anymore.
+     * </p>
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /** Compute the partial derivatives of a result with respect to some variables.
+     * @param result result to differentiate
+     * @param variables variables with respect to which derivatives are computed
+     * @return partial derivatives of result with respect to the variables
+     */
+    public double[] gradient(final TapeVariable result, final TapeVariable ... variables) {
+        final double[] gradient = new double[variables.length];
+        gradient(result, variables, gradient);
+        return gradient;
+    }
+
+    /** Compute the partial derivatives of a result with respect to some variables.
+     * <p>
+     * This method performs one backward sweep over the part of the tape
+     * preceding the result, whatever the number of variables.
+     * </p>
+     * @param result result to differentiate
+     * @param variables variables with respect to which derivatives are computed
+     * @param gradient placeholder where to put the partial derivatives
+     * @exception DimensionMismatchException if the lengths of {@code variables}
+     * and {@code gradient} differ
+     */
+    public void gradient(final TapeVariable result, final TapeVariable[] variables,
+                         final double[] gradient)
+        throws DimensionMismatchException {
+
+        if (variables.length != gradient.length) {
+            throw new DimensionMismatchException(gradient.length, variables.length);
+        }
+
+        final int last = result.getIndex();
+        if (last == NONE) {
+            // the result is a constant
+            for (int i = 0; i < gradient.length; ++i) {
+                gradient[i] = 0;
+            }
+            return;
+        }
+
+        // backward sweep
+        if (adjoints.length < firstOperand.length) {
+            adjoints = new double[firstOperand.length];
+        }
+        for (int i = 0; i < last; ++i) {
+            adjoints[i] = 0;
+        }
+        adjoints[last] = 1;
+        for (int i = last; i >= 0; --i) {
+            final double adjoint = adjoints[i];
+            if (adjoint != 0) {
+                final int op1 = firstOperand[i];
+                if (op1 != NONE) {
+                    adjoints[op1] += adjoint * firstPartial[i];
+                    final int op2 = secondOperand[i];
+                    if (op2 != NONE) {
+                        adjoints[op2] += adjoint * secondPartial[i];
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < variables.length; ++i) {
+            final int index = variables[i].getIndex();
+            gradient[i] = (index == NONE || index > last) ? 0 : adjoints[index];
+        }
+
+    }
+
+    /** Record a node with one operand.
+     * @param operand operand
+     * @param partial partial derivative of the node with respect to the operand
+     * @param value value of the node
+     * @return new variable (a constant if the operand is a constant)
+     */
+    TapeVariable unary(final TapeVariable operand, final double partial, final double value) {
+        final int index = operand.getIndex();
+        if (index == NONE) {
+            return new TapeVariable(this, NONE, value);
+        }
+        return new TapeVariable(this, record(index, partial, NONE, 0), value);
+    }
+
+    /** Record a node with two operands.
+     * @param operand1 first operand
+     * @param partial1 partial derivative of the node with respect to the first operand
+     * @param operand2 second operand
+     * @param partial2 partial derivative of the node with respect to the second operand
+     * @param value value of the node
+     * @return new variable (a constant if both operands are constants)
+     */
+    TapeVariable binary(final TapeVariable operand1, final double partial1,
+                        final TapeVariable operand2, final double partial2,
+                        final double value) {
+        final int index1 = operand1.getIndex();
+        final int index2 = operand2.getIndex();
+        if (index1 == NONE) {
+            if (index2 == NONE) {
+                return new TapeVariable(this, NONE, value);
+            }
+            return new TapeVariable(this, record(index2, partial2, NONE, 0), value);
+        } else if (index2 == NONE) {
+            return new TapeVariable(this, record(index1, partial1, NONE, 0), value);
+        }
+        return new TapeVariable(this, record(index1, partial1, index2, partial2), value);
+    }
+
+    /** Record a node.
+     * @param operand1 index of the first operand
+     * @param partial1 partial derivative of the node with respect to the first operand
+     * @param operand2 index of the second operand
+     * @param partial2 partial derivative of the node with respect to the second operand
+     * @return index of the new node
+     */
+    private int record(final int operand1, final double partial1,
+                       final int operand2, final double partial2) {
+        if (size == firstOperand.length) {
+            final int capacity = 2 * size;
+            firstOperand  = MathArrays.copyOf(firstOperand,  capacity);
+            firstPartial  = MathArrays.copyOf(firstPartial,  capacity);
+            secondOperand = MathArrays.copyOf(secondOperand, capacity);
+            secondPartial = MathArrays.copyOf(secondPartial, capacity);
+        }
+        firstOperand[size]  = operand1;
+        firstPartial[size]  = partial1;
+        secondOperand[size] = operand2;
+        secondPartial[size] = partial2;
+        return size++;
+    }
+
+}
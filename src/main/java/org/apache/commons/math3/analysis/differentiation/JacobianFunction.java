@@ -25,6 +25,12 @@ import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
  * value and the number of columns is equal to the number of free parameters of
  * the underlying function.
  * </p>
+ * <p>
+ * When built from a {@link MultivariateMutableDifferentiableVectorFunction}, the
+ * intermediate results are taken from a {@link DerivativeStructurePool}
+ * reused from one evaluation to the next (one pool per thread), so
+ * evaluations do not allocate memory for each operation.
+ * </p>
  * @version $Id$
  * @since 3.1
  */
@@ -33,16 +39,38 @@ public class JacobianFunction implements MultivariateMatrixFunction {
     /** Underlying vector-valued function. */
     private final MultivariateDifferentiableVectorFunction f;
 
+    /** Underlying vector-valued function using mutable derivative structures. */
+    private final MultivariateMutableDifferentiableVectorFunction mutableF;
+
+    /** Pools for mutable derivative structures, one for each thread. */
+    private final ThreadLocal<DerivativeStructurePool> pools;
+
     /** Simple constructor.
      * @param f underlying vector-valued function
      */
     public JacobianFunction(final MultivariateDifferentiableVectorFunction f) {
-        this.f = f;
+        this.f        = f;
+        this.mutableF = null;
+        this.pools    = null;
+    }
+
+    /** Simple constructor.
+     * @param f underlying vector-valued function using mutable derivative structures
+     * @since 3.3
+     */
+    public JacobianFunction(final MultivariateMutableDifferentiableVectorFunction f) {
+        this.f        = null;
+        this.mutableF = f;
+        this.pools    = new ThreadLocal<DerivativeStructurePool>();
     }
 
     /** {@inheritDoc} */
     public double[][] value(double[] point) {
 
+        if (mutableF != null) {
+            return mutableValue(point);
+        }
+
         // set up parameters
         final DerivativeStructure[] dsX = new DerivativeStructure[point.length];
         for (int i = 0; i < point.length; ++i) {
@@ -67,4 +95,41 @@ public class JacobianFunction implements MultivariateMatrixFunction {
 
     }
 
+    /** Compute the Jacobian using mutable derivative structures.
+     * @param point point at which the Jacobian must be evaluated
+     * @return Jacobian at the specified point
+     */
+    private double[][] mutableValue(final double[] point) {
+
+        DerivativeStructurePool pool = pools.get();
+        if (pool == null || pool.getFreeParameters() != point.length) {
+            pool = new DerivativeStructurePool(point.length, 1);
+            pools.set(pool);
+        }
+
+        final int mark = pool.mark();
+        try {
+
+            // compute the derivatives
+            final MutableDerivativeStructure[] dsY = mutableF.value(pool.acquireVariables(point), pool);
+
+            // extract the Jacobian
+            final double[][] y = new double[dsY.length][point.length];
+            final int[] orders = new int[point.length];
+            for (int i = 0; i < dsY.length; ++i) {
+                for (int j = 0; j < point.length; ++j) {
+                    orders[j] = 1;
+                    y[i][j] = dsY[i].getPartialDerivative(orders);
+                    orders[j] = 0;
+                }
+            }
+
+            return y;
+
+        } finally {
+            pool.release(mark);
+        }
+
+    }
+
 }
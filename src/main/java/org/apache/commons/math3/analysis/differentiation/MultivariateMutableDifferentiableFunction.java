@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.analysis.MultivariateFunction;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+
+/**
+ * Extension of {@link MultivariateFunction} representing a
+ * multivariate differentiable real function evaluated on
+ * {@link MutableDerivativeStructure mutable derivative structures}.
+ * <p>
+ * This interface is intended for functions evaluated in hot loops,
+ * which can then avoid allocating memory for intermediate results.
+ * </p>
+ * @see GradientFunction
+ * @version $Id$
+ * @since 3.3
+ */
+public interface MultivariateMutableDifferentiableFunction extends MultivariateFunction {
+
+    /**
+     * Compute the value for the function at the given point.
+     * <p>
+     * The point must not be modified. The result and the temporary instances
+     * needed for intermediate results should be acquired from the pool, they
+     * will be released by the caller once it has extracted the result.
+     * </p>
+     *
+     * @param point Point at which the function must be evaluated.
+     * @param pool pool providing temporary instances
+     * @return the function value for the given point.
+     * @exception MathIllegalArgumentException if {@code point} does not
+     * satisfy the function's constraints (wrong dimension, argument out of bound,
+     * or unsupported derivative order for example)
+     */
+    MutableDerivativeStructure value(MutableDerivativeStructure[] point,
+                                     DerivativeStructurePool pool)
+        throws MathIllegalArgumentException;
+
+}
@@ -0,0 +1,1063 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.util.FastMath;
+
+/** Mutable counterpart of {@link DerivativeStructure}.
+ * <p>
+ * Each operation on a {@link DerivativeStructure} allocates a new instance
+ * and a new array for its value and derivatives. This is convenient, but
+ * costly in inner loops evaluating large models. Instances of this class
+ * are views over a region of a {@code double} array, which may be provided
+ * by the caller, and operations <em>overwrite</em> the instance with the
+ * result computed from the operands, using directly the {@link DSCompiler}
+ * array kernels. Operations do not allocate any object: intermediate
+ * results are stored in buffers allocated once per instance, the first
+ * time they are needed.
+ * </p>
+ * <p>
+ * Operations are written in three-address form: {@code z.multiply(x, y)}
+ * sets {@code z} to {@code x * y} and returns {@code z}, so calls can be
+ * chained. The instance may be one of the operands (as in {@code
+ * z.multiply(z, y)}): when needed, the result is computed in an internal
+ * buffer before being copied back. Temporary instances are best taken from
+ * a {@link DerivativeStructurePool}.
+ * </p>
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe.
+ * </p>
+ * @see DerivativeStructure
+ * @see DerivativeStructurePool
+ * @version $Id$
+ * @since 3.3
+ */
+public class MutableDerivativeStructure {
+
+    /** Compiler for the current dimensions. */
+    private final DSCompiler compiler;
+
+    /** Array holding the value and derivatives. */
+    private final double[] data;
+
+    /** Offset of the value and derivatives in the array. */
+    private final int offset;
+
+    /** Number of elements used in the array. */
+    private final int size;
+
+    /** Buffer for results of operations whose operands overlap the instance. */
+    private double[] scratch;
+
+    /** Buffer for intermediate results of composite operations. */
+    private double[] work;
+
+    /** Buffer for the value and derivatives of univariate functions. */
+    private double[] function;
+
+    /** Buffer for the polynomial coefficients of univariate functions derivatives. */
+    private double[] coefficients;
+
+    /** Build an instance with all values and derivatives set to 0.
+     * @param parameters number of free parameters
+     * @param order derivation order
+     * @throws NumberIsTooLargeException if order is too large
+     */
+    public MutableDerivativeStructure(final int parameters, final int order)
+        throws NumberIsTooLargeException {
+        this.compiler = DSCompiler.getCompiler(parameters, order);
+        this.size     = compiler.getSize();
+        this.data     = new double[size];
+        this.offset   = 0;
+    }
+
+    /** Build an instance backed by a caller-owned array.
+     * <p>
+     * The value and derivatives are stored in {@code buffer}, from index
+     * {@code offset} and sorted according to {@link
+     * DSCompiler#getPartialDerivativeIndex(int...)}. The array is neither
+     * copied nor cleared, so its current content is the initial state
+     * of the instance.
+     * </p>
+     * @param parameters number of free parameters
+     * @param order derivation order
+     * @param buffer array holding the value and derivatives
+     * @param offset offset of the value and derivatives in the array
+     * @throws NumberIsTooLargeException if order is too large or if
+     * the array is too small
+     * @throws NotPositiveException if offset is negative
+     */
+    public MutableDerivativeStructure(final int parameters, final int order,
+                                      final double[] buffer, final int offset)
+        throws NumberIsTooLargeException, NotPositiveException {
+        this.compiler = DSCompiler.getCompiler(parameters, order);
+        this.size     = compiler.getSize();
+        if (offset < 0) {
+            throw new NotPositiveException(offset);
+        }
+        if (offset + size > buffer.length) {
+            throw new NumberIsTooLargeException(offset + size, buffer.length, true);
+        }
+        this.data     = buffer;
+        this.offset   = offset;
+    }
+
+    /** Get the number of free parameters.
+     * @return number of free parameters
+     */
+    public int getFreeParameters() {
+        return compiler.getFreeParameters();
+    }
+
+    /** Get the derivation order.
+     * @return derivation order
+     */
+    public int getOrder() {
+        return compiler.getOrder();
+    }
+
+    /** Get the array holding the value and derivatives.
+     * @return array holding the value and derivatives (the array is not copied)
+     * @see #getOffset()
+     */
+    public double[] getBuffer() {
+        return data;
+    }
+
+    /** Get the offset of the value and derivatives in the array.
+     * @return offset of the value and derivatives in the array
+     * @see #getBuffer()
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /** Get the value part of the instance.
+     * @return value part of the instance
+     */
+    public double getValue() {
+        return data[offset];
+    }
+
+    /** Get a partial derivative.
+     * @param orders derivation orders with respect to each variable (if all orders are 0,
+     * the value is returned)
+     * @return partial derivative
+     * @exception DimensionMismatchException if the numbers of variables does not
+     * match the instance
+     * @exception NumberIsTooLargeException if sum of derivation orders is larger
+     * than the instance limits
+     * @see #getValue()
+     */
+    public double getPartialDerivative(final int ... orders)
+        throws DimensionMismatchException, NumberIsTooLargeException {
+        return data[offset + compiler.getPartialDerivativeIndex(orders)];
+    }
+
+    /** Build an immutable copy of the instance.
+     * @return immutable copy of the instance
+     */
+    public DerivativeStructure toDerivativeStructure() {
+        final double[] derivatives = new double[size];
+        System.arraycopy(data, offset, derivatives, 0, size);
+        return new DerivativeStructure(compiler.getFreeParameters(), compiler.getOrder(), derivatives);
+    }
+
+    /** Set the instance to a copy of another instance.
+     * @param a instance to copy
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure set(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        System.arraycopy(a.data, a.offset, data, offset, size);
+        return this;
+    }
+
+    /** Set the instance to a copy of an immutable derivative structure.
+     * @param a derivative structure to copy
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure set(final DerivativeStructure a)
+        throws DimensionMismatchException {
+        compiler.checkCompatibility(DSCompiler.getCompiler(a.getFreeParameters(), a.getOrder()));
+        System.arraycopy(a.getAllDerivatives(), 0, data, offset, size);
+        return this;
+    }
+
+    /** Set the instance to a constant value.
+     * @param value value of the constant
+     * @return this
+     */
+    public MutableDerivativeStructure setConstant(final double value) {
+        data[offset] = value;
+        for (int i = 1; i < size; ++i) {
+            data[offset + i] = 0;
+        }
+        return this;
+    }
+
+    /** Set the instance to a free variable.
+     * @param index index of the variable (from 0 to {@code parameters - 1})
+     * @param value value of the variable
+     * @return this
+     * @exception NumberIsTooLargeException if {@code index >= parameters}.
+     */
+    public MutableDerivativeStructure setVariable(final int index, final double value)
+        throws NumberIsTooLargeException {
+        if (index >= compiler.getFreeParameters()) {
+            throw new NumberIsTooLargeException(index, compiler.getFreeParameters(), false);
+        }
+        setConstant(value);
+        if (compiler.getOrder() > 0) {
+            // the derivative of the variable with respect to itself is 1.
+            data[offset + DSCompiler.getCompiler(index, compiler.getOrder()).getSize()] = 1.0;
+        }
+        return this;
+    }
+
+    /** Set the instance to a + b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure add(final MutableDerivativeStructure a,
+                                          final MutableDerivativeStructure b)
+        throws DimensionMismatchException {
+        check(a);
+        check(b);
+        final boolean alias = shifted(a) || shifted(b);
+        compiler.add(a.data, a.offset, b.data, b.offset, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to a + b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure add(final MutableDerivativeStructure a, final double b)
+        throws DimensionMismatchException {
+        set(a);
+        data[offset] += b;
+        return this;
+    }
+
+    /** Set the instance to a - b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure subtract(final MutableDerivativeStructure a,
+                                               final MutableDerivativeStructure b)
+        throws DimensionMismatchException {
+        check(a);
+        check(b);
+        final boolean alias = shifted(a) || shifted(b);
+        compiler.subtract(a.data, a.offset, b.data, b.offset, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to a - b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure subtract(final MutableDerivativeStructure a, final double b)
+        throws DimensionMismatchException {
+        return add(a, -b);
+    }
+
+    /** Set the instance to a &times; b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure multiply(final MutableDerivativeStructure a,
+                                               final MutableDerivativeStructure b)
+        throws DimensionMismatchException {
+        check(a);
+        check(b);
+        final boolean alias = overlaps(a) || overlaps(b);
+        compiler.multiply(a.data, a.offset, b.data, b.offset, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to a &times; b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure multiply(final MutableDerivativeStructure a, final double b)
+        throws DimensionMismatchException {
+        check(a);
+        final boolean alias = shifted(a);
+        final double[] out  = output(alias);
+        final int outOffset = outputOffset(alias);
+        for (int i = 0; i < size; ++i) {
+            out[outOffset + i] = a.data[a.offset + i] * b;
+        }
+        return commit(alias);
+    }
+
+    /** Add a &times; b to the instance.
+     * <p>
+     * This method is a convenience for accumulating sums of products,
+     * like in least squares problems or dot products.
+     * </p>
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure addProduct(final MutableDerivativeStructure a,
+                                                 final MutableDerivativeStructure b)
+        throws DimensionMismatchException {
+        check(a);
+        check(b);
+        compiler.multiply(a.data, a.offset, b.data, b.offset, output(true), 0);
+        compiler.add(data, offset, scratch, 0, data, offset);
+        return this;
+    }
+
+    /** Set the instance to a / b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure divide(final MutableDerivativeStructure a,
+                                             final MutableDerivativeStructure b)
+        throws DimensionMismatchException {
+        check(a);
+        check(b);
+        // 1 / b is stored in a work buffer, so only a may overlap the result
+        final double[] reciprocal = work();
+        reciprocal(b.data, b.offset, reciprocal, 0);
+        final boolean alias = overlaps(a);
+        compiler.multiply(a.data, a.offset, reciprocal, 0, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to a / b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure divide(final MutableDerivativeStructure a, final double b)
+        throws DimensionMismatchException {
+        check(a);
+        final boolean alias = shifted(a);
+        final double[] out  = output(alias);
+        final int outOffset = outputOffset(alias);
+        for (int i = 0; i < size; ++i) {
+            out[outOffset + i] = a.data[a.offset + i] / b;
+        }
+        return commit(alias);
+    }
+
+    /** Set the instance to IEEE remainder of a / b.
+     * @param a left hand side operand
+     * @param b right hand side operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure remainder(final MutableDerivativeStructure a,
+                                                final MutableDerivativeStructure b)
+        throws DimensionMismatchException {
+        check(a);
+        check(b);
+        final boolean alias = shifted(a) || shifted(b);
+        compiler.remainder(a.data, a.offset, b.data, b.offset, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to -a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure negate(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        return multiply(a, -1.0);
+    }
+
+    /** Set the instance to |a|.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure abs(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        if (Double.doubleToLongBits(a.data[a.offset]) < 0) {
+            // we use the bits representation to also handle -0.0
+            return negate(a);
+        } else {
+            return set(a);
+        }
+    }
+
+    /** Set the instance to 1 / a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure reciprocal(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        return pow(a, -1);
+    }
+
+    /** Set the instance to &radic;a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure sqrt(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        return rootN(a, 2);
+    }
+
+    /** Set the instance to the cubic root of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure cbrt(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        return rootN(a, 3);
+    }
+
+    /** Set the instance to the n<sup>th</sup> root of a.
+     * @param a operand
+     * @param n order of the root
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure rootN(final MutableDerivativeStructure a, final int n)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.rootNDerivatives(a.data[a.offset], n, function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to a<sup>p</sup>.
+     * @param a operand
+     * @param p power to apply
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure pow(final MutableDerivativeStructure a, final double p)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.powDerivatives(a.data[a.offset], p, function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to a<sup>n</sup>.
+     * @param a operand
+     * @param n power to apply
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure pow(final MutableDerivativeStructure a, final int n)
+        throws DimensionMismatchException {
+        check(a);
+        if (n == 0) {
+            // special case, x^0 = 1 for all x
+            compiler.pow(a.data, a.offset, n, data, offset);
+            return this;
+        }
+        compiler.powDerivatives(a.data[a.offset], n, function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to a<sup>e</sup>.
+     * @param a operand
+     * @param e exponent
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure pow(final MutableDerivativeStructure a,
+                                          final MutableDerivativeStructure e)
+        throws DimensionMismatchException {
+        check(a);
+        check(e);
+        // a^e = exp(e log(a)), with intermediate results in the work buffer,
+        // so the operands may overlap the result
+        final double[] tmp = work();
+        compiler.logDerivatives(a.data[a.offset], function());
+        compiler.compose(a.data, a.offset, function, tmp, 0);
+        compiler.multiply(tmp, 0, e.data, e.offset, tmp, size);
+        compiler.expDerivatives(tmp[size], function);
+        compiler.compose(tmp, size, function, data, offset);
+        return this;
+    }
+
+    /** Set the instance to a<sup>x</sup>.
+     * @param a number to exponentiate
+     * @param x power to apply
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure pow(final double a, final MutableDerivativeStructure x)
+        throws DimensionMismatchException {
+        check(x);
+        compiler.constantPowDerivatives(a, x.data[x.offset], function());
+        return composeFunction(x);
+    }
+
+    /** Set the instance to exponential of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure exp(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.expDerivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to exponential of a minus 1.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure expm1(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.expm1Derivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to natural logarithm of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure log(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.logDerivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to shifted natural logarithm of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure log1p(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.log1pDerivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to base 10 logarithm of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure log10(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.log10Derivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to cosine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure cos(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.cosDerivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to sine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure sin(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.sinDerivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to tangent of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure tan(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.tanDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to arc cosine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure acos(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.acosDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to arc sine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure asin(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.asinDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to arc tangent of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure atan(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.atanDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to two arguments arc tangent of y and x.
+     * @param y first argument of the arc tangent
+     * @param x second argument of the arc tangent
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure atan2(final MutableDerivativeStructure y,
+                                            final MutableDerivativeStructure x)
+        throws DimensionMismatchException {
+        check(y);
+        check(x);
+
+        // intermediate results are stored in the work buffer, so the
+        // operands may overlap the result, which is written last
+        final double[] tmp = work();
+        final int tmp1 = 0;
+        final int tmp2 = size;
+        final int tmp3 = 2 * size;
+        final double y0 = y.data[y.offset];
+        final double x0 = x.data[x.offset];
+
+        // compute r = sqrt(x^2+y^2)
+        compiler.multiply(x.data, x.offset, x.data, x.offset, tmp, tmp1); // x^2
+        compiler.multiply(y.data, y.offset, y.data, y.offset, tmp, tmp2); // y^2
+        compiler.add(tmp, tmp1, tmp, tmp2, tmp, tmp2);                     // x^2 + y^2
+        compiler.rootNDerivatives(tmp[tmp2], 2, function());
+        compiler.compose(tmp, tmp2, function, tmp, tmp1);                  // r = sqrt(x^2 + y^2)
+
+        if (x0 >= 0) {
+
+            // compute atan2(y, x) = 2 atan(y / (r + x))
+            compiler.add(tmp, tmp1, x.data, x.offset, tmp, tmp2);          // r + x
+            reciprocal(tmp, tmp2, tmp, tmp3);
+            compiler.multiply(y.data, y.offset, tmp, tmp3, tmp, tmp1);     // y /(r + x)
+            compiler.atanDerivatives(tmp[tmp1], function, coefficients());
+            compiler.compose(tmp, tmp1, function, tmp, tmp2);              // atan(y / (r + x))
+            for (int i = 0; i < size; ++i) {
+                data[offset + i] = 2 * tmp[tmp2 + i];                      // 2 * atan(y / (r + x))
+            }
+
+        } else {
+
+            // compute atan2(y, x) = +/- pi - 2 atan(y / (r - x))
+            compiler.subtract(tmp, tmp1, x.data, x.offset, tmp, tmp2);     // r - x
+            reciprocal(tmp, tmp2, tmp, tmp3);
+            compiler.multiply(y.data, y.offset, tmp, tmp3, tmp, tmp1);     // y /(r - x)
+            compiler.atanDerivatives(tmp[tmp1], function, coefficients());
+            compiler.compose(tmp, tmp1, function, tmp, tmp2);              // atan(y / (r - x))
+            data[offset] =
+                    ((tmp[tmp2] <= 0) ? -FastMath.PI : FastMath.PI) - 2 * tmp[tmp2]; // +/-pi - 2 * atan(y / (r - x))
+            for (int i = 1; i < size; ++i) {
+                data[offset + i] = -2 * tmp[tmp2 + i];                     // +/-pi - 2 * atan(y / (r - x))
+            }
+
+        }
+
+        // fix value to take special cases (+0/+0, +0/-0, -0/+0, -0/-0, +/-infinity) correctly
+        data[offset] = FastMath.atan2(y0, x0);
+
+        return this;
+    }
+
+    /** Set the instance to hyperbolic cosine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure cosh(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.coshDerivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to hyperbolic sine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure sinh(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.sinhDerivatives(a.data[a.offset], function());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to hyperbolic tangent of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure tanh(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.tanhDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to inverse hyperbolic cosine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure acosh(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.acoshDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to inverse hyperbolic sine of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure asinh(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.asinhDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to inverse hyperbolic tangent of a.
+     * @param a operand
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure atanh(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        check(a);
+        compiler.atanhDerivatives(a.data[a.offset], function(), coefficients());
+        return composeFunction(a);
+    }
+
+    /** Set the instance to the composition of a by a function.
+     * @param a operand
+     * @param f array of value and derivatives of the function at
+     * the current point (i.e. [f({@link #getValue()}),
+     * f'({@link #getValue()}), f''({@link #getValue()})...]).
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match, or if the number of derivatives
+     * in the array is not equal to {@link #getOrder() order} + 1
+     */
+    public MutableDerivativeStructure compose(final MutableDerivativeStructure a, final double ... f)
+        throws DimensionMismatchException {
+        check(a);
+        if (f.length != compiler.getOrder() + 1) {
+            throw new DimensionMismatchException(f.length, compiler.getOrder() + 1);
+        }
+        final boolean alias = overlaps(a);
+        compiler.compose(a.data, a.offset, f, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to a linear combination.
+     * @param a1 first scale factor
+     * @param b1 first base (unscaled) component
+     * @param a2 second scale factor
+     * @param b2 second base (unscaled) component
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure linearCombination(final double a1, final MutableDerivativeStructure b1,
+                                                       final double a2, final MutableDerivativeStructure b2)
+        throws DimensionMismatchException {
+        check(b1);
+        check(b2);
+        final boolean alias = shifted(b1) || shifted(b2);
+        compiler.linearCombination(a1, b1.data, b1.offset, a2, b2.data, b2.offset,
+                                   output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to a linear combination.
+     * @param a1 first scale factor
+     * @param b1 first base (unscaled) component
+     * @param a2 second scale factor
+     * @param b2 second base (unscaled) component
+     * @param a3 third scale factor
+     * @param b3 third base (unscaled) component
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure linearCombination(final double a1, final MutableDerivativeStructure b1,
+                                                       final double a2, final MutableDerivativeStructure b2,
+                                                       final double a3, final MutableDerivativeStructure b3)
+        throws DimensionMismatchException {
+        check(b1);
+        check(b2);
+        check(b3);
+        final boolean alias = shifted(b1) || shifted(b2) || shifted(b3);
+        compiler.linearCombination(a1, b1.data, b1.offset, a2, b2.data, b2.offset,
+                                   a3, b3.data, b3.offset, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Set the instance to a linear combination.
+     * @param a1 first scale factor
+     * @param b1 first base (unscaled) component
+     * @param a2 second scale factor
+     * @param b2 second base (unscaled) component
+     * @param a3 third scale factor
+     * @param b3 third base (unscaled) component
+     * @param a4 fourth scale factor
+     * @param b4 fourth base (unscaled) component
+     * @return this
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    public MutableDerivativeStructure linearCombination(final double a1, final MutableDerivativeStructure b1,
+                                                       final double a2, final MutableDerivativeStructure b2,
+                                                       final double a3, final MutableDerivativeStructure b3,
+                                                       final double a4, final MutableDerivativeStructure b4)
+        throws DimensionMismatchException {
+        check(b1);
+        check(b2);
+        check(b3);
+        check(b4);
+        final boolean alias = shifted(b1) || shifted(b2) || shifted(b3) || shifted(b4);
+        compiler.linearCombination(a1, b1.data, b1.offset, a2, b2.data, b2.offset,
+                                   a3, b3.data, b3.offset, a4, b4.data, b4.offset,
+                                   output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Evaluate Taylor expansion of the instance.
+     * @param delta parameters offsets (&Delta;x, &Delta;y, ...)
+     * @return value of the Taylor expansion at x + &Delta;x, y + &Delta;y, ...
+     */
+    public double taylor(final double ... delta) {
+        return compiler.taylor(data, offset, delta);
+    }
+
+    /** Check an operand is compatible with the instance.
+     * @param a operand to check
+     * @exception DimensionMismatchException if number of free parameters
+     * or orders do not match
+     */
+    private void check(final MutableDerivativeStructure a)
+        throws DimensionMismatchException {
+        if (a.compiler != compiler) {
+            compiler.checkCompatibility(a.compiler);
+        }
+    }
+
+    /** Check if an operand overlaps the instance in the underlying arrays.
+     * @param a operand to check
+     * @return true if the operand overlaps the instance
+     */
+    private boolean overlaps(final MutableDerivativeStructure a) {
+        return a.data == data && a.offset < offset + size && offset < a.offset + size;
+    }
+
+    /** Check if an operand overlaps the instance at a different offset.
+     * <p>
+     * Element-wise operations can write their result over an operand
+     * located exactly at the same place as the instance, but not over
+     * an operand shifted with respect to it.
+     * </p>
+     * @param a operand to check
+     * @return true if the operand overlaps the instance at a different offset
+     */
+    private boolean shifted(final MutableDerivativeStructure a) {
+        return a.offset != offset && overlaps(a);
+    }
+
+    /** Get the array where to store the result of an operation.
+     * @param alias if true, some operands overlap the instance
+     * @return array where to store the result
+     */
+    private double[] output(final boolean alias) {
+        if (alias) {
+            if (scratch == null) {
+                scratch = new double[size];
+            }
+            return scratch;
+        }
+        return data;
+    }
+
+    /** Get the offset where to store the result of an operation.
+     * @param alias if true, some operands overlap the instance
+     * @return offset where to store the result
+     */
+    private int outputOffset(final boolean alias) {
+        return alias ? 0 : offset;
+    }
+
+    /** Get the buffer for intermediate results of composite operations.
+     * @return buffer large enough for three intermediate results
+     */
+    private double[] work() {
+        if (work == null) {
+            work = new double[3 * size];
+        }
+        return work;
+    }
+
+    /** Get the buffer for the value and derivatives of univariate functions.
+     * @return buffer for the value and derivatives of univariate functions
+     */
+    private double[] function() {
+        if (function == null) {
+            function = new double[compiler.getOrder() + 1];
+        }
+        return function;
+    }
+
+    /** Get the buffer for the polynomial coefficients of univariate functions derivatives.
+     * @return buffer for the polynomial coefficients of univariate functions derivatives
+     */
+    private double[] coefficients() {
+        if (coefficients == null) {
+            coefficients = new double[compiler.getOrder() + 2];
+        }
+        return coefficients;
+    }
+
+    /** Set the instance to the composition of an operand by the function
+     * whose value and derivatives are in the {@link #function()} buffer.
+     * @param a operand
+     * @return this
+     */
+    private MutableDerivativeStructure composeFunction(final MutableDerivativeStructure a) {
+        final boolean alias = overlaps(a);
+        compiler.compose(a.data, a.offset, function, output(alias), outputOffset(alias));
+        return commit(alias);
+    }
+
+    /** Compute the reciprocal of a derivative structure.
+     * @param operand array holding the operand
+     * @param operandOffset offset of the operand in its array
+     * @param result array where result must be stored (it
+     * <em>cannot</em> overlap the operand)
+     * @param resultOffset offset of the result in its array
+     */
+    private void reciprocal(final double[] operand, final int operandOffset,
+                            final double[] result, final int resultOffset) {
+        compiler.powDerivatives(operand[operandOffset], -1, function());
+        compiler.compose(operand, operandOffset, function, result, resultOffset);
+    }
+
+    /** Finish an operation.
+     * @param alias if true, some operands overlap the instance
+     * @return this
+     */
+    private MutableDerivativeStructure commit(final boolean alias) {
+        if (alias) {
+            System.arraycopy(scratch, 0, data, offset, size);
+        }
+        return this;
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.analysis.MultivariateVectorFunction;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+
+/** Multivariate functions differentiator using reverse mode automatic differentiation.
+ * <p>
+ * This class creates some wrapper objects around {@link MultivariateTapeFunction
+ * functions evaluated on tape variables}. The wrappers record each evaluation
+ * on a {@link GradientTape} and compute the full gradient in one backward sweep,
+ * which is cheaper than {@link GradientFunction} when the function has many
+ * parameters, as {@link DerivativeStructure} propagates all partial derivatives
+ * forward through each operation.
+ * </p>
+ * <p>
+ * The wrappers can be used wherever a {@link MultivariateDifferentiableFunction}
+ * or a gradient {@link MultivariateVectorFunction} is expected, for example in an
+ * {@link org.apache.commons.math3.optim.nonlinear.scalar.ObjectiveFunctionGradient
+ * ObjectiveFunctionGradient} for gradient-based optimizers. Only first order
+ * derivatives are available.
+ * </p>
+ * <p>
+ * Each thread uses its own tape, which is reused from one evaluation
+ * to the next, so the wrappers can be shared between threads.
+ * </p>
+ * @see GradientTape
+ * @version $Id$
+ * @since 3.3
+ */
+public class ReverseModeDifferentiator {
+
+    /** Tapes used for evaluations, one for each thread. */
+    private final ThreadLocal<GradientTape> tapes;
+
+    /** Build a differentiator.
+     */
+    public ReverseModeDifferentiator() {
+        tapes = new ThreadLocal<GradientTape>() {
+
+            /** {@inheritDoc} */
+            @Override
+            protected GradientTape initialValue() {
+                return new GradientTape();
+            }
+
+        };
+    }
+
+    /** Create an implementation of a differential from a tape function.
+     * <p>The returned object cannot compute derivatives of order greater
+     * than 1. Its value function will throw a {@link NumberIsTooLargeException}
+     * if the requested derivation order is larger.
+     * </p>
+     * @param function function to differentiate
+     * @return differential function
+     */
+    public MultivariateDifferentiableFunction differentiate(final MultivariateTapeFunction function) {
+        return new MultivariateDifferentiableFunction() {
+
+            /** {@inheritDoc} */
+            public double value(final double[] point) throws MathIllegalArgumentException {
+
+                // evaluate the function on constants only, so nothing is recorded
+                final GradientTape tape = tapes.get();
+                final TapeVariable[] x = new TapeVariable[point.length];
+                for (int i = 0; i < point.length; ++i) {
+                    x[i] = tape.constant(point[i]);
+                }
+                return function.value(x).getValue();
+
+            }
+
+            /** {@inheritDoc} */
+            public DerivativeStructure value(final DerivativeStructure[] point)
+                throws MathIllegalArgumentException {
+
+                final int order = point[0].getOrder();
+                if (order > 1) {
+                    throw new NumberIsTooLargeException(order, 1, true);
+                }
+
+                final double[] x = new double[point.length];
+                for (int i = 0; i < point.length; ++i) {
+                    x[i] = point[i].getValue();
+                }
+
+                if (order == 0) {
+                    return new DerivativeStructure(point[0].getFreeParameters(), 0, value(x));
+                }
+
+                // chain rule: df = sum(df/dx_i * dx_i)
+                final double[] g = new double[point.length];
+                final double   y = evaluate(function, x, g);
+                final DerivativeStructure combination = point[0].linearCombination(g, point);
+                return combination.add(y - combination.getValue());
+
+            }
+
+        };
+    }
+
+    /** Create the gradient of a tape function.
+     * @param function function to differentiate
+     * @return gradient of the function
+     */
+    public MultivariateVectorFunction gradient(final MultivariateTapeFunction function) {
+        return new MultivariateVectorFunction() {
+
+            /** {@inheritDoc} */
+            public double[] value(final double[] point) throws MathIllegalArgumentException {
+                final double[] g = new double[point.length];
+                evaluate(function, point, g);
+                return g;
+            }
+
+        };
+    }
+
+    /** Evaluate a function and its gradient.
+     * @param function function to evaluate
+     * @param point point at which the function must be evaluated
+     * @param gradient placeholder where to put the gradient
+     * @return value of the function
+     * @exception MathIllegalArgumentException if {@code point} does not
+     * satisfy the function's constraints
+     */
+    private double evaluate(final MultivariateTapeFunction function,
+                            final double[] point, final double[] gradient)
+        throws MathIllegalArgumentException {
+        final GradientTape tape = tapes.get();
+        tape.reset();
+        try {
+            final TapeVariable[] x = tape.variables(point);
+            final TapeVariable   y = function.value(x);
+            tape.gradient(y, x, gradient);
+            return y.getValue();
+        } finally {
+            tape.reset();
+        }
+    }
+
+}
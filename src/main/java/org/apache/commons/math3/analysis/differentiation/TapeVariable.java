@@ -0,0 +1,597 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.Field;
+import org.apache.commons.math3.FieldElement;
+import org.apache.commons.math3.RealFieldElement;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+
+/** Variable recorded on a {@link GradientTape} for reverse mode differentiation.
+ * <p>
+ * Each operation on instances of this class computes the value of the
+ * result and records on the tape the local partial derivatives of the
+ * result with respect to the operands. The derivatives of the final
+ * result with respect to any variables are then computed by
+ * {@link GradientTape#gradient(TapeVariable, TapeVariable...)}.
+ * </p>
+ * <p>
+ * Instances are created by {@link GradientTape#variable(double)} and
+ * {@link GradientTape#constant(double)}, or as results of operations on
+ * other instances. Only first order derivatives are available, so functions
+ * that are piecewise constant like {@link #floor()} or {@link #signum()}
+ * return constants. All instances combined together must belong to the
+ * same tape.
+ * </p>
+ * <p>
+ * Instances of this class are immutable, but the underlying tape is not.
+ * </p>
+ * @see GradientTape
+ * @see DerivativeStructure
+ * @version $Id$
+ * @since 3.3
+ */
+public class TapeVariable implements RealFieldElement<TapeVariable> {
+
+    /** Tape on which the variable is recorded. */
+    private final GradientTape tape;
+
+    /** Index of the variable in the tape (-1 for constants). */
+    private final int index;
+
+    /** Value of the variable. */
+    private final double value;
+
+    /** Build an instance.
+     * @param tape tape on which the variable is recorded
+     * @param index index of the variable in the tape (-1 for constants)
+     * @param value value of the variable
+     */
+    TapeVariable(final GradientTape tape, final int index, final double value) {
+        this.tape  = tape;
+        this.index = index;
+        this.value = value;
+    }
+
+    /** Get the tape on which the variable is recorded.
+     * @return tape on which the variable is recorded
+     */
+    public GradientTape getTape() {
+        return tape;
+    }
+
+    /** Get the index of the variable in the tape.
+     * @return index of the variable in the tape (-1 for constants)
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /** Check if the instance is a constant.
+     * @return true if the instance is a constant, i.e. it does not depend
+     * on any variable
+     */
+    public boolean isConstant() {
+        return index < 0;
+    }
+
+    /** Create a constant compatible with instance.
+     * @param c value of the constant
+     * @return a constant compatible with instance
+     */
+    public TapeVariable createConstant(final double c) {
+        return tape.constant(c);
+    }
+
+    /** {@inheritDoc} */
+    public double getReal() {
+        return value;
+    }
+
+    /** Get the value part of the variable.
+     * @return value part of the variable
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable add(final double a) {
+        return tape.unary(this, 1, value + a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable add(final TapeVariable a) {
+        return tape.binary(this, 1, a, 1, value + a.value);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable subtract(final double a) {
+        return tape.unary(this, 1, value - a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable subtract(final TapeVariable a) {
+        return tape.binary(this, 1, a, -1, value - a.value);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable multiply(final int n) {
+        return tape.unary(this, n, value * n);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable multiply(final double a) {
+        return tape.unary(this, a, value * a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable multiply(final TapeVariable a) {
+        return tape.binary(this, a.value, a, value, value * a.value);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable divide(final double a) {
+        return tape.unary(this, 1 / a, value / a);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable divide(final TapeVariable a) {
+        final double inv = 1 / a.value;
+        final double q   = value / a.value;
+        return tape.binary(this, inv, a, -q * inv, q);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable remainder(final double a) {
+        return tape.unary(this, 1, FastMath.IEEEremainder(value, a));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable remainder(final TapeVariable a) {
+        final double rem = FastMath.IEEEremainder(value, a.value);
+        final double k   = FastMath.rint((value - rem) / a.value);
+        return tape.binary(this, 1, a, -k, rem);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable negate() {
+        return tape.unary(this, -1, -value);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable abs() {
+        if (Double.doubleToLongBits(value) < 0) {
+            // we use the bits representation to also handle -0.0
+            return negate();
+        } else {
+            return this;
+        }
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable ceil() {
+        return tape.constant(FastMath.ceil(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable floor() {
+        return tape.constant(FastMath.floor(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable rint() {
+        return tape.constant(FastMath.rint(value));
+    }
+
+    /** {@inheritDoc} */
+    public long round() {
+        return FastMath.round(value);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable signum() {
+        return tape.constant(FastMath.signum(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable copySign(final TapeVariable sign) {
+        return copySign(sign.value);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable copySign(final double sign) {
+        long m = Double.doubleToLongBits(value);
+        long s = Double.doubleToLongBits(sign);
+        if ((m >= 0 && s >= 0) || (m < 0 && s < 0)) { // Sign is currently OK
+            return this;
+        }
+        return negate(); // flip sign
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable scalb(final int n) {
+        return tape.unary(this, FastMath.scalb(1.0, n), FastMath.scalb(value, n));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable hypot(final TapeVariable y) {
+        final double h = FastMath.hypot(value, y.value);
+        if (Double.isInfinite(h) || Double.isNaN(h)) {
+            return tape.constant(h);
+        } else if (h == 0) {
+            return tape.binary(this, 0, y, 0, h);
+        }
+        return tape.binary(this, value / h, y, y.value / h, h);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable reciprocal() {
+        final double r = 1 / value;
+        return tape.unary(this, -r * r, r);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable sqrt() {
+        final double s = FastMath.sqrt(value);
+        return tape.unary(this, 0.5 / s, s);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable cbrt() {
+        final double c = FastMath.cbrt(value);
+        return tape.unary(this, 1.0 / (3.0 * c * c), c);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable rootN(final int n) {
+        if (n == 2) {
+            return sqrt();
+        } else if (n == 3) {
+            return cbrt();
+        }
+        final double r = FastMath.pow(value, 1.0 / n);
+        return tape.unary(this, 1.0 / (n * FastMath.pow(r, n - 1)), r);
+    }
+
+    /** {@inheritDoc} */
+    public Field<TapeVariable> getField() {
+        return new Field<TapeVariable>() {
+
+            /** {@inheritDoc} */
+            public TapeVariable getZero() {
+                return tape.constant(0.0);
+            }
+
+            /** {@inheritDoc} */
+            public TapeVariable getOne() {
+                return tape.constant(1.0);
+            }
+
+            /** {@inheritDoc} */
+            public Class<? extends FieldElement<TapeVariable>> getRuntimeClass() {
+                return TapeVariable.class;
+            }
+
+        };
+    }
+
+    /** Compute a<sup>x</sup> where a is a double and x a {@link TapeVariable}
+     * @param a number to exponentiate
+     * @param x power to apply
+     * @return a<sup>x</sup>
+     */
+    public static TapeVariable pow(final double a, final TapeVariable x) {
+        if (a == 0) {
+            if (x.value == 0) {
+                return x.tape.unary(x, Double.NEGATIVE_INFINITY, 1.0);
+            } else if (x.value < 0) {
+                return x.tape.unary(x, Double.NaN, Double.NaN);
+            }
+            return x.tape.unary(x, 0, 0.0);
+        }
+        final double p = FastMath.pow(a, x.value);
+        return x.tape.unary(x, p * FastMath.log(a), p);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable pow(final double p) {
+        if (p == 0) {
+            return tape.constant(1.0);
+        }
+        return tape.unary(this, p * FastMath.pow(value, p - 1), FastMath.pow(value, p));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable pow(final int n) {
+        if (n == 0) {
+            return tape.constant(1.0);
+        }
+        return tape.unary(this, n * FastMath.pow(value, n - 1), FastMath.pow(value, n));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable pow(final TapeVariable e) {
+        final double p  = FastMath.pow(value, e.value);
+        final double de = (p == 0) ? 0 : p * FastMath.log(value);
+        return tape.binary(this, e.value * FastMath.pow(value, e.value - 1), e, de, p);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable exp() {
+        final double e = FastMath.exp(value);
+        return tape.unary(this, e, e);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable expm1() {
+        return tape.unary(this, FastMath.exp(value), FastMath.expm1(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable log() {
+        return tape.unary(this, 1 / value, FastMath.log(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable log1p() {
+        return tape.unary(this, 1 / (1 + value), FastMath.log1p(value));
+    }
+
+    /** Base 10 logarithm.
+     * @return base 10 logarithm of the instance
+     */
+    public TapeVariable log10() {
+        return tape.unary(this, 1 / (value * FastMath.log(10.0)), FastMath.log10(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable cos() {
+        return tape.unary(this, -FastMath.sin(value), FastMath.cos(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable sin() {
+        return tape.unary(this, FastMath.cos(value), FastMath.sin(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable tan() {
+        final double t = FastMath.tan(value);
+        return tape.unary(this, 1 + t * t, t);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable acos() {
+        return tape.unary(this, -1 / FastMath.sqrt(1 - value * value), FastMath.acos(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable asin() {
+        return tape.unary(this, 1 / FastMath.sqrt(1 - value * value), FastMath.asin(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable atan() {
+        return tape.unary(this, 1 / (1 + value * value), FastMath.atan(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable atan2(final TapeVariable x) {
+        final double r2 = value * value + x.value * x.value;
+        return tape.binary(this, x.value / r2, x, -value / r2, FastMath.atan2(value, x.value));
+    }
+
+    /** Two arguments arc tangent operation.
+     * @param y first argument of the arc tangent
+     * @param x second argument of the arc tangent
+     * @return atan2(y, x)
+     */
+    public static TapeVariable atan2(final TapeVariable y, final TapeVariable x) {
+        return y.atan2(x);
+    }
+
+    /** Returns the hypotenuse of a triangle with sides {@code x} and {@code y}
+     * - sqrt(<i>x</i><sup>2</sup>&nbsp;+<i>y</i><sup>2</sup>)
+     * @param x a value
+     * @param y a value
+     * @return sqrt(<i>x</i><sup>2</sup>&nbsp;+<i>y</i><sup>2</sup>)
+     */
+    public static TapeVariable hypot(final TapeVariable x, final TapeVariable y) {
+        return x.hypot(y);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable cosh() {
+        return tape.unary(this, FastMath.sinh(value), FastMath.cosh(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable sinh() {
+        return tape.unary(this, FastMath.cosh(value), FastMath.sinh(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable tanh() {
+        final double t = FastMath.tanh(value);
+        return tape.unary(this, 1 - t * t, t);
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable acosh() {
+        return tape.unary(this, 1 / FastMath.sqrt(value * value - 1), FastMath.acosh(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable asinh() {
+        return tape.unary(this, 1 / FastMath.sqrt(value * value + 1), FastMath.asinh(value));
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable atanh() {
+        return tape.unary(this, 1 / (1 - value * value), FastMath.atanh(value));
+    }
+
+    /** Convert radians to degrees, with error of less than 0.5 ULP
+     *  @return instance converted into degrees
+     */
+    public TapeVariable toDegrees() {
+        return tape.unary(this, FastMath.toDegrees(1.0), FastMath.toDegrees(value));
+    }
+
+    /** Convert degrees to radians, with error of less than 0.5 ULP
+     *  @return instance converted into radians
+     */
+    public TapeVariable toRadians() {
+        return tape.unary(this, FastMath.toRadians(1.0), FastMath.toRadians(value));
+    }
+
+    /** {@inheritDoc}
+     * @exception DimensionMismatchException if arrays dimensions don't match
+     */
+    public TapeVariable linearCombination(final TapeVariable[] a, final TapeVariable[] b)
+        throws DimensionMismatchException {
+
+        if (a.length != b.length) {
+            throw new DimensionMismatchException(a.length, b.length);
+        }
+
+        final double[] aValues = new double[a.length];
+        final double[] bValues = new double[b.length];
+        final TapeVariable[] products = new TapeVariable[a.length];
+        for (int i = 0; i < a.length; ++i) {
+            aValues[i]  = a[i].value;
+            bValues[i]  = b[i].value;
+            products[i] = tape.binary(a[i], bValues[i], b[i], aValues[i], aValues[i] * bValues[i]);
+        }
+
+        return sum(products, MathArrays.linearCombination(aValues, bValues));
+
+    }
+
+    /** {@inheritDoc}
+     * @exception DimensionMismatchException if arrays dimensions don't match
+     */
+    public TapeVariable linearCombination(final double[] a, final TapeVariable[] b)
+        throws DimensionMismatchException {
+
+        if (a.length != b.length) {
+            throw new DimensionMismatchException(a.length, b.length);
+        }
+
+        final double[] bValues = new double[b.length];
+        final TapeVariable[] products = new TapeVariable[a.length];
+        for (int i = 0; i < a.length; ++i) {
+            bValues[i]  = b[i].value;
+            products[i] = tape.unary(b[i], a[i], a[i] * bValues[i]);
+        }
+
+        return sum(products, MathArrays.linearCombination(a, bValues));
+
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final TapeVariable a1, final TapeVariable b1,
+                                          final TapeVariable a2, final TapeVariable b2) {
+        return linearCombination(new TapeVariable[] {
+                                     a1, a2
+                                 }, new TapeVariable[] {
+                                     b1, b2
+                                 });
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final double a1, final TapeVariable b1,
+                                          final double a2, final TapeVariable b2) {
+        return linearCombination(new double[] {
+                                     a1, a2
+                                 }, new TapeVariable[] {
+                                     b1, b2
+                                 });
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final TapeVariable a1, final TapeVariable b1,
+                                          final TapeVariable a2, final TapeVariable b2,
+                                          final TapeVariable a3, final TapeVariable b3) {
+        return linearCombination(new TapeVariable[] {
+                                     a1, a2, a3
+                                 }, new TapeVariable[] {
+                                     b1, b2, b3
+                                 });
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final double a1, final TapeVariable b1,
+                                          final double a2, final TapeVariable b2,
+                                          final double a3, final TapeVariable b3) {
+        return linearCombination(new double[] {
+                                     a1, a2, a3
+                                 }, new TapeVariable[] {
+                                     b1, b2, b3
+                                 });
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final TapeVariable a1, final TapeVariable b1,
+                                          final TapeVariable a2, final TapeVariable b2,
+                                          final TapeVariable a3, final TapeVariable b3,
+                                          final TapeVariable a4, final TapeVariable b4) {
+        return linearCombination(new TapeVariable[] {
+                                     a1, a2, a3, a4
+                                 }, new TapeVariable[] {
+                                     b1, b2, b3, b4
+                                 });
+    }
+
+    /** {@inheritDoc} */
+    public TapeVariable linearCombination(final double a1, final TapeVariable b1,
+                                          final double a2, final TapeVariable b2,
+                                          final double a3, final TapeVariable b3,
+                                          final double a4, final TapeVariable b4) {
+        return linearCombination(new double[] {
+                                     a1, a2, a3, a4
+                                 }, new TapeVariable[] {
+                                     b1, b2, b3, b4
+                                 });
+    }
+
+    /** Record the sum of several terms.
+     * <p>
+     * The tape nodes only have two operands, so the sum is recorded as
+     * a chain of additions. The value of the final node is replaced
+     * by an accurately computed value.
+     * </p>
+     * @param terms terms to add
+     * @param sum accurate value of the sum
+     * @return sum of the terms
+     */
+    private TapeVariable sum(final TapeVariable[] terms, final double sum) {
+        if (terms.length == 0) {
+            return tape.constant(sum);
+        }
+        TapeVariable accumulator = terms[0];
+        for (int i = 1; i < terms.length; ++i) {
+            accumulator = tape.binary(accumulator, 1, terms[i], 1,
+                                      accumulator.value + terms[i].value);
+        }
+        return new TapeVariable(tape, accumulator.index, sum);
+    }
+
+}
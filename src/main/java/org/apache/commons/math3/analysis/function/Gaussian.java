@@ -19,6 +19,7 @@ package org.apache.commons.math3.analysis.function;
 
 import java.util.Arrays;
 
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.DifferentiableUnivariateFunction;
@@ -29,6 +30,7 @@ import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
 import org.apache.commons.math3.util.Precision;
 
 /**
@@ -38,7 +40,7 @@ import org.apache.commons.math3.util.Precision;
  * @since 3.0
  * @version $Id$
  */
-public class Gaussian implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction {
+public class Gaussian implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction, BatchUnivariateFunction {
     /** Mean. */
     private final double mean;
     /** Inverse of the standard deviation. */
@@ -95,6 +97,16 @@ public class Gaussian implements UnivariateDifferentiableFunction, Differentiabl
         return value(x - mean, norm, i2s2);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y) {
+        MathArrays.checkEqualLength(x, y);
+        for (int i = 0; i < x.length; ++i) {
+            y[i] = value(x[i] - mean, norm, i2s2);
+        }
+    }
+
     /** {@inheritDoc}
      * @deprecated as of 3.1, replaced by {@link #value(DerivativeStructure)}
      */
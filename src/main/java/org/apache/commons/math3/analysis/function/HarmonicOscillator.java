@@ -17,6 +17,7 @@
 
 package org.apache.commons.math3.analysis.function;
 
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.analysis.DifferentiableUnivariateFunction;
 import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.ParametricUnivariateFunction;
@@ -26,6 +27,7 @@ import org.apache.commons.math3.analysis.differentiation.UnivariateDifferentiabl
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
 
 /**
  * <a href="http://en.wikipedia.org/wiki/Harmonic_oscillator">
@@ -34,7 +36,7 @@ import org.apache.commons.math3.util.FastMath;
  * @since 3.0
  * @version $Id$
  */
-public class HarmonicOscillator implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction {
+public class HarmonicOscillator implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction, BatchUnivariateFunction {
     /** Amplitude. */
     private final double amplitude;
     /** Angular frequency. */
@@ -62,6 +64,16 @@ public class HarmonicOscillator implements UnivariateDifferentiableFunction, Dif
         return value(omega * x + phase, amplitude);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y) {
+        MathArrays.checkEqualLength(x, y);
+        for (int i = 0; i < x.length; ++i) {
+            y[i] = value(omega * x[i] + phase, amplitude);
+        }
+    }
+
     /** {@inheritDoc}
      * @deprecated as of 3.1, replaced by {@link #value(DerivativeStructure)}
      */
@@ -17,6 +17,7 @@
 
 package org.apache.commons.math3.analysis.function;
 
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.DifferentiableUnivariateFunction;
@@ -27,6 +28,7 @@ import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
 
 /**
  * <a href="http://en.wikipedia.org/wiki/Generalised_logistic_function">
@@ -35,7 +37,7 @@ import org.apache.commons.math3.util.FastMath;
  * @since 3.0
  * @version $Id$
  */
-public class Logistic implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction {
+public class Logistic implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction, BatchUnivariateFunction {
     /** Lower asymptote. */
     private final double a;
     /** Upper asymptote. */
@@ -86,6 +88,16 @@ public class Logistic implements UnivariateDifferentiableFunction, Differentiabl
         return value(m - x, k, b, q, a, oneOverN);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y) {
+        MathArrays.checkEqualLength(x, y);
+        for (int i = 0; i < x.length; ++i) {
+            y[i] = value(m - x[i], k, b, q, a, oneOverN);
+        }
+    }
+
     /** {@inheritDoc}
      * @deprecated as of 3.1, replaced by {@link #value(DerivativeStructure)}
      */
@@ -17,6 +17,7 @@
 
 package org.apache.commons.math3.analysis.function;
 
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.analysis.DifferentiableUnivariateFunction;
 import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.ParametricUnivariateFunction;
@@ -27,6 +28,7 @@ import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
 
 /**
  * <a href="http://en.wikipedia.org/wiki/Logit">
@@ -36,7 +38,7 @@ import org.apache.commons.math3.util.FastMath;
  * @since 3.0
  * @version $Id$
  */
-public class Logit implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction {
+public class Logit implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction, BatchUnivariateFunction {
     /** Lower bound. */
     private final double lo;
     /** Higher bound. */
@@ -68,6 +70,17 @@ public class Logit implements UnivariateDifferentiableFunction, DifferentiableUn
         return value(x, lo, hi);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y)
+        throws OutOfRangeException {
+        MathArrays.checkEqualLength(x, y);
+        for (int i = 0; i < x.length; ++i) {
+            y[i] = value(x[i], lo, hi);
+        }
+    }
+
     /** {@inheritDoc}
      * @deprecated as of 3.1, replaced by {@link #value(DerivativeStructure)}
      */
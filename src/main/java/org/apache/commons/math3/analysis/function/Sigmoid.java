@@ -19,6 +19,7 @@ package org.apache.commons.math3.analysis.function;
 
 import java.util.Arrays;
 
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.DifferentiableUnivariateFunction;
@@ -28,6 +29,7 @@ import org.apache.commons.math3.analysis.differentiation.UnivariateDifferentiabl
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
 
 /**
  * <a href="http://en.wikipedia.org/wiki/Sigmoid_function">
@@ -39,7 +41,7 @@ import org.apache.commons.math3.util.FastMath;
  * @since 3.0
  * @version $Id$
  */
-public class Sigmoid implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction {
+public class Sigmoid implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction, BatchUnivariateFunction {
     /** Lower asymptote. */
     private final double lo;
     /** Higher asymptote. */
@@ -78,6 +80,16 @@ public class Sigmoid implements UnivariateDifferentiableFunction, Differentiable
         return value(x, lo, hi);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y) {
+        MathArrays.checkEqualLength(x, y);
+        for (int i = 0; i < x.length; ++i) {
+            y[i] = value(x[i], lo, hi);
+        }
+    }
+
     /**
      * Parametric function where the input array contains the parameters of
      * the {@link Sigmoid#Sigmoid(double,double) sigmoid function}, ordered
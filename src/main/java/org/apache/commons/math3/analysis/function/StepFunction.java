@@ -18,7 +18,7 @@
 package org.apache.commons.math3.analysis.function;
 
 import java.util.Arrays;
-import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NonMonotonicSequenceException;
 import org.apache.commons.math3.exception.NullArgumentException;
@@ -32,7 +32,7 @@ import org.apache.commons.math3.util.MathArrays;
  * @since 3.0
  * @version $Id$
  */
-public class StepFunction implements UnivariateFunction {
+public class StepFunction implements BatchUnivariateFunction {
     /** Abscissae. */
     private final double[] abscissa;
     /** Ordinates. */
@@ -81,21 +81,54 @@ public class StepFunction implements UnivariateFunction {
 
     /** {@inheritDoc} */
     public double value(double x) {
-        int index = Arrays.binarySearch(abscissa, x);
-        double fx = 0;
+        return ordinate[locate(x)];
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * When the points are sorted in increasing order, the steps are
+     * located by a single forward scan of the abscissae, instead of
+     * one binary search per point.
+     * </p>
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y) {
+        MathArrays.checkEqualLength(x, y);
+        int index = 0;
+        for (int i = 0; i < x.length; ++i) {
+            final double xi = x[i];
+            if (xi >= abscissa[index] && xi != 0) {
+                // move forward from the step of the previous point
+                while (index + 1 < abscissa.length && xi >= abscissa[index + 1]) {
+                    ++index;
+                }
+            } else {
+                // points not sorted, or special values (signed zeros, NaN)
+                index = locate(xi);
+            }
+            y[i] = ordinate[index];
+        }
+    }
+
+    /**
+     * Locate the step containing a point.
+     *
+     * @param x point to locate
+     * @return index of the step containing {@code x}
+     */
+    private int locate(final double x) {
+        final int index = Arrays.binarySearch(abscissa, x);
 
         if (index < -1) {
             // "x" is between "abscissa[-index-2]" and "abscissa[-index-1]".
-            fx = ordinate[-index-2];
+            return -index - 2;
         } else if (index >= 0) {
             // "x" is exactly "abscissa[index]".
-            fx = ordinate[index];
+            return index;
         } else {
             // Otherwise, "x" is smaller than the first value in "abscissa"
             // (hence the returned value should be "ordinate[0]").
-            fx = ordinate[0];
+            return 0;
         }
-
-        return fx;
     }
 }
@@ -22,12 +22,14 @@ import java.util.Arrays;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.analysis.DifferentiableUnivariateFunction;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.ParametricUnivariateFunction;
 import org.apache.commons.math3.analysis.differentiation.DerivativeStructure;
 import org.apache.commons.math3.analysis.differentiation.UnivariateDifferentiableFunction;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
 import org.apache.commons.math3.util.MathUtils;
 
 /**
@@ -38,7 +40,8 @@ import org.apache.commons.math3.util.MathUtils;
  *
  * @version $Id$
  */
-public class PolynomialFunction implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction, Serializable {
+public class PolynomialFunction implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction,
+                                           BatchUnivariateFunction, Serializable {
     /**
      * Serialization identifier
      */
@@ -94,6 +97,23 @@ public class PolynomialFunction implements UnivariateDifferentiableFunction, Dif
        return evaluate(coefficients, x);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y) {
+        MathArrays.checkEqualLength(x, y);
+        final int n = coefficients.length;
+        final double last = coefficients[n - 1];
+        for (int i = 0; i < x.length; ++i) {
+            final double xi = x[i];
+            double result = last;
+            for (int j = n - 2; j >= 0; j--) {
+                result = xi * result + coefficients[j];
+            }
+            y[i] = result;
+        }
+    }
+
     /**
      * Returns the degree of the polynomial.
      *
@@ -19,6 +19,7 @@ package org.apache.commons.math3.analysis.polynomials;
 import java.util.Arrays;
 
 import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.analysis.BatchUnivariateFunction;
 import org.apache.commons.math3.analysis.DifferentiableUnivariateFunction;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.differentiation.DerivativeStructure;
@@ -64,7 +65,8 @@ import org.apache.commons.math3.exception.util.LocalizedFormats;
  *
  * @version $Id$
  */
-public class PolynomialSplineFunction implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction {
+public class PolynomialSplineFunction implements UnivariateDifferentiableFunction, DifferentiableUnivariateFunction,
+                                                 BatchUnivariateFunction {
     /**
      * Spline segment interval delimiters (knots).
      * Size is n + 1 for n segments.
@@ -137,6 +139,57 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
         if (v < knots[0] || v > knots[n]) {
             throw new OutOfRangeException(v, knots[0], knots[n]);
         }
+        final int i = locate(v);
+        return polynomials[i].value(v - knots[i]);
+    }
+
+    /**
+     * Compute the values of the function at several points.
+     * <p>
+     * The results are the same as those of {@link #value(double)}, but when
+     * the points are sorted in increasing order, the segments are located
+     * by a single forward scan of the knots (i.e. a merge of the points and
+     * the knots), instead of one binary search per point. Unsorted points
+     * are supported too, but are slower.
+     * </p>
+     *
+     * @param x Points at which the function values should be computed.
+     * @param y Placeholder where to put the function values (may be {@code x} itself).
+     * @throws DimensionMismatchException if {@code y.length != x.length}.
+     * @throws OutOfRangeException if some point is outside of the domain of the
+     * spline function (smaller than the smallest knot point or larger than the
+     * largest knot point).
+     * @since 3.3
+     */
+    public void value(final double[] x, final double[] y)
+        throws DimensionMismatchException, OutOfRangeException {
+        MathArrays.checkEqualLength(x, y);
+        int i = 0;
+        for (int k = 0; k < x.length; ++k) {
+            final double v = x[k];
+            if (v < knots[0] || v > knots[n]) {
+                throw new OutOfRangeException(v, knots[0], knots[n]);
+            }
+            if (v >= knots[i] && v != 0) {
+                // move forward from the segment of the previous point
+                while (i + 1 < n && v >= knots[i + 1]) {
+                    ++i;
+                }
+            } else {
+                // points not sorted, or special values (signed zeros, NaN)
+                i = locate(v);
+            }
+            y[k] = polynomials[i].value(v - knots[i]);
+        }
+    }
+
+    /**
+     * Locate the segment containing a point.
+     *
+     * @param v point to locate, assumed to be within the knots range
+     * @return index of the segment containing {@code v}
+     */
+    private int locate(final double v) {
         int i = Arrays.binarySearch(knots, v);
         if (i < 0) {
             i = -i - 2;
@@ -147,7 +200,7 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
         if ( i >= polynomials.length ) {
             i--;
         }
-        return polynomials[i].value(v - knots[i]);
+        return i;
     }
 
     /**
@@ -20,12 +20,14 @@ import java.io.Serializable;
 
 import org.apache.commons.math3.exception.MathInternalError;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.RandomDataImpl;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Base class for integer-valued discrete distributions.  Default
@@ -196,19 +198,36 @@ public abstract class AbstractIntegerDistribution implements IntegerDistribution
     /**
      * {@inheritDoc}
      *
-     * The default implementation generates the sample by calling
-     * {@link #sample()} in a loop.
+     * The default implementation allocates the array and fills it
+     * with {@link #sample(int[])}.
      */
     public int[] sample(int sampleSize) {
         if (sampleSize <= 0) {
-            throw new NotStrictlyPositiveException(
-                    LocalizedFormats.NUMBER_OF_SAMPLES, sampleSize);
+            throw new NotStrictlyPositiveException(LocalizedFormats.NUMBER_OF_SAMPLES,
+                    sampleSize);
         }
-        int[] out = new int[sampleSize];
-        for (int i = 0; i < sampleSize; i++) {
+        final int[] out = new int[sampleSize];
+        sample(out);
+        return out;
+    }
+
+    /**
+     * Fills an array with samples from the distribution.
+     * <p>
+     * This method avoids allocating a new array at each call when
+     * samples are generated repeatedly. The default implementation
+     * generates the samples by calling {@link #sample()} in a loop.
+     * </p>
+     *
+     * @param out array where to store the samples
+     * @throws NullArgumentException if {@code out} is null
+     * @since 3.3
+     */
+    public void sample(final int[] out) throws NullArgumentException {
+        MathUtils.checkNotNull(out);
+        for (int i = 0; i < out.length; i++) {
             out[i] = sample();
         }
-        return out;
     }
 
     /**
@@ -20,13 +20,17 @@ import java.io.Serializable;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.solvers.UnivariateSolverUtils;
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.RandomDataImpl;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Base class for probability distributions on the reals.
@@ -262,19 +266,82 @@ implements RealDistribution, Serializable {
     /**
      * {@inheritDoc}
      *
-     * The default implementation generates the sample by calling
-     * {@link #sample()} in a loop.
+     * The default implementation allocates the array and fills it
+     * with {@link #sample(double[])}.
      */
     public double[] sample(int sampleSize) {
         if (sampleSize <= 0) {
             throw new NotStrictlyPositiveException(LocalizedFormats.NUMBER_OF_SAMPLES,
                     sampleSize);
         }
-        double[] out = new double[sampleSize];
-        for (int i = 0; i < sampleSize; i++) {
+        final double[] out = new double[sampleSize];
+        sample(out);
+        return out;
+    }
+
+    /**
+     * Fills an array with samples from the distribution.
+     * <p>
+     * This method avoids allocating a new array at each call when
+     * samples are generated repeatedly. The default implementation
+     * generates the samples by calling {@link #sample()} in a loop.
+     * </p>
+     *
+     * @param out array where to store the samples
+     * @throws NullArgumentException if {@code out} is null
+     * @since 3.3
+     */
+    public void sample(final double[] out) throws NullArgumentException {
+        MathUtils.checkNotNull(out);
+        for (int i = 0; i < out.length; i++) {
             out[i] = sample();
         }
-        return out;
+    }
+
+    /**
+     * Computes the probability density function at several points.
+     * <p>
+     * This method avoids one virtual call per point when densities are
+     * computed over large grids, and lets distributions share work between
+     * points. The default implementation calls {@link #density(double)}
+     * in a loop; the results are always the same as those of
+     * {@link #density(double)}.
+     * </p>
+     *
+     * @param x points at which the density should be computed
+     * @param out array where to store the densities (may be {@code x} itself)
+     * @throws DimensionMismatchException if {@code out.length != x.length}
+     * @since 3.3
+     */
+    public void density(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        for (int i = 0; i < x.length; i++) {
+            out[i] = density(x[i]);
+        }
+    }
+
+    /**
+     * Computes the cumulative distribution function at several points.
+     * <p>
+     * This method avoids one virtual call per point when probabilities are
+     * computed over large grids, and lets distributions share work between
+     * points. The default implementation calls {@link #cumulativeProbability(double)}
+     * in a loop; the results are always the same as those of
+     * {@link #cumulativeProbability(double)}.
+     * </p>
+     *
+     * @param x points at which the cumulative probability should be computed
+     * @param out array where to store the probabilities (may be {@code x} itself)
+     * @throws DimensionMismatchException if {@code out.length != x.length}
+     * @since 3.3
+     */
+    public void cumulativeProbability(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        for (int i = 0; i < x.length; i++) {
+            out[i] = cumulativeProbability(x[i]);
+        }
     }
 
     /**
@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.distribution;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/**
+ * Factory for distributions, caching the instances built for each set of parameters.
+ * <p>
+ * Building a distribution has a cost that is not negligible when many
+ * instances with varying parameters are created in tight loops: the
+ * constructors compute normalizing constants (for example using
+ * {@link org.apache.commons.math3.special.Gamma#logGamma(double) logGamma}),
+ * and the convenience constructors allocate a
+ * {@link org.apache.commons.math3.random.Well19937c Well19937c} generator,
+ * which has a large state array. This factory keeps the most recently used
+ * instances in a bounded cache keyed by the distribution parameters, so
+ * that repeated requests for the same parameters share the same instance,
+ * and hence the same precomputed constants. When the cache is full, the
+ * least recently used instance is discarded.
+ * </p>
+ * <p>
+ * The instances built by this factory have no random generator: they are
+ * intended for computing densities, probabilities and their inverses only.
+ * Their {@code sample} methods must not be called. Distributions used for
+ * sampling should be built directly with their own generator, as generators
+ * cannot be shared between threads.
+ * </p>
+ * <p>
+ * This class is thread-safe: the cache can be shared between threads, and so
+ * can the distributions it returns. Two threads requesting simultaneously the
+ * same parameters may both build an instance, but only one of them will be
+ * retained in the cache.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class DistributionFactory {
+
+    /** Default maximal number of cached instances. */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    /** Maximal number of cached instances. */
+    private final int maxSize;
+
+    /** Cached instances, in least recently used order. */
+    private final Map<Key, Object> cache;
+
+    /** Number of requests served from the cache. */
+    private long hits;
+
+    /** Number of requests that needed to build a new instance. */
+    private long misses;
+
+    /**
+     * Build a factory with {@link #DEFAULT_MAX_SIZE default cache size}.
+     */
+    public DistributionFactory() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Build a factory.
+     *
+     * @param maxSize maximal number of cached instances
+     * @throws NotStrictlyPositiveException if {@code maxSize <= 0}
+     */
+    public DistributionFactory(final int maxSize)
+        throws NotStrictlyPositiveException {
+        if (maxSize <= 0) {
+            throw new NotStrictlyPositiveException(maxSize);
+        }
+        this.maxSize = maxSize;
+        this.cache   = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+
+            /** Serializable version identifier. */
+            private static final long serialVersionUID = 20131023L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+                return size() > DistributionFactory.this.maxSize;
+            }
+
+        };
+    }
+
+    /**
+     * Get the maximal number of cached instances.
+     *
+     * @return maximal number of cached instances
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the current number of cached instances.
+     *
+     * @return current number of cached instances
+     */
+    public synchronized int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Get the number of requests served from the cache.
+     *
+     * @return number of requests served from the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of requests that needed to build a new instance.
+     *
+     * @return number of requests that needed to build a new instance
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Remove all cached instances.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Get a beta distribution.
+     *
+     * @param alpha first shape parameter
+     * @param beta second shape parameter
+     * @return beta distribution with the specified parameters
+     */
+    public BetaDistribution beta(final double alpha, final double beta) {
+        final Key key = new Key(BetaDistribution.class, alpha, beta);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (BetaDistribution) cached;
+        }
+        final BetaDistribution distribution =
+                new BetaDistribution(null, alpha, beta);
+        // compute the normalizing constant before the instance is shared
+        distribution.density(0.5);
+        return (BetaDistribution) store(key, distribution);
+    }
+
+    /**
+     * Get a binomial distribution.
+     *
+     * @param trials number of trials
+     * @param p probability of success
+     * @return binomial distribution with the specified parameters
+     * @throws NotPositiveException if {@code trials < 0}
+     * @throws OutOfRangeException if {@code p < 0} or {@code p > 1}
+     */
+    public BinomialDistribution binomial(final int trials, final double p)
+        throws NotPositiveException, OutOfRangeException {
+        final Key key = new Key(BinomialDistribution.class, trials, p);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (BinomialDistribution) cached;
+        }
+        return (BinomialDistribution) store(key, new BinomialDistribution(null, trials, p));
+    }
+
+    /**
+     * Get a chi-squared distribution.
+     *
+     * @param degreesOfFreedom degrees of freedom
+     * @return chi-squared distribution with the specified parameters
+     * @throws NotStrictlyPositiveException if {@code degreesOfFreedom <= 0}
+     */
+    public ChiSquaredDistribution chiSquared(final double degreesOfFreedom)
+        throws NotStrictlyPositiveException {
+        final Key key = new Key(ChiSquaredDistribution.class, degreesOfFreedom);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (ChiSquaredDistribution) cached;
+        }
+        return (ChiSquaredDistribution) store(key, new ChiSquaredDistribution(null, degreesOfFreedom));
+    }
+
+    /**
+     * Get an exponential distribution.
+     *
+     * @param mean mean of the distribution
+     * @return exponential distribution with the specified parameters
+     * @throws NotStrictlyPositiveException if {@code mean <= 0}
+     */
+    public ExponentialDistribution exponential(final double mean)
+        throws NotStrictlyPositiveException {
+        final Key key = new Key(ExponentialDistribution.class, mean);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (ExponentialDistribution) cached;
+        }
+        return (ExponentialDistribution) store(key, new ExponentialDistribution(null, mean));
+    }
+
+    /**
+     * Get an F distribution.
+     *
+     * @param numeratorDegreesOfFreedom numerator degrees of freedom
+     * @param denominatorDegreesOfFreedom denominator degrees of freedom
+     * @return F distribution with the specified parameters
+     * @throws NotStrictlyPositiveException if {@code numeratorDegreesOfFreedom <= 0}
+     * or {@code denominatorDegreesOfFreedom <= 0}
+     */
+    public FDistribution f(final double numeratorDegreesOfFreedom,
+                           final double denominatorDegreesOfFreedom)
+        throws NotStrictlyPositiveException {
+        final Key key = new Key(FDistribution.class, numeratorDegreesOfFreedom, denominatorDegreesOfFreedom);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (FDistribution) cached;
+        }
+        final FDistribution distribution =
+                new FDistribution(null, numeratorDegreesOfFreedom, denominatorDegreesOfFreedom);
+        // compute the variance before the instance is shared
+        distribution.getNumericalVariance();
+        return (FDistribution) store(key, distribution);
+    }
+
+    /**
+     * Get a gamma distribution.
+     *
+     * @param shape shape parameter
+     * @param scale scale parameter
+     * @return gamma distribution with the specified parameters
+     * @throws NotStrictlyPositiveException if {@code shape <= 0} or {@code scale <= 0}
+     */
+    public GammaDistribution gamma(final double shape, final double scale)
+        throws NotStrictlyPositiveException {
+        final Key key = new Key(GammaDistribution.class, shape, scale);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (GammaDistribution) cached;
+        }
+        return (GammaDistribution) store(key, new GammaDistribution(null, shape, scale));
+    }
+
+    /**
+     * Get a normal distribution.
+     *
+     * @param mean mean of the distribution
+     * @param sd standard deviation of the distribution
+     * @return normal distribution with the specified parameters
+     * @throws NotStrictlyPositiveException if {@code sd <= 0}
+     */
+    public NormalDistribution normal(final double mean, final double sd)
+        throws NotStrictlyPositiveException {
+        final Key key = new Key(NormalDistribution.class, mean, sd);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (NormalDistribution) cached;
+        }
+        return (NormalDistribution) store(key, new NormalDistribution(null, mean, sd));
+    }
+
+    /**
+     * Get a Poisson distribution.
+     *
+     * @param mean mean of the distribution
+     * @return Poisson distribution with the specified parameters
+     * @throws NotStrictlyPositiveException if {@code mean <= 0}
+     */
+    public PoissonDistribution poisson(final double mean)
+        throws NotStrictlyPositiveException {
+        final Key key = new Key(PoissonDistribution.class, mean);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (PoissonDistribution) cached;
+        }
+        return (PoissonDistribution) store(key, new PoissonDistribution(null, mean,
+                                                                        PoissonDistribution.DEFAULT_EPSILON,
+                                                                        PoissonDistribution.DEFAULT_MAX_ITERATIONS));
+    }
+
+    /**
+     * Get a Student's t distribution.
+     *
+     * @param degreesOfFreedom degrees of freedom
+     * @return t distribution with the specified parameters
+     * @throws NotStrictlyPositiveException if {@code degreesOfFreedom <= 0}
+     */
+    public TDistribution t(final double degreesOfFreedom)
+        throws NotStrictlyPositiveException {
+        final Key key = new Key(TDistribution.class, degreesOfFreedom);
+        final Object cached = lookup(key);
+        if (cached != null) {
+            return (TDistribution) cached;
+        }
+        return (TDistribution) store(key, new TDistribution(null, degreesOfFreedom));
+    }
+
+    /**
+     * Look up a cached instance.
+     *
+     * @param key key of the instance
+     * @return cached instance, or null if there are none
+     */
+    private synchronized Object lookup(final Key key) {
+        final Object cached = cache.get(key);
+        if (cached == null) {
+            ++misses;
+        } else {
+            ++hits;
+        }
+        return cached;
+    }
+
+    /**
+     * Store an instance in the cache.
+     * <p>
+     * If another thread has already stored an instance with the same key
+     * while this one was being built, the already cached instance is kept.
+     * </p>
+     *
+     * @param key key of the instance
+     * @param distribution instance to store
+     * @return cached instance for this key
+     */
+    private synchronized Object store(final Key key, final Object distribution) {
+        final Object cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        cache.put(key, distribution);
+        return distribution;
+    }
+
+    /** Key for cached instances. */
+    private static class Key {
+
+        /** Distribution class. */
+        private final Class<?> type;
+
+        /** Distribution parameters. */
+        private final double[] parameters;
+
+        /** Simple constructor.
+         * @param type distribution class
+         * @param parameters distribution parameters
+         */
+        Key(final Class<?> type, final double ... parameters) {
+            this.type       = type;
+            this.parameters = parameters;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return type == key.type && Arrays.equals(parameters, key.parameters);
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + Arrays.hashCode(parameters);
+        }
+
+    }
+
+}
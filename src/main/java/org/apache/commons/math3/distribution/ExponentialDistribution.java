@@ -16,14 +16,19 @@
  */
 package org.apache.commons.math3.distribution;
 
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.util.CombinatoricsUtils;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
 import org.apache.commons.math3.util.ResizableDoubleArray;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.ZigguratSampler;
 
 /**
  * Implementation of the exponential distribution.
@@ -58,6 +63,8 @@ public class ExponentialDistribution extends AbstractRealDistribution {
     private final double mean;
     /** Inverse cumulative probability accuracy. */
     private final double solverAbsoluteAccuracy;
+    /** Algorithm used for sampling. */
+    private final SamplingMethod samplingMethod;
 
     /**
      * Initialize tables.
@@ -138,13 +145,51 @@ public class ExponentialDistribution extends AbstractRealDistribution {
                                    double mean,
                                    double inverseCumAccuracy)
         throws NotStrictlyPositiveException {
+        this(rng, mean, inverseCumAccuracy, SamplingMethod.DEFAULT);
+    }
+
+    /**
+     * Creates an exponential distribution.
+     * <p>
+     * The {@link SamplingMethod#DEFAULT default} sampling method is the
+     * one described in {@link #sample()}.
+     * </p>
+     *
+     * @param rng Random number generator.
+     * @param mean Mean of this distribution.
+     * @param inverseCumAccuracy Maximum absolute error in inverse
+     * cumulative probability estimates (defaults to
+     * {@link #DEFAULT_INVERSE_ABSOLUTE_ACCURACY}).
+     * @param samplingMethod Algorithm to use for sampling.
+     * @throws NotStrictlyPositiveException if {@code mean <= 0}.
+     * @throws NullArgumentException if {@code samplingMethod} is null.
+     * @since 3.3
+     */
+    public ExponentialDistribution(RandomGenerator rng,
+                                   double mean,
+                                   double inverseCumAccuracy,
+                                   SamplingMethod samplingMethod)
+        throws NotStrictlyPositiveException, NullArgumentException {
         super(rng);
 
         if (mean <= 0) {
             throw new NotStrictlyPositiveException(LocalizedFormats.MEAN, mean);
         }
+        MathUtils.checkNotNull(samplingMethod);
         this.mean = mean;
         solverAbsoluteAccuracy = inverseCumAccuracy;
+        this.samplingMethod = samplingMethod;
+    }
+
+    /**
+     * Get the algorithm used for sampling.
+     *
+     * @return the sampling method
+     * @since 3.3
+     */
+    public SamplingMethod getSamplingMethod() {
+        // instances serialized by previous versions have no sampling method
+        return (samplingMethod == null) ? SamplingMethod.DEFAULT : samplingMethod;
     }
 
     /**
@@ -158,10 +203,7 @@ public class ExponentialDistribution extends AbstractRealDistribution {
 
     /** {@inheritDoc} */
     public double density(double x) {
-        if (x < 0) {
-            return 0;
-        }
-        return FastMath.exp(-x / mean) / mean;
+        return computeDensity(x, mean);
     }
 
     /**
@@ -175,13 +217,55 @@ public class ExponentialDistribution extends AbstractRealDistribution {
      * </ul>
      */
     public double cumulativeProbability(double x)  {
-        double ret;
+        return computeCumulativeProbability(x, mean);
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void density(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeDensity(x[i], mean);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void cumulativeProbability(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeCumulativeProbability(x[i], mean);
+        }
+    }
+
+    /** Compute the density at one point.
+     * @param x point at which the density is computed
+     * @param mean mean of the distribution
+     * @return density at x
+     */
+    private static double computeDensity(final double x, final double mean) {
+        if (x < 0) {
+            return 0;
+        }
+        return FastMath.exp(-x / mean) / mean;
+    }
+
+    /** Compute the cumulative probability at one point.
+     * @param x point at which the cumulative probability is computed
+     * @param mean mean of the distribution
+     * @return cumulative probability at x
+     */
+    private static double computeCumulativeProbability(final double x, final double mean) {
         if (x <= 0.0) {
-            ret = 0.0;
-        } else {
-            ret = 1.0 - FastMath.exp(-x / mean);
+            return 0.0;
         }
-        return ret;
+        return 1.0 - FastMath.exp(-x / mean);
     }
 
     /**
@@ -211,13 +295,20 @@ public class ExponentialDistribution extends AbstractRealDistribution {
      * <p><strong>Algorithm Description</strong>: this implementation uses the
      * <a href="http://www.jesus.ox.ac.uk/~clifford/a5/chap1/node5.html">
      * Inversion Method</a> to generate exponentially distributed random values
-     * from uniform deviates.</p>
+     * from uniform deviates. If the distribution was built with the
+     * {@link SamplingMethod#ZIGGURAT} sampling method, the {@link ZigguratSampler}
+     * is used instead.</p>
      *
      * @return a random value.
      * @since 2.2
      */
     @Override
     public double sample() {
+
+        if (samplingMethod == SamplingMethod.ZIGGURAT) {
+            return mean * ZigguratSampler.nextExponential(random);
+        }
+
         // Step 1:
         double a = 0;
         double u = random.nextDouble();
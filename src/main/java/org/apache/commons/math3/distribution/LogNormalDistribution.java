@@ -17,11 +17,13 @@
 
 package org.apache.commons.math3.distribution;
 
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.special.Erf;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.Well19937c;
 
@@ -182,12 +184,7 @@ public class LogNormalDistribution extends AbstractRealDistribution {
      * </ul>
      */
     public double density(double x) {
-        if (x <= 0) {
-            return 0;
-        }
-        final double x0 = FastMath.log(x) - scale;
-        final double x1 = x0 / shape;
-        return FastMath.exp(-0.5 * x1 * x1) / (shape * SQRT2PI * x);
+        return computeDensity(x, scale, shape, shape * SQRT2PI);
     }
 
     /**
@@ -206,14 +203,69 @@ public class LogNormalDistribution extends AbstractRealDistribution {
      * </ul>
      */
     public double cumulativeProbability(double x)  {
+        return computeCumulativeProbability(x, scale, 40 * shape, shape * SQRT2);
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void density(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        final double factor = shape * SQRT2PI;
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeDensity(x[i], scale, shape, factor);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void cumulativeProbability(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        final double threshold   = 40 * shape;
+        final double denominator = shape * SQRT2;
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeCumulativeProbability(x[i], scale, threshold, denominator);
+        }
+    }
+
+    /** Compute the density at one point, with precomputed constants.
+     * @param x point at which the density is computed
+     * @param scale scale parameter of the distribution
+     * @param shape shape parameter of the distribution
+     * @param factor shape multiplied by &radic;(2&pi;)
+     * @return density at x
+     */
+    private static double computeDensity(final double x, final double scale,
+                                         final double shape, final double factor) {
+        if (x <= 0) {
+            return 0;
+        }
+        final double x1 = (FastMath.log(x) - scale) / shape;
+        return FastMath.exp(-0.5 * x1 * x1) / (factor * x);
+    }
+
+    /** Compute the cumulative probability at one point, with precomputed constants.
+     * @param x point at which the cumulative probability is computed
+     * @param scale scale parameter of the distribution
+     * @param threshold distance to the scale in log space beyond which 0 or 1 is returned
+     * @param denominator shape multiplied by &radic;2
+     * @return cumulative probability at x
+     */
+    private static double computeCumulativeProbability(final double x, final double scale,
+                                                       final double threshold, final double denominator) {
         if (x <= 0) {
             return 0;
         }
         final double dev = FastMath.log(x) - scale;
-        if (FastMath.abs(dev) > 40 * shape) {
+        if (FastMath.abs(dev) > threshold) {
             return dev < 0 ? 0.0d : 1.0d;
         }
-        return 0.5 + 0.5 * Erf.erf(dev / (shape * SQRT2));
+        return 0.5 + 0.5 * Erf.erf(dev / denominator);
     }
 
     /**
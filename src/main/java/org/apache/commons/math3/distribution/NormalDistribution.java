@@ -17,14 +17,19 @@
 
 package org.apache.commons.math3.distribution;
 
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.special.Erf;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.ZigguratSampler;
 
 /**
  * Implementation of the normal (gaussian) distribution.
@@ -51,6 +56,8 @@ public class NormalDistribution extends AbstractRealDistribution {
     private final double standardDeviation;
     /** Inverse cumulative probability accuracy. */
     private final double solverAbsoluteAccuracy;
+    /** Algorithm used for sampling. */
+    private final SamplingMethod samplingMethod;
 
     /**
      * Create a normal distribution with mean equal to zero and standard
@@ -116,15 +123,42 @@ public class NormalDistribution extends AbstractRealDistribution {
                               double sd,
                               double inverseCumAccuracy)
         throws NotStrictlyPositiveException {
+        this(rng, mean, sd, inverseCumAccuracy, SamplingMethod.DEFAULT);
+    }
+
+    /**
+     * Creates a normal distribution.
+     * <p>
+     * The {@link SamplingMethod#DEFAULT default} sampling method relies
+     * on {@link RandomGenerator#nextGaussian()}.
+     * </p>
+     *
+     * @param rng Random number generator.
+     * @param mean Mean for this distribution.
+     * @param sd Standard deviation for this distribution.
+     * @param inverseCumAccuracy Inverse cumulative probability accuracy.
+     * @param samplingMethod Algorithm to use for sampling.
+     * @throws NotStrictlyPositiveException if {@code sd <= 0}.
+     * @throws NullArgumentException if {@code samplingMethod} is null.
+     * @since 3.3
+     */
+    public NormalDistribution(RandomGenerator rng,
+                              double mean,
+                              double sd,
+                              double inverseCumAccuracy,
+                              SamplingMethod samplingMethod)
+        throws NotStrictlyPositiveException, NullArgumentException {
         super(rng);
 
         if (sd <= 0) {
             throw new NotStrictlyPositiveException(LocalizedFormats.STANDARD_DEVIATION, sd);
         }
+        MathUtils.checkNotNull(samplingMethod);
 
         this.mean = mean;
         standardDeviation = sd;
         solverAbsoluteAccuracy = inverseCumAccuracy;
+        this.samplingMethod = samplingMethod;
     }
 
     /**
@@ -147,9 +181,7 @@ public class NormalDistribution extends AbstractRealDistribution {
 
     /** {@inheritDoc} */
     public double density(double x) {
-        final double x0 = x - mean;
-        final double x1 = x0 / standardDeviation;
-        return FastMath.exp(-0.5 * x1 * x1) / (standardDeviation * SQRT2PI);
+        return computeDensity(x, mean, standardDeviation, standardDeviation * SQRT2PI);
     }
 
     /**
@@ -160,11 +192,63 @@ public class NormalDistribution extends AbstractRealDistribution {
      * {@code Double.MIN_VALUE} of 0 or 1.
      */
     public double cumulativeProbability(double x)  {
+        return computeCumulativeProbability(x, mean, 40 * standardDeviation, standardDeviation * SQRT2);
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void density(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        final double denominator = standardDeviation * SQRT2PI;
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeDensity(x[i], mean, standardDeviation, denominator);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void cumulativeProbability(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        final double threshold   = 40 * standardDeviation;
+        final double denominator = standardDeviation * SQRT2;
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeCumulativeProbability(x[i], mean, threshold, denominator);
+        }
+    }
+
+    /** Compute the density at one point, with precomputed constants.
+     * @param x point at which the density is computed
+     * @param mean mean of the distribution
+     * @param standardDeviation standard deviation of the distribution
+     * @param denominator standard deviation multiplied by &radic;(2&pi;)
+     * @return density at x
+     */
+    private static double computeDensity(final double x, final double mean,
+                                         final double standardDeviation, final double denominator) {
+        final double x1 = (x - mean) / standardDeviation;
+        return FastMath.exp(-0.5 * x1 * x1) / denominator;
+    }
+
+    /** Compute the cumulative probability at one point, with precomputed constants.
+     * @param x point at which the cumulative probability is computed
+     * @param mean mean of the distribution
+     * @param threshold distance to the mean beyond which 0 or 1 is returned
+     * @param denominator standard deviation multiplied by &radic;2
+     * @return cumulative probability at x
+     */
+    private static double computeCumulativeProbability(final double x, final double mean,
+                                                       final double threshold, final double denominator) {
         final double dev = x - mean;
-        if (FastMath.abs(dev) > 40 * standardDeviation) {
+        if (FastMath.abs(dev) > threshold) {
             return dev < 0 ? 0.0d : 1.0d;
         }
-        return 0.5 * (1 + Erf.erf(dev / (standardDeviation * SQRT2)));
+        return 0.5 * (1 + Erf.erf(dev / denominator));
     }
 
     /** {@inheritDoc}
@@ -279,6 +363,20 @@ public class NormalDistribution extends AbstractRealDistribution {
     /** {@inheritDoc} */
     @Override
     public double sample()  {
-        return standardDeviation * random.nextGaussian() + mean;
+        final double gaussian = (samplingMethod == SamplingMethod.ZIGGURAT) ?
+                                ZigguratSampler.nextGaussian(random) :
+                                random.nextGaussian();
+        return standardDeviation * gaussian + mean;
+    }
+
+    /**
+     * Get the algorithm used for sampling.
+     *
+     * @return the sampling method
+     * @since 3.3
+     */
+    public SamplingMethod getSamplingMethod() {
+        // instances serialized by previous versions have no sampling method
+        return (samplingMethod == null) ? SamplingMethod.DEFAULT : samplingMethod;
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.distribution;
+
+/**
+ * Algorithms available for sampling some distributions.
+ * <p>
+ * The {@link #DEFAULT} method is the one each distribution has always used,
+ * so it reproduces the sequences of samples of previous versions. The
+ * {@link #ZIGGURAT} method is several times faster but produces different
+ * sequences.
+ * </p>
+ *
+ * @see NormalDistribution
+ * @see ExponentialDistribution
+ * @version $Id$
+ * @since 3.3
+ */
+public enum SamplingMethod {
+
+    /** Algorithm historically used by the distribution. */
+    DEFAULT,
+
+    /**
+     * Ziggurat algorithm by Marsaglia and Tsang.
+     * @see org.apache.commons.math3.random.ZigguratSampler
+     */
+    ZIGGURAT
+
+}
@@ -0,0 +1,634 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.distribution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+import org.apache.commons.math3.util.ResizableDoubleArray;
+
+/**
+ * Real distribution with a precomputed table for fast inverse cumulative
+ * probability computation.
+ * <p>
+ * This class wraps another {@link RealDistribution} and delegates all
+ * computations to it, except {@link #inverseCumulativeProbability(double)
+ * inverseCumulativeProbability} (and hence {@link #sample() sample}, which
+ * uses the inversion method). The inverse cumulative probability is
+ * approximated by piecewise cubic Hermite interpolation, built at construction
+ * time using only the {@link RealDistribution#cumulativeProbability(double)
+ * cumulative probability} and {@link RealDistribution#density(double) density}
+ * of the wrapped distribution. Once the table has been built, each call costs
+ * a table look-up and a polynomial evaluation, instead of the dozens of
+ * cumulative probability evaluations needed by the root solver of
+ * {@link AbstractRealDistribution#inverseCumulativeProbability(double)}.
+ * This is worthwhile when many quantiles of the same distribution are needed,
+ * typically for inversion sampling.
+ * </p>
+ * <p>
+ * The table is built following the method described by W. H&ouml;rmann and
+ * J. Leydold in <em>Continuous random variate generation by fast numerical
+ * inversion</em> (ACM Transactions on Modeling and Computer Simulation, 13(4),
+ * 2003). Intervals are split until the error measured in probability
+ * space, |F(x) - p| where x is the interpolated inverse of p, is below half
+ * a user-specified accuracy at several test points inside each interval, and
+ * until the interpolating polynomial is monotonic. The table is therefore
+ * monotonic and continuous. Probabilities in the extreme tails, below the
+ * accuracy or above one minus the accuracy, are not tabulated: they are
+ * delegated to the wrapped distribution.
+ * </p>
+ * <p>
+ * By default, as in the reference paper, the accuracy is a heuristic
+ * estimate: the error is only measured at a few test points, and the safety
+ * factor of two is intended to cover the smooth variation of the
+ * interpolation error between them. The accuracy can also be guaranteed, at
+ * the expense of a construction cost proportional to the inverse of the
+ * accuracy. As both the cumulative probability F and the interpolated
+ * inverse Q are non-decreasing, for two check points
+ * p<sub>k</sub> &lt; p<sub>k+1</sub> and any p between them, F(Q(p)) lies
+ * between F(Q(p<sub>k</sub>)) and F(Q(p<sub>k+1</sub>)), hence:
+ * <pre>
+ *   |F(Q(p)) - p| &le; max(e<sub>k</sub>, e<sub>k+1</sub>) + (p<sub>k+1</sub> - p<sub>k</sub>)
+ * </pre>
+ * where e<sub>k</sub> = |F(Q(p<sub>k</sub>)) - p<sub>k</sub>|. When the
+ * guaranteed accuracy is requested, check points are added inside each
+ * interval until this bound is below the accuracy. In both cases, the
+ * accuracy can not be better than the accuracy of the cumulative
+ * probability of the wrapped distribution itself.
+ * </p>
+ * <p>
+ * Instances are immutable once built (except for the random generator used
+ * by {@link #sample() sample}), so the same table can be shared between
+ * threads calling {@link #inverseCumulativeProbability(double)
+ * inverseCumulativeProbability}, provided the wrapped distribution itself
+ * can be used concurrently.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class TabulatedInverseRealDistribution extends AbstractRealDistribution {
+
+    /** Default accuracy of the inverse cumulative probability, in probability space. */
+    public static final double DEFAULT_PROBABILITY_ACCURACY = 1.0e-12;
+
+    /** Maximal number of intervals in the table. */
+    public static final int MAX_INTERVALS = 1 << 20;
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131022L;
+
+    /** Number of intervals in the initial partition. */
+    private static final int INITIAL_INTERVALS = 16;
+
+    /** Relative positions of the test points inside each interval. */
+    private static final double[] TEST_POINTS = { 0.1, 0.25, 0.5, 0.75, 0.9 };
+
+    /** Safety factor applied to the accuracy at test points. */
+    private static final double SAFETY = 0.5;
+
+    /** Number of coefficients stored per interval. */
+    private static final int STRIDE = 5;
+
+    /** Wrapped distribution. */
+    private final RealDistribution distribution;
+
+    /** Accuracy of the inverse cumulative probability, in probability space. */
+    private final double probabilityAccuracy;
+
+    /** Indicator for guaranteed accuracy. */
+    private final boolean accuracyGuaranteed;
+
+    /** Cumulative probabilities at the interval boundaries. */
+    private final double[] probabilities;
+
+    /**
+     * Interval coefficients: inverse of the interval width in probability,
+     * followed by the four polynomial coefficients in increasing degree.
+     */
+    private final double[] coefficients;
+
+    /** Guide table, giving the first interval to check for each probability slice. */
+    private final int[] guide;
+
+    /** Number of guide slices per unit of probability. */
+    private final double guideScale;
+
+    /**
+     * Build a table for a distribution, with {@link #DEFAULT_PROBABILITY_ACCURACY
+     * default accuracy}.
+     * <p>
+     * <b>Note:</b> this constructor will implicitly create an instance of
+     * {@link Well19937c} as random generator to be used for sampling only (see
+     * {@link #sample()} and {@link #sample(int)}). In case no sampling is
+     * needed for the created distribution, it is advised to pass {@code null}
+     * as random generator via the appropriate constructors to avoid the
+     * additional initialisation overhead.
+     * </p>
+     *
+     * @param distribution distribution to wrap
+     * @throws NullArgumentException if {@code distribution} is null
+     * @throws MaxCountExceededException if the accuracy cannot be reached
+     * with less than {@link #MAX_INTERVALS} intervals
+     */
+    public TabulatedInverseRealDistribution(final RealDistribution distribution)
+        throws NullArgumentException, MaxCountExceededException {
+        this(distribution, DEFAULT_PROBABILITY_ACCURACY);
+    }
+
+    /**
+     * Build a table for a distribution.
+     * <p>
+     * <b>Note:</b> this constructor will implicitly create an instance of
+     * {@link Well19937c} as random generator to be used for sampling only (see
+     * {@link #sample()} and {@link #sample(int)}). In case no sampling is
+     * needed for the created distribution, it is advised to pass {@code null}
+     * as random generator via the appropriate constructors to avoid the
+     * additional initialisation overhead.
+     * </p>
+     *
+     * @param distribution distribution to wrap
+     * @param probabilityAccuracy accuracy of the inverse cumulative probability,
+     * in probability space
+     * @throws NullArgumentException if {@code distribution} is null
+     * @throws OutOfRangeException if {@code probabilityAccuracy} is not
+     * strictly between 0 and 0.5
+     * @throws MaxCountExceededException if the accuracy cannot be reached
+     * with less than {@link #MAX_INTERVALS} intervals
+     */
+    public TabulatedInverseRealDistribution(final RealDistribution distribution,
+                                            final double probabilityAccuracy)
+        throws NullArgumentException, OutOfRangeException, MaxCountExceededException {
+        this(new Well19937c(), distribution, probabilityAccuracy);
+    }
+
+    /**
+     * Build a table for a distribution.
+     *
+     * @param rng random generator used for sampling
+     * @param distribution distribution to wrap
+     * @param probabilityAccuracy accuracy of the inverse cumulative probability,
+     * in probability space
+     * @throws NullArgumentException if {@code distribution} is null
+     * @throws OutOfRangeException if {@code probabilityAccuracy} is not
+     * strictly between 0 and 0.5
+     * @throws MaxCountExceededException if the accuracy cannot be reached
+     * with less than {@link #MAX_INTERVALS} intervals
+     */
+    public TabulatedInverseRealDistribution(final RandomGenerator rng,
+                                            final RealDistribution distribution,
+                                            final double probabilityAccuracy)
+        throws NullArgumentException, OutOfRangeException, MaxCountExceededException {
+        this(rng, distribution, probabilityAccuracy, false);
+    }
+
+    /**
+     * Build a table for a distribution, with optionally guaranteed accuracy.
+     * <p>
+     * Guaranteeing the accuracy requires a number of evaluations of the
+     * cumulative probability of the wrapped distribution of the order of
+     * twice the inverse of the accuracy, so it is only practical for
+     * moderate accuracies.
+     * </p>
+     *
+     * @param rng random generator used for sampling
+     * @param distribution distribution to wrap
+     * @param probabilityAccuracy accuracy of the inverse cumulative probability,
+     * in probability space
+     * @param accuracyGuaranteed if true, the accuracy is guaranteed between
+     * all table nodes, otherwise it is only checked at a few points
+     * @throws NullArgumentException if {@code distribution} is null
+     * @throws OutOfRangeException if {@code probabilityAccuracy} is not
+     * strictly between 0 and 0.5
+     * @throws MaxCountExceededException if the accuracy cannot be reached
+     * with less than {@link #MAX_INTERVALS} intervals
+     */
+    public TabulatedInverseRealDistribution(final RandomGenerator rng,
+                                            final RealDistribution distribution,
+                                            final double probabilityAccuracy,
+                                            final boolean accuracyGuaranteed)
+        throws NullArgumentException, OutOfRangeException, MaxCountExceededException {
+
+        super(rng);
+        MathUtils.checkNotNull(distribution);
+        if (!(probabilityAccuracy > 0 && probabilityAccuracy < 0.5)) {
+            throw new OutOfRangeException(probabilityAccuracy, 0, 0.5);
+        }
+        this.distribution        = distribution;
+        this.probabilityAccuracy = probabilityAccuracy;
+        this.accuracyGuaranteed  = accuracyGuaranteed;
+
+        // build the table
+        final ResizableDoubleArray p = new ResizableDoubleArray();
+        final ResizableDoubleArray c = new ResizableDoubleArray();
+        final List<Node> initial = initialNodes();
+        if (initial.size() > 1) {
+            p.addElement(initial.get(0).p);
+            for (int i = 1; i < initial.size(); ++i) {
+                refine(initial.get(i - 1), initial.get(i), p, c);
+            }
+        }
+        this.probabilities = p.getElements();
+        this.coefficients  = c.getElements();
+
+        // build the guide table
+        final int n = coefficients.length / STRIDE;
+        this.guide = new int[n];
+        if (n > 0) {
+            final double p0    = probabilities[0];
+            final double width = probabilities[n] - p0;
+            this.guideScale = n / width;
+            int i = 0;
+            for (int k = 0; k < n; ++k) {
+                final double target = p0 + (k * width) / n;
+                while (i + 1 < n && probabilities[i + 1] <= target) {
+                    ++i;
+                }
+                guide[k] = i;
+            }
+        } else {
+            this.guideScale = 0;
+        }
+
+    }
+
+    /**
+     * Get the wrapped distribution.
+     *
+     * @return wrapped distribution
+     */
+    public RealDistribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * Get the accuracy of the inverse cumulative probability.
+     *
+     * @return accuracy of the inverse cumulative probability, in probability space
+     */
+    public double getProbabilityAccuracy() {
+        return probabilityAccuracy;
+    }
+
+    /**
+     * Check if the accuracy of the inverse cumulative probability is guaranteed.
+     *
+     * @return true if the accuracy is guaranteed, false if it is a heuristic estimate
+     */
+    public boolean isAccuracyGuaranteed() {
+        return accuracyGuaranteed;
+    }
+
+    /**
+     * Get the number of intervals in the table.
+     *
+     * @return number of intervals in the table
+     */
+    public int getNumberOfIntervals() {
+        return guide.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Within the tabulated range, the returned value x satisfies
+     * |F(x) - p| &le; {@link #getProbabilityAccuracy() accuracy} / 2 at the
+     * points checked during construction. If the accuracy is {@link
+     * #isAccuracyGuaranteed() guaranteed}, |F(x) - p| &le; accuracy holds for
+     * all p, up to the accuracy of the cumulative probability of the wrapped
+     * distribution, except in intervals too narrow to be split in double
+     * precision, where the inverse is interpolated linearly. Otherwise, the
+     * interpolation error between the checked points is expected to remain
+     * below the accuracy, but this is a heuristic estimate. Outside of the
+     * tabulated range, i.e. in the extreme tails, the computation is delegated
+     * to the wrapped distribution.
+     * </p>
+     */
+    @Override
+    public double inverseCumulativeProbability(final double p) throws OutOfRangeException {
+
+        if (p < 0.0 || p > 1.0) {
+            throw new OutOfRangeException(p, 0, 1);
+        }
+
+        final int n = guide.length;
+        if (n == 0 || p < probabilities[0] || p >= probabilities[n]) {
+            return distribution.inverseCumulativeProbability(p);
+        }
+
+        // locate the interval containing p
+        final int k = FastMath.min((int) ((p - probabilities[0]) * guideScale), n - 1);
+        int i = guide[k];
+        while (i > 0 && p < probabilities[i]) {
+            --i;
+        }
+        while (p >= probabilities[i + 1]) {
+            ++i;
+        }
+
+        // evaluate the interpolating polynomial
+        final int j = STRIDE * i;
+        final double t = (p - probabilities[i]) * coefficients[j];
+        return coefficients[j + 1] +
+               t * (coefficients[j + 2] + t * (coefficients[j + 3] + t * coefficients[j + 4]));
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double probability(final double x) {
+        return distribution.probability(x);
+    }
+
+    /** {@inheritDoc} */
+    public double density(final double x) {
+        return distribution.density(x);
+    }
+
+    /** {@inheritDoc} */
+    public double cumulativeProbability(final double x) {
+        return distribution.cumulativeProbability(x);
+    }
+
+    /** {@inheritDoc} */
+    public double getNumericalMean() {
+        return distribution.getNumericalMean();
+    }
+
+    /** {@inheritDoc} */
+    public double getNumericalVariance() {
+        return distribution.getNumericalVariance();
+    }
+
+    /** {@inheritDoc} */
+    public double getSupportLowerBound() {
+        return distribution.getSupportLowerBound();
+    }
+
+    /** {@inheritDoc} */
+    public double getSupportUpperBound() {
+        return distribution.getSupportUpperBound();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @deprecated to be removed in 4.0
+     */
+    @Deprecated
+    public boolean isSupportLowerBoundInclusive() {
+        return distribution.isSupportLowerBoundInclusive();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @deprecated to be removed in 4.0
+     */
+    @Deprecated
+    public boolean isSupportUpperBoundInclusive() {
+        return distribution.isSupportUpperBoundInclusive();
+    }
+
+    /** {@inheritDoc} */
+    public boolean isSupportConnected() {
+        return distribution.isSupportConnected();
+    }
+
+    /**
+     * Compute the initial partition of the tabulated range.
+     *
+     * @return initial nodes, sorted in strictly increasing order
+     */
+    private List<Node> initialNodes() {
+        final List<Node> nodes = new ArrayList<Node>(INITIAL_INTERVALS + 1);
+        final double width = 1 - 2 * probabilityAccuracy;
+        for (int k = 0; k <= INITIAL_INTERVALS; ++k) {
+            final double x =
+                distribution.inverseCumulativeProbability(probabilityAccuracy + (k * width) / INITIAL_INTERVALS);
+            if (!Double.isInfinite(x) && !Double.isNaN(x) &&
+                (nodes.isEmpty() || x > nodes.get(nodes.size() - 1).x)) {
+                final Node node = new Node(x);
+                if (nodes.isEmpty() || node.p > nodes.get(nodes.size() - 1).p) {
+                    nodes.add(node);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Refine an interval until the interpolation is accurate enough, and
+     * append the coefficients of the resulting intervals to the table.
+     *
+     * @param start node at interval start
+     * @param end node at interval end
+     * @param p cumulative probabilities at interval boundaries (the start
+     * probability must already be present)
+     * @param c coefficients of the intervals
+     * @exception MaxCountExceededException if the table becomes too large
+     */
+    private void refine(final Node start, final Node end,
+                        final ResizableDoubleArray p, final ResizableDoubleArray c)
+        throws MaxCountExceededException {
+
+        // intervals still to be processed, the leftmost one being at the end of the list
+        final List<Node> pending = new ArrayList<Node>();
+        pending.add(end);
+        Node left = start;
+
+        final double[] a = new double[4];
+        while (!pending.isEmpty()) {
+
+            final Node right = pending.get(pending.size() - 1);
+            if (right.p <= left.p) {
+                // flat cumulative probability, there is nothing to tabulate here
+                pending.remove(pending.size() - 1);
+                left = new Node(right.x, left.p, right.slope);
+                continue;
+            }
+
+            final double h  = right.p - left.p;
+            final double dx = right.x - left.x;
+            final boolean tiny =
+                dx <= 16 * FastMath.ulp(FastMath.max(FastMath.abs(left.x), FastMath.abs(right.x)));
+
+            boolean accept;
+            // where the density is not usable, fall back to the secant slope
+            final double d0 = Double.isNaN(left.slope)  ? dx : h * left.slope;
+            final double d1 = Double.isNaN(right.slope) ? dx : h * right.slope;
+            if (Double.isInfinite(d0) || Double.isNaN(d0) ||
+                Double.isInfinite(d1) || Double.isNaN(d1) ||
+                d0 * d0 + d1 * d1 > 9 * dx * dx) {
+                // the Hermite polynomial is either undefined or not monotonic
+                accept = false;
+            } else {
+                a[0] = left.x;
+                a[1] = d0;
+                a[2] = 3 * dx - 2 * d0 - d1;
+                a[3] = d0 + d1 - 2 * dx;
+                accept = true;
+                final double threshold = SAFETY * probabilityAccuracy;
+                for (final double t : TEST_POINTS) {
+                    if (error(a, left.p, h, t) > threshold) {
+                        accept = false;
+                        break;
+                    }
+                }
+                if (accept && accuracyGuaranteed) {
+                    final double e0 = error(a, left.p, h, 0.0);
+                    final double e1 = error(a, left.p, h, 1.0);
+                    accept = e0 <= threshold && e1 <= threshold &&
+                             checkBound(a, left.p, h, 0.0, e0, 1.0, e1);
+                }
+            }
+
+            if (!accept && tiny) {
+                // the interval cannot be split anymore, use linear interpolation
+                a[0] = left.x;
+                a[1] = dx;
+                a[2] = 0;
+                a[3] = 0;
+                accept = true;
+            }
+
+            if (accept) {
+                p.addElement(right.p);
+                c.addElement(1.0 / h);
+                for (final double ai : a) {
+                    c.addElement(ai);
+                }
+                pending.remove(pending.size() - 1);
+                left = right;
+            } else {
+                if (p.getNumElements() + pending.size() > MAX_INTERVALS) {
+                    throw new MaxCountExceededException(MAX_INTERVALS);
+                }
+                pending.add(new Node(0.5 * (left.x + right.x)));
+            }
+
+        }
+
+    }
+
+    /**
+     * Compute the error of the interpolated inverse at some point of an interval.
+     *
+     * @param a coefficients of the interpolating polynomial
+     * @param p0 cumulative probability at interval start
+     * @param h width of the interval in probability
+     * @param t relative position of the point inside the interval
+     * @return |F(Q(p)) - p| where p = p0 + t h
+     */
+    private double error(final double[] a, final double p0, final double h, final double t) {
+        final double x = a[0] + t * (a[1] + t * (a[2] + t * a[3]));
+        return FastMath.abs(distribution.cumulativeProbability(x) - (p0 + t * h));
+    }
+
+    /**
+     * Check the guaranteed accuracy bound between two check points, adding
+     * check points by bisection until the bound is below the accuracy.
+     *
+     * @param a coefficients of the interpolating polynomial
+     * @param p0 cumulative probability at interval start
+     * @param h width of the interval in probability
+     * @param tLow relative position of the lower check point
+     * @param eLow error at the lower check point
+     * @param tHigh relative position of the upper check point
+     * @param eHigh error at the upper check point
+     * @return true if the accuracy is guaranteed between the check points
+     */
+    private boolean checkBound(final double[] a, final double p0, final double h,
+                               final double tLow, final double eLow,
+                               final double tHigh, final double eHigh) {
+
+        if (FastMath.max(eLow, eHigh) + (tHigh - tLow) * h <= probabilityAccuracy) {
+            return true;
+        }
+
+        final double tMid = 0.5 * (tLow + tHigh);
+        if (tMid <= tLow || tMid >= tHigh) {
+            // the check points cannot be separated anymore
+            return false;
+        }
+
+        final double eMid = error(a, p0, h, tMid);
+        return eMid <= SAFETY * probabilityAccuracy &&
+               checkBound(a, p0, h, tLow, eLow, tMid, eMid) &&
+               checkBound(a, p0, h, tMid, eMid, tHigh, eHigh);
+
+    }
+
+    /**
+     * Compute the slope of the inverse cumulative probability at some abscissa.
+     * <p>
+     * Densities that are not strictly positive and finite (for example
+     * underflowed values close to a singularity), or that cannot be computed
+     * at all (for example at a support bound), give no usable slope.
+     * </p>
+     *
+     * @param x abscissa
+     * @return slope of the inverse cumulative probability, or NaN if unknown
+     */
+    private double inverseSlope(final double x) {
+        try {
+            final double density = distribution.density(x);
+            return (density > 0 && !Double.isInfinite(density)) ? 1.0 / density : Double.NaN;
+        } catch (MathIllegalArgumentException miae) {
+            return Double.NaN;
+        }
+    }
+
+    /** Node of the table. */
+    private class Node {
+
+        /** Abscissa. */
+        private final double x;
+
+        /** Cumulative probability at abscissa. */
+        private final double p;
+
+        /** Slope of the inverse cumulative probability at abscissa (NaN if unknown). */
+        private final double slope;
+
+        /** Simple constructor.
+         * @param x abscissa
+         */
+        Node(final double x) {
+            this(x, distribution.cumulativeProbability(x), inverseSlope(x));
+        }
+
+        /** Simple constructor.
+         * @param x abscissa
+         * @param p cumulative probability at abscissa
+         * @param slope slope of the inverse cumulative probability at abscissa
+         */
+        Node(final double x, final double p, final double slope) {
+            this.x     = x;
+            this.p     = p;
+            this.slope = slope;
+        }
+
+    }
+
+}
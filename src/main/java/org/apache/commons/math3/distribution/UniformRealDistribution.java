@@ -17,11 +17,15 @@
 
 package org.apache.commons.math3.distribution;
 
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.random.BitsStreamGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Implementation of the uniform real distribution.
@@ -129,21 +133,71 @@ public class UniformRealDistribution extends AbstractRealDistribution {
 
     /** {@inheritDoc} */
     public double density(double x) {
+        return computeDensity(x, lower, upper, 1 / (upper - lower));
+    }
+
+    /** {@inheritDoc} */
+    public double cumulativeProbability(double x)  {
+        return computeCumulativeProbability(x, lower, upper, upper - lower);
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void density(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        final double d = 1 / (upper - lower);
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeDensity(x[i], lower, upper, d);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void cumulativeProbability(final double[] x, final double[] out)
+        throws DimensionMismatchException {
+        MathArrays.checkEqualLength(x, out);
+        final double width = upper - lower;
+        for (int i = 0; i < x.length; i++) {
+            out[i] = computeCumulativeProbability(x[i], lower, upper, width);
+        }
+    }
+
+    /** Compute the density at one point, with precomputed constants.
+     * @param x point at which the density is computed
+     * @param lower lower bound of the distribution
+     * @param upper upper bound of the distribution
+     * @param d density inside the bounds
+     * @return density at x
+     */
+    private static double computeDensity(final double x, final double lower,
+                                         final double upper, final double d) {
         if (x < lower || x > upper) {
             return 0.0;
         }
-        return 1 / (upper - lower);
+        return d;
     }
 
-    /** {@inheritDoc} */
-    public double cumulativeProbability(double x)  {
+    /** Compute the cumulative probability at one point, with precomputed constants.
+     * @param x point at which the cumulative probability is computed
+     * @param lower lower bound of the distribution
+     * @param upper upper bound of the distribution
+     * @param width width of the distribution support
+     * @return cumulative probability at x
+     */
+    private static double computeCumulativeProbability(final double x, final double lower,
+                                                       final double upper, final double width) {
         if (x <= lower) {
             return 0;
         }
         if (x >= upper) {
             return 1;
         }
-        return (x - lower) / (upper - lower);
+        return (x - lower) / width;
     }
 
     @Override
@@ -227,4 +281,26 @@ public class UniformRealDistribution extends AbstractRealDistribution {
         final double u = random.nextDouble();
         return u * upper + (1 - u) * lower;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the underlying generator is a {@link BitsStreamGenerator}, the
+     * uniform deviates are generated in bulk before being scaled.
+     * </p>
+     * @since 3.3
+     */
+    @Override
+    public void sample(final double[] out) {
+        if (random instanceof BitsStreamGenerator) {
+            MathUtils.checkNotNull(out);
+            ((BitsStreamGenerator) random).nextDoubles(out, 0, out.length);
+            for (int i = 0; i < out.length; i++) {
+                final double u = out[i];
+                out[i] = u * upper + (1 - u) * lower;
+            }
+        } else {
+            super.sample(out);
+        }
+    }
 }
@@ -18,6 +18,7 @@
 package org.apache.commons.math3.linear;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalStateException;
@@ -217,35 +218,67 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
     public Array2DRowRealMatrix multiply(final Array2DRowRealMatrix m)
         throws DimensionMismatchException {
         MatrixUtils.checkMultiplicationCompatible(this, m);
+        return multiply(m, new Array2DRowRealMatrix(getRowDimension(), m.getColumnDimension()));
+    }
+
+    /**
+     * Postmultiplies {@code this} by {@code m}, storing the result in an
+     * existing matrix.
+     * <p>
+     * No temporary storage is allocated, unless {@code out} is the same
+     * instance as {@code this} or {@code m}, in which case the product is
+     * computed in a new matrix and copied into {@code out}.
+     * </p>
+     *
+     * @param m matrix to postmultiply by
+     * @param out matrix in which the product should be stored
+     * @return {@code out}, which now holds {@code this * m}
+     * @throws DimensionMismatchException if
+     * {@code columnDimension(this) != rowDimension(m)}
+     * @throws MatrixDimensionMismatchException if the dimensions of
+     * {@code out} do not match the dimensions of the product
+     * @since 3.3
+     */
+    public Array2DRowRealMatrix multiply(final Array2DRowRealMatrix m,
+                                         final Array2DRowRealMatrix out)
+        throws DimensionMismatchException, MatrixDimensionMismatchException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
 
         final int nRows = this.getRowDimension();
         final int nCols = m.getColumnDimension();
         final int nSum = this.getColumnDimension();
+        if (out.getRowDimension() != nRows || out.getColumnDimension() != nCols) {
+            throw new MatrixDimensionMismatchException(out.getRowDimension(), out.getColumnDimension(),
+                                                       nRows, nCols);
+        }
+        if (out == this || out == m) {
+            // the product cannot be computed in place
+            final Array2DRowRealMatrix product = multiply(m, new Array2DRowRealMatrix(nRows, nCols));
+            for (int row = 0; row < nRows; row++) {
+                System.arraycopy(product.data[row], 0, out.data[row], 0, nCols);
+            }
+            return out;
+        }
 
-        final double[][] outData = new double[nRows][nCols];
-        // Will hold a column of "m".
-        final double[] mCol = new double[nSum];
         final double[][] mData = m.data;
 
-        // Multiply.
-        for (int col = 0; col < nCols; col++) {
-            // Copy all elements of column "col" of "m" so that
-            // will be in contiguous memory.
-            for (int mRow = 0; mRow < nSum; mRow++) {
-                mCol[mRow] = mData[mRow][col];
-            }
-
-            for (int row = 0; row < nRows; row++) {
-                final double[] dataRow = data[row];
-                double sum = 0;
-                for (int i = 0; i < nSum; i++) {
-                    sum += dataRow[i] * mCol[i];
+        // Multiply, accumulating rows of "m" into each row of "out" so that
+        // all accesses are to contiguous memory. For each entry, the terms
+        // are summed in the same order as in a plain dot product.
+        for (int row = 0; row < nRows; row++) {
+            final double[] dataRow = data[row];
+            final double[] outRow = out.data[row];
+            Arrays.fill(outRow, 0.0);
+            for (int i = 0; i < nSum; i++) {
+                final double a = dataRow[i];
+                final double[] mRow = mData[i];
+                for (int col = 0; col < nCols; col++) {
+                    outRow[col] += a * mRow[col];
                 }
-                outData[row][col] = sum;
             }
         }
 
-        return new Array2DRowRealMatrix(outData, false);
+        return out;
     }
 
     /** {@inheritDoc} */
@@ -349,12 +382,47 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
     @Override
     public double[] operate(final double[] v)
         throws DimensionMismatchException {
-        final int nRows = this.getRowDimension();
         final int nCols = this.getColumnDimension();
         if (v.length != nCols) {
             throw new DimensionMismatchException(v.length, nCols);
         }
-        final double[] out = new double[nRows];
+        final double[] out = new double[this.getRowDimension()];
+        operate(v, out);
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector && x != y) {
+            final double[] v   = ((ArrayRealVector) x).getDataRef();
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            if (v.length != getColumnDimension()) {
+                throw new DimensionMismatchException(v.length, getColumnDimension());
+            }
+            if (out.length != getRowDimension()) {
+                throw new DimensionMismatchException(out.length, getRowDimension());
+            }
+            operate(v, out);
+            return y;
+        }
+        return super.operate(x, y);
+    }
+
+    /**
+     * Multiplies {@code this} by a vector, storing the result in an existing array.
+     * <p>
+     * Dimensions must have been checked by the caller, and {@code out}
+     * must not be the same array as {@code v}.
+     * </p>
+     *
+     * @param v vector to operate on
+     * @param out array in which the product is stored
+     */
+    private void operate(final double[] v, final double[] out) {
+        final int nRows = this.getRowDimension();
+        final int nCols = this.getColumnDimension();
         for (int row = 0; row < nRows; row++) {
             final double[] dataRow = data[row];
             double sum = 0;
@@ -363,7 +431,6 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
             }
             out[row] = sum;
         }
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -293,52 +293,88 @@ public class ArrayRealVector extends RealVector implements Serializable {
     @Override
     public ArrayRealVector add(RealVector v)
         throws DimensionMismatchException {
+        checkVectorDimensions(v);
+        return add(v, new ArrayRealVector(data.length));
+    }
+
+    /**
+     * Computes the sum of {@code this} and {@code v}, storing the result in an existing vector.
+     * <p>
+     * No temporary storage is allocated. The destination vector may be
+     * {@code this} or {@code v}.
+     * </p>
+     *
+     * @param v Vector to be combined with {@code this}.
+     * @param out Vector in which the result should be stored.
+     * @return {@code out}.
+     * @throws DimensionMismatchException if {@code v} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 3.3
+     */
+    public ArrayRealVector add(RealVector v, ArrayRealVector out)
+        throws DimensionMismatchException {
+        checkVectorDimensions(out.data.length);
+        final double[] outData = out.data;
         if (v instanceof ArrayRealVector) {
             final double[] vData = ((ArrayRealVector) v).data;
-            final int dim = vData.length;
-            checkVectorDimensions(dim);
-            ArrayRealVector result = new ArrayRealVector(dim);
-            double[] resultData = result.data;
-            for (int i = 0; i < dim; i++) {
-                resultData[i] = data[i] + vData[i];
+            checkVectorDimensions(vData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] + vData[i];
             }
-            return result;
         } else {
             checkVectorDimensions(v);
-            double[] out = data.clone();
+            System.arraycopy(data, 0, outData, 0, data.length);
             Iterator<Entry> it = v.iterator();
             while (it.hasNext()) {
                 final Entry e = it.next();
-                out[e.getIndex()] += e.getValue();
+                outData[e.getIndex()] += e.getValue();
             }
-            return new ArrayRealVector(out, false);
         }
+        return out;
     }
 
     /** {@inheritDoc} */
     @Override
     public ArrayRealVector subtract(RealVector v)
         throws DimensionMismatchException {
+        checkVectorDimensions(v);
+        return subtract(v, new ArrayRealVector(data.length));
+    }
+
+    /**
+     * Subtracts {@code v} from {@code this}, storing the result in an existing vector.
+     * <p>
+     * No temporary storage is allocated. The destination vector may be
+     * {@code this} or {@code v}.
+     * </p>
+     *
+     * @param v Vector to be combined with {@code this}.
+     * @param out Vector in which the result should be stored.
+     * @return {@code out}.
+     * @throws DimensionMismatchException if {@code v} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 3.3
+     */
+    public ArrayRealVector subtract(RealVector v, ArrayRealVector out)
+        throws DimensionMismatchException {
+        checkVectorDimensions(out.data.length);
+        final double[] outData = out.data;
         if (v instanceof ArrayRealVector) {
             final double[] vData = ((ArrayRealVector) v).data;
-            final int dim = vData.length;
-            checkVectorDimensions(dim);
-            ArrayRealVector result = new ArrayRealVector(dim);
-            double[] resultData = result.data;
-            for (int i = 0; i < dim; i++) {
-                resultData[i] = data[i] - vData[i];
+            checkVectorDimensions(vData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] - vData[i];
             }
-            return result;
         } else {
             checkVectorDimensions(v);
-            double[] out = data.clone();
+            System.arraycopy(data, 0, outData, 0, data.length);
             Iterator<Entry> it = v.iterator();
             while (it.hasNext()) {
                 final Entry e = it.next();
-                out[e.getIndex()] -= e.getValue();
+                outData[e.getIndex()] -= e.getValue();
             }
-            return new ArrayRealVector(out, false);
         }
+        return out;
     }
 
     /** {@inheritDoc} */
@@ -374,6 +410,29 @@ public class ArrayRealVector extends RealVector implements Serializable {
         return this;
     }
 
+    /**
+     * Multiplies each entry by {@code d}, storing the result in an existing vector.
+     * <p>
+     * No temporary storage is allocated. The destination vector may be {@code this}.
+     * </p>
+     *
+     * @param d Multiplication factor.
+     * @param out Vector in which the result should be stored.
+     * @return {@code out}.
+     * @throws DimensionMismatchException if {@code out} is not the same size
+     * as {@code this} vector.
+     * @since 3.3
+     */
+    public ArrayRealVector mapMultiply(double d, ArrayRealVector out)
+        throws DimensionMismatchException {
+        checkVectorDimensions(out.data.length);
+        final double[] outData = out.data;
+        for (int i = 0; i < data.length; i++) {
+            outData[i] = data[i] * d;
+        }
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public RealVector mapMultiplyToSelf(double d) {
@@ -396,48 +455,82 @@ public class ArrayRealVector extends RealVector implements Serializable {
     @Override
     public ArrayRealVector ebeMultiply(RealVector v)
         throws DimensionMismatchException {
+        checkVectorDimensions(v);
+        return ebeMultiply(v, new ArrayRealVector(data.length));
+    }
+
+    /**
+     * Computes the element-by-element product of {@code this} and {@code v}, storing the result in an existing vector.
+     * <p>
+     * No temporary storage is allocated. The destination vector may be
+     * {@code this} or {@code v}.
+     * </p>
+     *
+     * @param v Vector to be combined with {@code this}.
+     * @param out Vector in which the result should be stored.
+     * @return {@code out}.
+     * @throws DimensionMismatchException if {@code v} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 3.3
+     */
+    public ArrayRealVector ebeMultiply(RealVector v, ArrayRealVector out)
+        throws DimensionMismatchException {
+        checkVectorDimensions(out.data.length);
+        final double[] outData = out.data;
         if (v instanceof ArrayRealVector) {
             final double[] vData = ((ArrayRealVector) v).data;
-            final int dim = vData.length;
-            checkVectorDimensions(dim);
-            ArrayRealVector result = new ArrayRealVector(dim);
-            double[] resultData = result.data;
-            for (int i = 0; i < dim; i++) {
-                resultData[i] = data[i] * vData[i];
+            checkVectorDimensions(vData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] * vData[i];
             }
-            return result;
         } else {
             checkVectorDimensions(v);
-            double[] out = data.clone();
             for (int i = 0; i < data.length; i++) {
-                out[i] *= v.getEntry(i);
+                outData[i] = data[i] * v.getEntry(i);
             }
-            return new ArrayRealVector(out, false);
         }
+        return out;
     }
 
     /** {@inheritDoc} */
     @Override
     public ArrayRealVector ebeDivide(RealVector v)
         throws DimensionMismatchException {
+        checkVectorDimensions(v);
+        return ebeDivide(v, new ArrayRealVector(data.length));
+    }
+
+    /**
+     * Computes the element-by-element division of {@code this} by {@code v}, storing the result in an existing vector.
+     * <p>
+     * No temporary storage is allocated. The destination vector may be
+     * {@code this} or {@code v}.
+     * </p>
+     *
+     * @param v Vector to be combined with {@code this}.
+     * @param out Vector in which the result should be stored.
+     * @return {@code out}.
+     * @throws DimensionMismatchException if {@code v} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 3.3
+     */
+    public ArrayRealVector ebeDivide(RealVector v, ArrayRealVector out)
+        throws DimensionMismatchException {
+        checkVectorDimensions(out.data.length);
+        final double[] outData = out.data;
         if (v instanceof ArrayRealVector) {
             final double[] vData = ((ArrayRealVector) v).data;
-            final int dim = vData.length;
-            checkVectorDimensions(dim);
-            ArrayRealVector result = new ArrayRealVector(dim);
-            double[] resultData = result.data;
-            for (int i = 0; i < dim; i++) {
-                resultData[i] = data[i] / vData[i];
+            checkVectorDimensions(vData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] / vData[i];
             }
-            return result;
         } else {
             checkVectorDimensions(v);
-            double[] out = data.clone();
             for (int i = 0; i < data.length; i++) {
-                out[i] /= v.getEntry(i);
+                outData[i] = data[i] / v.getEntry(i);
             }
-            return new ArrayRealVector(out, false);
         }
+        return out;
     }
 
     /**
@@ -848,19 +941,43 @@ public class ArrayRealVector extends RealVector implements Serializable {
     @Override
     public ArrayRealVector combineToSelf(double a, double b, RealVector y)
         throws DimensionMismatchException {
+        return combine(a, b, y, this);
+    }
+
+    /**
+     * Computes the linear combination {@code a * this + b * y}, storing the
+     * result in an existing vector.
+     * <p>
+     * No temporary storage is allocated. The destination vector may be
+     * {@code this} or {@code y}.
+     * </p>
+     *
+     * @param a Coefficient of {@code this}.
+     * @param b Coefficient of {@code y}.
+     * @param y Vector with which {@code this} is linearly combined.
+     * @param out Vector in which the result should be stored.
+     * @return {@code out}.
+     * @throws DimensionMismatchException if {@code y} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 3.3
+     */
+    public ArrayRealVector combine(double a, double b, RealVector y, ArrayRealVector out)
+        throws DimensionMismatchException {
+        checkVectorDimensions(out.data.length);
+        final double[] outData = out.data;
         if (y instanceof ArrayRealVector) {
             final double[] yData = ((ArrayRealVector) y).data;
             checkVectorDimensions(yData.length);
             for (int i = 0; i < this.data.length; i++) {
-                data[i] = a * data[i] + b * yData[i];
+                outData[i] = a * data[i] + b * yData[i];
             }
         } else {
             checkVectorDimensions(y);
             for (int i = 0; i < this.data.length; i++) {
-                data[i] = a * data[i] + b * y.getEntry(i);
+                outData[i] = a * data[i] + b * y.getEntry(i);
             }
         }
-        return this;
+        return out;
     }
 
     /** {@inheritDoc} */
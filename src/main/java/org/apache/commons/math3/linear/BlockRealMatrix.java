@@ -18,15 +18,21 @@
 package org.apache.commons.math3.linear;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
 import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.ConcurrencyUtils;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathUtils;
 
@@ -72,6 +78,12 @@ import org.apache.commons.math3.util.MathUtils;
 public class BlockRealMatrix extends AbstractRealMatrix implements Serializable {
     /** Block size. */
     public static final int BLOCK_SIZE = 52;
+    /**
+     * Default minimum number of output blocks for which
+     * {@link #multiply(BlockRealMatrix, ExecutorService)} uses the executor.
+     * @since 3.3
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4;
     /** Serializable version identifier */
     private static final long serialVersionUID = 4991895511313664478L;
     /** Blocks of matrix entries. */
@@ -536,60 +548,190 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         // safety check
         MatrixUtils.checkMultiplicationCompatible(this, m);
 
-        final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+        return multiply(m, new BlockRealMatrix(rows, m.columns));
+    }
+
+    /**
+     * Postmultiplies this by {@code m}, storing the result in an existing matrix.
+     * <p>
+     * No temporary storage is allocated, unless {@code out} is the same
+     * instance as {@code this} or {@code m}, in which case the product is
+     * computed in a new matrix and copied into {@code out}.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param out Matrix in which the product should be stored.
+     * @return {@code out}, which now holds {@code this} * m.
+     * @throws DimensionMismatchException if the matrices are not compatible.
+     * @throws MatrixDimensionMismatchException if the dimensions of {@code out}
+     * do not match the dimensions of the product.
+     * @since 3.3
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final BlockRealMatrix out)
+        throws DimensionMismatchException, MatrixDimensionMismatchException {
+        // safety checks
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        if (out.rows != rows || out.columns != m.columns) {
+            throw new MatrixDimensionMismatchException(out.rows, out.columns, rows, m.columns);
+        }
+        if (out == this || out == m) {
+            // the product cannot be computed in place
+            final BlockRealMatrix product = multiply(m, new BlockRealMatrix(rows, m.columns));
+            for (int i = 0; i < out.blocks.length; ++i) {
+                System.arraycopy(product.blocks[i], 0, out.blocks[i], 0, out.blocks[i].length);
+            }
+            return out;
+        }
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
         for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
+                Arrays.fill(out.blocks[iBlock * out.blockColumns + jBlock], 0.0);
+                multiplyBlock(m, out, iBlock, jBlock);
+            }
+        }
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+        return out;
+    }
+
+    /**
+     * Returns the result of postmultiplying this by {@code m}, computing
+     * the output blocks concurrently.
+     * <p>
+     * This method is equivalent to {@link #multiply(BlockRealMatrix, ExecutorService, int)
+     * multiply(m, executor, DEFAULT_PARALLEL_THRESHOLD)}.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param executor Executor service in which output blocks are computed.
+     * @return {@code this} * m.
+     * @throws DimensionMismatchException if the matrices are not compatible.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the current thread is interrupted
+     * while waiting for the output blocks.
+     * @since 3.3
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        return multiply(m, executor, DEFAULT_PARALLEL_THRESHOLD);
+    }
 
+    /**
+     * Returns the result of postmultiplying this by {@code m}, computing
+     * the output blocks concurrently.
+     * <p>
+     * Each output block depends only on one block row of {@code this} and
+     * one block column of {@code m}, so all output blocks are independent
+     * and are submitted as separate tasks to the executor. The accumulation
+     * order within each block is the same as in {@link #multiply(BlockRealMatrix)},
+     * so the result is bit-identical to the serial product regardless of the
+     * number of threads used.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param executor Executor service in which output blocks are computed
+     * (see {@link ConcurrencyUtils}).
+     * @param threshold Minimum number of output blocks for which the product
+     * is computed concurrently; smaller products are computed in the calling thread.
+     * @return {@code this} * m.
+     * @throws DimensionMismatchException if the matrices are not compatible.
+     * @throws NullArgumentException if {@code executor} is {@code null}.
+     * @throws MathIllegalStateException if the current thread is interrupted
+     * while waiting for the output blocks.
+     * @since 3.3
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final ExecutorService executor,
+                                    final int threshold)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        MathUtils.checkNotNull(executor);
+
+        if (blockRows * m.blockColumns < threshold) {
+            return multiply(m);
+        }
+
+        // safety check
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+
+        // submit one task per output block
+        final List<Future<?>> tasks = new ArrayList<Future<?>>(out.blocks.length);
+        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
             for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
+                final int i = iBlock;
+                final int j = jBlock;
+                tasks.add(executor.submit(new Runnable() {
+                    /** {@inheritDoc} */
+                    public void run() {
+                        multiplyBlock(m, out, i, j);
+                    }
+                }));
+            }
+        }
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        // wait for all blocks to be computed
+        ConcurrencyUtils.waitForAll(tasks);
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l] * mBlock[n] +
-                                       tBlock[l + 1] * mBlock[n + jWidth] +
-                                       tBlock[l + 2] * mBlock[n + jWidth2] +
-                                       tBlock[l + 3] * mBlock[n + jWidth3];
-                                l += 4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n];
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+        return out;
+    }
+
+    /**
+     * Compute one block of the product of {@code this} by {@code m}.
+     * <p>
+     * The block is accumulated in place in the corresponding block of
+     * {@code out}, which must be initially zero.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param out Matrix holding the product.
+     * @param iBlock Row index of the output block.
+     * @param jBlock Column index of the output block.
+     */
+    private void multiplyBlock(final BlockRealMatrix m, final BlockRealMatrix out,
+                               final int iBlock, final int jBlock) {
+
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // select current block
+        final double[] outBlock = out.blocks[iBlock * out.blockColumns + jBlock];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l] * mBlock[n] +
+                               tBlock[l + 1] * mBlock[n + jWidth] +
+                               tBlock[l + 2] * mBlock[n + jWidth2] +
+                               tBlock[l + 3] * mBlock[n + jWidth3];
+                        l += 4;
+                        n += jWidth4;
                     }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n];
+                        n += jWidth;
+                    }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -1265,7 +1407,41 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
             throw new DimensionMismatchException(v.length, columns);
         }
         final double[] out = new double[rows];
+        operate(v, out);
+        return out;
+    }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector && x != y) {
+            final double[] v   = ((ArrayRealVector) x).getDataRef();
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            if (v.length != columns) {
+                throw new DimensionMismatchException(v.length, columns);
+            }
+            if (out.length != rows) {
+                throw new DimensionMismatchException(out.length, rows);
+            }
+            Arrays.fill(out, 0.0);
+            operate(v, out);
+            return y;
+        }
+        return super.operate(x, y);
+    }
+
+    /**
+     * Multiplies this by a vector, accumulating the result in an existing array.
+     * <p>
+     * Dimensions must have been checked by the caller, {@code out} must
+     * be initially zero and must not be the same array as {@code v}.
+     * </p>
+     *
+     * @param v Vector to operate on.
+     * @param out Array in which the product is accumulated.
+     */
+    private void operate(final double[] v, final double[] out) {
         // perform multiplication block-wise, to ensure good cache behavior
         for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
             final int pStart = iBlock * BLOCK_SIZE;
@@ -1294,7 +1470,6 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.linear;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Helper for the blocked decompositions.
+ * <p>The blocked (right-looking) variants of {@link LUDecomposition},
+ * {@link CholeskyDecomposition} and {@link QRDecomposition} factor a narrow
+ * panel of {@link #PANEL_SIZE} rows or columns at a time, and then update the
+ * trailing part of the matrix with a matrix product involving the panel.
+ * This product is computed tile by tile, using the same square tiles as
+ * {@link BlockRealMatrix}: the right operand is first packed in tiles stored
+ * as flattened arrays, then each tile of the result is copied in a flattened
+ * array, updated by all the tiles it depends on and copied back. The tiles of the result are independent from each other, so they
+ * can be updated by different threads.</p>
+ * <p>The terms of the product are subtracted one at a time, in increasing
+ * order of the summation index, so each element sees the same operations in
+ * the same order as in the corresponding unblocked algorithm.</p>
+ * <p>This class is intended for internal use by the library and is not public.</p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+class BlockUpdater {
+
+    /** Number of rows or columns factored in one panel. */
+    static final int PANEL_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Size of the square tiles used for trailing matrix updates. */
+    private static final int TILE_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Private constructor for a utility class. */
+    private BlockUpdater() {
+    }
+
+    /** Subtract a matrix product from a sub-matrix, tile by tile: C = C - A &times; B.
+     * <p>All sub-matrices are given by their upper left element within a
+     * row-major array. A has {@code nbRows} rows and {@code inner} columns,
+     * B has {@code inner} rows and {@code nbColumns} columns and C has
+     * {@code nbRows} rows and {@code nbColumns} columns. If {@code upper}
+     * is true, only the elements of C on or above the diagonal of the
+     * sub-matrix (i.e. for column index greater than or equal to the row
+     * index, both counted from the upper left element) are updated, the
+     * other elements are left untouched.</p>
+     * <p>Only B is packed in tiles, as each of its tiles is used for a whole
+     * column of tiles of C, whereas A is read in place one row at a time.
+     * A and B may share their rows with C, but the elements of A and B must
+     * not be elements of C.</p>
+     * @param a array containing A
+     * @param aRow index of the first row of A in {@code a}
+     * @param aColumn index of the first column of A in {@code a}
+     * @param b array containing B
+     * @param bRow index of the first row of B in {@code b}
+     * @param bColumn index of the first column of B in {@code b}
+     * @param c array containing C, updated in place
+     * @param cRow index of the first row of C in {@code c}
+     * @param cColumn index of the first column of C in {@code c}
+     * @param nbRows number of rows of A and C
+     * @param nbColumns number of columns of B and C
+     * @param inner number of columns of A and rows of B
+     * @param upper if true, only the upper triangular part of C is updated
+     * @param executor executor service to use for updating the tiles of C
+     * (if null, all tiles are updated in the calling thread)
+     * @exception org.apache.commons.math3.exception.MathIllegalStateException
+     * if the current thread is interrupted while waiting for the tasks
+     */
+    static void subtractProduct(final double[][] a, final int aRow, final int aColumn,
+                                final double[][] b, final int bRow, final int bColumn,
+                                final double[][] c, final int cRow, final int cColumn,
+                                final int nbRows, final int nbColumns, final int inner,
+                                final boolean upper, final ExecutorService executor) {
+
+        if (nbRows <= 0 || nbColumns <= 0 || inner <= 0) {
+            return;
+        }
+
+        final int rowTiles    = (nbRows    + TILE_SIZE - 1) / TILE_SIZE;
+        final int columnTiles = (nbColumns + TILE_SIZE - 1) / TILE_SIZE;
+        final int innerTiles  = (inner     + TILE_SIZE - 1) / TILE_SIZE;
+
+        // pack the right operand in tiles
+        final double[][][] bTiles = new double[innerTiles][columnTiles][];
+        for (int kTile = 0; kTile < innerTiles; ++kTile) {
+            final int k0 = kTile * TILE_SIZE;
+            final int k1 = FastMath.min(inner, k0 + TILE_SIZE);
+            for (int jTile = 0; jTile < columnTiles; ++jTile) {
+                final int j0 = jTile * TILE_SIZE;
+                final int j1 = FastMath.min(nbColumns, j0 + TILE_SIZE);
+                bTiles[kTile][jTile] = pack(b, bRow + k0, bRow + k1, bColumn + j0, bColumn + j1);
+            }
+        }
+
+        // update the tiles of C
+        final List<Future<?>> tasks = new ArrayList<Future<?>>();
+        for (int iTile = 0; iTile < rowTiles; ++iTile) {
+            final int i0 = iTile * TILE_SIZE;
+            final int i1 = FastMath.min(nbRows, i0 + TILE_SIZE);
+            for (int jTile = 0; jTile < columnTiles; ++jTile) {
+                final int j0 = jTile * TILE_SIZE;
+                final int j1 = FastMath.min(nbColumns, j0 + TILE_SIZE);
+                if (upper && j1 <= i0) {
+                    // the tile is strictly below the diagonal
+                    continue;
+                }
+                final double[][] bColumnTiles = new double[innerTiles][];
+                for (int kTile = 0; kTile < innerTiles; ++kTile) {
+                    bColumnTiles[kTile] = bTiles[kTile][jTile];
+                }
+                final Runnable update = new Runnable() {
+                    /** {@inheritDoc} */
+                    public void run() {
+                        updateTile(a, aRow + i0, aColumn, bColumnTiles, c,
+                                   cRow + i0, cRow + i1, cColumn + j0, cColumn + j1,
+                                   upper ? cColumn - cRow : Integer.MIN_VALUE);
+                    }
+                };
+                if (executor == null) {
+                    update.run();
+                } else {
+                    tasks.add(executor.submit(update));
+                }
+            }
+        }
+        ConcurrencyUtils.waitForAll(tasks);
+
+    }
+
+    /** Pack a sub-matrix in a flattened tile.
+     * @param m row-major array
+     * @param r0 index of the first row (included)
+     * @param r1 index of the last row (excluded)
+     * @param c0 index of the first column (included)
+     * @param c1 index of the last column (excluded)
+     * @return flattened tile, in row-major order
+     */
+    private static double[] pack(final double[][] m,
+                                 final int r0, final int r1, final int c0, final int c1) {
+        final int width = c1 - c0;
+        final double[] tile = new double[(r1 - r0) * width];
+        int index = 0;
+        for (int r = r0; r < r1; ++r) {
+            System.arraycopy(m[r], c0, tile, index, width);
+            index += width;
+        }
+        return tile;
+    }
+
+    /** Update one tile of C with the product of a row range of A and a column of tiles of B.
+     * @param a array containing A
+     * @param aRow index of the row of A corresponding to the first row of the tile
+     * @param aColumn index of the first column of A in {@code a}
+     * @param bColumnTiles packed tiles of B, in inner order
+     * @param c array containing C, updated in place
+     * @param r0 index of the first row of the tile in {@code c} (included)
+     * @param r1 index of the last row of the tile in {@code c} (excluded)
+     * @param c0 index of the first column of the tile in {@code c} (included)
+     * @param c1 index of the last column of the tile in {@code c} (excluded)
+     * @param shift difference between the column and row indices of the first
+     * element updated in each row, or {@code Integer.MIN_VALUE} if all elements
+     * are updated
+     */
+    private static void updateTile(final double[][] a, final int aRow, final int aColumn,
+                                   final double[][] bColumnTiles,
+                                   final double[][] c,
+                                   final int r0, final int r1, final int c0, final int c1,
+                                   final int shift) {
+
+        final int height = r1 - r0;
+        final int width  = c1 - c0;
+        final double[] cTile = pack(c, r0, r1, c0, c1);
+
+        int k0 = aColumn;
+        for (final double[] bTile : bColumnTiles) {
+            final int depth = bTile.length / width;
+            int cStart = 0;
+            for (int i = 0; i < height; ++i) {
+                final double[] aI = a[aRow + i];
+                final int cEnd = cStart + width;
+                int bStart = 0;
+                int k = 0;
+
+                // four terms at a time, still subtracted in increasing k order
+                for (; k + 3 < depth; k += 4) {
+                    final double aIK0 = aI[k0 + k];
+                    final double aIK1 = aI[k0 + k + 1];
+                    final double aIK2 = aI[k0 + k + 2];
+                    final double aIK3 = aI[k0 + k + 3];
+                    int bIndex = bStart;
+                    for (int cIndex = cStart; cIndex < cEnd; ++cIndex) {
+                        cTile[cIndex] = cTile[cIndex] -
+                                        aIK0 * bTile[bIndex] -
+                                        aIK1 * bTile[bIndex + width] -
+                                        aIK2 * bTile[bIndex + 2 * width] -
+                                        aIK3 * bTile[bIndex + 3 * width];
+                        ++bIndex;
+                    }
+                    bStart += 4 * width;
+                }
+
+                // remaining terms
+                for (; k < depth; ++k) {
+                    final double aIK = aI[k0 + k];
+                    int bIndex = bStart;
+                    for (int cIndex = cStart; cIndex < cEnd; ++cIndex) {
+                        cTile[cIndex] -= aIK * bTile[bIndex++];
+                    }
+                    bStart += width;
+                }
+                cStart = cEnd;
+            }
+            k0 += depth;
+        }
+
+        // copy the tile back
+        int cStart = 0;
+        for (int r = r0; r < r1; ++r) {
+            final int first = (shift == Integer.MIN_VALUE) ? c0 : FastMath.max(c0, r + shift);
+            if (first < c1) {
+                System.arraycopy(cTile, cStart + first - c0, c[r], first, c1 - first);
+            }
+            cStart += width;
+        }
+
+    }
+
+}
@@ -17,6 +17,8 @@
 
 package org.apache.commons.math3.linear;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.util.FastMath;
 
@@ -104,6 +106,40 @@ public class CholeskyDecomposition {
     public CholeskyDecomposition(final RealMatrix matrix,
                                      final double relativeSymmetryThreshold,
                                      final double absolutePositivityThreshold) {
+        this(matrix, relativeSymmetryThreshold, absolutePositivityThreshold, null);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix, using several threads.
+     * <p>
+     * The decomposition is computed panel by panel: a panel of
+     * {@link BlockRealMatrix#BLOCK_SIZE} rows of L<sup>T</sup> is factored, then
+     * the upper part of the trailing sub-matrix is updated with all the panel rows
+     * at once, as a matrix product computed tile by tile, the tiles being updated
+     * by tasks submitted to the executor. The operations performed on each element are
+     * the same as in the sequential algorithm, so the decomposition is exactly
+     * the same as the one computed by the other constructors.
+     * </p>
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @param executor executor service to use for updating the trailing
+     * sub-matrix (see {@link org.apache.commons.math3.util.ConcurrencyUtils ConcurrencyUtils}),
+     * if null, all computations are done in the calling thread
+     * @throws NonSquareMatrixException if the matrix is not square.
+     * @throws NonSymmetricMatrixException if the matrix is not symmetric.
+     * @throws NonPositiveDefiniteMatrixException if the matrix is not
+     * strictly positive definite.
+     * @throws org.apache.commons.math3.exception.MathIllegalStateException
+     * if the current thread is interrupted while waiting for the tasks
+     * @since 3.3
+     */
+    public CholeskyDecomposition(final RealMatrix matrix,
+                                 final double relativeSymmetryThreshold,
+                                 final double absolutePositivityThreshold,
+                                 final ExecutorService executor) {
         if (!matrix.isSquare()) {
             throw new NonSquareMatrixException(matrix.getRowDimension(),
                                                matrix.getColumnDimension());
@@ -132,26 +168,50 @@ public class CholeskyDecomposition {
            }
         }
 
-        // transform the matrix
-        for (int i = 0; i < order; ++i) {
+        // transform the matrix, panel by panel
+        for (int k0 = 0; k0 < order; k0 += BlockUpdater.PANEL_SIZE) {
+            final int p0 = k0;
+            final int p1 = FastMath.min(order, k0 + BlockUpdater.PANEL_SIZE);
+
+            // factor the panel rows
+            for (int i = p0; i < p1; ++i) {
+
+                final double[] ltI = lTData[i];
+
+                // check diagonal element
+                if (ltI[i] <= absolutePositivityThreshold) {
+                    throw new NonPositiveDefiniteMatrixException(ltI[i], i, absolutePositivityThreshold);
+                }
 
-            final double[] ltI = lTData[i];
+                ltI[i] = FastMath.sqrt(ltI[i]);
+                final double inverse = 1.0 / ltI[i];
 
-            // check diagonal element
-            if (ltI[i] <= absolutePositivityThreshold) {
-                throw new NonPositiveDefiniteMatrixException(ltI[i], i, absolutePositivityThreshold);
+                for (int q = order - 1; q > i; --q) {
+                    ltI[q] *= inverse;
+                }
+                for (int q = i + 1; q < p1; ++q) {
+                    final double[] ltQ = lTData[q];
+                    for (int p = q; p < order; ++p) {
+                        ltQ[p] -= ltI[q] * ltI[p];
+                    }
+                }
             }
 
-            ltI[i] = FastMath.sqrt(ltI[i]);
-            final double inverse = 1.0 / ltI[i];
+            if (p1 < order) {
 
-            for (int q = order - 1; q > i; --q) {
-                ltI[q] *= inverse;
-                final double[] ltQ = lTData[q];
-                for (int p = q; p < order; ++p) {
-                    ltQ[p] -= ltI[q] * ltI[p];
+                // update the trailing sub-matrix with all the panel rows at once
+                final double[][] panelT = new double[order - p1][p1 - p0];
+                for (int q = p1; q < order; ++q) {
+                    final double[] panelTQ = panelT[q - p1];
+                    for (int i = p0; i < p1; ++i) {
+                        panelTQ[i - p0] = lTData[i][q];
+                    }
                 }
+                BlockUpdater.subtractProduct(panelT, 0, 0, lTData, p0, p1, lTData, p1, p1,
+                                             order - p1, order - p1, p1 - p0, true, executor);
+
             }
+
         }
     }
 
@@ -0,0 +1,755 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Immutable sparse matrix in compressed sparse row (CSR) format.
+ * <p>
+ * The non-zero entries are stored row after row in two parallel arrays
+ * holding their column indices and values, and a third array holds the
+ * index of the first entry of each row. This layout makes matrix-vector
+ * products ({@link #operate(double[]) operate}, {@link #preMultiply(double[])
+ * preMultiply} and {@link #operateTranspose(RealVector) operateTranspose}) run
+ * in time proportional to the number of non-zero entries, with sequential
+ * memory accesses, which is what iterative solvers like
+ * {@link ConjugateGradient} or {@link SymmLQ} need. Matrix-vector products
+ * can also be split between the threads of an {@link ExecutorService},
+ * either directly using {@link #operate(double[], ExecutorService)} or
+ * through the {@link RealLinearOperator} returned by
+ * {@link #getParallelOperator(ExecutorService)}.
+ * </p>
+ * <p>
+ * Instances are built using a {@link Builder}, which accepts entries in any
+ * order and sums duplicated entries, as is customary when assembling
+ * finite elements systems. The compressed sparse column (CSC) layout of
+ * the same matrix is the CSR layout of its {@link #transpose() transpose}.
+ * </p>
+ * <p>
+ * As instances are immutable, all the methods that modify entries throw
+ * {@link MathUnsupportedOperationException}. Operations returning new
+ * matrices not specifically optimized here (sums, matrix products ...)
+ * return dense matrices.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class CompressedRowRealMatrix extends AbstractRealMatrix implements Serializable {
+
+    /**
+     * Default minimum number of non-zero entries for
+     * {@link #operate(double[], ExecutorService)} to split the product.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 15;
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131018L;
+
+    /** Number of rows of the matrix. */
+    private final int rows;
+
+    /** Number of columns of the matrix. */
+    private final int columns;
+
+    /** Index in {@link #columnIndices} and {@link #values} of the first entry of each row (plus one end marker). */
+    private final int[] rowPointers;
+
+    /** Column indices of the non-zero entries, sorted within each row. */
+    private final int[] columnIndices;
+
+    /** Values of the non-zero entries. */
+    private final double[] values;
+
+    /**
+     * Build a matrix by copying the non-zero entries of another one.
+     * <p>
+     * All entries of the other matrix are visited, so this constructor is
+     * intended for conversion of small or dense matrices. Large sparse
+     * matrices should be assembled directly using a {@link Builder}.
+     * </p>
+     *
+     * @param matrix matrix to copy
+     */
+    public CompressedRowRealMatrix(final RealMatrix matrix) {
+        rows    = matrix.getRowDimension();
+        columns = matrix.getColumnDimension();
+
+        // first pass: count non-zero entries
+        int count = 0;
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                if (matrix.getEntry(i, j) != 0.0) {
+                    ++count;
+                }
+            }
+        }
+
+        // second pass: store them
+        rowPointers   = new int[rows + 1];
+        columnIndices = new int[count];
+        values        = new double[count];
+        int k = 0;
+        for (int i = 0; i < rows; ++i) {
+            rowPointers[i] = k;
+            for (int j = 0; j < columns; ++j) {
+                final double value = matrix.getEntry(i, j);
+                if (value != 0.0) {
+                    columnIndices[k] = j;
+                    values[k++]      = value;
+                }
+            }
+        }
+        rowPointers[rows] = k;
+
+    }
+
+    /**
+     * Build a matrix from its compressed arrays, without copying them.
+     *
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param rowPointers index of the first entry of each row, plus one end marker
+     * @param columnIndices column indices of the non-zero entries, sorted within each row
+     * @param values values of the non-zero entries
+     */
+    private CompressedRowRealMatrix(final int rows, final int columns,
+                                    final int[] rowPointers, final int[] columnIndices,
+                                    final double[] values) {
+        this.rows          = rows;
+        this.columns       = columns;
+        this.rowPointers   = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values        = values;
+    }
+
+    /**
+     * Get the number of non-zero entries.
+     *
+     * @return number of non-zero entries
+     */
+    public int getNonZeroCount() {
+        return values.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As instances are immutable, the returned matrix is a dense one.
+     * </p>
+     */
+    @Override
+    public RealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws NotStrictlyPositiveException {
+        return MatrixUtils.createRealMatrix(rowDimension, columnDimension);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As instances are immutable, the copy shares its internal arrays with the instance.
+     * </p>
+     */
+    @Override
+    public CompressedRowRealMatrix copy() {
+        return new CompressedRowRealMatrix(rows, columns, rowPointers, columnIndices, values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) throws OutOfRangeException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        int low  = rowPointers[row];
+        int high = rowPointers[row + 1] - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int c   = columnIndices[mid];
+            if (c < column) {
+                low = mid + 1;
+            } else if (c > column) {
+                high = mid - 1;
+            } else {
+                return values[mid];
+            }
+        }
+        return 0.0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathUnsupportedOperationException always, as instances are immutable
+     */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathUnsupportedOperationException always, as instances are immutable
+     */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathUnsupportedOperationException always, as instances are immutable
+     */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathUnsupportedOperationException {
+        throw new MathUnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedRowRealMatrix transpose() {
+
+        // count the entries in each column
+        final int[] tPointers = new int[columns + 1];
+        for (final int j : columnIndices) {
+            ++tPointers[j + 1];
+        }
+        for (int j = 0; j < columns; ++j) {
+            tPointers[j + 1] += tPointers[j];
+        }
+
+        // scatter the entries, rows are visited in increasing order
+        // so the row indices end up sorted within each column
+        final int[]    next     = tPointers.clone();
+        final int[]    tIndices = new int[values.length];
+        final double[] tValues  = new double[values.length];
+        for (int i = 0; i < rows; ++i) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; ++k) {
+                final int p = next[columnIndices[k]]++;
+                tIndices[p] = i;
+                tValues[p]  = values[k];
+            }
+        }
+
+        return new CompressedRowRealMatrix(columns, rows, tPointers, tIndices, tValues);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v) throws DimensionMismatchException {
+        if (v.length != columns) {
+            throw new DimensionMismatchException(v.length, columns);
+        }
+        final double[] out = new double[rows];
+        operateRows(v, out, 0, rows);
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v) throws DimensionMismatchException {
+        return new ArrayRealVector(operate(vectorData(v)), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x, final RealVector y) throws DimensionMismatchException {
+        return operate(x, y, null, 1);
+    }
+
+    /**
+     * Returns the result of postmultiplying this by the vector {@code v},
+     * splitting the computation between the threads of an executor.
+     * <p>
+     * This method is equivalent to {@link #operate(double[], ExecutorService, int)
+     * operate(v, executor, tasks)} with one task per available processor.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param executor executor service running the tasks
+     * @return {@code this * v}
+     * @throws DimensionMismatchException if the length of {@code v} does not
+     * match the column dimension of {@code this}
+     * @throws NullArgumentException if the executor is null
+     * @throws MathIllegalStateException if the thread is interrupted while
+     * waiting for the tasks to complete
+     */
+    public double[] operate(final double[] v, final ExecutorService executor)
+        throws DimensionMismatchException, NullArgumentException, MathIllegalStateException {
+        return operate(v, executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the result of postmultiplying this by the vector {@code v},
+     * splitting the computation between the threads of an executor.
+     * <p>
+     * The rows are split in contiguous ranges holding roughly the same number
+     * of non-zero entries, one per task. Each row is computed exactly as in
+     * {@link #operate(double[])}, so the result is identical to the serial one.
+     * Matrices with less than {@link #DEFAULT_PARALLEL_THRESHOLD} non-zero
+     * entries are multiplied serially, as the overhead of tasks management
+     * would exceed the gain.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param executor executor service running the tasks
+     * (see {@link ConcurrencyUtils})
+     * @param tasks maximum number of tasks to submit
+     * @return {@code this * v}
+     * @throws DimensionMismatchException if the length of {@code v} does not
+     * match the column dimension of {@code this}
+     * @throws NullArgumentException if the executor is null
+     * @throws NotStrictlyPositiveException if the number of tasks is not
+     * strictly positive
+     * @throws MathIllegalStateException if the thread is interrupted while
+     * waiting for the tasks to complete
+     */
+    public double[] operate(final double[] v, final ExecutorService executor, final int tasks)
+        throws DimensionMismatchException, NullArgumentException,
+               NotStrictlyPositiveException, MathIllegalStateException {
+
+        MathUtils.checkNotNull(executor);
+        if (tasks <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.NUMBER_OF_ELEMENTS_SHOULD_BE_POSITIVE,
+                                                   tasks);
+        }
+        if (v.length != columns) {
+            throw new DimensionMismatchException(v.length, columns);
+        }
+
+        final double[] out = new double[rows];
+        operateRows(v, out, executor, tasks);
+        return out;
+
+    }
+
+    /**
+     * Postmultiplies this by the vector {@code x}, storing the result in {@code y}.
+     *
+     * @param x the vector to operate on
+     * @param y the vector in which the product should be stored
+     * @param executor executor service running the tasks
+     * (if null, the product is computed in the calling thread)
+     * @param tasks maximum number of tasks to submit
+     * @return {@code y}
+     * @throws DimensionMismatchException if the dimensions of {@code x}
+     * or {@code y} do not match the dimensions of {@code this}
+     * @throws MathIllegalStateException if the thread is interrupted while
+     * waiting for the tasks to complete
+     */
+    private RealVector operate(final RealVector x, final RealVector y,
+                               final ExecutorService executor, final int tasks)
+        throws DimensionMismatchException, MathIllegalStateException {
+        if (y.getDimension() != rows) {
+            throw new DimensionMismatchException(y.getDimension(), rows);
+        }
+        if (!(x instanceof ArrayRealVector && y instanceof ArrayRealVector) || x == y) {
+            // the product cannot be computed directly in the destination
+            y.setSubVector(0, (executor == null) ?
+                              operate(x) :
+                              new ArrayRealVector(operate(vectorData(x), executor, tasks), false));
+            return y;
+        }
+        final double[] v   = ((ArrayRealVector) x).getDataRef();
+        final double[] out = ((ArrayRealVector) y).getDataRef();
+        if (v.length != columns) {
+            throw new DimensionMismatchException(v.length, columns);
+        }
+        operateRows(v, out, executor, tasks);
+        return y;
+    }
+
+    /**
+     * Compute the product of this by a vector, splitting the rows between tasks.
+     * <p>
+     * Dimensions must have been checked by the caller.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out array where to store the product
+     * @param executor executor service running the tasks
+     * (if null, the product is computed in the calling thread)
+     * @param tasks maximum number of tasks to submit
+     * @throws MathIllegalStateException if the thread is interrupted while
+     * waiting for the tasks to complete
+     */
+    private void operateRows(final double[] v, final double[] out,
+                             final ExecutorService executor, final int tasks)
+        throws MathIllegalStateException {
+
+        if (executor == null || tasks == 1 || values.length < DEFAULT_PARALLEL_THRESHOLD) {
+            operateRows(v, out, 0, rows);
+            return;
+        }
+
+        // split the rows in ranges holding roughly the same number of entries
+        final List<Future<?>> futures = new ArrayList<Future<?>>(tasks);
+        int start = 0;
+        for (int t = 1; t <= tasks && start < rows; ++t) {
+            final int end;
+            if (t == tasks) {
+                end = rows;
+            } else {
+                final int target = (int) (((long) values.length * t) / tasks);
+                end = FastMath.max(start + 1, firstRowAtOrAfter(target));
+            }
+            final int rangeStart = start;
+            futures.add(executor.submit(new Runnable() {
+                /** {@inheritDoc} */
+                public void run() {
+                    operateRows(v, out, rangeStart, end);
+                }
+            }));
+            start = end;
+        }
+
+        // wait for all ranges to be computed
+        ConcurrencyUtils.waitForAll(futures);
+
+    }
+
+    /**
+     * Get a linear operator computing products by this matrix in parallel.
+     * <p>
+     * The returned operator can be used with the iterative solvers of this
+     * package, all the products computed during the iterations are then
+     * split between the threads of the executor, as in
+     * {@link #operate(double[], ExecutorService)}.
+     * </p>
+     *
+     * @param executor executor service running the tasks
+     * @return linear operator backed by this matrix
+     * @throws NullArgumentException if the executor is null
+     */
+    public RealLinearOperator getParallelOperator(final ExecutorService executor)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(executor);
+        return new RealLinearOperator() {
+
+            /** {@inheritDoc} */
+            @Override
+            public int getRowDimension() {
+                return rows;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public int getColumnDimension() {
+                return columns;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public RealVector operate(final RealVector x) {
+                return new ArrayRealVector(CompressedRowRealMatrix.this.operate(vectorData(x), executor), false);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public RealVector operate(final RealVector x, final RealVector y) {
+                return CompressedRowRealMatrix.this.operate(x, y, executor,
+                                                            Runtime.getRuntime().availableProcessors());
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public RealVector operateTranspose(final RealVector x) {
+                return CompressedRowRealMatrix.this.operateTranspose(x);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean isTransposable() {
+                return true;
+            }
+
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v) throws DimensionMismatchException {
+        if (v.length != rows) {
+            throw new DimensionMismatchException(v.length, rows);
+        }
+        final double[] out = new double[columns];
+        for (int i = 0; i < rows; ++i) {
+            final double vi = v[i];
+            if (vi != 0.0) {
+                for (int k = rowPointers[i]; k < rowPointers[i + 1]; ++k) {
+                    out[columnIndices[k]] += values[k] * vi;
+                }
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v) throws DimensionMismatchException {
+        return new ArrayRealVector(preMultiply(vectorData(v)), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector x) throws DimensionMismatchException {
+        return preMultiply(x);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+    /**
+     * Compute a range of rows of the product of this by a vector.
+     *
+     * @param v the vector to operate on
+     * @param out array where to store the product
+     * @param start first row of the range (included)
+     * @param end last row of the range (excluded)
+     */
+    private void operateRows(final double[] v, final double[] out, final int start, final int end) {
+        for (int i = start; i < end; ++i) {
+            double sum = 0;
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; ++k) {
+                sum += values[k] * v[columnIndices[k]];
+            }
+            out[i] = sum;
+        }
+    }
+
+    /**
+     * Find the first row whose first entry is at or after a given entry index.
+     *
+     * @param k entry index
+     * @return first row i such that rowPointers[i] &ge; k
+     */
+    private int firstRowAtOrAfter(final int k) {
+        int low  = 0;
+        int high = rows;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (rowPointers[mid] < k) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the data of a vector as an array, without copying if possible.
+     *
+     * @param v vector
+     * @return vector data
+     */
+    private static double[] vectorData(final RealVector v) {
+        return (v instanceof ArrayRealVector) ? ((ArrayRealVector) v).getDataRef() : v.toArray();
+    }
+
+    /**
+     * Builder for compressed sparse row matrices.
+     * <p>
+     * Entries can be added in any order. Entries added several times at the
+     * same position are summed, entries that end up equal to zero are not
+     * stored in the built matrix. A builder can be reused after
+     * {@link #build()} has been called, it then continues to accumulate
+     * entries on top of the already added ones.
+     * </p>
+     * @since 3.3
+     */
+    public static class Builder {
+
+        /** Initial capacity of the entries arrays. */
+        private static final int INITIAL_CAPACITY = 16;
+
+        /** Number of rows of the matrix. */
+        private final int rows;
+
+        /** Number of columns of the matrix. */
+        private final int columns;
+
+        /** Row indices of the added entries. */
+        private int[] rowIndices;
+
+        /** Column indices of the added entries. */
+        private int[] columnIndices;
+
+        /** Values of the added entries. */
+        private double[] values;
+
+        /** Number of added entries. */
+        private int size;
+
+        /**
+         * Create a builder for a matrix with the supplied dimensions.
+         *
+         * @param rows number of rows of the matrix
+         * @param columns number of columns of the matrix
+         * @throws NotStrictlyPositiveException if row or column dimension is
+         * not positive
+         */
+        public Builder(final int rows, final int columns)
+            throws NotStrictlyPositiveException {
+            if (rows < 1) {
+                throw new NotStrictlyPositiveException(rows);
+            }
+            if (columns < 1) {
+                throw new NotStrictlyPositiveException(columns);
+            }
+            this.rows          = rows;
+            this.columns       = columns;
+            this.rowIndices    = new int[INITIAL_CAPACITY];
+            this.columnIndices = new int[INITIAL_CAPACITY];
+            this.values        = new double[INITIAL_CAPACITY];
+            this.size          = 0;
+        }
+
+        /**
+         * Add a value to an entry.
+         *
+         * @param row row index of the entry
+         * @param column column index of the entry
+         * @param value value to add to the entry
+         * @return this builder, for chaining calls
+         * @throws OutOfRangeException if the row or column index is not valid
+         */
+        public Builder addToEntry(final int row, final int column, final double value)
+            throws OutOfRangeException {
+            if (row < 0 || row >= rows) {
+                throw new OutOfRangeException(LocalizedFormats.ROW_INDEX, row, 0, rows - 1);
+            }
+            if (column < 0 || column >= columns) {
+                throw new OutOfRangeException(LocalizedFormats.COLUMN_INDEX, column, 0, columns - 1);
+            }
+            if (size == values.length) {
+                final int capacity = 2 * size;
+                rowIndices    = MathArrays.copyOf(rowIndices, capacity);
+                columnIndices = MathArrays.copyOf(columnIndices, capacity);
+                values        = MathArrays.copyOf(values, capacity);
+            }
+            rowIndices[size]    = row;
+            columnIndices[size] = column;
+            values[size]        = value;
+            ++size;
+            return this;
+        }
+
+        /**
+         * Build the matrix from the entries added so far.
+         *
+         * @return a new compressed sparse row matrix
+         */
+        public CompressedRowRealMatrix build() {
+
+            // stable counting sort by column, then stable counting sort by row,
+            // so entries end up sorted by row, then by column, then by insertion order
+            final int[] byColumn = new int[size];
+            final int[] cPointers = new int[columns + 1];
+            for (int e = 0; e < size; ++e) {
+                ++cPointers[columnIndices[e] + 1];
+            }
+            for (int j = 0; j < columns; ++j) {
+                cPointers[j + 1] += cPointers[j];
+            }
+            for (int e = 0; e < size; ++e) {
+                byColumn[cPointers[columnIndices[e]]++] = e;
+            }
+
+            final int[] pointers = new int[rows + 1];
+            for (int e = 0; e < size; ++e) {
+                ++pointers[rowIndices[e] + 1];
+            }
+            for (int i = 0; i < rows; ++i) {
+                pointers[i + 1] += pointers[i];
+            }
+            final int[]    next    = pointers.clone();
+            final int[]    sortedC = new int[size];
+            final double[] sortedV = new double[size];
+            for (final int e : byColumn) {
+                final int p = next[rowIndices[e]]++;
+                sortedC[p] = columnIndices[e];
+                sortedV[p] = values[e];
+            }
+
+            // sum duplicates and drop zeros, compacting in place
+            int count = 0;
+            for (int i = 0; i < rows; ++i) {
+                final int start = pointers[i];
+                final int end   = pointers[i + 1];
+                pointers[i] = count;
+                int k = start;
+                while (k < end) {
+                    final int column = sortedC[k];
+                    double sum = 0;
+                    while (k < end && sortedC[k] == column) {
+                        sum += sortedV[k++];
+                    }
+                    if (sum != 0.0) {
+                        sortedC[count] = column;
+                        sortedV[count] = sum;
+                        ++count;
+                    }
+                }
+            }
+            pointers[rows] = count;
+
+            return new CompressedRowRealMatrix(rows, columns, pointers,
+                                               MathArrays.copyOf(sortedC, count),
+                                               MathArrays.copyOf(sortedV, count));
+
+        }
+
+    }
+
+}
@@ -101,6 +101,16 @@ public class JacobiPreconditioner extends RealLinearOperator {
                                    false);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x, final RealVector y) {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            // Dimension checks are carried out by ebeDivide
+            return ((ArrayRealVector) x).ebeDivide(diag, (ArrayRealVector) y);
+        }
+        return super.operate(x, y);
+    }
+
     /**
      * Returns the square root of {@code this} diagonal operator. More
      * precisely, this method returns
@@ -17,6 +17,8 @@
 
 package org.apache.commons.math3.linear;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.util.FastMath;
 
@@ -84,6 +86,53 @@ public class LUDecomposition {
      * @throws NonSquareMatrixException if matrix is not square
      */
     public LUDecomposition(RealMatrix matrix, double singularityThreshold) {
+        this(matrix, singularityThreshold, null, false);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix using a blocked algorithm.
+     * <p>
+     * The blocked algorithm is right-looking: it factors a panel of
+     * {@link BlockRealMatrix#BLOCK_SIZE} columns with partial pivoting, then
+     * updates the trailing sub-matrix with a single matrix product, which is
+     * much more cache-friendly than the column by column algorithm for large
+     * matrices. This product is computed tile by tile, the tiles of the
+     * trailing sub-matrix being updated by tasks submitted to the executor.
+     * </p>
+     * <p>
+     * The decomposition is the same as the one computed by the other
+     * constructors, up to rounding errors. The blocked algorithm is only
+     * used when this constructor is called, the other constructors keep
+     * using the column by column algorithm whatever the matrix size.
+     * </p>
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param executor executor service to use for updating the trailing
+     * sub-matrix (see {@link org.apache.commons.math3.util.ConcurrencyUtils ConcurrencyUtils}),
+     * if null, all computations are done in the calling thread
+     * @throws NonSquareMatrixException if matrix is not square
+     * @throws org.apache.commons.math3.exception.MathIllegalStateException
+     * if the current thread is interrupted while waiting for the tasks
+     * @since 3.3
+     */
+    public LUDecomposition(RealMatrix matrix, double singularityThreshold,
+                           ExecutorService executor) {
+        this(matrix, singularityThreshold, executor, true);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param executor executor service to use for updating the trailing
+     * sub-matrix (if null, all computations are done in the calling thread)
+     * @param blocked if true, the blocked algorithm is used
+     * @throws NonSquareMatrixException if matrix is not square
+     */
+    private LUDecomposition(RealMatrix matrix, double singularityThreshold,
+                            ExecutorService executor, boolean blocked) {
         if (!matrix.isSquare()) {
             throw new NonSquareMatrixException(matrix.getRowDimension(),
                                                matrix.getColumnDimension());
@@ -103,6 +152,22 @@ public class LUDecomposition {
         even     = true;
         singular = false;
 
+        if (blocked) {
+            decomposeBlocked(singularityThreshold, executor);
+        } else {
+            decompose(singularityThreshold);
+        }
+    }
+
+    /**
+     * Decompose the matrix column by column (Crout algorithm).
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     */
+    private void decompose(final double singularityThreshold) {
+
+        final int m = pivot.length;
+
         // Loop over columns
         for (int col = 0; col < m; col++) {
 
@@ -164,6 +229,91 @@ public class LUDecomposition {
         }
     }
 
+    /**
+     * Decompose the matrix panel by panel (right-looking blocked algorithm).
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param executor executor service to use for updating the trailing
+     * sub-matrix (if null, all computations are done in the calling thread)
+     */
+    private void decomposeBlocked(final double singularityThreshold,
+                                  final ExecutorService executor) {
+
+        final int m = pivot.length;
+
+        // Loop over panels
+        for (int k0 = 0; k0 < m; k0 += BlockUpdater.PANEL_SIZE) {
+            final int p0 = k0;
+            final int p1 = FastMath.min(m, k0 + BlockUpdater.PANEL_SIZE);
+
+            // factor the panel, columns p0 to p1 - 1
+            for (int col = p0; col < p1; col++) {
+
+                // find the pivot
+                int max = col; // permutation row
+                double largest = Double.NEGATIVE_INFINITY;
+                for (int row = col; row < m; row++) {
+                    final double abs = FastMath.abs(lu[row][col]);
+                    if (abs > largest) {
+                        largest = abs;
+                        max = row;
+                    }
+                }
+
+                // Singularity check
+                if (FastMath.abs(lu[max][col]) < singularityThreshold) {
+                    singular = true;
+                    return;
+                }
+
+                // Pivot if necessary
+                if (max != col) {
+                    final double[] tmp = lu[max];
+                    lu[max] = lu[col];
+                    lu[col] = tmp;
+                    int temp = pivot[max];
+                    pivot[max] = pivot[col];
+                    pivot[col] = temp;
+                    even = !even;
+                }
+
+                // Divide the lower elements by the "winning" diagonal elt.
+                // and update the remaining columns of the panel
+                final double[] luCol = lu[col];
+                final double luDiag = luCol[col];
+                for (int row = col + 1; row < m; row++) {
+                    final double[] luRow = lu[row];
+                    final double l = luRow[col] / luDiag;
+                    luRow[col] = l;
+                    for (int j = col + 1; j < p1; j++) {
+                        luRow[j] -= l * luCol[j];
+                    }
+                }
+
+            }
+
+            if (p1 < m) {
+
+                // compute the panel rows of U: U12 = L11^-1 A12
+                for (int row = p0 + 1; row < p1; row++) {
+                    final double[] luRow = lu[row];
+                    for (int i = p0; i < row; i++) {
+                        final double l = luRow[i];
+                        final double[] luI = lu[i];
+                        for (int j = p1; j < m; j++) {
+                            luRow[j] -= l * luI[j];
+                        }
+                    }
+                }
+
+                // update the trailing sub-matrix: A22 = A22 - L21 U12
+                BlockUpdater.subtractProduct(lu, p1, p0, lu, p0, p1, lu, p1, p1,
+                                             m - p1, m - p1, p1 - p0, false, executor);
+
+            }
+        }
+    }
+
     /**
      * Returns the matrix L of the decomposition.
      * <p>L is a lower-triangular matrix</p>
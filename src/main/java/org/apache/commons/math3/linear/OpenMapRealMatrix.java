@@ -21,9 +21,8 @@ import java.io.Serializable;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
-import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
-import org.apache.commons.math3.util.OpenIntToDoubleHashMap;
+import org.apache.commons.math3.util.OpenLongToDoubleHashMap;
 
 /**
  * Sparse matrix implementation based on an open addressed map.
@@ -40,13 +39,13 @@ import org.apache.commons.math3.util.OpenIntToDoubleHashMap;
 public class OpenMapRealMatrix extends AbstractRealMatrix
     implements SparseRealMatrix, Serializable {
     /** Serializable version identifier. */
-    private static final long serialVersionUID = -5962461716457143437L;
+    private static final long serialVersionUID = 20131019L;
     /** Number of rows of the matrix. */
     private final int rows;
     /** Number of columns of the matrix. */
     private final int columns;
     /** Storage for (sparse) matrix elements. */
-    private final OpenIntToDoubleHashMap entries;
+    private final OpenLongToDoubleHashMap entries;
 
     /**
      * Build a sparse matrix with the supplied row and column dimensions.
@@ -55,20 +54,13 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
      * @param columnDimension Number of columns of the matrix.
      * @throws NotStrictlyPositiveException if row or column dimension is not
      * positive.
-     * @throws NumberIsTooLargeException if the total number of entries of the
-     * matrix is larger than {@code Integer.MAX_VALUE}.
      */
     public OpenMapRealMatrix(int rowDimension, int columnDimension)
-        throws NotStrictlyPositiveException, NumberIsTooLargeException {
+        throws NotStrictlyPositiveException {
         super(rowDimension, columnDimension);
-        long lRow = rowDimension;
-        long lCol = columnDimension;
-        if (lRow * lCol >= Integer.MAX_VALUE) {
-            throw new NumberIsTooLargeException(lRow * lCol, Integer.MAX_VALUE, false);
-        }
         this.rows = rowDimension;
         this.columns = columnDimension;
-        this.entries = new OpenIntToDoubleHashMap(0.0);
+        this.entries = new OpenLongToDoubleHashMap(0.0);
     }
 
     /**
@@ -79,7 +71,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
     public OpenMapRealMatrix(OpenMapRealMatrix matrix) {
         this.rows = matrix.rows;
         this.columns = matrix.columns;
-        this.entries = new OpenIntToDoubleHashMap(matrix.entries);
+        this.entries = new OpenLongToDoubleHashMap(matrix.entries);
     }
 
     /** {@inheritDoc} */
@@ -88,15 +80,10 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         return new OpenMapRealMatrix(this);
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * @throws NumberIsTooLargeException if the total number of entries of the
-     * matrix is larger than {@code Integer.MAX_VALUE}.
-     */
+    /** {@inheritDoc} */
     @Override
     public OpenMapRealMatrix createMatrix(int rowDimension, int columnDimension)
-        throws NotStrictlyPositiveException, NumberIsTooLargeException {
+        throws NotStrictlyPositiveException {
         return new OpenMapRealMatrix(rowDimension, columnDimension);
     }
 
@@ -120,10 +107,11 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         MatrixUtils.checkAdditionCompatible(this, m);
 
         final OpenMapRealMatrix out = new OpenMapRealMatrix(this);
-        for (OpenIntToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
             iterator.advance();
-            final int row = iterator.key() / columns;
-            final int col = iterator.key() - row * columns;
+            final long key = iterator.key();
+            final int row  = (int) (key / columns);
+            final int col  = (int) (key - row * (long) columns);
             out.setEntry(row, col, getEntry(row, col) + iterator.value());
         }
 
@@ -155,26 +143,21 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         MatrixUtils.checkAdditionCompatible(this, m);
 
         final OpenMapRealMatrix out = new OpenMapRealMatrix(this);
-        for (OpenIntToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = m.entries.iterator(); iterator.hasNext();) {
             iterator.advance();
-            final int row = iterator.key() / columns;
-            final int col = iterator.key() - row * columns;
+            final long key = iterator.key();
+            final int row  = (int) (key / columns);
+            final int col  = (int) (key - row * (long) columns);
             out.setEntry(row, col, getEntry(row, col) - iterator.value());
         }
 
         return out;
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * @throws NumberIsTooLargeException if {@code m} is an
-     * {@code OpenMapRealMatrix}, and the total number of entries of the product
-     * is larger than {@code Integer.MAX_VALUE}.
-     */
+    /** {@inheritDoc} */
     @Override
     public RealMatrix multiply(final RealMatrix m)
-        throws DimensionMismatchException, NumberIsTooLargeException {
+        throws DimensionMismatchException {
         try {
             return multiply((OpenMapRealMatrix) m);
         } catch (ClassCastException cce) {
@@ -183,12 +166,12 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
 
             final int outCols = m.getColumnDimension();
             final BlockRealMatrix out = new BlockRealMatrix(rows, outCols);
-            for (OpenIntToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
+            for (OpenLongToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
                 iterator.advance();
                 final double value = iterator.value();
-                final int key      = iterator.key();
-                final int i        = key / columns;
-                final int k        = key % columns;
+                final long key     = iterator.key();
+                final int i        = (int) (key / columns);
+                final int k        = (int) (key % columns);
                 for (int j = 0; j < outCols; ++j) {
                     out.addToEntry(i, j, value * m.getEntry(k, j));
                 }
@@ -205,26 +188,24 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
      * @return {@code this} * {@code m}.
      * @throws DimensionMismatchException if the number of rows of {@code m}
      * differ from the number of columns of {@code this} matrix.
-     * @throws NumberIsTooLargeException if the total number of entries of the
-     * product is larger than {@code Integer.MAX_VALUE}.
      */
     public OpenMapRealMatrix multiply(OpenMapRealMatrix m)
-        throws DimensionMismatchException, NumberIsTooLargeException {
+        throws DimensionMismatchException {
         // Safety check.
         MatrixUtils.checkMultiplicationCompatible(this, m);
 
         final int outCols = m.getColumnDimension();
         OpenMapRealMatrix out = new OpenMapRealMatrix(rows, outCols);
-        for (OpenIntToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
+        for (OpenLongToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
             iterator.advance();
             final double value = iterator.value();
-            final int key      = iterator.key();
-            final int i        = key / columns;
-            final int k        = key % columns;
+            final long key     = iterator.key();
+            final int i        = (int) (key / columns);
+            final int k        = (int) (key % columns);
             for (int j = 0; j < outCols; ++j) {
-                final int rightKey = m.computeKey(k, j);
+                final long rightKey = m.computeKey(k, j);
                 if (m.entries.containsKey(rightKey)) {
-                    final int outKey = out.computeKey(i, j);
+                    final long outKey = out.computeKey(i, j);
                     final double outValue =
                         out.entries.get(outKey) + value * m.entries.get(rightKey);
                     if (outValue == 0.0) {
@@ -272,7 +253,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         throws OutOfRangeException {
         MatrixUtils.checkRowIndex(this, row);
         MatrixUtils.checkColumnIndex(this, column);
-        final int key = computeKey(row, column);
+        final long key = computeKey(row, column);
         final double value = entries.get(key) + increment;
         if (value == 0.0) {
             entries.remove(key);
@@ -287,7 +268,7 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         throws OutOfRangeException {
         MatrixUtils.checkRowIndex(this, row);
         MatrixUtils.checkColumnIndex(this, column);
-        final int key = computeKey(row, column);
+        final long key = computeKey(row, column);
         final double value = entries.get(key) * factor;
         if (value == 0.0) {
             entries.remove(key);
@@ -302,8 +283,8 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
      * @param column column index of the matrix element
      * @return key within the map to access the matrix element
      */
-    private int computeKey(int row, int column) {
-        return row * columns + column;
+    private long computeKey(int row, int column) {
+        return row * (long) columns + column;
     }
 
 
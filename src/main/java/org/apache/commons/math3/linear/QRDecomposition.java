@@ -18,6 +18,7 @@
 package org.apache.commons.math3.linear;
 
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.util.FastMath;
@@ -104,6 +105,49 @@ public class QRDecomposition {
 
     }
 
+    /**
+     * Calculates the QR-decomposition of the given matrix using a blocked algorithm.
+     * <p>
+     * The Householder reflectors are computed by panels of
+     * {@link BlockRealMatrix#BLOCK_SIZE} columns. Once a panel has been
+     * factored, the product of its reflectors is put in compact WY form
+     * I - V T V<sup>T</sup> and applied to the trailing columns using
+     * matrix products computed tile by tile, the tiles being updated by
+     * tasks submitted to the executor. The decomposition is the same as
+     * the one computed by the other constructors, up to rounding errors.
+     * </p>
+     * <p>
+     * This constructor does not call the {@link #decompose(double[][])} and
+     * {@link #performHouseholderReflection(int, double[][])} hooks.
+     * </p>
+     *
+     * @param matrix The matrix to decompose.
+     * @param threshold Singularity threshold.
+     * @param executor executor service to use for updating the trailing
+     * columns (see {@link org.apache.commons.math3.util.ConcurrencyUtils ConcurrencyUtils}),
+     * if null, all computations are done in the calling thread
+     * @throws org.apache.commons.math3.exception.MathIllegalStateException
+     * if the current thread is interrupted while waiting for the tasks
+     * @since 3.3
+     */
+    public QRDecomposition(RealMatrix matrix,
+                           double threshold,
+                           ExecutorService executor) {
+        this.threshold = threshold;
+
+        final int m = matrix.getRowDimension();
+        final int n = matrix.getColumnDimension();
+        qrt = matrix.transpose().getData();
+        rDiag = new double[FastMath.min(m, n)];
+        cachedQ  = null;
+        cachedQT = null;
+        cachedR  = null;
+        cachedH  = null;
+
+        decomposeBlocked(executor);
+
+    }
+
     /** Decompose matrix.
      * @param matrix transposed matrix
      * @since 3.2
@@ -114,6 +158,120 @@ public class QRDecomposition {
         }
     }
 
+    /** Decompose matrix panel by panel.
+     * @param executor executor service to use for updating the trailing
+     * columns (if null, all computations are done in the calling thread)
+     */
+    private void decomposeBlocked(final ExecutorService executor) {
+        final int n = qrt.length;
+        final int kMax = FastMath.min(qrt.length, qrt[0].length);
+        for (int k0 = 0; k0 < kMax; k0 += BlockUpdater.PANEL_SIZE) {
+            final int p0 = k0;
+            final int p1 = FastMath.min(kMax, k0 + BlockUpdater.PANEL_SIZE);
+
+            // factor the panel
+            for (int minor = p0; minor < p1; minor++) {
+                final double a = computeHouseholderVector(minor);
+                if (a != 0.0) {
+                    for (int col = minor + 1; col < p1; col++) {
+                        reflect(minor, a, qrt[col]);
+                    }
+                }
+            }
+
+            if (p1 < n) {
+                applyPanel(p0, p1, executor);
+            }
+
+        }
+    }
+
+    /** Apply all the reflectors of a panel to the trailing columns.
+     * <p>The product H<sub>p0</sub> H<sub>p0+1</sub> ... H<sub>p1-1</sub> of the
+     * panel reflectors is represented in compact WY form I - V T V<sup>T</sup>,
+     * where the columns of V are the reflector vectors and T is upper triangular.
+     * The trailing columns C are then transformed as
+     * C - V T<sup>T</sup> V<sup>T</sup> C, using two matrix products computed tile
+     * by tile. As the matrix is stored transposed, these products are computed
+     * as W = C<sup>T</sup> V and C<sup>T</sup> - (W T) V<sup>T</sup>.</p>
+     * @param p0 index of the first column of the panel (included)
+     * @param p1 index of the last column of the panel (excluded)
+     * @param executor executor service to use for updating the trailing
+     * columns (if null, all computations are done in the calling thread)
+     */
+    private void applyPanel(final int p0, final int p1, final ExecutorService executor) {
+
+        final int n = qrt.length;
+        final int m = qrt[0].length;
+        final int w = p1 - p0;
+
+        // extract the reflector vectors, V has m - p0 rows and w columns
+        final double[][] v  = new double[m - p0][w];
+        final double[][] vT = new double[w][m - p0];
+        for (int k = 0; k < w; ++k) {
+            final double[] qrtK = qrt[p0 + k];
+            final double[] vTK  = vT[k];
+            for (int row = p0 + k; row < m; ++row) {
+                vTK[row - p0]   = qrtK[row];
+                v[row - p0][k]  = qrtK[row];
+            }
+        }
+
+        // build the triangular factor T, using H = I - tau v v^T
+        // with tau = 2 / |v|^2 = -1 / (a v[minor])
+        final double[][] t = new double[w][w];
+        for (int j = 0; j < w; ++j) {
+            final double a = rDiag[p0 + j];
+            if (a != 0.0) {
+                final double tau = -1.0 / (a * vT[j][j]);
+                t[j][j] = tau;
+                // T[0:j, j] = -tau T[0:j, 0:j] V[:, 0:j]^T v_j
+                final double[] vTJ = vT[j];
+                final double[] z   = new double[j];
+                for (int i = 0; i < j; ++i) {
+                    final double[] vTI = vT[i];
+                    double dot = 0;
+                    for (int row = j; row < vTJ.length; ++row) {
+                        dot += vTI[row] * vTJ[row];
+                    }
+                    z[i] = dot;
+                }
+                for (int i = 0; i < j; ++i) {
+                    final double[] tI = t[i];
+                    double sum = 0;
+                    for (int l = i; l < j; ++l) {
+                        sum += tI[l] * z[l];
+                    }
+                    tI[j] = -tau * sum;
+                }
+            }
+        }
+
+        // minusW = - C^T V, with n - p1 rows and w columns
+        final double[][] minusW = new double[n - p1][w];
+        BlockUpdater.subtractProduct(qrt, p1, p0, v, 0, 0, minusW, 0, 0,
+                                     n - p1, w, m - p0, false, executor);
+
+        // Y = W T
+        final double[][] y = new double[n - p1][w];
+        for (int col = 0; col < n - p1; ++col) {
+            final double[] minusWCol = minusW[col];
+            final double[] yCol      = y[col];
+            for (int j = 0; j < w; ++j) {
+                double sum = 0;
+                for (int i = 0; i <= j; ++i) {
+                    sum -= minusWCol[i] * t[i][j];
+                }
+                yCol[j] = sum;
+            }
+        }
+
+        // C^T = C^T - Y V^T
+        BlockUpdater.subtractProduct(y, 0, 0, vT, 0, 0, qrt, p1, p0,
+                                     n - p1, m - p0, w, false, executor);
+
+    }
+
     /** Perform Householder reflection for a minor A(minor, minor) of A.
      * @param minor minor index
      * @param matrix transposed matrix
@@ -121,6 +279,26 @@ public class QRDecomposition {
      */
     protected void performHouseholderReflection(int minor, double[][] matrix) {
 
+        final double a = computeHouseholderVector(minor);
+
+        if (a != 0.0) {
+
+            /*
+             * Transform the rest of the columns of the minor.
+             */
+            for (int col = minor+1; col < qrt.length; col++) {
+                reflect(minor, a, qrt[col]);
+            }
+        }
+    }
+
+    /** Compute the Householder vector for a minor A(minor, minor) of A.
+     * <p>The vector replaces the first column of the minor.</p>
+     * @param minor minor index
+     * @return the first diagonal element of the transformed minor
+     */
+    private double computeHouseholderVector(final int minor) {
+
         final double[] qrtMinor = qrt[minor];
 
         /*
@@ -150,34 +328,44 @@ public class QRDecomposition {
              */
             qrtMinor[minor] -= a; // now |v|^2 = -2a*(qr[minor][minor])
 
-            /*
-             * Transform the rest of the columns of the minor:
-             * They will be transformed by the matrix H = I-2vv'/|v|^2.
-             * If x is a column vector of the minor, then
-             * Hx = (I-2vv'/|v|^2)x = x-2vv'x/|v|^2 = x - 2<x,v>/|v|^2 v.
-             * Therefore the transformation is easily calculated by
-             * subtracting the column vector (2<x,v>/|v|^2)v from x.
-             *
-             * Let 2<x,v>/|v|^2 = alpha. From above we have
-             * |v|^2 = -2a*(qr[minor][minor]), so
-             * alpha = -<x,v>/(a*qr[minor][minor])
-             */
-            for (int col = minor+1; col < qrt.length; col++) {
-                final double[] qrtCol = qrt[col];
-                double alpha = 0;
-                for (int row = minor; row < qrtCol.length; row++) {
-                    alpha -= qrtCol[row] * qrtMinor[row];
-                }
-                alpha /= a * qrtMinor[minor];
-
-                // Subtract the column vector alpha*v from x.
-                for (int row = minor; row < qrtCol.length; row++) {
-                    qrtCol[row] -= alpha * qrtMinor[row];
-                }
-            }
         }
+
+        return a;
+
     }
 
+    /** Apply the Householder reflection of a minor to one column.
+     * @param minor minor index
+     * @param a the first diagonal element of the transformed minor
+     * @param qrtCol column to transform (a row of the transposed matrix)
+     */
+    private void reflect(final int minor, final double a, final double[] qrtCol) {
+
+        final double[] qrtMinor = qrt[minor];
+
+        /*
+         * The column will be transformed by the matrix H = I-2vv'/|v|^2.
+         * If x is a column vector of the minor, then
+         * Hx = (I-2vv'/|v|^2)x = x-2vv'x/|v|^2 = x - 2<x,v>/|v|^2 v.
+         * Therefore the transformation is easily calculated by
+         * subtracting the column vector (2<x,v>/|v|^2)v from x.
+         *
+         * Let 2<x,v>/|v|^2 = alpha. From above we have
+         * |v|^2 = -2a*(qr[minor][minor]), so
+         * alpha = -<x,v>/(a*qr[minor][minor])
+         */
+        double alpha = 0;
+        for (int row = minor; row < qrtCol.length; row++) {
+            alpha -= qrtCol[row] * qrtMinor[row];
+        }
+        alpha /= a * qrtMinor[minor];
+
+        // Subtract the column vector alpha*v from x.
+        for (int row = minor; row < qrtCol.length; row++) {
+            qrtCol[row] -= alpha * qrtMinor[row];
+        }
+
+    }
 
     /**
      * Returns the matrix R of the decomposition.
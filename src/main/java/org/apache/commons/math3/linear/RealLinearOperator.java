@@ -76,6 +76,37 @@ public abstract class RealLinearOperator {
     public abstract RealVector operate(final RealVector x)
         throws DimensionMismatchException;
 
+    /**
+     * Multiplies {@code this} by the vector {@code x}, storing the result
+     * in {@code y}.
+     * <p>
+     * This method is intended for iterative algorithms which apply the same
+     * operator many times and want to avoid creating a new vector at each
+     * step. The default implementation simply copies the result of
+     * {@link #operate(RealVector)} into {@code y}, so it does allocate a
+     * temporary vector; subclasses which can write directly into {@code y}
+     * should override it. If {@code y} is the same instance as {@code x},
+     * implementations must behave as if a copy of {@code x} was used.
+     * </p>
+     *
+     * @param x the vector to operate on
+     * @param y the vector in which the product should be stored
+     * @return {@code y}, which now holds the product of {@code this}
+     * instance with {@code x}
+     * @throws DimensionMismatchException if the column dimension does not match
+     * the size of {@code x} or the row dimension does not match the size
+     * of {@code y}
+     * @since 3.3
+     */
+    public RealVector operate(final RealVector x, final RealVector y)
+        throws DimensionMismatchException {
+        if (y.getDimension() != getRowDimension()) {
+            throw new DimensionMismatchException(y.getDimension(), getRowDimension());
+        }
+        y.setSubVector(0, operate(x));
+        return y;
+    }
+
     /**
      * Returns the result of multiplying the transpose of {@code this} operator
      * by the vector {@code x} (optional operation). The default implementation
@@ -18,7 +18,7 @@ package org.apache.commons.math3.linear;
 
 import org.apache.commons.math3.Field;
 import org.apache.commons.math3.FieldElement;
-import org.apache.commons.math3.util.OpenIntToFieldHashMap;
+import org.apache.commons.math3.util.OpenLongToFieldHashMap;
 
 /**
  * Sparse matrix implementation based on an open addressed map.
@@ -36,7 +36,7 @@ import org.apache.commons.math3.util.OpenIntToFieldHashMap;
 public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldMatrix<T> {
 
     /** Storage for (sparse) matrix elements. */
-    private final OpenIntToFieldHashMap<T> entries;
+    private final OpenLongToFieldHashMap<T> entries;
     /** Row dimension. */
     private final int rows;
     /** Column dimension. */
@@ -51,7 +51,7 @@ public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldM
         super(field);
         rows = 0;
         columns= 0;
-        entries = new OpenIntToFieldHashMap<T>(field);
+        entries = new OpenLongToFieldHashMap<T>(field);
     }
 
     /**
@@ -69,7 +69,7 @@ public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldM
         super(field, rowDimension, columnDimension);
         this.rows = rowDimension;
         this.columns = columnDimension;
-        entries = new OpenIntToFieldHashMap<T>(field);
+        entries = new OpenLongToFieldHashMap<T>(field);
     }
 
     /**
@@ -81,7 +81,7 @@ public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldM
         super(other.getField(), other.getRowDimension(), other.getColumnDimension());
         rows = other.getRowDimension();
         columns = other.getColumnDimension();
-        entries = new OpenIntToFieldHashMap<T>(other.entries);
+        entries = new OpenLongToFieldHashMap<T>(other.entries);
     }
 
     /**
@@ -93,7 +93,7 @@ public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldM
         super(other.getField(), other.getRowDimension(), other.getColumnDimension());
         rows = other.getRowDimension();
         columns = other.getColumnDimension();
-        entries = new OpenIntToFieldHashMap<T>(getField());
+        entries = new OpenLongToFieldHashMap<T>(getField());
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < columns; j++) {
                 setEntry(i, j, other.getEntry(i, j));
@@ -106,7 +106,7 @@ public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldM
     public void addToEntry(int row, int column, T increment) {
         checkRowIndex(row);
         checkColumnIndex(column);
-        final int key = computeKey(row, column);
+        final long key = computeKey(row, column);
         final T value = entries.get(key).add(increment);
         if (getField().getZero().equals(value)) {
             entries.remove(key);
@@ -152,7 +152,7 @@ public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldM
     public void multiplyEntry(int row, int column, T factor) {
         checkRowIndex(row);
         checkColumnIndex(column);
-        final int key = computeKey(row, column);
+        final long key = computeKey(row, column);
         final T value = entries.get(key).multiply(factor);
         if (getField().getZero().equals(value)) {
             entries.remove(key);
@@ -181,7 +181,7 @@ public class SparseFieldMatrix<T extends FieldElement<T>> extends AbstractFieldM
      * @param column Column index of the matrix element.
      * @return the key within the map to access the matrix element.
      */
-    private int computeKey(int row, int column) {
-        return row * columns + column;
+    private long computeKey(int row, int column) {
+        return row * (long) columns + column;
     }
 }
@@ -356,6 +356,12 @@ public class SymmLQ
         /** The value of beta[k+1] * P' * v[k+1]. */
         private RealVector y;
 
+        /** Storage for P' * v[k], overwritten at each iteration. */
+        private RealVector vk;
+
+        /** Spare storage, used for the next value of {@link #r2}. */
+        private RealVector spare;
+
         /** The value of zeta[1]^2 + ... + zeta[k-1]^2. */
         private double ynorm2;
 
@@ -466,6 +472,22 @@ public class SymmLQ
             }
         }
 
+        /**
+         * A BLAS-like function, for the operation y &larr; a &middot; x. This
+         * is for internal use only: no dimension checks are provided.
+         *
+         * @param a the scalar by which {@code x} is to be multiplied
+         * @param x the vector to be scaled
+         * @param y the vector in which the result is stored
+         */
+        private static void scale(final double a, final RealVector x,
+            final RealVector y) {
+            final int n = x.getDimension();
+            for (int i = 0; i < n; i++) {
+                y.setEntry(i, a * x.getEntry(i));
+            }
+        }
+
         /**
          * A BLAS-like function, for the operation z &larr; a &middot; x + b
          * &middot; y + z. This is for internal use only: no dimension checks are
@@ -625,6 +647,8 @@ public class SymmLQ
             } else {
                 this.wbar = v;
             }
+            this.vk = new ArrayRealVector(this.a.getRowDimension());
+            this.spare = new ArrayRealVector(this.a.getRowDimension());
             updateNorms();
         }
 
@@ -635,8 +659,15 @@ public class SymmLQ
          * current iteration count {@code k}.
          */
         void update() {
-            final RealVector v = y.mapMultiply(1. / beta);
-            y = a.operate(v);
+            /*
+             * The storage of y is reused for M * r2 at the end of this
+             * iteration, and the storage of r1 for r2 at the next iteration,
+             * so no vector is allocated here.
+             */
+            final RealVector v = vk;
+            final RealVector mr = y;
+            scale(1. / beta, y, v);
+            y = a.operate(v, spare);
             daxpbypz(-shift, v, -beta / oldb, r1, y);
             final double alpha = v.dotProduct(y);
             /*
@@ -663,10 +694,11 @@ public class SymmLQ
              * updated up to the end of the present iteration, and is
              * reinitialized at the beginning of the next iteration.
              */
+            spare = r1;
             r1 = r2;
             r2 = y;
             if (m != null) {
-                y = m.operate(r2);
+                y = m.operate(r2, mr);
             }
             oldb = beta;
             beta = r2.dotProduct(y);
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * {@link NeighborIndex} performing a linear scan over all points.
+ * <p>
+ * This index works with any {@link DistanceMeasure}, but each query costs
+ * one distance computation per indexed point.
+ * </p>
+ *
+ * @param <T> type of the indexed points
+ * @version $Id$
+ * @since 3.3
+ */
+public class BruteForceNeighborIndex<T extends Clusterable> implements NeighborIndex<T> {
+
+    /** Indexed points. */
+    private final List<T> points;
+
+    /** Distance measure. */
+    private final DistanceMeasure measure;
+
+    /**
+     * Build an index over a set of points.
+     *
+     * @param points the points to index
+     * @param measure the distance measure used for neighbor queries
+     * @throws NullArgumentException if {@code points} or {@code measure} is null
+     */
+    public BruteForceNeighborIndex(final Collection<T> points, final DistanceMeasure measure)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(measure);
+        this.points  = new ArrayList<T>(points);
+        this.measure = measure;
+    }
+
+    /** {@inheritDoc} */
+    public List<T> getNeighbors(final T point, final double radius) {
+        final double[] p = point.getPoint();
+        final List<T> neighbors = new ArrayList<T>();
+        for (final T neighbor : points) {
+            if (point != neighbor && measure.compute(neighbor.getPoint(), p) <= radius) {
+                neighbors.add(neighbor);
+            }
+        }
+        return neighbors;
+    }
+
+}
@@ -48,6 +48,12 @@ import org.apache.commons.math3.util.MathUtils;
  *   <li>eps: the distance that defines the &epsilon;-neighborhood of a point
  *   <li>minPoints: the minimum number of density-connected points required to form a cluster
  * </ul>
+ * <p>
+ * Neighborhoods are retrieved through a {@link NeighborIndex} built over the data
+ * set by a {@link NeighborIndexFactory}. The {@link DefaultNeighborIndexFactory
+ * default factory} uses a k-d tree for the Euclidean, Manhattan and Chebyshev
+ * distances, which brings the clustering cost down from O(n<sup>2</sup>) to about
+ * O(n log n) for low-dimensional data, and a linear scan for other measures.
  *
  * @param <T> type of the points to cluster
  * @see <a href="http://en.wikipedia.org/wiki/DBSCAN">DBSCAN (wikipedia)</a>
@@ -64,6 +70,9 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
     /** Minimum number of points needed for a cluster. */
     private final int                 minPts;
 
+    /** Factory for the neighbor search index. */
+    private final NeighborIndexFactory indexFactory;
+
     /** Status of a point during the clustering process. */
     private enum PointStatus {
         /** The point has is considered to be noise. */
@@ -96,7 +105,25 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      */
     public DBSCANClusterer(final double eps, final int minPts, final DistanceMeasure measure)
         throws NotPositiveException {
+        this(eps, minPts, measure, new DefaultNeighborIndexFactory());
+    }
+
+    /**
+     * Creates a new instance of a DBSCANClusterer.
+     *
+     * @param eps maximum radius of the neighborhood to be considered
+     * @param minPts minimum number of points needed for a cluster
+     * @param measure the distance measure to use
+     * @param indexFactory factory for the index used to find neighbors
+     * @throws NotPositiveException if {@code eps < 0.0} or {@code minPts < 0}
+     * @throws NullArgumentException if {@code indexFactory} is null
+     * @since 3.3
+     */
+    public DBSCANClusterer(final double eps, final int minPts, final DistanceMeasure measure,
+                           final NeighborIndexFactory indexFactory)
+        throws NotPositiveException, NullArgumentException {
         super(measure);
+        MathUtils.checkNotNull(indexFactory);
 
         if (eps < 0.0d) {
             throw new NotPositiveException(eps);
@@ -106,6 +133,7 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         }
         this.eps = eps;
         this.minPts = minPts;
+        this.indexFactory = indexFactory;
     }
 
     /**
@@ -124,6 +152,15 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         return minPts;
     }
 
+    /**
+     * Returns the factory for the index used to find neighbors.
+     * @return factory for the neighbor search index
+     * @since 3.3
+     */
+    public NeighborIndexFactory getNeighborIndexFactory() {
+        return indexFactory;
+    }
+
     /**
      * Performs DBSCAN cluster analysis.
      *
@@ -139,16 +176,17 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
 
         final List<Cluster<T>> clusters = new ArrayList<Cluster<T>>();
         final Map<Clusterable, PointStatus> visited = new HashMap<Clusterable, PointStatus>();
+        final NeighborIndex<T> index = indexFactory.createIndex(points, getDistanceMeasure());
 
         for (final T point : points) {
             if (visited.get(point) != null) {
                 continue;
             }
-            final List<T> neighbors = getNeighbors(point, points);
+            final List<T> neighbors = index.getNeighbors(point, eps);
             if (neighbors.size() >= minPts) {
                 // DBSCAN does not care about center points
                 final Cluster<T> cluster = new Cluster<T>();
-                clusters.add(expandCluster(cluster, point, neighbors, points, visited));
+                clusters.add(expandCluster(cluster, point, neighbors, index, visited));
             } else {
                 visited.put(point, PointStatus.NOISE);
             }
@@ -163,72 +201,54 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      * @param cluster Cluster to expand
      * @param point Point to add to cluster
      * @param neighbors List of neighbors
-     * @param points the data set
+     * @param index the neighbor search index of the data set
      * @param visited the set of already visited points
      * @return the expanded cluster
      */
     private Cluster<T> expandCluster(final Cluster<T> cluster,
                                      final T point,
                                      final List<T> neighbors,
-                                     final Collection<T> points,
+                                     final NeighborIndex<T> index,
                                      final Map<Clusterable, PointStatus> visited) {
         cluster.addPoint(point);
         visited.put(point, PointStatus.PART_OF_CLUSTER);
 
-        List<T> seeds = new ArrayList<T>(neighbors);
-        int index = 0;
-        while (index < seeds.size()) {
-            final T current = seeds.get(index);
-            PointStatus pStatus = visited.get(current);
+        final List<T> seeds = new ArrayList<T>(neighbors);
+        final Set<T> seedsSet = new HashSet<T>(neighbors);
+        int current = 0;
+        while (current < seeds.size()) {
+            final T seed = seeds.get(current);
+            PointStatus pStatus = visited.get(seed);
             // only check non-visited points
             if (pStatus == null) {
-                final List<T> currentNeighbors = getNeighbors(current, points);
+                final List<T> currentNeighbors = index.getNeighbors(seed, eps);
                 if (currentNeighbors.size() >= minPts) {
-                    seeds = merge(seeds, currentNeighbors);
+                    merge(seeds, seedsSet, currentNeighbors);
                 }
             }
 
             if (pStatus != PointStatus.PART_OF_CLUSTER) {
-                visited.put(current, PointStatus.PART_OF_CLUSTER);
-                cluster.addPoint(current);
+                visited.put(seed, PointStatus.PART_OF_CLUSTER);
+                cluster.addPoint(seed);
             }
 
-            index++;
+            current++;
         }
         return cluster;
     }
 
     /**
-     * Returns a list of density-reachable neighbors of a {@code point}.
-     *
-     * @param point the point to look for
-     * @param points possible neighbors
-     * @return the List of neighbors
-     */
-    private List<T> getNeighbors(final T point, final Collection<T> points) {
-        final List<T> neighbors = new ArrayList<T>();
-        for (final T neighbor : points) {
-            if (point != neighbor && distance(neighbor, point) <= eps) {
-                neighbors.add(neighbor);
-            }
-        }
-        return neighbors;
-    }
-
-    /**
-     * Merges two lists together.
+     * Merges new points into a list of seeds.
      *
-     * @param one first list
-     * @param two second list
-     * @return merged lists
+     * @param seeds list of seeds, new points are appended to it
+     * @param seedsSet set of the points already in {@code seeds}, updated as points are appended
+     * @param points points to merge
      */
-    private List<T> merge(final List<T> one, final List<T> two) {
-        final Set<T> oneSet = new HashSet<T>(one);
-        for (T item : two) {
-            if (!oneSet.contains(item)) {
-                one.add(item);
+    private void merge(final List<T> seeds, final Set<T> seedsSet, final List<T> points) {
+        for (T item : points) {
+            if (seedsSet.add(item)) {
+                seeds.add(item);
             }
         }
-        return one;
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.Collection;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+
+/**
+ * Default {@link NeighborIndexFactory}.
+ * <p>
+ * This factory builds a {@link KDTreeNeighborIndex k-d tree} for the
+ * distance measures it supports and falls back to a {@link
+ * BruteForceNeighborIndex linear scan} for all other measures. Very small
+ * data sets are always scanned linearly, as building a tree would not pay off.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class DefaultNeighborIndexFactory implements NeighborIndexFactory {
+
+    /** Number of points below which no tree is built. */
+    private static final int MIN_TREE_SIZE = 64;
+
+    /** {@inheritDoc} */
+    public <T extends Clusterable> NeighborIndex<T> createIndex(final Collection<T> points,
+                                                                final DistanceMeasure measure)
+        throws DimensionMismatchException {
+        if (points.size() >= MIN_TREE_SIZE && KDTreeNeighborIndex.isSupported(measure)) {
+            return new KDTreeNeighborIndex<T>(points, measure);
+        }
+        return new BruteForceNeighborIndex<T>(points, measure);
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.ml.distance.ChebyshevDistance;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.distance.ManhattanDistance;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * {@link NeighborIndex} based on a k-d tree.
+ * <p>
+ * The tree recursively splits the points at the median of the coordinate
+ * having the largest spread, until buckets of a few points remain. A range
+ * query only visits the sub-trees whose splitting hyperplane is within the
+ * query radius, so for low-dimensional data a query costs O(log n + k)
+ * distance computations instead of O(n), k being the number of neighbors
+ * found.
+ * </p>
+ * <p>
+ * Pruning relies on the fact that the distance between two points is never
+ * smaller than the absolute difference of any of their coordinates. This holds
+ * for the {@link EuclideanDistance Euclidean}, {@link ManhattanDistance Manhattan}
+ * and {@link ChebyshevDistance Chebyshev} distances, which are the only measures
+ * supported by this index; {@link BruteForceNeighborIndex} can be used for the
+ * other ones.
+ * </p>
+ *
+ * @param <T> type of the indexed points
+ * @see <a href="http://en.wikipedia.org/wiki/K-d_tree">k-d tree (Wikipedia)</a>
+ * @version $Id$
+ * @since 3.3
+ */
+public class KDTreeNeighborIndex<T extends Clusterable> implements NeighborIndex<T> {
+
+    /** Maximum number of points in a leaf bucket. */
+    private static final int BUCKET_SIZE = 16;
+
+    /** Indexed points, in the order of the original collection. */
+    private final List<T> points;
+
+    /** Coordinates of the indexed points. */
+    private final double[][] coordinates;
+
+    /** Permutation of the points indices, grouping the points of each node. */
+    private final int[] permutation;
+
+    /** Distance measure. */
+    private final DistanceMeasure measure;
+
+    /** Root of the tree (null if there are no points). */
+    private final Node root;
+
+    /**
+     * Build an index over a set of points.
+     *
+     * @param points the points to index
+     * @param measure the distance measure used for neighbor queries
+     * @throws NullArgumentException if {@code points} or {@code measure} is null
+     * @throws MathIllegalArgumentException if {@code measure} is not supported
+     * @throws DimensionMismatchException if the points do not all have the same dimension
+     */
+    public KDTreeNeighborIndex(final Collection<T> points, final DistanceMeasure measure)
+        throws NullArgumentException, MathIllegalArgumentException, DimensionMismatchException {
+
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(measure);
+        if (!isSupported(measure)) {
+            throw new MathIllegalArgumentException(LocalizedFormats.UNSUPPORTED_OPERATION);
+        }
+
+        this.points      = new ArrayList<T>(points);
+        this.measure     = measure;
+        this.coordinates = new double[this.points.size()][];
+        this.permutation = new int[this.points.size()];
+        for (int i = 0; i < coordinates.length; ++i) {
+            coordinates[i] = this.points.get(i).getPoint();
+            if (coordinates[i].length != coordinates[0].length) {
+                throw new DimensionMismatchException(coordinates[i].length, coordinates[0].length);
+            }
+            permutation[i] = i;
+        }
+
+        root = (coordinates.length == 0) ? null : build(0, coordinates.length);
+
+    }
+
+    /**
+     * Check if a distance measure is supported by this index.
+     *
+     * @param measure distance measure to check
+     * @return true if the measure can be used with a k-d tree
+     */
+    public static boolean isSupported(final DistanceMeasure measure) {
+        return measure instanceof EuclideanDistance ||
+               measure instanceof ManhattanDistance ||
+               measure instanceof ChebyshevDistance;
+    }
+
+    /** {@inheritDoc} */
+    public List<T> getNeighbors(final T point, final double radius) {
+
+        final List<T> neighbors = new ArrayList<T>();
+        if (root == null) {
+            return neighbors;
+        }
+
+        // collect the indices of the neighbors
+        final double[] p = point.getPoint();
+        int[] found = new int[BUCKET_SIZE];
+        int count = 0;
+        final Node[] stack = new Node[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            final Node node = stack[--top];
+            if (node.left == null) {
+                // leaf bucket, check all points
+                for (int k = node.start; k < node.end; ++k) {
+                    final int index = permutation[k];
+                    if (point != points.get(index) &&
+                        measure.compute(coordinates[index], p) <= radius) {
+                        if (count == found.length) {
+                            found = MathArrays.copyOf(found, 2 * count);
+                        }
+                        found[count++] = index;
+                    }
+                }
+            } else {
+                // only visit the children that may contain neighbors
+                final double delta = p[node.dimension] - node.split;
+                if (delta <= radius) {
+                    stack[top++] = node.left;
+                }
+                if (delta >= -radius) {
+                    stack[top++] = node.right;
+                }
+            }
+        }
+
+        // restore the original ordering of the points
+        Arrays.sort(found, 0, count);
+        for (int k = 0; k < count; ++k) {
+            neighbors.add(points.get(found[k]));
+        }
+
+        return neighbors;
+
+    }
+
+    /**
+     * Build the sub-tree holding a range of the permutation array.
+     *
+     * @param start index of the first point of the range in the permutation array
+     * @param end index after the last point of the range in the permutation array
+     * @return root node of the sub-tree
+     */
+    private Node build(final int start, final int end) {
+
+        if (end - start <= BUCKET_SIZE) {
+            return new Node(start, end);
+        }
+
+        // split along the dimension with the largest spread
+        final int dimension = largestSpreadDimension(start, end);
+        final int middle    = (start + end) >>> 1;
+        select(dimension, start, end, middle);
+
+        final Node node = new Node(start, end);
+        node.dimension = dimension;
+        node.split     = coordinates[permutation[middle]][dimension];
+        node.left      = build(start, middle);
+        node.right     = build(middle, end);
+        return node;
+
+    }
+
+    /**
+     * Find the dimension along which a range of points is most spread.
+     *
+     * @param start index of the first point of the range in the permutation array
+     * @param end index after the last point of the range in the permutation array
+     * @return dimension with the largest spread
+     */
+    private int largestSpreadDimension(final int start, final int end) {
+        int best = 0;
+        double bestSpread = -1;
+        for (int d = 0; d < coordinates[0].length; ++d) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int k = start; k < end; ++k) {
+                final double x = coordinates[permutation[k]][d];
+                if (x < min) {
+                    min = x;
+                }
+                if (x > max) {
+                    max = x;
+                }
+            }
+            if (max - min > bestSpread) {
+                best       = d;
+                bestSpread = max - min;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Partially sort a range of the permutation array.
+     * <p>
+     * Upon return, the point at index {@code k} has its final sorted position
+     * with respect to the selected coordinate, all points before it have a lower
+     * or equal coordinate and all points after it have a greater or equal coordinate.
+     * </p>
+     *
+     * @param dimension coordinate to use for comparison
+     * @param start index of the first point of the range in the permutation array
+     * @param end index after the last point of the range in the permutation array
+     * @param k index of the element to select
+     */
+    private void select(final int dimension, final int start, final int end, final int k) {
+        int lo = start;
+        int hi = end - 1;
+        while (hi > lo) {
+            // Hoare partitioning around the middle element
+            final double pivot = coordinates[permutation[(lo + hi) >>> 1]][dimension];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (coordinates[permutation[i]][dimension] < pivot) {
+                    ++i;
+                }
+                while (coordinates[permutation[j]][dimension] > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    final int tmp = permutation[i];
+                    permutation[i++] = permutation[j];
+                    permutation[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /** Node of the tree. */
+    private static class Node {
+
+        /** Index of the first point of the node in the permutation array. */
+        private final int start;
+
+        /** Index after the last point of the node in the permutation array. */
+        private final int end;
+
+        /** Splitting dimension (only for internal nodes). */
+        private int dimension;
+
+        /** Splitting coordinate (only for internal nodes). */
+        private double split;
+
+        /** Child holding points with coordinates lower than or equal to the split (null for leaves). */
+        private Node left;
+
+        /** Child holding points with coordinates greater than or equal to the split (null for leaves). */
+        private Node right;
+
+        /**
+         * Simple constructor.
+         *
+         * @param start index of the first point of the node in the permutation array
+         * @param end index after the last point of the node in the permutation array
+         */
+        Node(final int start, final int end) {
+            this.start = start;
+            this.end   = end;
+        }
+
+    }
+
+}
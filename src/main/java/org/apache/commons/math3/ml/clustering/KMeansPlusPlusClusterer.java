@@ -21,6 +21,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
@@ -31,6 +34,8 @@ import org.apache.commons.math3.ml.distance.EuclideanDistance;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.MathUtils;
 
 /**
@@ -59,6 +64,12 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     }
 
+    /** Minimum number of points per chunk for distance computations. */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** Maximum number of chunks for distance computations. */
+    private static final int MAX_CHUNKS = 64;
+
     /** The number of clusters. */
     private final int k;
 
@@ -196,6 +207,58 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     @Override
     public List<CentroidCluster<T>> cluster(final Collection<T> points)
         throws MathIllegalArgumentException, ConvergenceException {
+        return doCluster(points, null);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm, using several threads.
+     * <p>
+     * The points are split in chunks of consecutive points. For each chunk,
+     * a task submitted to the executor computes the distances of the seeding
+     * step, and then at each Lloyd iteration finds the nearest centers and
+     * accumulates partial sums of the coordinates. The partial sums are merged
+     * in chunk order by the calling thread, which is also the only one using
+     * the random generator. As the chunks only depend on the number of points,
+     * the result is the same for a given random generator state regardless of
+     * the executor used. It may differ from the result of {@link
+     * #cluster(Collection)} in the last bits of the centers, as the coordinates
+     * are summed in a different order.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param executor executor service to use for running the tasks
+     * (see {@link ConcurrencyUtils})
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points or the executor
+     *     are null or the number of clusters is larger than the number of data points
+     * @throws ConvergenceException if an empty cluster is encountered and the
+     * {@link #emptyStrategy} is set to {@code ERROR}
+     * @throws org.apache.commons.math3.exception.MathIllegalStateException if the
+     * current thread is interrupted while waiting for the tasks
+     * @since 3.3
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points,
+                                            final ExecutorService executor)
+        throws MathIllegalArgumentException, ConvergenceException {
+        MathUtils.checkNotNull(executor);
+        return doCluster(points, executor);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm.
+     *
+     * @param points the points to cluster
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null or the number
+     *     of clusters is larger than the number of data points
+     * @throws ConvergenceException if an empty cluster is encountered and the
+     * {@link #emptyStrategy} is set to {@code ERROR}
+     */
+    private List<CentroidCluster<T>> doCluster(final Collection<T> points,
+                                               final ExecutorService executor)
+        throws MathIllegalArgumentException, ConvergenceException {
 
         // sanity checks
         MathUtils.checkNotNull(points);
@@ -205,20 +268,25 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
             throw new NumberIsTooSmallException(points.size(), k, false);
         }
 
+        // Convert to list for indexed access. Make it unmodifiable, since removal of items
+        // would screw up the logic of the algorithm.
+        final List<T> pointList = Collections.unmodifiableList(new ArrayList<T>(points));
+
         // create the initial clusters
-        List<CentroidCluster<T>> clusters = chooseInitialCenters(points);
+        List<CentroidCluster<T>> clusters = chooseInitialCenters(pointList, executor);
 
         // create an array containing the latest assignment of a point to a cluster
         // no need to initialize the array, as it will be filled with the first assignment
-        int[] assignments = new int[points.size()];
-        assignPointsToClusters(clusters, points, assignments);
+        int[] assignments = new int[pointList.size()];
+        Assignment assignment = assignPointsToClusters(clusters, pointList, assignments, executor);
 
         // iterate through updating the centers until we're done
         final int max = (maxIterations < 0) ? Integer.MAX_VALUE : maxIterations;
         for (int count = 0; count < max; count++) {
             boolean emptyCluster = false;
             List<CentroidCluster<T>> newClusters = new ArrayList<CentroidCluster<T>>();
-            for (final CentroidCluster<T> cluster : clusters) {
+            for (int j = 0; j < clusters.size(); ++j) {
+                final CentroidCluster<T> cluster = clusters.get(j);
                 final Clusterable newCenter;
                 if (cluster.getPoints().isEmpty()) {
                     switch (emptyStrategy) {
@@ -235,17 +303,25 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                             throw new ConvergenceException(LocalizedFormats.EMPTY_CLUSTER_IN_K_MEANS);
                     }
                     emptyCluster = true;
+                } else if (cluster.getPoints().size() == assignment.counts[j]) {
+                    // use the sums accumulated during assignment
+                    final double[] centroid = assignment.sums[j];
+                    for (int i = 0; i < centroid.length; i++) {
+                        centroid[i] /= assignment.counts[j];
+                    }
+                    newCenter = new DoublePoint(centroid);
                 } else {
+                    // a point has been stolen from this cluster to fill an empty one
                     newCenter = centroidOf(cluster.getPoints(), cluster.getCenter().getPoint().length);
                 }
                 newClusters.add(new CentroidCluster<T>(newCenter));
             }
-            int changes = assignPointsToClusters(newClusters, points, assignments);
+            assignment = assignPointsToClusters(newClusters, pointList, assignments, executor);
             clusters = newClusters;
 
             // if there were no more changes in the point-to-cluster assignment
             // and there are no empty clusters left, return the current clusters
-            if (changes == 0 && !emptyCluster) {
+            if (assignment.changes == 0 && !emptyCluster) {
                 return clusters;
             }
         }
@@ -254,42 +330,75 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     /**
      * Adds the given points to the closest {@link Cluster}.
+     * <p>
+     * Each chunk of points (possibly processed in parallel) finds the nearest
+     * clusters and accumulates its own partial sums, counts and members. The
+     * partial results are then merged in chunk order, so the result depends
+     * only on the chunks boundaries, not on the order in which they are processed.
+     * </p>
      *
      * @param clusters the {@link Cluster}s to add the points to
      * @param points the points to add to the given {@link Cluster}s
      * @param assignments points assignments to clusters
-     * @return the number of points assigned to different clusters as the iteration before
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
+     * @return the merged assignment statistics, including the number of points
+     * assigned to different clusters as the iteration before
      */
-    private int assignPointsToClusters(final List<CentroidCluster<T>> clusters,
-                                       final Collection<T> points,
-                                       final int[] assignments) {
-        int assignedDifferently = 0;
-        int pointIndex = 0;
-        for (final T p : points) {
-            int clusterIndex = getNearestCluster(clusters, p);
-            if (clusterIndex != assignments[pointIndex]) {
-                assignedDifferently++;
+    private Assignment assignPointsToClusters(final List<CentroidCluster<T>> clusters,
+                                              final List<T> points,
+                                              final int[] assignments,
+                                              final ExecutorService executor) {
+
+        final int nbClusters = clusters.size();
+        final int dimension  = clusters.get(0).getCenter().getPoint().length;
+        final List<Assignment> partials =
+                processChunks(points.size(), executor, new ChunkProcessor<Assignment>() {
+            /** {@inheritDoc} */
+            public Assignment process(final int start, final int end) {
+                final Assignment partial = new Assignment(nbClusters, dimension);
+                for (int i = start; i < end; ++i) {
+                    final T p = points.get(i);
+                    final int clusterIndex = getNearestCluster(clusters, p);
+                    if (clusterIndex != assignments[i]) {
+                        partial.changes++;
+                    }
+                    assignments[i] = clusterIndex;
+                    partial.add(clusterIndex, p);
+                }
+                return partial;
             }
+        });
 
-            CentroidCluster<T> cluster = clusters.get(clusterIndex);
-            cluster.addPoint(p);
-            assignments[pointIndex++] = clusterIndex;
+        // merge the partial results in chunk order
+        final Assignment assignment = partials.get(0);
+        for (int i = 1; i < partials.size(); ++i) {
+            assignment.merge(partials.get(i));
         }
 
-        return assignedDifferently;
+        for (int j = 0; j < nbClusters; ++j) {
+            for (final T p : assignment.members.get(j)) {
+                clusters.get(j).addPoint(p);
+            }
+        }
+
+        return assignment;
     }
 
     /**
      * Use K-means++ to choose the initial centers.
+     * <p>
+     * This method is package-private so the seeding step alone can be used
+     * by other clusterers.
+     * </p>
      *
-     * @param points the points to choose the initial centers from
+     * @param pointList the points to choose the initial centers from
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
      * @return the initial centers
      */
-    private List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points) {
-
-        // Convert to list for indexed access. Make it unmodifiable, since removal of items
-        // would screw up the logic of this method.
-        final List<T> pointList = Collections.unmodifiableList(new ArrayList<T> (points));
+    List<CentroidCluster<T>> chooseInitialCenters(final List<T> pointList,
+                                                          final ExecutorService executor) {
 
         // The number of points in the list.
         final int numPoints = pointList.size();
@@ -317,12 +426,18 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
         // Initialize the elements.  Since the only point in resultSet is firstPoint,
         // this is very easy.
-        for (int i = 0; i < numPoints; i++) {
-            if (i != firstPointIndex) { // That point isn't considered
-                double d = distance(firstPoint, pointList.get(i));
-                minDistSquared[i] = d*d;
+        processChunks(numPoints, executor, new ChunkProcessor<Void>() {
+            /** {@inheritDoc} */
+            public Void process(final int start, final int end) {
+                for (int i = start; i < end; i++) {
+                    if (i != firstPointIndex) { // That point isn't considered
+                        double d = distance(firstPoint, pointList.get(i));
+                        minDistSquared[i] = d*d;
+                    }
+                }
+                return null;
             }
-        }
+        });
 
         while (resultSet.size() < k) {
 
@@ -381,16 +496,22 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                 if (resultSet.size() < k) {
                     // Now update elements of minDistSquared.  We only have to compute
                     // the distance to the new center to do this.
-                    for (int j = 0; j < numPoints; j++) {
-                        // Only have to worry about the points still not taken.
-                        if (!taken[j]) {
-                            double d = distance(p, pointList.get(j));
-                            double d2 = d * d;
-                            if (d2 < minDistSquared[j]) {
-                                minDistSquared[j] = d2;
+                    processChunks(numPoints, executor, new ChunkProcessor<Void>() {
+                        /** {@inheritDoc} */
+                        public Void process(final int start, final int end) {
+                            for (int j = start; j < end; j++) {
+                                // Only have to worry about the points still not taken.
+                                if (!taken[j]) {
+                                    double d = distance(p, pointList.get(j));
+                                    double d2 = d * d;
+                                    if (d2 < minDistSquared[j]) {
+                                        minDistSquared[j] = d2;
+                                    }
+                                }
                             }
+                            return null;
                         }
-                    }
+                    });
                 }
 
             } else {
@@ -404,6 +525,47 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return resultSet;
     }
 
+    /**
+     * Process all points chunk by chunk.
+     * <p>
+     * Chunks are only used when an executor is provided, otherwise all points
+     * are processed at once in the calling thread. Processors must therefore
+     * produce results that do not depend on the chunks boundaries.
+     * </p>
+     *
+     * @param <V> type of the partial results
+     * @param numPoints number of points
+     * @param executor executor service to use for running the tasks
+     * (if null, the chunks are processed in the calling thread)
+     * @param processor processor for one chunk
+     * @return partial results, in chunk order
+     */
+    private static <V> List<V> processChunks(final int numPoints, final ExecutorService executor,
+                                             final ChunkProcessor<V> processor) {
+
+        if (executor == null) {
+            return Collections.singletonList(processor.process(0, numPoints));
+        }
+
+        final int nbChunks  = FastMath.max(1, FastMath.min(MAX_CHUNKS,
+                                                           (numPoints + CHUNK_SIZE - 1) / CHUNK_SIZE));
+        final int chunkSize = (numPoints + nbChunks - 1) / nbChunks;
+
+        final List<Future<V>> tasks = new ArrayList<Future<V>>(nbChunks);
+        for (int start = 0; start < numPoints || tasks.isEmpty(); start += chunkSize) {
+            final int chunkStart = start;
+            final int chunkEnd   = FastMath.min(numPoints, start + chunkSize);
+            tasks.add(executor.submit(new Callable<V>() {
+                /** {@inheritDoc} */
+                public V call() {
+                    return processor.process(chunkStart, chunkEnd);
+                }
+            }));
+        }
+        return ConcurrencyUtils.getAll(tasks);
+
+    }
+
     /**
      * Get a random point from the {@link Cluster} with the largest distance variance.
      *
@@ -563,4 +725,77 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return new DoublePoint(centroid);
     }
 
+    /** Processor for one chunk of consecutive points.
+     * @param <V> type of the partial result
+     */
+    private interface ChunkProcessor<V> {
+
+        /** Process a chunk of points.
+         * @param start index of the first point of the chunk (included)
+         * @param end index of the last point of the chunk (excluded)
+         * @return partial result for the chunk
+         */
+        V process(int start, int end);
+
+    }
+
+    /** Statistics of the assignment of points to clusters. */
+    private class Assignment {
+
+        /** Sums of the coordinates of the points assigned to each cluster. */
+        private final double[][] sums;
+
+        /** Number of points assigned to each cluster. */
+        private final int[] counts;
+
+        /** Points assigned to each cluster, in list order. */
+        private final List<List<T>> members;
+
+        /** Number of points assigned to a different cluster as the iteration before. */
+        private int changes;
+
+        /** Simple constructor.
+         * @param nbClusters number of clusters
+         * @param dimension points dimension
+         */
+        Assignment(final int nbClusters, final int dimension) {
+            sums    = new double[nbClusters][dimension];
+            counts  = new int[nbClusters];
+            members = new ArrayList<List<T>>(nbClusters);
+            for (int i = 0; i < nbClusters; ++i) {
+                members.add(new ArrayList<T>());
+            }
+        }
+
+        /** Add a point to a cluster.
+         * @param clusterIndex index of the cluster
+         * @param point point to add
+         */
+        void add(final int clusterIndex, final T point) {
+            final double[] coordinates = point.getPoint();
+            final double[] sum = sums[clusterIndex];
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += coordinates[i];
+            }
+            ++counts[clusterIndex];
+            members.get(clusterIndex).add(point);
+        }
+
+        /** Merge the statistics of the following chunk into this one.
+         * @param other statistics of the chunk following this one
+         */
+        void merge(final Assignment other) {
+            for (int j = 0; j < sums.length; ++j) {
+                final double[] sum = sums[j];
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += other.sums[j][i];
+                }
+                counts[j] += other.counts[j];
+                members.get(j).addAll(other.members.get(j));
+            }
+            changes += other.changes;
+        }
+
+    }
+
 }
@@ -0,0 +1,404 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NoDataException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Mini-batch k-means clustering algorithm.
+ * <p>
+ * This clusterer updates the cluster centers incrementally from small batches
+ * of points, as described by D. Sculley in <em>Web-Scale K-Means Clustering</em>
+ * (WWW 2010). Each point of a batch is assigned to its nearest center, which is
+ * then moved towards the point with a learning rate equal to the inverse of the
+ * number of points assigned to this center so far.
+ * </p>
+ * <p>
+ * Besides the {@link #cluster(Collection)} method which works on an in-memory
+ * collection, the {@link #cluster(Iterator)} method consumes points from an
+ * iterator in batches of fixed size and therefore only needs memory for one
+ * batch, and the {@link #partialFit(Collection)} method allows to update the
+ * model as new data arrive. The initial centers are chosen from the first
+ * batch by the seeding step of {@link KMeansPlusPlusClusterer k-means++}.
+ * </p>
+ * <p>
+ * Instances of this class hold the current centers and are therefore not
+ * thread-safe.
+ * </p>
+ * @param <T> type of the points to cluster
+ * @see <a href="http://www.eecs.tufts.edu/~dsculley/papers/fastkmeans.pdf">Web-Scale K-Means Clustering</a>
+ * @version $Id$
+ * @since 3.3
+ */
+public class MiniBatchKMeansClusterer<T extends Clusterable> extends Clusterer<T> {
+
+    /** The number of clusters. */
+    private final int k;
+
+    /** The number of points per batch. */
+    private final int batchSize;
+
+    /** The number of batches drawn by {@link #cluster(Collection)}. */
+    private final int maxIterations;
+
+    /** Random generator for choosing initial centers and sampling batches. */
+    private final RandomGenerator random;
+
+    /** Current cluster centers (null before the first batch). */
+    private double[][] centers;
+
+    /** Number of points assigned to each center so far. */
+    private long[] counts;
+
+    /** Build a clusterer.
+     * <p>
+     * The euclidean distance will be used as default distance measure.
+     *
+     * @param k the number of clusters to split the data into
+     * @param batchSize the number of points per batch
+     * @param maxIterations the number of batches drawn by {@link #cluster(Collection)}
+     * @throws NotStrictlyPositiveException if {@code k} or {@code maxIterations}
+     * is not strictly positive
+     * @throws NumberIsTooSmallException if {@code batchSize < k}
+     */
+    public MiniBatchKMeansClusterer(final int k, final int batchSize, final int maxIterations)
+        throws NotStrictlyPositiveException, NumberIsTooSmallException {
+        this(k, batchSize, maxIterations, new EuclideanDistance());
+    }
+
+    /** Build a clusterer.
+     *
+     * @param k the number of clusters to split the data into
+     * @param batchSize the number of points per batch
+     * @param maxIterations the number of batches drawn by {@link #cluster(Collection)}
+     * @param measure the distance measure to use
+     * @throws NotStrictlyPositiveException if {@code k} or {@code maxIterations}
+     * is not strictly positive
+     * @throws NumberIsTooSmallException if {@code batchSize < k}
+     */
+    public MiniBatchKMeansClusterer(final int k, final int batchSize, final int maxIterations,
+                                    final DistanceMeasure measure)
+        throws NotStrictlyPositiveException, NumberIsTooSmallException {
+        this(k, batchSize, maxIterations, measure, new JDKRandomGenerator());
+    }
+
+    /** Build a clusterer.
+     *
+     * @param k the number of clusters to split the data into
+     * @param batchSize the number of points per batch
+     * @param maxIterations the number of batches drawn by {@link #cluster(Collection)}
+     * @param measure the distance measure to use
+     * @param random random generator to use for choosing initial centers
+     * and sampling batches
+     * @throws NotStrictlyPositiveException if {@code k} or {@code maxIterations}
+     * is not strictly positive
+     * @throws NumberIsTooSmallException if {@code batchSize < k}
+     */
+    public MiniBatchKMeansClusterer(final int k, final int batchSize, final int maxIterations,
+                                    final DistanceMeasure measure,
+                                    final RandomGenerator random)
+        throws NotStrictlyPositiveException, NumberIsTooSmallException {
+        super(measure);
+        if (k <= 0) {
+            throw new NotStrictlyPositiveException(k);
+        }
+        if (batchSize < k) {
+            throw new NumberIsTooSmallException(batchSize, k, true);
+        }
+        if (maxIterations <= 0) {
+            throw new NotStrictlyPositiveException(maxIterations);
+        }
+        this.k             = k;
+        this.batchSize     = batchSize;
+        this.maxIterations = maxIterations;
+        this.random        = random;
+    }
+
+    /**
+     * Return the number of clusters this instance will use.
+     * @return the number of clusters
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Returns the number of points per batch.
+     * @return the number of points per batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of batches drawn by {@link #cluster(Collection)}.
+     * @return the number of batches
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Returns the random generator this instance will use.
+     * @return the random generator
+     */
+    public RandomGenerator getRandomGenerator() {
+        return random;
+    }
+
+    /**
+     * Runs the mini-batch k-means algorithm on an in-memory collection.
+     * <p>
+     * The current model is discarded, then {@link #getMaxIterations()} batches
+     * are drawn at random (with replacement) from the points and fed to
+     * {@link #partialFit(Collection)}. Finally each point is assigned to
+     * its nearest center.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null or the number
+     *     of clusters is larger than the number of data points
+     */
+    @Override
+    public List<CentroidCluster<T>> cluster(final Collection<T> points)
+        throws MathIllegalArgumentException {
+
+        // sanity checks
+        MathUtils.checkNotNull(points);
+        if (points.size() < k) {
+            throw new NumberIsTooSmallException(points.size(), k, false);
+        }
+
+        reset();
+        final List<T> pointList = new ArrayList<T>(points);
+        final List<T> batch     = new ArrayList<T>(batchSize);
+        for (int iteration = 0; iteration < maxIterations; ++iteration) {
+            batch.clear();
+            for (int i = 0; i < batchSize; ++i) {
+                batch.add(pointList.get(random.nextInt(pointList.size())));
+            }
+            partialFit(batch);
+        }
+
+        final List<CentroidCluster<T>> clusters = getClusters();
+        for (final T p : pointList) {
+            clusters.get(getNearestCenter(p.getPoint())).addPoint(p);
+        }
+        return clusters;
+
+    }
+
+    /**
+     * Runs the mini-batch k-means algorithm on a stream of points.
+     * <p>
+     * The current model is discarded, then the points are consumed in batches
+     * of {@link #getBatchSize()} points (the last batch may be smaller) that
+     * are fed to {@link #partialFit(Collection)}. Only one batch is held in
+     * memory at any time, so the returned clusters only contain their centers.
+     * </p>
+     *
+     * @param points iterator over the points to cluster
+     * @return a list of clusters, without points
+     * @throws MathIllegalArgumentException if the iterator is null or provides
+     *     fewer points than the number of clusters
+     */
+    public List<CentroidCluster<T>> cluster(final Iterator<? extends T> points)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkNotNull(points);
+
+        reset();
+        final List<T> batch = new ArrayList<T>(batchSize);
+        while (points.hasNext()) {
+            batch.add(points.next());
+            if (batch.size() == batchSize || !points.hasNext()) {
+                partialFit(batch);
+                batch.clear();
+            }
+        }
+
+        if (centers == null) {
+            throw new NoDataException();
+        }
+        return getClusters();
+
+    }
+
+    /**
+     * Updates the model with one batch of points.
+     * <p>
+     * If the model is empty, the initial centers are first chosen from this
+     * batch using the k-means++ seeding, so the first batch must contain at
+     * least {@link #getK()} points. Then each point of the batch is assigned
+     * to its nearest center and the center is moved towards the point.
+     * </p>
+     *
+     * @param batch the batch of points
+     * @throws MathIllegalArgumentException if the batch is null, or if the model is
+     *     empty and the batch contains fewer points than the number of clusters
+     * @throws DimensionMismatchException if the points dimension is not consistent
+     *     with the current centers
+     */
+    public void partialFit(final Collection<? extends T> batch)
+        throws MathIllegalArgumentException, DimensionMismatchException {
+
+        MathUtils.checkNotNull(batch);
+
+        if (centers == null) {
+            if (batch.size() < k) {
+                throw new NumberIsTooSmallException(batch.size(), k, true);
+            }
+            initializeCenters(batch);
+        }
+
+        // assign all points using the centers at the start of the batch,
+        // then move the centers with per-center learning rates
+        final int[] assignments = new int[batch.size()];
+        int index = 0;
+        for (final T p : batch) {
+            final double[] point = p.getPoint();
+            if (point.length != centers[0].length) {
+                throw new DimensionMismatchException(point.length, centers[0].length);
+            }
+            assignments[index++] = getNearestCenter(point);
+        }
+
+        index = 0;
+        for (final T p : batch) {
+            final int j = assignments[index++];
+            final double[] point  = p.getPoint();
+            final double[] center = centers[j];
+            final double eta = 1.0 / ++counts[j];
+            for (int i = 0; i < center.length; ++i) {
+                center[i] += eta * (point[i] - center[i]);
+            }
+        }
+
+    }
+
+    /**
+     * Returns the current clusters.
+     * <p>
+     * The returned clusters only contain their centers, which are copies of
+     * the model state.
+     * </p>
+     *
+     * @return the current clusters, or an empty list if no batch has been
+     * processed yet
+     */
+    public List<CentroidCluster<T>> getClusters() {
+        final List<CentroidCluster<T>> clusters = new ArrayList<CentroidCluster<T>>();
+        if (centers != null) {
+            for (final double[] center : centers) {
+                clusters.add(new CentroidCluster<T>(new DoublePoint(MathArrays.copyOf(center))));
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * Returns the number of points that have been assigned to each cluster
+     * by the incremental updates so far.
+     *
+     * @return counts of points per cluster, or an empty array if no batch has
+     * been processed yet
+     */
+    public long[] getCounts() {
+        return (counts == null) ? new long[0] : counts.clone();
+    }
+
+    /**
+     * Returns the index of the cluster nearest to a point.
+     *
+     * @param point the point
+     * @return index of the nearest cluster, in the list returned by {@link #getClusters()}
+     * @throws MathIllegalArgumentException if no batch has been processed yet
+     */
+    public int predict(final T point) throws MathIllegalArgumentException {
+        if (centers == null) {
+            throw new NoDataException();
+        }
+        return getNearestCenter(point.getPoint());
+    }
+
+    /**
+     * Discards the current model.
+     */
+    public void reset() {
+        centers = null;
+        counts  = null;
+    }
+
+    /**
+     * Chooses the initial centers from a batch, using the k-means++ seeding.
+     * <p>
+     * Only the seeding step of k-means++ is performed, without Lloyd iterations,
+     * and the counts of points per cluster start at zero.
+     * </p>
+     *
+     * @param batch the batch of points
+     */
+    private void initializeCenters(final Collection<? extends T> batch) {
+        final KMeansPlusPlusClusterer<T> initializer =
+                new KMeansPlusPlusClusterer<T>(k, -1, getDistanceMeasure(), random);
+        final List<CentroidCluster<T>> initial =
+                initializer.chooseInitialCenters(new ArrayList<T>(batch), null);
+        centers = new double[k][];
+        counts  = new long[k];
+        for (int j = 0; j < k; ++j) {
+            centers[j] = MathArrays.copyOf(initial.get(j).getCenter().getPoint());
+        }
+    }
+
+    /**
+     * Returns the index of the center nearest to a point.
+     *
+     * @param point the point
+     * @return index of the nearest center
+     */
+    private int getNearestCenter(final double[] point) {
+        final DistanceMeasure measure = getDistanceMeasure();
+        double minDistance = Double.MAX_VALUE;
+        int minCluster = 0;
+        for (int j = 0; j < centers.length; ++j) {
+            final double distance = measure.compute(point, centers[j]);
+            if (distance < minDistance) {
+                minDistance = distance;
+                minCluster  = j;
+            }
+        }
+        return minCluster;
+    }
+
+}
@@ -17,12 +17,20 @@
 
 package org.apache.commons.math3.ml.clustering;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.exception.ConvergenceException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * A wrapper around a k-means++ clustering algorithm which performs multiple trials
@@ -80,37 +88,113 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
     @Override
     public List<CentroidCluster<T>> cluster(final Collection<T> points)
         throws MathIllegalArgumentException, ConvergenceException {
+        return doCluster(points, null);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm, using several threads.
+     * <p>
+     * Each trial is a task submitted to the executor. The trials do not share
+     * the random generator of the underlying clusterer: before the tasks are
+     * submitted, this generator is used to seed one {@link Well19937c} per
+     * trial, in trial order. The best clusters list is then selected in trial
+     * order too, so the result is the same for a given random generator state
+     * regardless of the executor used, but it differs from the result of
+     * {@link #cluster(Collection)}, where the trials share the generator.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param executor executor service to use for running the tasks
+     * (see {@link ConcurrencyUtils})
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points or the executor
+     *   are null or the number of clusters is larger than the number of data points
+     * @throws ConvergenceException if an empty cluster is encountered and the
+     *   underlying {@link KMeansPlusPlusClusterer} has its
+     *   {@link KMeansPlusPlusClusterer.EmptyClusterStrategy} is set to {@code ERROR}.
+     * @since 3.3
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points,
+                                            final ExecutorService executor)
+        throws MathIllegalArgumentException, ConvergenceException {
+        MathUtils.checkNotNull(executor);
+        return doCluster(points, executor);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm.
+     *
+     * @param points the points to cluster
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null or the number
+     *   of clusters is larger than the number of data points
+     * @throws ConvergenceException if an empty cluster is encountered and the
+     *   underlying {@link KMeansPlusPlusClusterer} has its
+     *   {@link KMeansPlusPlusClusterer.EmptyClusterStrategy} is set to {@code ERROR}.
+     */
+    private List<CentroidCluster<T>> doCluster(final Collection<T> points,
+                                               final ExecutorService executor)
+        throws MathIllegalArgumentException, ConvergenceException {
 
         // at first, we have not found any clusters list yet
         List<CentroidCluster<T>> best = null;
         double bestVarianceSum = Double.POSITIVE_INFINITY;
 
-        // do several clustering trials
-        for (int i = 0; i < numTrials; ++i) {
+        if (executor == null) {
 
-            // compute a clusters list
-            List<CentroidCluster<T>> clusters = clusterer.cluster(points);
+            // do several clustering trials
+            for (int i = 0; i < numTrials; ++i) {
 
-            // compute the variance of the current list
-            double varianceSum = 0.0;
-            for (final CentroidCluster<T> cluster : clusters) {
-                if (!cluster.getPoints().isEmpty()) {
+                // compute a clusters list
+                List<CentroidCluster<T>> clusters = clusterer.cluster(points);
 
-                    // compute the distance variance of the current cluster
-                    final Clusterable center = cluster.getCenter();
-                    final Variance stat = new Variance();
-                    for (final T point : cluster.getPoints()) {
-                        stat.increment(distance(point, center));
-                    }
-                    varianceSum += stat.getResult();
+                // compute the variance of the current list
+                final double varianceSum = varianceSum(clusters);
 
+                if (varianceSum <= bestVarianceSum) {
+                    // this one is the best we have found so far, remember it
+                    best            = clusters;
+                    bestVarianceSum = varianceSum;
                 }
+
             }
 
-            if (varianceSum <= bestVarianceSum) {
-                // this one is the best we have found so far, remember it
-                best            = clusters;
-                bestVarianceSum = varianceSum;
+        } else {
+
+            // seed one generator per trial, in trial order
+            final RandomGenerator random = clusterer.getRandomGenerator();
+            final long[] seeds = new long[numTrials];
+            for (int i = 0; i < numTrials; ++i) {
+                seeds[i] = random.nextLong();
+            }
+
+            // run the trials in parallel
+            final List<Future<List<CentroidCluster<T>>>> tasks =
+                    new ArrayList<Future<List<CentroidCluster<T>>>>(numTrials);
+            for (int i = 0; i < numTrials; ++i) {
+                final KMeansPlusPlusClusterer<T> trial =
+                        new KMeansPlusPlusClusterer<T>(clusterer.getK(),
+                                                       clusterer.getMaxIterations(),
+                                                       clusterer.getDistanceMeasure(),
+                                                       new Well19937c(seeds[i]),
+                                                       clusterer.getEmptyClusterStrategy());
+                tasks.add(executor.submit(new Callable<List<CentroidCluster<T>>>() {
+                    /** {@inheritDoc} */
+                    public List<CentroidCluster<T>> call() {
+                        return trial.cluster(points);
+                    }
+                }));
+            }
+
+            // select the best trial, in trial order
+            for (final List<CentroidCluster<T>> clusters : ConcurrencyUtils.getAll(tasks)) {
+                final double varianceSum = varianceSum(clusters);
+                if (varianceSum <= bestVarianceSum) {
+                    best            = clusters;
+                    bestVarianceSum = varianceSum;
+                }
             }
 
         }
@@ -120,4 +204,28 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
 
     }
 
+    /**
+     * Computes the sum of the distance variances of the clusters.
+     *
+     * @param clusters clusters list
+     * @return sum of the distance variances of the non-empty clusters
+     */
+    private double varianceSum(final List<CentroidCluster<T>> clusters) {
+        double varianceSum = 0.0;
+        for (final CentroidCluster<T> cluster : clusters) {
+            if (!cluster.getPoints().isEmpty()) {
+
+                // compute the distance variance of the current cluster
+                final Clusterable center = cluster.getCenter();
+                final Variance stat = new Variance();
+                for (final T point : cluster.getPoints()) {
+                    stat.increment(distance(point, center));
+                }
+                varianceSum += stat.getResult();
+
+            }
+        }
+        return varianceSum;
+    }
+
 }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.List;
+
+/**
+ * Index answering fixed-radius neighbor queries over a set of points.
+ * <p>
+ * Implementations are built once for a given set of points and a given
+ * {@link org.apache.commons.math3.ml.distance.DistanceMeasure DistanceMeasure},
+ * and can then be queried many times, for example by density-based clustering
+ * algorithms such as {@link DBSCANClusterer}.
+ * </p>
+ *
+ * @param <T> type of the indexed points
+ * @see NeighborIndexFactory
+ * @version $Id$
+ * @since 3.3
+ */
+public interface NeighborIndex<T extends Clusterable> {
+
+    /**
+     * Returns the indexed points lying within a given distance of a point.
+     * <p>
+     * The query point itself is never part of the result, even if it has
+     * been indexed. Points are compared by reference for this purpose, so
+     * distinct instances with the same coordinates are returned. The points
+     * are returned in the same order as in the collection the index was
+     * built from.
+     * </p>
+     *
+     * @param point the query point
+     * @param radius maximum distance (inclusive) between the query point
+     * and the returned points
+     * @return the points at distance less than or equal to {@code radius}
+     * from {@code point}
+     */
+    List<T> getNeighbors(T point, double radius);
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.Collection;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+
+/**
+ * Factory for {@link NeighborIndex} instances.
+ * <p>
+ * Clustering algorithms that perform many neighbor queries use a factory
+ * to build an index over the data set they are given, which allows users
+ * to plug in the search structure best suited to their data and distance.
+ * </p>
+ *
+ * @see DefaultNeighborIndexFactory
+ * @version $Id$
+ * @since 3.3
+ */
+public interface NeighborIndexFactory {
+
+    /**
+     * Build an index over a set of points.
+     *
+     * @param <T> type of the points to index
+     * @param points the points to index
+     * @param measure the distance measure used for neighbor queries
+     * @return a new index
+     * @throws DimensionMismatchException if the index requires all points
+     * to have the same dimension and they do not
+     */
+    <T extends Clusterable> NeighborIndex<T> createIndex(Collection<T> points,
+                                                         DistanceMeasure measure)
+        throws DimensionMismatchException;
+
+}
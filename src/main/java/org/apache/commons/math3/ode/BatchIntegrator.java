@@ -0,0 +1,374 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NoBracketingException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ode.sampling.StepHandler;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Integration of a batch of initial states with the same differential equations.
+ *
+ * <p>Integrators are not thread-safe, so the batch is split in chunks of
+ * contiguous initial states and each chunk is handled by one task, using
+ * its own integrator built by an {@link IntegratorProvider}. The integrator
+ * is then reused for all the initial states of the chunk, the Butcher
+ * tableau of Runge-Kutta integrators being shared by all instances. When
+ * the integrator extends {@link AbstractIntegrator}, the {@link
+ * ExpandableStatefulODE} wrapping the differential equations is also built
+ * once per chunk, its time and state being reset for each initial state.</p>
+ *
+ * <p>The differential equations instance is shared by all tasks, so its
+ * {@link FirstOrderDifferentialEquations#computeDerivatives(double, double[], double[])
+ * computeDerivatives} method must be thread-safe when the batch is integrated
+ * in parallel.</p>
+ *
+ * <p>Step handlers are built for each initial state by a {@link
+ * StepHandlerProvider}. Event handlers can be set up by the integrator
+ * provider, they will then be shared by all the initial states of a chunk,
+ * which are integrated one after the other.</p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public class BatchIntegrator {
+
+    /** Default number of initial states integrated by each task. */
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /** Provider for integrators. */
+    private final IntegratorProvider integratorProvider;
+
+    /** Number of initial states integrated by each task. */
+    private final int chunkSize;
+
+    /** Simple constructor.
+     * <p>Build a batch integrator using {@link #DEFAULT_CHUNK_SIZE}.</p>
+     * @param integratorProvider provider for integrators
+     * @exception NullArgumentException if the provider is null
+     */
+    public BatchIntegrator(final IntegratorProvider integratorProvider)
+        throws NullArgumentException {
+        this(integratorProvider, DEFAULT_CHUNK_SIZE);
+    }
+
+    /** Simple constructor.
+     * @param integratorProvider provider for integrators
+     * @param chunkSize number of initial states integrated by each task
+     * @exception NullArgumentException if the provider is null
+     * @exception NotStrictlyPositiveException if chunk size is not strictly positive
+     */
+    public BatchIntegrator(final IntegratorProvider integratorProvider, final int chunkSize)
+        throws NullArgumentException, NotStrictlyPositiveException {
+        MathUtils.checkNotNull(integratorProvider);
+        if (chunkSize <= 0) {
+            throw new NotStrictlyPositiveException(chunkSize);
+        }
+        this.integratorProvider = integratorProvider;
+        this.chunkSize          = chunkSize;
+    }
+
+    /** Get the number of initial states integrated by each task.
+     * @return number of initial states integrated by each task
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /** Integrate the differential equations for all initial states, in the calling thread.
+     * @param equations differential equations to integrate
+     * @param t0 initial time
+     * @param y0 initial states at t0, one per row
+     * @param t target time for the integration
+     * (can be set to a value smaller than <code>t0</code> for backward integration)
+     * @param stepHandlerProvider provider for step handlers (may be null)
+     * @return integration result
+     * @exception DimensionMismatchException if arrays dimension do not match equations settings
+     * @exception NumberIsTooSmallException if integration step is too small
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * @exception NoBracketingException if the location of an event cannot be bracketed
+     */
+    public Result integrate(final FirstOrderDifferentialEquations equations,
+                            final double t0, final double[][] y0, final double t,
+                            final StepHandlerProvider stepHandlerProvider)
+        throws DimensionMismatchException, NumberIsTooSmallException,
+               MaxCountExceededException, NoBracketingException {
+        return doIntegrate(equations, t0, y0, t, stepHandlerProvider, null);
+    }
+
+    /** Integrate the differential equations for all initial states, using several threads.
+     * <p>
+     * Each initial state is integrated by a separate task.
+     * </p>
+     * @param equations differential equations to integrate (must be thread-safe)
+     * @param t0 initial time
+     * @param y0 initial states at t0, one per row
+     * @param t target time for the integration
+     * (can be set to a value smaller than <code>t0</code> for backward integration)
+     * @param stepHandlerProvider provider for step handlers (may be null),
+     * it is called from the tasks and must therefore be thread-safe
+     * @param executor executor service to use for running the tasks
+     * (see {@link ConcurrencyUtils})
+     * @return integration result
+     * @exception NullArgumentException if the executor is null
+     * @exception DimensionMismatchException if arrays dimension do not match equations settings
+     * @exception NumberIsTooSmallException if integration step is too small
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * @exception NoBracketingException if the location of an event cannot be bracketed
+     */
+    public Result integrate(final FirstOrderDifferentialEquations equations,
+                            final double t0, final double[][] y0, final double t,
+                            final StepHandlerProvider stepHandlerProvider,
+                            final ExecutorService executor)
+        throws NullArgumentException, DimensionMismatchException, NumberIsTooSmallException,
+               MaxCountExceededException, NoBracketingException {
+        MathUtils.checkNotNull(executor);
+        return doIntegrate(equations, t0, y0, t, stepHandlerProvider, executor);
+    }
+
+    /** Integrate the differential equations for all initial states.
+     * @param equations differential equations to integrate
+     * @param t0 initial time
+     * @param y0 initial states at t0, one per row
+     * @param t target time for the integration
+     * @param stepHandlerProvider provider for step handlers (may be null)
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
+     * @return integration result
+     * @exception DimensionMismatchException if arrays dimension do not match equations settings
+     * @exception NumberIsTooSmallException if integration step is too small
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * @exception NoBracketingException if the location of an event cannot be bracketed
+     */
+    private Result doIntegrate(final FirstOrderDifferentialEquations equations,
+                               final double t0, final double[][] y0, final double t,
+                               final StepHandlerProvider stepHandlerProvider,
+                               final ExecutorService executor)
+        throws DimensionMismatchException, NumberIsTooSmallException,
+               MaxCountExceededException, NoBracketingException {
+
+        MathUtils.checkNotNull(equations);
+        MathUtils.checkNotNull(y0);
+
+        final double[]   finalTimes  = new double[y0.length];
+        final double[][] finalStates = new double[y0.length][];
+        final int[]      evaluations = new int[y0.length];
+
+        final List<Future<?>> tasks = new ArrayList<Future<?>>();
+        for (int start = 0; start < y0.length; start += chunkSize) {
+            final int s = start;
+            final int e = FastMath.min(y0.length, start + chunkSize);
+            if (executor == null) {
+                integrateChunk(equations, t0, y0, t, stepHandlerProvider, s, e,
+                               finalTimes, finalStates, evaluations);
+            } else {
+                tasks.add(executor.submit(new Runnable() {
+                    /** {@inheritDoc} */
+                    public void run() {
+                        integrateChunk(equations, t0, y0, t, stepHandlerProvider, s, e,
+                                       finalTimes, finalStates, evaluations);
+                    }
+                }));
+            }
+        }
+        ConcurrencyUtils.waitForAll(tasks);
+
+        return new Result(finalTimes, finalStates, evaluations);
+
+    }
+
+    /** Integrate a chunk of initial states with a single integrator.
+     * @param equations differential equations to integrate
+     * @param t0 initial time
+     * @param y0 initial states at t0, one per row
+     * @param t target time for the integration
+     * @param stepHandlerProvider provider for step handlers (may be null)
+     * @param start index of the first initial state to integrate
+     * @param end index after the last initial state to integrate
+     * @param finalTimes placeholder for stop times
+     * @param finalStates placeholder for final states
+     * @param evaluations placeholder for evaluations counts
+     * @exception DimensionMismatchException if arrays dimension do not match equations settings
+     * @exception NumberIsTooSmallException if integration step is too small
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * @exception NoBracketingException if the location of an event cannot be bracketed
+     */
+    private void integrateChunk(final FirstOrderDifferentialEquations equations,
+                                final double t0, final double[][] y0, final double t,
+                                final StepHandlerProvider stepHandlerProvider,
+                                final int start, final int end,
+                                final double[] finalTimes, final double[][] finalStates,
+                                final int[] evaluations)
+        throws DimensionMismatchException, NumberIsTooSmallException,
+               MaxCountExceededException, NoBracketingException {
+
+        final FirstOrderIntegrator integrator = integratorProvider.newIntegrator();
+        final List<StepHandler> baseHandlers = new ArrayList<StepHandler>(integrator.getStepHandlers());
+
+        // integrators built on the library base class can integrate expandable
+        // equations directly, which can then be reused for all initial states
+        final AbstractIntegrator expandableIntegrator =
+                (integrator instanceof AbstractIntegrator) ? (AbstractIntegrator) integrator : null;
+        final ExpandableStatefulODE expandable =
+                (expandableIntegrator == null) ? null : new ExpandableStatefulODE(equations);
+
+        for (int i = start; i < end; ++i) {
+
+            // set up the step handlers specific to this initial state
+            integrator.clearStepHandlers();
+            for (final StepHandler handler : baseHandlers) {
+                integrator.addStepHandler(handler);
+            }
+            if (stepHandlerProvider != null) {
+                final StepHandler handler = stepHandlerProvider.newStepHandler(i);
+                if (handler != null) {
+                    integrator.addStepHandler(handler);
+                }
+            }
+
+            if (expandableIntegrator == null) {
+                final double[] y = new double[y0[i].length];
+                finalTimes[i]  = integrator.integrate(equations, t0, y0[i], t, y);
+                finalStates[i] = y;
+            } else {
+                expandable.setTime(t0);
+                expandable.setPrimaryState(y0[i]);
+                expandableIntegrator.integrate(expandable, t);
+                finalTimes[i]  = expandable.getTime();
+                finalStates[i] = expandable.getPrimaryState();
+            }
+            evaluations[i] = integrator.getEvaluations();
+
+        }
+
+    }
+
+    /** Interface for providing integrators to the batch tasks.
+     * @since 3.3
+     */
+    public interface IntegratorProvider {
+
+        /** Build a new integrator.
+         * <p>This method is called once per task, possibly from several threads
+         * at once. It must return a new integrator each time. Step handlers and
+         * event handlers registered in the returned integrator are used for all
+         * the initial states of the task.</p>
+         * @return a new integrator
+         */
+        FirstOrderIntegrator newIntegrator();
+
+    }
+
+    /** Interface for providing step handlers specific to each initial state.
+     * @since 3.3
+     */
+    public interface StepHandlerProvider {
+
+        /** Build a step handler for one initial state.
+         * @param index index of the initial state in the batch
+         * @return step handler for this initial state (may be null)
+         */
+        StepHandler newStepHandler(int index);
+
+    }
+
+    /** Result of a batch integration.
+     * @since 3.3
+     */
+    public static class Result {
+
+        /** Stop times. */
+        private final double[] finalTimes;
+
+        /** Final states. */
+        private final double[][] finalStates;
+
+        /** Number of evaluations of the differential equations. */
+        private final int[] evaluations;
+
+        /** Simple constructor.
+         * @param finalTimes stop times (the array is stored by reference)
+         * @param finalStates final states (the array is stored by reference)
+         * @param evaluations number of evaluations for each initial state
+         * (the array is stored by reference)
+         */
+        Result(final double[] finalTimes, final double[][] finalStates, final int[] evaluations) {
+            this.finalTimes  = finalTimes;
+            this.finalStates = finalStates;
+            this.evaluations = evaluations;
+        }
+
+        /** Get the number of integrated initial states.
+         * @return number of integrated initial states
+         */
+        public int size() {
+            return finalTimes.length;
+        }
+
+        /** Get the stop time for one initial state.
+         * @param index index of the initial state in the batch
+         * @return stop time, which is the target time unless an event handler
+         * stopped the integration
+         */
+        public double getFinalTime(final int index) {
+            return finalTimes[index];
+        }
+
+        /** Get the final state for one initial state.
+         * @param index index of the initial state in the batch
+         * @return state at stop time
+         */
+        public double[] getFinalState(final int index) {
+            return finalStates[index].clone();
+        }
+
+        /** Get the number of evaluations of the differential equations for one initial state.
+         * @param index index of the initial state in the batch
+         * @return number of evaluations of the differential equations
+         */
+        public int getEvaluations(final int index) {
+            return evaluations[index];
+        }
+
+        /** Get statistics about the number of evaluations over the batch.
+         * @return statistics about the number of evaluations
+         */
+        public StatisticalSummary getEvaluationsStatistics() {
+            final SummaryStatistics statistics = new SummaryStatistics();
+            for (final int count : evaluations) {
+                statistics.addValue(count);
+            }
+            return statistics.getSummary();
+        }
+
+    }
+
+}
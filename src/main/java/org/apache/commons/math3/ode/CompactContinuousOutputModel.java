@@ -0,0 +1,693 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.ode.sampling.StepHandler;
+import org.apache.commons.math3.ode.sampling.StepInterpolator;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This class stores a compact dense output of an ODE integration and
+ * builds a continuous model of the solution from it.
+ *
+ * <p>Like {@link ContinuousOutputModel}, this class acts as a step handler
+ * from the integrator point of view and allows to retrieve the state at
+ * any time once the integration is over. The difference is in the stored
+ * data: instead of keeping a copy of each step interpolator with all its
+ * internal arrays, the state is sampled at the Chebyshev-Gauss-Lobatto
+ * points of each step and only the coefficients of the corresponding
+ * Chebyshev polynomial are stored, in primitive arrays. The polynomial
+ * degree is set at construction. As the dense output of the integrators
+ * provided by the library are polynomials in time, a degree at least equal
+ * to the degree of the integrator interpolator reproduces it exactly, up
+ * to rounding errors (a degree of 7 is sufficient for all Runge-Kutta
+ * integrators, up to {@link
+ * org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator
+ * Dormand-Prince 8(5,3)}). The end points of the steps are always
+ * sampling points, so the model is continuous between steps.</p>
+ *
+ * <p>Steps are located by binary search on the step boundaries, so random
+ * access costs O(log n) for a model containing n steps.</p>
+ *
+ * <p>Models can be {@link #save(File) saved} to a file and {@link #load(File)
+ * loaded} back. The loaded model directly uses a read-only memory mapping of the
+ * file, so ephemerides containing millions of steps can be used without loading
+ * them in the Java heap. A loaded model cannot be extended by handling new steps,
+ * unless it is {@link #init(double, double[], double) reinitialized}.</p>
+ *
+ * <p>Secondary equations are stored only if the number of secondary
+ * equations sets is provided at construction.</p>
+ *
+ * <p>Instances of this class are not thread-safe, as the interpolation time
+ * is part of their state.</p>
+ *
+ * @see ContinuousOutputModel
+ * @version $Id$
+ * @since 3.3
+ */
+public class CompactContinuousOutputModel implements StepHandler {
+
+    /** Default degree of the polynomial stored for each step. */
+    public static final int DEFAULT_DEGREE = 7;
+
+    /** Identifier at the beginning of files. */
+    private static final long MAGIC = 0x434d4f44454e5345l;
+
+    /** Version of the file format. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Size of the fixed part of the file header. */
+    private static final int FIXED_HEADER_SIZE = 8 + 5 * 4;
+
+    /** Number of doubles in memory segments built during integration. */
+    private static final int HEAP_SEGMENT_SIZE = 1 << 16;
+
+    /** Maximal number of doubles in one file mapping. */
+    private static final int MAPPED_SEGMENT_SIZE = Integer.MAX_VALUE / 8;
+
+    /** Number of doubles written at once to files. */
+    private static final int IO_CHUNK_SIZE = 1 << 12;
+
+    /** Degree of the polynomial stored for each step. */
+    private final int degree;
+
+    /** Number of secondary equations sets. */
+    private final int secondarySets;
+
+    /** Chebyshev-Gauss-Lobatto points, from +1 down to -1. */
+    private final double[] nodes;
+
+    /** Matrix transforming values at nodes into Chebyshev coefficients. */
+    private final double[][] transform;
+
+    /** Start index of each equations set in the complete state,
+     * the last element being the complete state dimension. */
+    private int[] offsets;
+
+    /** Integration direction indicator. */
+    private boolean forward;
+
+    /** Number of stored steps. */
+    private int nbSteps;
+
+    /** Steps boundaries (nbSteps + 1 elements). */
+    private DoubleBuffer times;
+
+    /** Steps coefficients, split in segments containing segmentSteps steps. */
+    private DoubleBuffer[] segments;
+
+    /** Number of steps in each segment. */
+    private int segmentSteps;
+
+    /** Indicator for read-only models loaded from files. */
+    private boolean mapped;
+
+    /** Time of the interpolated point. */
+    private double interpolatedTime;
+
+    /** Index of the step containing the interpolated point. */
+    private int index;
+
+    /** Chebyshev polynomials at interpolated point. */
+    private final double[] tValues;
+
+    /** Derivatives of the Chebyshev polynomials at interpolated point. */
+    private final double[] tDerivatives;
+
+    /** Derivative of the normalized abscissa with respect to time. */
+    private double dxdt;
+
+    /** Simple constructor.
+     * <p>Build an empty model using {@link #DEFAULT_DEGREE} and ignoring
+     * secondary equations.</p>
+     */
+    public CompactContinuousOutputModel() {
+        this(DEFAULT_DEGREE, 0);
+    }
+
+    /** Simple constructor.
+     * Build an empty model.
+     * @param degree degree of the polynomial stored for each step
+     * @param secondarySets number of secondary equations sets to store
+     * @exception NotStrictlyPositiveException if degree is not strictly positive
+     * @exception NotPositiveException if secondarySets is negative
+     */
+    public CompactContinuousOutputModel(final int degree, final int secondarySets)
+        throws NotStrictlyPositiveException, NotPositiveException {
+
+        if (degree <= 0) {
+            throw new NotStrictlyPositiveException(LocalizedFormats.NON_POSITIVE_POLYNOMIAL_DEGREE,
+                                                   degree);
+        }
+        if (secondarySets < 0) {
+            throw new NotPositiveException(secondarySets);
+        }
+        this.degree        = degree;
+        this.secondarySets = secondarySets;
+
+        // Chebyshev-Gauss-Lobatto points x_k = cos(k pi / n) and the
+        // discrete cosine transform giving a_j such that p(x) = sum a_j T_j(x)
+        nodes     = new double[degree + 1];
+        transform = new double[degree + 1][degree + 1];
+        for (int k = 0; k <= degree; ++k) {
+            nodes[k] = FastMath.cos(k * FastMath.PI / degree);
+        }
+        nodes[degree] = -1.0;
+        for (int j = 0; j <= degree; ++j) {
+            final double scale = ((j == 0) || (j == degree)) ? 1.0 / degree : 2.0 / degree;
+            for (int k = 0; k <= degree; ++k) {
+                final double w = ((k == 0) || (k == degree)) ? 0.5 : 1.0;
+                transform[j][k] = scale * w * FastMath.cos(((j * k) % (2 * degree)) * FastMath.PI / degree);
+            }
+        }
+
+        tValues      = new double[degree + 1];
+        tDerivatives = new double[degree + 1];
+        reset();
+
+    }
+
+    /** Reset the model to an empty state stored in memory. */
+    private void reset() {
+        offsets          = null;
+        forward          = true;
+        nbSteps          = 0;
+        times            = DoubleBuffer.allocate(16);
+        segments         = new DoubleBuffer[0];
+        segmentSteps     = 0;
+        mapped           = false;
+        interpolatedTime = Double.NaN;
+        index            = -1;
+    }
+
+    /** Get the degree of the polynomial stored for each step.
+     * @return degree of the polynomial stored for each step
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** Get the number of secondary equations sets stored.
+     * @return number of secondary equations sets stored
+     */
+    public int getSecondarySets() {
+        return secondarySets;
+    }
+
+    /** Get the number of stored steps.
+     * @return number of stored steps
+     */
+    public int getNumberOfSteps() {
+        return nbSteps;
+    }
+
+    /** {@inheritDoc} */
+    public void init(final double t0, final double[] y0, final double t) {
+        reset();
+    }
+
+    /** Handle the last accepted step.
+     * The polynomial approximating the step is computed and stored
+     * in the instance for later use.
+     * @param interpolator interpolator for the last accepted step.
+     * @param isLast true if the step is the last one
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     * during step finalization
+     * @exception MathUnsupportedOperationException if the model has been loaded from
+     * a file and not reinitialized since
+     */
+    public void handleStep(final StepInterpolator interpolator, final boolean isLast)
+        throws MaxCountExceededException, MathUnsupportedOperationException {
+
+        if (mapped) {
+            throw new MathUnsupportedOperationException();
+        }
+
+        final double tPrevious = interpolator.getPreviousTime();
+        final double tCurrent  = interpolator.getCurrentTime();
+        final double saved     = interpolator.getInterpolatedTime();
+
+        // sample the step at Chebyshev-Gauss-Lobatto points
+        final double[][] samples = new double[degree + 1][];
+        for (int k = 0; k <= degree; ++k) {
+            final double t;
+            if (k == 0) {
+                t = tCurrent;
+            } else if (k == degree) {
+                t = tPrevious;
+            } else {
+                t = tPrevious + 0.5 * (1 + nodes[k]) * (tCurrent - tPrevious);
+            }
+            interpolator.setInterpolatedTime(t);
+            samples[k] = completeState(interpolator);
+        }
+        interpolator.setInterpolatedTime(saved);
+
+        if (nbSteps == 0) {
+            forward = interpolator.isForward();
+            times.put(0, tPrevious);
+            final int stepSize = (degree + 1) * offsets[offsets.length - 1];
+            segmentSteps = FastMath.max(1, HEAP_SEGMENT_SIZE / stepSize);
+        }
+
+        // store step end
+        if (times.capacity() < nbSteps + 2) {
+            final DoubleBuffer newTimes = DoubleBuffer.allocate(2 * times.capacity());
+            times.rewind();
+            newTimes.put(times);
+            times = newTimes;
+        }
+        times.put(nbSteps + 1, tCurrent);
+
+        // store Chebyshev coefficients for all components
+        final int dimension = offsets[offsets.length - 1];
+        final int segment   = nbSteps / segmentSteps;
+        if (segment == segments.length) {
+            final DoubleBuffer[] newSegments = new DoubleBuffer[segments.length + 1];
+            System.arraycopy(segments, 0, newSegments, 0, segments.length);
+            newSegments[segment] = DoubleBuffer.allocate(segmentSteps * (degree + 1) * dimension);
+            segments = newSegments;
+        }
+        final DoubleBuffer coefficients = segments[segment];
+        int position = (nbSteps % segmentSteps) * (degree + 1) * dimension;
+        for (int c = 0; c < dimension; ++c) {
+            for (int j = 0; j <= degree; ++j) {
+                final double[] tj = transform[j];
+                double aj = 0;
+                for (int k = 0; k <= degree; ++k) {
+                    aj += tj[k] * samples[k][c];
+                }
+                coefficients.put(position++, aj);
+            }
+        }
+
+        ++nbSteps;
+        if (isLast) {
+            setInterpolatedTime(tCurrent);
+        }
+
+    }
+
+    /** Get the complete state stored for the interpolated time of an interpolator.
+     * @param interpolator interpolator to use
+     * @return complete state (primary and secondary sets concatenated)
+     * @exception MaxCountExceededException if the number of functions evaluations is exceeded
+     */
+    private double[] completeState(final StepInterpolator interpolator)
+        throws MaxCountExceededException {
+
+        final double[][] sets = new double[secondarySets + 1][];
+        sets[0] = interpolator.getInterpolatedState();
+        for (int i = 0; i < secondarySets; ++i) {
+            sets[i + 1] = interpolator.getInterpolatedSecondaryState(i);
+        }
+
+        if (offsets == null) {
+            offsets = new int[secondarySets + 2];
+            for (int i = 0; i < sets.length; ++i) {
+                offsets[i + 1] = offsets[i] + sets[i].length;
+            }
+        }
+
+        final double[] complete = new double[offsets[offsets.length - 1]];
+        for (int i = 0; i < sets.length; ++i) {
+            System.arraycopy(sets[i], 0, complete, offsets[i], sets[i].length);
+        }
+        return complete;
+
+    }
+
+    /**
+     * Get the initial integration time.
+     * @return initial integration time
+     */
+    public double getInitialTime() {
+        return (nbSteps == 0) ? Double.NaN : times.get(0);
+    }
+
+    /**
+     * Get the final integration time.
+     * @return final integration time
+     */
+    public double getFinalTime() {
+        return (nbSteps == 0) ? Double.NaN : times.get(nbSteps);
+    }
+
+    /**
+     * Get the time of the interpolated point.
+     * If {@link #setInterpolatedTime} has not been called, it returns
+     * the final integration time.
+     * @return interpolation point time
+     */
+    public double getInterpolatedTime() {
+        return interpolatedTime;
+    }
+
+    /** Set the time of the interpolated point.
+     * <p>Setting the time outside of the integration interval is allowed,
+     * but should be used with care since the accuracy of the extrapolation
+     * will probably be very poor far from this interval.</p>
+     * @param time time of the interpolated point
+     * @exception MathIllegalStateException if the model does not contain any step
+     */
+    public void setInterpolatedTime(final double time) throws MathIllegalStateException {
+
+        checkNotEmpty();
+
+        // binary search of the last step start not after time
+        final double sign = forward ? 1.0 : -1.0;
+        int low  = 0;
+        int high = nbSteps - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (sign * (time - times.get(mid)) >= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        index = low;
+
+        // normalized abscissa in the step
+        final double tStart = times.get(index);
+        final double h      = times.get(index + 1) - tStart;
+        final double x;
+        if (h == 0) {
+            x    = 1.0;
+            dxdt = 0.0;
+        } else {
+            x    = 2 * (time - tStart) / h - 1;
+            dxdt = 2 / h;
+        }
+
+        // Chebyshev polynomials and their derivatives
+        tValues[0]      = 1;
+        tDerivatives[0] = 0;
+        tValues[1]      = x;
+        tDerivatives[1] = 1;
+        for (int j = 1; j < degree; ++j) {
+            tValues[j + 1]      = 2 * x * tValues[j] - tValues[j - 1];
+            tDerivatives[j + 1] = 2 * tValues[j] + 2 * x * tDerivatives[j] - tDerivatives[j - 1];
+        }
+
+        interpolatedTime = time;
+
+    }
+
+    /**
+     * Get the state vector of the interpolated point.
+     * @return state vector at time {@link #getInterpolatedTime}
+     * @see #getInterpolatedDerivatives()
+     * @see #getInterpolatedSecondaryState(int)
+     * @exception MathIllegalStateException if the model does not contain any step
+     */
+    public double[] getInterpolatedState() throws MathIllegalStateException {
+        return evaluate(0, tValues, 1.0);
+    }
+
+    /**
+     * Get the derivatives of the state vector of the interpolated point.
+     * <p>The derivatives are those of the stored polynomial, they are
+     * not computed from the differential equations. They suffer from
+     * cancellation for very short steps, like the truncated last step
+     * of fixed step integrators.</p>
+     * @return derivatives of the state vector at time {@link #getInterpolatedTime}
+     * @see #getInterpolatedState()
+     * @see #getInterpolatedSecondaryDerivatives(int)
+     * @exception MathIllegalStateException if the model does not contain any step
+     */
+    public double[] getInterpolatedDerivatives() throws MathIllegalStateException {
+        return evaluate(0, tDerivatives, dxdt);
+    }
+
+    /** Get the interpolated secondary state corresponding to the secondary equations.
+     * @param secondaryStateIndex index of the secondary set, as returned by {@link
+     * org.apache.commons.math3.ode.ExpandableStatefulODE#addSecondaryEquations(
+     * org.apache.commons.math3.ode.SecondaryEquations)
+     * ExpandableStatefulODE.addSecondaryEquations(SecondaryEquations)}
+     * @return interpolated secondary state at the current interpolation date
+     * @see #getInterpolatedState()
+     * @exception MathIllegalStateException if the model does not contain any step
+     */
+    public double[] getInterpolatedSecondaryState(final int secondaryStateIndex) throws MathIllegalStateException {
+        return evaluate(secondaryStateIndex + 1, tValues, 1.0);
+    }
+
+    /** Get the interpolated secondary derivatives corresponding to the secondary equations.
+     * @param secondaryStateIndex index of the secondary set, as returned by {@link
+     * org.apache.commons.math3.ode.ExpandableStatefulODE#addSecondaryEquations(
+     * org.apache.commons.math3.ode.SecondaryEquations)
+     * ExpandableStatefulODE.addSecondaryEquations(SecondaryEquations)}
+     * @return interpolated secondary derivatives at the current interpolation date
+     * @see #getInterpolatedDerivatives()
+     * @exception MathIllegalStateException if the model does not contain any step
+     */
+    public double[] getInterpolatedSecondaryDerivatives(final int secondaryStateIndex) throws MathIllegalStateException {
+        return evaluate(secondaryStateIndex + 1, tDerivatives, dxdt);
+    }
+
+    /** Evaluate one equations set at current interpolation point.
+     * @param set index of the equations set (0 for primary set)
+     * @param basis values of the Chebyshev basis to combine
+     * @param scale scaling factor to apply to the combination
+     * @return values of the equations set components
+     * @exception MathIllegalStateException if the model does not contain any step
+     */
+    private double[] evaluate(final int set, final double[] basis, final double scale)
+        throws MathIllegalStateException {
+        checkNotEmpty();
+        final int dimension = offsets[offsets.length - 1];
+        final DoubleBuffer coefficients = segments[index / segmentSteps];
+        int position = ((index % segmentSteps) * dimension + offsets[set]) * (degree + 1);
+        final double[] values = new double[offsets[set + 1] - offsets[set]];
+        for (int c = 0; c < values.length; ++c) {
+            double sum = 0;
+            for (int j = 0; j <= degree; ++j) {
+                sum += coefficients.get(position++) * basis[j];
+            }
+            values[c] = scale * sum;
+        }
+        return values;
+    }
+
+    /** Check the model contains at least one step.
+     * @exception MathIllegalStateException if the model does not contain any step
+     */
+    private void checkNotEmpty() throws MathIllegalStateException {
+        if (nbSteps == 0) {
+            throw new MathIllegalStateException(LocalizedFormats.NO_DATA);
+        }
+    }
+
+    /** Save the model to a file.
+     * <p>The file can be loaded back using {@link #load(File)}.</p>
+     * @param file file to write
+     * @exception IOException if the file cannot be written
+     */
+    public void save(final File file) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(0);
+            final FileChannel channel = raf.getChannel();
+
+            // header
+            final ByteBuffer header = ByteBuffer.allocate(headerSize(secondarySets));
+            header.putLong(MAGIC);
+            header.putInt(FORMAT_VERSION);
+            header.putInt(degree);
+            header.putInt(secondarySets);
+            header.putInt(forward ? 1 : 0);
+            header.putInt(nbSteps);
+            for (int i = 0; i < secondarySets + 2; ++i) {
+                header.putInt((offsets == null) ? 0 : offsets[i]);
+            }
+            header.rewind();
+            writeFully(channel, header);
+
+            if (nbSteps > 0) {
+                // data
+                final int stepSize = (degree + 1) * offsets[offsets.length - 1];
+                writeDoubles(channel, times, 0, nbSteps + 1);
+                for (int s = 0; s < segments.length; ++s) {
+                    final int stepsInSegment = FastMath.min(segmentSteps, nbSteps - s * segmentSteps);
+                    writeDoubles(channel, segments[s], 0, stepsInSegment * stepSize);
+                }
+            }
+
+        } finally {
+            raf.close();
+        }
+    }
+
+    /** Load a model from a file.
+     * <p>The model data is not copied in memory, the file is mapped read-only.</p>
+     * @param file file to read, as written by {@link #save(File)}
+     * @return loaded model
+     * @exception IOException if the file cannot be read
+     * @exception MathIllegalArgumentException if the file does not contain a model
+     */
+    public static CompactContinuousOutputModel load(final File file)
+        throws IOException, MathIllegalArgumentException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+
+            // fixed size part of the header
+            final ByteBuffer fixed = ByteBuffer.allocate(FIXED_HEADER_SIZE);
+            readFully(channel, fixed, file);
+            fixed.rewind();
+            if (fixed.getLong() != MAGIC || fixed.getInt() != FORMAT_VERSION) {
+                throw new MathIllegalArgumentException(LocalizedFormats.NOT_A_DENSE_OUTPUT_FILE,
+                                                       file.getName());
+            }
+            final int degree        = fixed.getInt();
+            final int secondarySets = fixed.getInt();
+            final boolean forward   = fixed.getInt() != 0;
+            final int nbSteps       = fixed.getInt();
+            if (degree <= 0 || secondarySets < 0 || nbSteps < 0) {
+                throw new MathIllegalArgumentException(LocalizedFormats.NOT_A_DENSE_OUTPUT_FILE,
+                                                       file.getName());
+            }
+
+            // variable size part of the header
+            final int headerSize = headerSize(secondarySets);
+            final ByteBuffer variable = ByteBuffer.allocate(4 * (secondarySets + 2));
+            readFully(channel, variable, file);
+            variable.rewind();
+            final int[] offsets = new int[secondarySets + 2];
+            for (int i = 0; i < offsets.length; ++i) {
+                offsets[i] = variable.getInt();
+            }
+
+            final CompactContinuousOutputModel model =
+                    new CompactContinuousOutputModel(degree, secondarySets);
+            model.forward = forward;
+            model.mapped  = true;
+            if (nbSteps > 0) {
+
+                // map the data
+                final int stepSize = (degree + 1) * offsets[offsets.length - 1];
+                final long timesStart = headerSize;
+                final long dataStart  = timesStart + 8l * (nbSteps + 1);
+                if (stepSize <= 0 || raf.length() != dataStart + 8l * nbSteps * stepSize) {
+                    throw new MathIllegalArgumentException(LocalizedFormats.NOT_A_DENSE_OUTPUT_FILE,
+                                                           file.getName());
+                }
+                final int segmentSteps = FastMath.max(1, MAPPED_SEGMENT_SIZE / stepSize);
+                final DoubleBuffer[] segments =
+                        new DoubleBuffer[(nbSteps + segmentSteps - 1) / segmentSteps];
+                for (int s = 0; s < segments.length; ++s) {
+                    final int stepsInSegment = FastMath.min(segmentSteps, nbSteps - s * segmentSteps);
+                    segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                              dataStart + 8l * s * segmentSteps * stepSize,
+                                              8l * stepsInSegment * stepSize).asDoubleBuffer();
+                }
+
+                model.offsets      = offsets;
+                model.nbSteps      = nbSteps;
+                model.times        = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                 timesStart, 8l * (nbSteps + 1)).asDoubleBuffer();
+                model.segments     = segments;
+                model.segmentSteps = segmentSteps;
+                model.setInterpolatedTime(model.getFinalTime());
+
+            }
+
+            return model;
+
+        } finally {
+            raf.close();
+        }
+    }
+
+    /** Compute the size of the file header.
+     * @param secondarySets number of secondary equations sets
+     * @return size of the header in bytes (padded to a multiple of 8)
+     */
+    private static int headerSize(final int secondarySets) {
+        final int size = FIXED_HEADER_SIZE + 4 * (secondarySets + 2);
+        return 8 * ((size + 7) / 8);
+    }
+
+    /** Write a part of a buffer to a channel.
+     * @param channel channel to write to
+     * @param data buffer containing the data to write
+     * @param start index of the first double to write
+     * @param length number of doubles to write
+     * @exception IOException if the data cannot be written
+     */
+    private static void writeDoubles(final FileChannel channel, final DoubleBuffer data,
+                                     final int start, final int length)
+        throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(8 * IO_CHUNK_SIZE);
+        final DoubleBuffer view = chunk.asDoubleBuffer();
+        for (int i = 0; i < length; i += IO_CHUNK_SIZE) {
+            final int n = FastMath.min(IO_CHUNK_SIZE, length - i);
+            view.clear();
+            for (int k = 0; k < n; ++k) {
+                view.put(data.get(start + i + k));
+            }
+            chunk.clear();
+            chunk.limit(8 * n);
+            writeFully(channel, chunk);
+        }
+    }
+
+    /** Write a complete buffer to a channel.
+     * @param channel channel to write to
+     * @param buffer buffer to write
+     * @exception IOException if the data cannot be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Fill a buffer from a channel.
+     * @param channel channel to read from
+     * @param buffer buffer to fill
+     * @param file file read (for error messages)
+     * @exception IOException if the data cannot be read
+     * @exception MathIllegalArgumentException if the file is too short
+     */
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final File file)
+        throws IOException, MathIllegalArgumentException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new MathIllegalArgumentException(LocalizedFormats.NOT_A_DENSE_OUTPUT_FILE,
+                                                       file.getName());
+            }
+        }
+    }
+
+}
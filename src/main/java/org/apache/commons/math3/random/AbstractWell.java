@@ -17,6 +17,11 @@
 package org.apache.commons.math3.random;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.math3.exception.MathInternalError;
+import org.apache.commons.math3.exception.NotPositiveException;
 
 
 /** This abstract class implements the WELL class of pseudo-random number generator
@@ -29,21 +34,33 @@ import java.io.Serializable;
  * Transactions on Mathematical Software, 32, 1 (2006). The errata for the paper
  * are in <a href="http://www.iro.umontreal.ca/~lecuyer/myftp/papers/wellrng-errata.txt">wellrng-errata.txt</a>.</p>
 
+ * <p>Since version 3.3, the generators can jump ahead by any number of
+ * steps without generating the intermediate values, and they can be {@link
+ * #split() split} into independent generators for parallel computations.</p>
+
  * @see <a href="http://www.iro.umontreal.ca/~panneton/WELLRNG.html">WELL Random number generator</a>
  * @version $Id$
  * @since 2.2
 
  */
-public abstract class AbstractWell extends BitsStreamGenerator implements Serializable {
+public abstract class AbstractWell extends BitsStreamGenerator
+    implements SplittableRandomGenerator, Cloneable, Serializable {
 
     /** Serializable version identifier. */
     private static final long serialVersionUID = -817701723016583596L;
 
+    /** Number of steps of the jump performed when splitting the generator. */
+    private static final long SPLIT_JUMP = 1l << 62;
+
+    /** Cache for the characteristic and split jump polynomials of each generator class. */
+    private static final Map<Class<?>, long[][]> JUMP_POLYNOMIALS =
+        new ConcurrentHashMap<Class<?>, long[][]>();
+
     /** Current index in the bytes pool. */
     protected int index;
 
     /** Bytes pool. */
-    protected final int[] v;
+    protected int[] v;
 
     /** Index indirection table giving for each index its predecessor taking table size into account. */
     protected final int[] iRm1;
@@ -183,4 +200,114 @@ public abstract class AbstractWell extends BitsStreamGenerator implements Serial
     @Override
     protected abstract int next(final int bits);
 
+    /** Advance the generator by the specified number of steps.
+     * <p>The state of the generator after this call is the same as if
+     * {@code steps} calls to {@link #nextInt()} had been made, but the
+     * intermediate values are not generated. The jump polynomial is
+     * computed at each call, with a cost proportional to the logarithm
+     * of the number of steps.</p>
+     * @param steps number of steps to jump over
+     * @exception NotPositiveException if steps is negative
+     * @since 3.3
+     */
+    public void jump(final long steps) throws NotPositiveException {
+        if (steps < 0) {
+            throw new NotPositiveException(steps);
+        }
+        if (steps > 0) {
+            jump(F2LinearJump.xPowerMod(steps, getJumpPolynomials()[0]));
+        }
+    }
+
+    /** Splits the generator in two.
+     * <p>The returned generator is a copy of the current one, which is
+     * then advanced by 2<sup>62</sup> steps. The two sequences therefore
+     * do not overlap unless more than 2<sup>62</sup> values are drawn
+     * from the returned generator. As the jump polynomial is computed only
+     * once for each generator class, splitting a generator is cheap.</p>
+     * <p>The concrete generators override this method to narrow the
+     * return type to their own class.</p>
+     * @return a new generator, independent from this one
+     * @since 3.3
+     */
+    public AbstractWell split() {
+        final AbstractWell copy = copy();
+        jump(getJumpPolynomials()[1]);
+        return copy;
+    }
+
+    /** Create a copy of the generator.
+     * @return a copy of the generator, in the same state
+     */
+    private AbstractWell copy() {
+        try {
+            final AbstractWell copy = (AbstractWell) clone();
+            copy.v = v.clone();
+            return copy;
+        } catch (CloneNotSupportedException cnse) {
+            // this should never happen as the class is cloneable
+            throw new MathInternalError(cnse);
+        }
+    }
+
+    /** Get the polynomials used for jumping ahead.
+     * <p>The polynomials are computed the first time a generator of
+     * a given class is jumped, and cached afterwards.</p>
+     * @return an array containing the characteristic polynomial of the
+     * transition matrix and the jump polynomial used for splitting
+     */
+    private long[][] getJumpPolynomials() {
+        long[][] polynomials = JUMP_POLYNOMIALS.get(getClass());
+        if (polynomials == null) {
+
+            // the characteristic polynomial has degree at most 32 r,
+            // twice as many output bits allow to identify it
+            final int n = 64 * v.length;
+            final AbstractWell generator = copy();
+            final long[] bits = F2LinearJump.allocate(n);
+            for (int i = 0; i < n; ++i) {
+                if ((generator.next(32) & 0x1) != 0) {
+                    F2LinearJump.set(bits, i);
+                }
+            }
+            final long[] characteristic = F2LinearJump.minimalPolynomial(bits, n);
+            polynomials = new long[][] {
+                characteristic, F2LinearJump.xPowerMod(SPLIT_JUMP, characteristic)
+            };
+
+            JUMP_POLYNOMIALS.put(getClass(), polynomials);
+
+        }
+        return polynomials;
+    }
+
+    /** Advance the generator using a jump polynomial.
+     * @param g jump polynomial, x<sup>n</sup> mod P(x) for a jump of n steps
+     */
+    private void jump(final long[] g) {
+
+        final int r = v.length;
+        final int[] sum = new int[r];
+        final int degree = F2LinearJump.degree(g);
+        for (int i = 0; i <= degree; ++i) {
+            if (F2LinearJump.isSet(g, i)) {
+                // the state is read circularly, starting at the current index
+                for (int j = 0; j < r - index; ++j) {
+                    sum[j] ^= v[index + j];
+                }
+                for (int j = r - index; j < r; ++j) {
+                    sum[j] ^= v[j + index - r];
+                }
+            }
+            if (i < degree) {
+                next(32);
+            }
+        }
+
+        System.arraycopy(sum, 0, v, 0, r);
+        index = 0;
+        clear(); // Clear normal deviate cache
+
+    }
+
 }
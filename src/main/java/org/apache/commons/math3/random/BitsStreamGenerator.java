@@ -18,8 +18,13 @@ package org.apache.commons.math3.random;
 
 import java.io.Serializable;
 
+import org.apache.commons.math3.exception.NotPositiveException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
 
 /** Base class for random number generators that generates bits streams.
  *
@@ -92,6 +97,83 @@ public abstract class BitsStreamGenerator
         return (high | low) * 0x1.0p-52d;
     }
 
+    /**
+     * Fills a sub-array with random doubles.
+     * <p>The values generated are the same as the ones {@link #nextDouble()}
+     * would return if called {@code length} times, but they are generated
+     * in a single loop, which avoids the per-call overhead when large
+     * numbers of values are needed.</p>
+     * @param out array where to store the generated values
+     * @param begin index of the first element to fill
+     * @param length number of elements to fill
+     * @throws NullArgumentException if {@code out} is null
+     * @throws NotPositiveException if {@code begin} or {@code length} is negative
+     * @throws NumberIsTooLargeException if {@code begin + length} is larger
+     * than the array length
+     * @since 3.3
+     */
+    public void nextDoubles(final double[] out, final int begin, final int length)
+        throws NullArgumentException, NotPositiveException, NumberIsTooLargeException {
+        MathUtils.checkNotNull(out, LocalizedFormats.INPUT_ARRAY);
+        checkSubArray(out.length, begin, length);
+        final int end = begin + length;
+        for (int i = begin; i < end; ++i) {
+            final long high = ((long) next(26)) << 26;
+            final int  low  = next(26);
+            out[i] = (high | low) * 0x1.0p-52d;
+        }
+    }
+
+    /**
+     * Fills a sub-array with random ints.
+     * <p>The values generated are the same as the ones {@link #nextInt()}
+     * would return if called {@code length} times, but they are generated
+     * in a single loop, which avoids the per-call overhead when large
+     * numbers of values are needed.</p>
+     * @param out array where to store the generated values
+     * @param begin index of the first element to fill
+     * @param length number of elements to fill
+     * @throws NullArgumentException if {@code out} is null
+     * @throws NotPositiveException if {@code begin} or {@code length} is negative
+     * @throws NumberIsTooLargeException if {@code begin + length} is larger
+     * than the array length
+     * @since 3.3
+     */
+    public void nextInts(final int[] out, final int begin, final int length)
+        throws NullArgumentException, NotPositiveException, NumberIsTooLargeException {
+        MathUtils.checkNotNull(out, LocalizedFormats.INPUT_ARRAY);
+        checkSubArray(out.length, begin, length);
+        final int end = begin + length;
+        for (int i = begin; i < end; ++i) {
+            out[i] = next(32);
+        }
+    }
+
+    /**
+     * Check the sub-array arguments of the bulk generation methods.
+     * @param arrayLength length of the array
+     * @param begin index of the first element to fill
+     * @param length number of elements to fill
+     * @throws NotPositiveException if {@code begin} or {@code length} is negative
+     * @throws NumberIsTooLargeException if {@code begin + length} is larger
+     * than the array length
+     */
+    static void checkSubArray(final int arrayLength, final int begin, final int length)
+        throws NotPositiveException, NumberIsTooLargeException {
+        if (begin < 0) {
+            throw new NotPositiveException(LocalizedFormats.START_POSITION, Integer.valueOf(begin));
+        }
+        if (length < 0) {
+            throw new NotPositiveException(LocalizedFormats.LENGTH, Integer.valueOf(length));
+        }
+        if (length > arrayLength - begin) {
+            // the sum is computed with longs to avoid overflow
+            throw new NumberIsTooLargeException(LocalizedFormats.SUBARRAY_ENDS_AFTER_ARRAY_END,
+                                                Long.valueOf((long) begin + length),
+                                                Integer.valueOf(arrayLength), true);
+        }
+    }
+
     /** {@inheritDoc} */
     public float nextFloat() {
         return next(23) * 0x1.0p-23f;
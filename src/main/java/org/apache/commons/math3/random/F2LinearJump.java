@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import java.util.Arrays;
+
+/**
+ * Polynomial arithmetic over GF(2) used for jumping ahead F<sub>2</sub>-linear generators.
+ * <p>
+ * The output bits of generators like {@link MersenneTwister} or the
+ * {@link AbstractWell WELL} family satisfy a linear recurrence whose
+ * characteristic polynomial P has degree k (the number of state bits).
+ * Advancing the generator by n steps amounts to multiplying its state by
+ * T<sup>n</sup>, where T is the transition matrix. As P(T) = 0, this is
+ * also g(T) where g(x) = x<sup>n</sup> mod P(x) has degree lower than k.
+ * The state after the jump can therefore be computed as the sum of the
+ * states for which the coefficient of g is one, over the k next steps.
+ * This is the method described in the paper by H. Haramoto, M. Matsumoto,
+ * T. Nishimura, F. Panneton and P. L'Ecuyer: <a
+ * href="http://www.iro.umontreal.ca/~lecuyer/myftp/papers/jumpf2.pdf">Efficient
+ * Jump Ahead for F<sub>2</sub>-Linear Random Number Generators</a>, INFORMS
+ * Journal on Computing 20(3), 2008.
+ * </p>
+ * <p>
+ * Polynomials are stored as arrays of longs, the coefficient of
+ * x<sup>i</sup> being bit {@code i & 0x3f} of element {@code i >> 6}.
+ * </p>
+ * @version $Id$
+ * @since 3.3
+ */
+final class F2LinearJump {
+
+    /** Table spreading the 8 bits of a byte into the even bits of a short. */
+    private static final int[] SPREAD = new int[256];
+
+    static {
+        for (int i = 0; i < SPREAD.length; ++i) {
+            int s = 0;
+            for (int b = 0; b < 8; ++b) {
+                s |= ((i >>> b) & 0x1) << (2 * b);
+            }
+            SPREAD[i] = s;
+        }
+    }
+
+    /** Private constructor for a utility class. */
+    private F2LinearJump() {
+    }
+
+    /** Get the bit-packed storage of a bits sequence.
+     * @param n number of bits
+     * @return an array large enough to hold n bits
+     */
+    public static long[] allocate(final int n) {
+        return new long[(n + 63) >>> 6];
+    }
+
+    /** Set one bit in a bit-packed array.
+     * @param bits bit-packed array
+     * @param i index of the bit to set
+     */
+    public static void set(final long[] bits, final int i) {
+        bits[i >>> 6] |= 1l << i;
+    }
+
+    /** Check one bit in a bit-packed array.
+     * @param bits bit-packed array
+     * @param i index of the bit to check
+     * @return true if bit i is set
+     */
+    public static boolean isSet(final long[] bits, final int i) {
+        return ((bits[i >>> 6] >>> i) & 0x1l) != 0;
+    }
+
+    /** Get the degree of a polynomial.
+     * @param p polynomial
+     * @return degree of the polynomial (-1 for the null polynomial)
+     */
+    public static int degree(final long[] p) {
+        for (int i = p.length - 1; i >= 0; --i) {
+            if (p[i] != 0) {
+                return (i << 6) + 63 - Long.numberOfLeadingZeros(p[i]);
+            }
+        }
+        return -1;
+    }
+
+    /** Compute the minimal polynomial of a bits sequence.
+     * <p>
+     * This method uses the Berlekamp-Massey algorithm. If the sequence
+     * is generated by a linear recurrence of order k, at least 2k bits
+     * are needed to identify the recurrence. For full period generators,
+     * the polynomial found is the characteristic polynomial of the
+     * transition matrix.
+     * </p>
+     * @param s bit-packed sequence
+     * @param n number of bits in the sequence
+     * @return minimal polynomial of the sequence
+     */
+    public static long[] minimalPolynomial(final long[] s, final int n) {
+
+        // reversed sequence, so the discrepancy is a simple dot product
+        final long[] r = allocate(n + 64);
+        for (int i = 0; i < n; ++i) {
+            if (isSet(s, i)) {
+                set(r, n - 1 - i);
+            }
+        }
+
+        // connection polynomials
+        long[] c   = allocate(n + 64);
+        long[] b   = allocate(n + 64);
+        long[] tmp = allocate(n + 64);
+        c[0] = 1l;
+        b[0] = 1l;
+        int l  = 0;
+        int lb = 0;
+        int m  = 1;
+
+        for (int i = 0; i < n; ++i) {
+
+            // discrepancy: parity of sum(c[j] s[i - j], j = 0 .. l)
+            final int offset = n - 1 - i;
+            final int wShift = offset >>> 6;
+            final int bShift = offset & 0x3f;
+            long d = 0;
+            for (int w = 0; w <= (l >>> 6); ++w) {
+                long window = r[w + wShift] >>> bShift;
+                if (bShift != 0) {
+                    window |= r[w + wShift + 1] << (64 - bShift);
+                }
+                d ^= c[w] & window;
+            }
+
+            if (Long.bitCount(d) % 2 == 0) {
+                ++m;
+            } else if (2 * l <= i) {
+                System.arraycopy(c, 0, tmp, 0, c.length);
+                addShifted(c, b, lb, m);
+                final long[] swap = b;
+                b   = tmp;
+                tmp = swap;
+                lb  = l;
+                l   = i + 1 - l;
+                m   = 1;
+            } else {
+                addShifted(c, b, lb, m);
+                ++m;
+            }
+
+        }
+
+        // the characteristic polynomial is the reciprocal of the connection polynomial
+        final long[] p = allocate(l + 1);
+        for (int i = 0; i <= l; ++i) {
+            if (isSet(c, i)) {
+                set(p, l - i);
+            }
+        }
+        return p;
+
+    }
+
+    /** Add a shifted polynomial to another one.
+     * @param c polynomial to update
+     * @param b polynomial to add
+     * @param degB upper bound of the degree of b
+     * @param shift shift to apply to b before adding it
+     */
+    private static void addShifted(final long[] c, final long[] b, final int degB, final int shift) {
+        final int wShift = shift >>> 6;
+        final int bShift = shift & 0x3f;
+        final int words  = (degB >>> 6) + 1;
+        for (int w = 0; w < words; ++w) {
+            c[w + wShift] ^= b[w] << bShift;
+            if (bShift != 0 && w + wShift + 1 < c.length) {
+                c[w + wShift + 1] ^= b[w] >>> (64 - bShift);
+            }
+        }
+    }
+
+    /** Compute x<sup>n</sup> mod p.
+     * @param n exponent (must be non-negative)
+     * @param p modulus polynomial (must have a degree at least 1)
+     * @return x<sup>n</sup> mod p
+     */
+    public static long[] xPowerMod(final long n, final long[] p) {
+
+        final int k = degree(p);
+
+        // shifted copies of the modulus, for word-aligned reduction
+        final int words = (k >>> 6) + 2;
+        final long[][] shifted = new long[64][words];
+        for (int s = 0; s < 64; ++s) {
+            for (int w = 0; w < p.length; ++w) {
+                shifted[s][w] ^= p[w] << s;
+                if (s != 0) {
+                    shifted[s][w + 1] ^= p[w] >>> (64 - s);
+                }
+            }
+        }
+
+        long[] g = allocate(2 * k + 128);
+        long[] h = allocate(2 * k + 128);
+        g[0] = 1l;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; --bit) {
+
+            // square: spreading bits is a linear operation over GF(2)
+            Arrays.fill(h, 0l);
+            for (int w = 0; w <= (k >>> 6); ++w) {
+                final long x = g[w];
+                h[2 * w]     = spread(x);
+                h[2 * w + 1] = spread(x >>> 32);
+            }
+            reduce(h, 2 * k - 2, k, shifted);
+            final long[] swap = g;
+            g = h;
+            h = swap;
+
+            if (((n >>> bit) & 0x1l) != 0) {
+                // multiply by x
+                long carry = 0;
+                for (int w = 0; w <= (k >>> 6) + 1; ++w) {
+                    final long x = g[w];
+                    g[w]  = (x << 1) | carry;
+                    carry = x >>> 63;
+                }
+                reduce(g, k, k, shifted);
+            }
+
+        }
+
+        final long[] result = allocate(k);
+        System.arraycopy(g, 0, result, 0, result.length);
+        return result;
+
+    }
+
+    /** Spread the 32 low bits of a long into the even bits of a long.
+     * @param x long to spread
+     * @return spread long
+     */
+    private static long spread(final long x) {
+        return  ((long) SPREAD[(int) ( x         & 0xff)])        |
+               (((long) SPREAD[(int) ((x >>>  8) & 0xff)]) << 16) |
+               (((long) SPREAD[(int) ((x >>> 16) & 0xff)]) << 32) |
+               (((long) SPREAD[(int) ((x >>> 24) & 0xff)]) << 48);
+    }
+
+    /** Reduce a polynomial modulo p.
+     * @param g polynomial to reduce (reduced in place)
+     * @param degG upper bound of the degree of g
+     * @param k degree of the modulus
+     * @param shifted the 64 shifted copies of the modulus
+     */
+    private static void reduce(final long[] g, final int degG, final int k, final long[][] shifted) {
+        for (int i = degG; i >= k; --i) {
+            if (((g[i >>> 6] >>> i) & 0x1l) != 0) {
+                final int s      = i - k;
+                final long[] pS  = shifted[s & 0x3f];
+                final int offset = s >>> 6;
+                for (int w = 0; w < pS.length; ++w) {
+                    g[w + offset] ^= pS[w];
+                }
+            }
+        }
+    }
+
+}
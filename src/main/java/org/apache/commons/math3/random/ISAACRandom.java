@@ -35,11 +35,16 @@ import java.io.Serializable;
  * This code is based (with minor changes and improvements) on the original
  * implementation of the algorithm by Bob Jenkins.
  * <br/>
+ * ISAAC has no jump-ahead ability, so independent generators are created
+ * by {@link #split() splitting} it, i.e. seeding new generators with values
+ * drawn from the original one.
+ * <br/>
  *
  * @version $Id$
  * @since 3.0
  */
-public class ISAACRandom extends BitsStreamGenerator implements Serializable {
+public class ISAACRandom extends BitsStreamGenerator
+    implements SplittableRandomGenerator, Serializable {
     /** Serializable version identifier */
     private static final long serialVersionUID = 7288197941165002400L;
     /** Log of size of rsl[] and mem[] */
@@ -144,6 +149,25 @@ public class ISAACRandom extends BitsStreamGenerator implements Serializable {
         return rsl[count--] >>> 32 - bits;
     }
 
+    /**
+     * Splits the generator in two.
+     * <p>
+     * The returned generator is seeded with 256 values drawn from this
+     * generator, i.e. a full state. As ISAAC output is unpredictable, the
+     * two sequences are statistically independent, but unlike jump-ahead
+     * based splitting, there is no guarantee that they do not overlap.
+     * </p>
+     * @return a new generator, independent from this one
+     * @since 3.3
+     */
+    public ISAACRandom split() {
+        final int[] seed = new int[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            seed[i] = next(32);
+        }
+        return new ISAACRandom(seed);
+    }
+
     /** Generate 256 results */
     private void isaac() {
         isaacI = 0;
@@ -18,7 +18,11 @@ package org.apache.commons.math3.random;
 
 import java.io.Serializable;
 
+import org.apache.commons.math3.exception.MathInternalError;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
 
 
 /** This class implements a powerful pseudo-random number generator
@@ -75,11 +79,16 @@ import org.apache.commons.math3.util.FastMath;
  * DAMAGE.</strong></td></tr>
  * </table>
 
+ * <p>Since version 3.3, the generator can jump ahead by any number of
+ * steps without generating the intermediate values, and it can be {@link
+ * #split() split} into independent generators for parallel computations.</p>
+
  * @version $Id$
  * @since 2.0
 
  */
-public class MersenneTwister extends BitsStreamGenerator implements Serializable {
+public class MersenneTwister extends BitsStreamGenerator
+    implements SplittableRandomGenerator, Cloneable, Serializable {
 
     /** Serializable version identifier. */
     private static final long serialVersionUID = 8661194735290153518L;
@@ -93,6 +102,9 @@ public class MersenneTwister extends BitsStreamGenerator implements Serializable
     /** X * MATRIX_A for X = {0, 1}. */
     private static final int[] MAG01 = { 0x0, 0x9908b0df };
 
+    /** Number of steps of the jump performed when splitting the generator. */
+    private static final long SPLIT_JUMP = 1l << 62;
+
     /** Bytes pool. */
     private int[] mt;
 
@@ -227,30 +239,65 @@ public class MersenneTwister extends BitsStreamGenerator implements Serializable
      */
     @Override
     protected int next(int bits) {
+        return nextTempered() >>> (32 - bits);
+    }
 
-        int y;
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void nextDoubles(final double[] out, final int begin, final int length) {
+        MathUtils.checkNotNull(out, LocalizedFormats.INPUT_ARRAY);
+        checkSubArray(out.length, begin, length);
+        final int end = begin + length;
+        for (int i = begin; i < end; ++i) {
+            final long high = ((long) (nextTempered() >>> 6)) << 26;
+            final int  low  = nextTempered() >>> 6;
+            out[i] = (high | low) * 0x1.0p-52d;
+        }
+    }
 
-        if (mti >= N) { // generate N words at one time
-            int mtNext = mt[0];
-            for (int k = 0; k < N - M; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public void nextInts(final int[] out, final int begin, final int length) {
+        MathUtils.checkNotNull(out, LocalizedFormats.INPUT_ARRAY);
+        checkSubArray(out.length, begin, length);
+        int i = begin;
+        final int end = begin + length;
+        while (i < end) {
+
+            if (mti >= N) {
+                generateBlock();
             }
-            for (int k = N - M; k < N - 1; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+
+            // temper all the available words at once
+            final int n = FastMath.min(N - mti, end - i);
+            for (int k = 0; k < n; ++k) {
+                int y = mt[mti + k];
+                y ^=  y >>> 11;
+                y ^= (y <<   7) & 0x9d2c5680;
+                y ^= (y <<  15) & 0xefc60000;
+                y ^=  y >>> 18;
+                out[i + k] = y;
             }
-            y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
-            mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+            mti += n;
+            i   += n;
+
+        }
+    }
+
+    /** Generate the next tempered 32 bits word.
+     * @return next tempered word
+     */
+    private int nextTempered() {
 
-            mti = 0;
+        if (mti >= N) {
+            generateBlock();
         }
 
-        y = mt[mti++];
+        int y = mt[mti++];
 
         // tempering
         y ^=  y >>> 11;
@@ -258,7 +305,137 @@ public class MersenneTwister extends BitsStreamGenerator implements Serializable
         y ^= (y <<  15) & 0xefc60000;
         y ^=  y >>> 18;
 
-        return y >>> (32 - bits);
+        return y;
+
+    }
+
+    /** Generate N words at one time. */
+    private void generateBlock() {
+        int y;
+        int mtNext = mt[0];
+        for (int k = 0; k < N - M; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        for (int k = N - M; k < N - 1; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
+        mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+
+        mti = 0;
+    }
+
+    /** Advance the generator by the specified number of steps.
+     * <p>The state of the generator after this call is the same as if
+     * {@code steps} calls to {@link #nextInt()} had been made, but the
+     * intermediate values are not generated. The jump polynomial is
+     * computed at each call, with a cost proportional to the logarithm
+     * of the number of steps.</p>
+     * @param steps number of steps to jump over
+     * @exception NotPositiveException if steps is negative
+     * @since 3.3
+     */
+    public void jump(final long steps) throws NotPositiveException {
+        if (steps < 0) {
+            throw new NotPositiveException(steps);
+        }
+        if (steps > 0) {
+            jump(F2LinearJump.xPowerMod(steps, JumpPolynomials.CHARACTERISTIC));
+        }
+    }
+
+    /** Splits the generator in two.
+     * <p>The returned generator is a copy of the current one, which is
+     * then advanced by 2<sup>62</sup> steps. The two sequences therefore
+     * do not overlap unless more than 2<sup>62</sup> values are drawn
+     * from the returned generator. As the jump polynomial is computed only
+     * once, splitting a generator is cheap.</p>
+     * @return a new generator, independent from this one
+     * @since 3.3
+     */
+    public MersenneTwister split() {
+        final MersenneTwister copy;
+        try {
+            copy = (MersenneTwister) clone();
+        } catch (CloneNotSupportedException cnse) {
+            // this should never happen as the class is cloneable
+            throw new MathInternalError(cnse);
+        }
+        copy.mt = mt.clone();
+        jump(JumpPolynomials.SPLIT);
+        return copy;
+    }
+
+    /** Advance the generator using a jump polynomial.
+     * <p>The pool holds the 624 words following the beginning of the
+     * current block, so the jump is applied to the pool and the position
+     * in the block is preserved.</p>
+     * @param g jump polynomial, x<sup>n</sup> mod P(x) for a jump of n steps
+     */
+    private void jump(final long[] g) {
+
+        // w is a circular window over the recurrence, starting at index p
+        final int[] w   = mt.clone();
+        final int[] sum = new int[N];
+        int p = 0;
+        final int degree = F2LinearJump.degree(g);
+        for (int i = 0; i <= degree; ++i) {
+
+            if (F2LinearJump.isSet(g, i)) {
+                for (int j = 0; j < N - p; ++j) {
+                    sum[j] ^= w[p + j];
+                }
+                for (int j = N - p; j < N; ++j) {
+                    sum[j] ^= w[j + p - N];
+                }
+            }
+
+            // advance the window by one step
+            final int pNext = (p + 1 < N) ? p + 1 : 0;
+            final int pM    = (p + M < N) ? p + M : p + M - N;
+            final int y     = (w[p] & 0x80000000) | (w[pNext] & 0x7fffffff);
+            w[p] = w[pM] ^ (y >>> 1) ^ MAG01[y & 0x1];
+            p    = pNext;
+
+        }
+
+        mt = sum;
+        clear(); // Clear normal deviate cache
+
+    }
+
+    /** Holder for the polynomials used for jumping ahead.
+     * <p>The polynomials are computed only when a generator is first
+     * jumped, using the initialization on demand holder idiom.</p>
+     */
+    private static class JumpPolynomials {
+
+        /** Characteristic polynomial of the transition matrix. */
+        static final long[] CHARACTERISTIC;
+
+        /** Jump polynomial used for splitting generators. */
+        static final long[] SPLIT;
+
+        static {
+            // the characteristic polynomial has degree 19937,
+            // twice as many output bits allow to identify it
+            final int n = 2 * (32 * N - 31);
+            final MersenneTwister generator = new MersenneTwister(5489);
+            final long[] bits = F2LinearJump.allocate(n);
+            for (int i = 0; i < n; ++i) {
+                if ((generator.nextInt() & 0x1) != 0) {
+                    F2LinearJump.set(bits, i);
+                }
+            }
+            CHARACTERISTIC = F2LinearJump.minimalPolynomial(bits, n);
+            SPLIT          = F2LinearJump.xPowerMod(SPLIT_JUMP, CHARACTERISTIC);
+        }
 
     }
 
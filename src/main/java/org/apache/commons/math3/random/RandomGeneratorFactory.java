@@ -16,8 +16,12 @@
  */
 package org.apache.commons.math3.random;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Utilities for creating {@link RandomGenerator} instances.
@@ -101,6 +105,42 @@ public class RandomGeneratorFactory {
         };
     }
 
+    /**
+     * Creates independent generators for parallel computations.
+     * <p>
+     * The generators are created by splitting the source generator
+     * repeatedly, so they can be given one per worker thread without
+     * any risk of correlation between the sequences. With {@link
+     * MersenneTwister} and the {@link AbstractWell WELL} generators, the
+     * sequences are 2<sup>62</sup> values apart. The source generator
+     * is advanced past all the created generators, so it can be used
+     * afterwards to create more independent generators.
+     * </p>
+     * <p>
+     * The generators returned are not thread-safe, each one should be
+     * used by only one thread.
+     * </p>
+     *
+     * @param source generator to split
+     * @param n number of generators to create
+     * @return a list of {@code n} independent generators
+     * @throws NotStrictlyPositiveException if {@code n <= 0}
+     * @throws NullArgumentException if {@code source} is null
+     */
+    public static List<RandomGenerator> createIndependentGenerators(final SplittableRandomGenerator source,
+                                                                    final int n)
+        throws NotStrictlyPositiveException, NullArgumentException {
+        MathUtils.checkNotNull(source);
+        if (n <= 0) {
+            throw new NotStrictlyPositiveException(n);
+        }
+        final List<RandomGenerator> generators = new ArrayList<RandomGenerator>(n);
+        for (int i = 0; i < n; ++i) {
+            generators.add(source.split());
+        }
+        return generators;
+    }
+
     /**
      * Converts seed from one representation to another.
      *
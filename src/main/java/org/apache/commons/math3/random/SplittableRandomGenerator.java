@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+
+/**
+ * Interface for generators able to create independent generators.
+ * <p>
+ * Parallel Monte-Carlo simulations need one generator per thread, and the
+ * sequences produced by these generators must not overlap. Seeding several
+ * instances with different seeds does not guarantee this. Generators
+ * implementing this interface can instead be split: the new generator
+ * produces a sequence that is statistically independent from the sequence
+ * still produced by the original generator.
+ * </p>
+ *
+ * @see RandomGeneratorFactory#createIndependentGenerators(SplittableRandomGenerator, int)
+ * @since 3.3
+ * @version $Id$
+ */
+public interface SplittableRandomGenerator extends RandomGenerator {
+
+    /**
+     * Splits the generator in two.
+     * <p>
+     * The returned generator is independent from the current one, which
+     * is modified by this call. Calling this method repeatedly creates
+     * a family of independent generators.
+     * </p>
+     * @return a new generator, independent from this one
+     */
+    SplittableRandomGenerator split();
+
+}
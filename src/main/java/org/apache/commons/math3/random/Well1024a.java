@@ -79,6 +79,14 @@ public class Well1024a extends AbstractWell {
         super(K, M1, M2, M3, seed);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public Well1024a split() {
+        return (Well1024a) super.split();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected int next(final int bits) {
@@ -79,6 +79,14 @@ public class Well19937a extends AbstractWell {
         super(K, M1, M2, M3, seed);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public Well19937a split() {
+        return (Well19937a) super.split();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected int next(final int bits) {
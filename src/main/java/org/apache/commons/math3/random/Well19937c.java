@@ -79,6 +79,14 @@ public class Well19937c extends AbstractWell {
         super(K, M1, M2, M3, seed);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public Well19937c split() {
+        return (Well19937c) super.split();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected int next(final int bits) {
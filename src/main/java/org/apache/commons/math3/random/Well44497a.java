@@ -79,6 +79,14 @@ public class Well44497a extends AbstractWell {
         super(K, M1, M2, M3, seed);
     }
 
+    /** {@inheritDoc}
+     * @since 3.3
+     */
+    @Override
+    public Well44497a split() {
+        return (Well44497a) super.split();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected int next(final int bits) {
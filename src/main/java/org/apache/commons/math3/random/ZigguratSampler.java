@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Ziggurat sampling of normal and exponential deviates.
+ * <p>
+ * This class implements the ziggurat algorithm by George Marsaglia and
+ * Wai Wan Tsang: <a href="http://www.jstatsoft.org/v05/i08/">The Ziggurat
+ * Method for Generating Random Variables</a>, Journal of Statistical
+ * Software 5(8), 2000. The area under the density is covered by 128 (normal)
+ * or 256 (exponential) layers of equal area. Most of the time, a single
+ * random long, a table lookup and a multiplication produce the deviate; the
+ * costly evaluation of the density is needed only in about 1% of the cases.
+ * The tables are computed once, when the class is loaded.
+ * </p>
+ * <p>
+ * Each deviate starts with one 64 bits random long: the low bits select the
+ * layer and the high bits provide a 56 bits uniform value (signed for the
+ * normal distribution). Using separate bits for the layer and the value
+ * avoids the correlations found by Doornik in the original implementation,
+ * which used the same 32 bits for both.
+ * </p>
+ * <p>
+ * The samplers are several times faster than the Box-Muller method used by
+ * {@link BitsStreamGenerator#nextGaussian()}, but they do not produce the
+ * same sequence.
+ * </p>
+ * @see ZigguratNormalizedRandomGenerator
+ * @version $Id$
+ * @since 3.3
+ */
+public final class ZigguratSampler {
+
+    /** Number of layers of the normal ziggurat. */
+    private static final int NORMAL_LAYERS = 128;
+
+    /** Start of the tail of the normal ziggurat. */
+    private static final double NORMAL_R = 3.442619855899;
+
+    /** Area of each layer of the normal ziggurat. */
+    private static final double NORMAL_V = 9.91256303526217e-3;
+
+    /** Number of layers of the exponential ziggurat. */
+    private static final int EXPONENTIAL_LAYERS = 256;
+
+    /** Start of the tail of the exponential ziggurat. */
+    private static final double EXPONENTIAL_R = 7.697117470131487;
+
+    /** Area of each layer of the exponential ziggurat. */
+    private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+
+    /** Scale of the 56 bits signed values (2<sup>55</sup>). */
+    private static final double SIGNED_SCALE = 0x1.0p55;
+
+    /** Scale of the 56 bits unsigned values (2<sup>56</sup>). */
+    private static final double UNSIGNED_SCALE = 0x1.0p56;
+
+    /** Thresholds for fast acceptance in the normal ziggurat. */
+    private static final long[] KN = new long[NORMAL_LAYERS];
+
+    /** Widths of the layers of the normal ziggurat, scaled to 56 bits signed values. */
+    private static final double[] WN = new double[NORMAL_LAYERS];
+
+    /** Density at the layers boundaries of the normal ziggurat. */
+    private static final double[] FN = new double[NORMAL_LAYERS];
+
+    /** Thresholds for fast acceptance in the exponential ziggurat. */
+    private static final long[] KE = new long[EXPONENTIAL_LAYERS];
+
+    /** Widths of the layers of the exponential ziggurat, scaled to 56 bits unsigned values. */
+    private static final double[] WE = new double[EXPONENTIAL_LAYERS];
+
+    /** Density at the layers boundaries of the exponential ziggurat. */
+    private static final double[] FE = new double[EXPONENTIAL_LAYERS];
+
+    static {
+
+        // normal ziggurat
+        double dn = NORMAL_R;
+        double tn = dn;
+        double q  = NORMAL_V / FastMath.exp(-0.5 * dn * dn);
+        KN[0] = (long) ((dn / q) * SIGNED_SCALE);
+        KN[1] = 0;
+        WN[0] = q / SIGNED_SCALE;
+        WN[NORMAL_LAYERS - 1] = dn / SIGNED_SCALE;
+        FN[0] = 1.0;
+        FN[NORMAL_LAYERS - 1] = FastMath.exp(-0.5 * dn * dn);
+        for (int i = NORMAL_LAYERS - 2; i >= 1; --i) {
+            dn = FastMath.sqrt(-2 * FastMath.log(NORMAL_V / dn + FastMath.exp(-0.5 * dn * dn)));
+            KN[i + 1] = (long) ((dn / tn) * SIGNED_SCALE);
+            tn = dn;
+            FN[i] = FastMath.exp(-0.5 * dn * dn);
+            WN[i] = dn / SIGNED_SCALE;
+        }
+
+        // exponential ziggurat
+        double de = EXPONENTIAL_R;
+        double te = de;
+        q = EXPONENTIAL_V / FastMath.exp(-de);
+        KE[0] = (long) ((de / q) * UNSIGNED_SCALE);
+        KE[1] = 0;
+        WE[0] = q / UNSIGNED_SCALE;
+        WE[EXPONENTIAL_LAYERS - 1] = de / UNSIGNED_SCALE;
+        FE[0] = 1.0;
+        FE[EXPONENTIAL_LAYERS - 1] = FastMath.exp(-de);
+        for (int i = EXPONENTIAL_LAYERS - 2; i >= 1; --i) {
+            de = -FastMath.log(EXPONENTIAL_V / de + FastMath.exp(-de));
+            KE[i + 1] = (long) ((de / te) * UNSIGNED_SCALE);
+            te = de;
+            FE[i] = FastMath.exp(-de);
+            WE[i] = de / UNSIGNED_SCALE;
+        }
+
+    }
+
+    /** Private constructor for a utility class. */
+    private ZigguratSampler() {
+    }
+
+    /** Generate a normal deviate with null mean and unit standard deviation.
+     * @param generator generator providing the random bits
+     * @return a normal deviate
+     */
+    public static double nextGaussian(final RandomGenerator generator) {
+        final long bits = generator.nextLong();
+        final int  i    = (int) (bits & (NORMAL_LAYERS - 1));
+        final long h    = bits >> 8;
+        if (FastMath.abs(h) < KN[i]) {
+            // fast path, the point is inside the rectangular part of the layer
+            return h * WN[i];
+        }
+        return normalSlowPath(generator, h, i);
+    }
+
+    /** Generate an exponential deviate with unit mean.
+     * @param generator generator providing the random bits
+     * @return an exponential deviate
+     */
+    public static double nextExponential(final RandomGenerator generator) {
+        final long bits = generator.nextLong();
+        final int  i    = (int) (bits & (EXPONENTIAL_LAYERS - 1));
+        final long h    = bits >>> 8;
+        if (h < KE[i]) {
+            // fast path, the point is inside the rectangular part of the layer
+            return h * WE[i];
+        }
+        return exponentialSlowPath(generator, h, i);
+    }
+
+    /** Handle the rare cases of the normal ziggurat: the tail and the wedges.
+     * @param generator generator providing the random bits
+     * @param h signed value that was rejected by the fast path
+     * @param i layer index
+     * @return a normal deviate
+     */
+    private static double normalSlowPath(final RandomGenerator generator, final long h, final int i) {
+        long hz = h;
+        int  iz = i;
+        while (true) {
+
+            final double x = hz * WN[iz];
+
+            if (iz == 0) {
+                // sample from the tail, using Marsaglia's method
+                double xt;
+                double yt;
+                do {
+                    xt = -FastMath.log(nextOpenDouble(generator)) / NORMAL_R;
+                    yt = -FastMath.log(nextOpenDouble(generator));
+                } while (yt + yt < xt * xt);
+                return (hz > 0) ? NORMAL_R + xt : -NORMAL_R - xt;
+            }
+
+            // wedge between the rectangle and the density
+            if (FN[iz] + generator.nextDouble() * (FN[iz - 1] - FN[iz]) < FastMath.exp(-0.5 * x * x)) {
+                return x;
+            }
+
+            // rejected, start again with a new point
+            final long bits = generator.nextLong();
+            iz = (int) (bits & (NORMAL_LAYERS - 1));
+            hz = bits >> 8;
+            if (FastMath.abs(hz) < KN[iz]) {
+                return hz * WN[iz];
+            }
+
+        }
+    }
+
+    /** Handle the rare cases of the exponential ziggurat: the tail and the wedges.
+     * @param generator generator providing the random bits
+     * @param h unsigned value that was rejected by the fast path
+     * @param i layer index
+     * @return an exponential deviate
+     */
+    private static double exponentialSlowPath(final RandomGenerator generator, final long h, final int i) {
+        long hz = h;
+        int  iz = i;
+        while (true) {
+
+            if (iz == 0) {
+                // the tail of the exponential is a shifted exponential
+                return EXPONENTIAL_R - FastMath.log(nextOpenDouble(generator));
+            }
+
+            // wedge between the rectangle and the density
+            final double x = hz * WE[iz];
+            if (FE[iz] + generator.nextDouble() * (FE[iz - 1] - FE[iz]) < FastMath.exp(-x)) {
+                return x;
+            }
+
+            // rejected, start again with a new point
+            final long bits = generator.nextLong();
+            iz = (int) (bits & (EXPONENTIAL_LAYERS - 1));
+            hz = bits >>> 8;
+            if (hz < KE[iz]) {
+                return hz * WE[iz];
+            }
+
+        }
+    }
+
+    /** Generate a uniform deviate in the open interval (0, 1).
+     * @param generator generator providing the random bits
+     * @return a uniform deviate strictly between 0 and 1
+     */
+    private static double nextOpenDouble(final RandomGenerator generator) {
+        double u;
+        do {
+            u = generator.nextDouble();
+        } while (u == 0);
+        return u;
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.correlation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Helper for the parallel computation of covariance and correlation matrices.
+ * <p>The columns are centered once, and all the cross products between
+ * columns are computed as the product X<sup>T</sup>X. This product is split
+ * in square tiles of {@link #TILE_SIZE} columns, each tile being computed
+ * by one task. Within a tile, the rows are processed by chunks of {@link
+ * #ROW_CHUNK} rows, so the parts of the columns involved stay in cache.</p>
+ * <p>Each entry of the result is computed by one task only, always adding
+ * the terms in the same order, so the result does not depend on the number
+ * of threads.</p>
+ * <p>This class is intended for internal use by the library and is not public.</p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+class ColumnCrossProducts {
+
+    /** Number of columns in the tiles of the cross products matrix. */
+    static final int TILE_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Number of rows processed at once within a tile. */
+    static final int ROW_CHUNK = 256;
+
+    /** Processing of one column. */
+    interface ColumnProcessor {
+
+        /** Process one column.
+         * @param column index of the column
+         */
+        void process(int column);
+
+    }
+
+    /** Private constructor for a utility class. */
+    private ColumnCrossProducts() {
+    }
+
+    /** Process all columns, possibly in parallel.
+     * @param columns number of columns
+     * @param executor executor service to use for running the tasks
+     * (if null, all columns are processed in the calling thread)
+     * @param processor processing to apply to each column
+     * @exception org.apache.commons.math3.exception.MathIllegalStateException
+     * if the current thread is interrupted while waiting for the tasks
+     */
+    static void forEachColumn(final int columns, final ExecutorService executor,
+                              final ColumnProcessor processor) {
+
+        if (executor == null) {
+            for (int j = 0; j < columns; ++j) {
+                processor.process(j);
+            }
+            return;
+        }
+
+        final List<Future<?>> tasks = new ArrayList<Future<?>>();
+        for (int start = 0; start < columns; start += TILE_SIZE) {
+            final int s = start;
+            final int e = FastMath.min(columns, start + TILE_SIZE);
+            tasks.add(executor.submit(new Runnable() {
+                /** {@inheritDoc} */
+                public void run() {
+                    for (int j = s; j < e; ++j) {
+                        processor.process(j);
+                    }
+                }
+            }));
+        }
+        ConcurrencyUtils.waitForAll(tasks);
+
+    }
+
+    /** Extract the centered columns of a matrix.
+     * @param matrix matrix whose columns represent variables
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
+     * @return centered columns, the first index being the column index
+     */
+    static double[][] centeredColumns(final RealMatrix matrix, final ExecutorService executor) {
+        final double[][] columns = new double[matrix.getColumnDimension()][];
+        forEachColumn(columns.length, executor, new ColumnProcessor() {
+            /** {@inheritDoc} */
+            public void process(final int column) {
+                final double[] c = matrix.getColumn(column);
+                final double mean = new Mean().evaluate(c);
+                for (int i = 0; i < c.length; ++i) {
+                    c[i] -= mean;
+                }
+                columns[column] = c;
+            }
+        });
+        return columns;
+    }
+
+    /** Compute the cross products of columns.
+     * @param columns columns, the first index being the column index
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
+     * @return symmetric matrix whose entry (i, j) is the dot product
+     * of columns i and j
+     */
+    static double[][] crossProducts(final double[][] columns, final ExecutorService executor) {
+
+        final int p = columns.length;
+        final double[][] products = new double[p][p];
+        final int tiles = (p + TILE_SIZE - 1) / TILE_SIZE;
+
+        final List<Future<?>> tasks = new ArrayList<Future<?>>();
+        for (int ti = 0; ti < tiles; ++ti) {
+            for (int tj = 0; tj <= ti; ++tj) {
+                final int iTile = ti;
+                final int jTile = tj;
+                if (executor == null) {
+                    computeTile(columns, products, iTile, jTile);
+                } else {
+                    tasks.add(executor.submit(new Runnable() {
+                        /** {@inheritDoc} */
+                        public void run() {
+                            computeTile(columns, products, iTile, jTile);
+                        }
+                    }));
+                }
+            }
+        }
+        ConcurrencyUtils.waitForAll(tasks);
+
+        return products;
+
+    }
+
+    /** Compute one tile of the lower triangular part of the cross products and its mirror.
+     * @param columns columns, the first index being the column index
+     * @param products cross products matrix to fill up
+     * @param iTile row index of the tile
+     * @param jTile column index of the tile (must be lower than or equal to iTile)
+     */
+    private static void computeTile(final double[][] columns, final double[][] products,
+                                    final int iTile, final int jTile) {
+
+        final int iStart = iTile * TILE_SIZE;
+        final int iEnd   = FastMath.min(columns.length, iStart + TILE_SIZE);
+        final int jStart = jTile * TILE_SIZE;
+        final int jEnd   = FastMath.min(columns.length, jStart + TILE_SIZE);
+        final int n      = columns[0].length;
+
+        for (int kStart = 0; kStart < n; kStart += ROW_CHUNK) {
+            final int kEnd = FastMath.min(n, kStart + ROW_CHUNK);
+            for (int i = iStart; i < iEnd; ++i) {
+                final double[] ci = columns[i];
+                final double[] pi = products[i];
+                // on diagonal tiles, only the lower triangular part is computed
+                final int jMax = (iTile == jTile) ? i + 1 : jEnd;
+                for (int j = jStart; j < jMax; ++j) {
+                    final double[] cj = columns[j];
+                    double sum = 0;
+                    for (int k = kStart; k < kEnd; ++k) {
+                        sum += ci[k] * cj[k];
+                    }
+                    pi[j] += sum;
+                }
+            }
+        }
+
+        // mirror the tile in the upper triangular part
+        for (int i = iStart; i < iEnd; ++i) {
+            final int jMax = (iTile == jTile) ? i : jEnd;
+            for (int j = jStart; j < jMax; ++j) {
+                products[j][i] = products[i][j];
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
@@ -23,6 +25,7 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.BlockRealMatrix;
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Computes covariances for pairs of arrays or columns of a matrix.
@@ -125,6 +128,34 @@ public class Covariance {
        covarianceMatrix = computeCovarianceMatrix(matrix, biasCorrected);
     }
 
+    /**
+     * Create a covariance matrix from a matrix whose columns
+     * represent covariates, using several threads.
+     *
+     * <p>The columns are centered once, and the covariance matrix is computed
+     * as the product X<sup>T</sup>X of the centered data, split in tiles that
+     * are computed in parallel. The result does not depend on the number of
+     * threads, but may differ from the one of {@link #Covariance(RealMatrix,
+     * boolean)} in the last bits.</p>
+     *
+     * <p>The matrix must have at least one column and two rows</p>
+     *
+     * @param matrix matrix with columns representing covariates
+     * @param biasCorrected true means covariances are bias-corrected
+     * @param executor executor service to use for running the tasks
+     * (see {@link org.apache.commons.math3.util.ConcurrencyUtils ConcurrencyUtils})
+     * @throws MathIllegalArgumentException if the input matrix does not have
+     * at least two rows and one column, or if the executor is null
+     * @since 3.3
+     */
+    public Covariance(RealMatrix matrix, boolean biasCorrected, ExecutorService executor)
+    throws MathIllegalArgumentException {
+       MathUtils.checkNotNull(executor);
+       checkSufficientData(matrix);
+       n = matrix.getRowDimension();
+       covarianceMatrix = computeCovarianceMatrix(matrix, biasCorrected, executor);
+    }
+
     /**
      * Create a covariance matrix from a matrix whose columns
      * represent covariates.
@@ -181,6 +212,33 @@ public class Covariance {
         return outMatrix;
     }
 
+    /**
+     * Compute a covariance matrix from a matrix whose columns represent
+     * covariates, using several threads.
+     * @param matrix input matrix (must have at least one column and two rows)
+     * @param biasCorrected determines whether or not covariance estimates are bias-corrected
+     * @param executor executor service to use for running the tasks
+     * (if null, all computations are done in the calling thread)
+     * @return covariance matrix
+     * @throws MathIllegalArgumentException if the matrix does not contain sufficient data
+     * @see #Covariance(RealMatrix, boolean, ExecutorService)
+     * @since 3.3
+     */
+    protected RealMatrix computeCovarianceMatrix(RealMatrix matrix, boolean biasCorrected,
+                                                 ExecutorService executor)
+    throws MathIllegalArgumentException {
+        final double[][] columns  = ColumnCrossProducts.centeredColumns(matrix, executor);
+        final double[][] products = ColumnCrossProducts.crossProducts(columns, executor);
+        final int rows = matrix.getRowDimension();
+        final double scale = 1.0 / (biasCorrected ? rows - 1 : rows);
+        for (final double[] row : products) {
+            for (int j = 0; j < row.length; ++j) {
+                row[j] *= scale;
+            }
+        }
+        return new BlockRealMatrix(products);
+    }
+
     /**
      * Create a covariance matrix from a matrix whose columns represent
      * covariates. Covariances are computed using the bias-corrected formula.
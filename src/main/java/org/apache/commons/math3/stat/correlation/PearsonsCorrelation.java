@@ -16,6 +16,8 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.commons.math3.distribution.TDistribution;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
@@ -25,6 +27,7 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.BlockRealMatrix;
 import org.apache.commons.math3.stat.regression.SimpleRegression;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Computes Pearson's product-moment correlation coefficients for pairs of arrays
@@ -82,6 +85,26 @@ public class PearsonsCorrelation {
         correlationMatrix = computeCorrelationMatrix(matrix);
     }
 
+    /**
+     * Create a PearsonsCorrelation from a RealMatrix whose columns
+     * represent variables to be correlated, using several threads.
+     *
+     * <p>The computation is explained in {@link
+     * #computeCorrelationMatrix(RealMatrix, ExecutorService)}.</p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor service to use for running the tasks
+     * @throws MathIllegalArgumentException if the matrix does not have at least
+     * two rows and two columns, or if the executor is null
+     * @since 3.3
+     */
+    public PearsonsCorrelation(RealMatrix matrix, ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        checkSufficientData(matrix);
+        nObs = matrix.getRowDimension();
+        correlationMatrix = computeCorrelationMatrix(matrix, executor);
+    }
+
     /**
      * Create a PearsonsCorrelation from a {@link Covariance}.  The correlation
      * matrix is computed by scaling the Covariance's covariance matrix.
@@ -200,6 +223,30 @@ public class PearsonsCorrelation {
         return outMatrix;
     }
 
+    /**
+     * Computes the correlation matrix for the columns of the
+     * input matrix, using several threads.
+     *
+     * <p>The columns are centered once, and their cross products are computed
+     * as the product X<sup>T</sup>X of the centered data, split in tiles that
+     * are computed in parallel. The correlation matrix is then derived from
+     * these cross products. The result does not depend on the number of threads,
+     * but may differ from the one of {@link #computeCorrelationMatrix(RealMatrix)}
+     * in the last bits.</p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor service to use for running the tasks
+     * (see {@link org.apache.commons.math3.util.ConcurrencyUtils ConcurrencyUtils})
+     * @return correlation matrix
+     * @throws NullArgumentException if the executor is null
+     * @since 3.3
+     */
+    public RealMatrix computeCorrelationMatrix(RealMatrix matrix, ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        final double[][] columns = ColumnCrossProducts.centeredColumns(matrix, executor);
+        return covarianceToCorrelation(new BlockRealMatrix(ColumnCrossProducts.crossProducts(columns, executor)));
+    }
+
     /**
      * Computes the correlation matrix for the columns of the
      * input rectangular array.  The colums of the array represent values
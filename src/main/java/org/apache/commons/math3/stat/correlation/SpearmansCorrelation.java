@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
@@ -30,6 +31,8 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.stat.ranking.NaNStrategy;
 import org.apache.commons.math3.stat.ranking.NaturalRanking;
 import org.apache.commons.math3.stat.ranking.RankingAlgorithm;
+import org.apache.commons.math3.stat.ranking.TiesStrategy;
+import org.apache.commons.math3.util.MathUtils;
 
 /**
  * Spearman's rank correlation. This implementation performs a rank
@@ -99,10 +102,33 @@ public class SpearmansCorrelation {
      */
     public SpearmansCorrelation(final RealMatrix dataMatrix, final RankingAlgorithm rankingAlgorithm) {
         this.rankingAlgorithm = rankingAlgorithm;
-        this.data = rankTransform(dataMatrix);
+        this.data = rankTransform(dataMatrix, null);
         rankCorrelation = new PearsonsCorrelation(data);
     }
 
+    /**
+     * Create a SpearmansCorrelation with the given input data matrix
+     * and ranking algorithm, using several threads.
+     * <p>
+     * The computation is explained in {@link
+     * #computeCorrelationMatrix(RealMatrix, ExecutorService)}.
+     *
+     * @param dataMatrix matrix of data with columns representing
+     * variables to correlate
+     * @param rankingAlgorithm ranking algorithm
+     * @param executor executor service to use for running the tasks
+     * @throws org.apache.commons.math3.exception.NullArgumentException
+     * if the executor is null
+     * @since 3.3
+     */
+    public SpearmansCorrelation(final RealMatrix dataMatrix, final RankingAlgorithm rankingAlgorithm,
+                                final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        this.rankingAlgorithm = rankingAlgorithm;
+        this.data = rankTransform(dataMatrix, executor);
+        rankCorrelation = new PearsonsCorrelation(data, executor);
+    }
+
     /**
      * Calculate the Spearman Rank Correlation Matrix.
      *
@@ -136,10 +162,35 @@ public class SpearmansCorrelation {
      * @return correlation matrix
      */
     public RealMatrix computeCorrelationMatrix(final RealMatrix matrix) {
-        final RealMatrix matrixCopy = rankTransform(matrix);
+        final RealMatrix matrixCopy = rankTransform(matrix, null);
         return new PearsonsCorrelation().computeCorrelationMatrix(matrixCopy);
     }
 
+    /**
+     * Computes the Spearman's rank correlation matrix for the columns of the
+     * input matrix, using several threads.
+     * <p>
+     * The columns are ranked in parallel when the ranking algorithm is a
+     * {@link NaturalRanking} that does not use the {@link TiesStrategy#RANDOM}
+     * ties strategy, other ranking algorithms are not assumed to be thread-safe
+     * and are applied to the columns one after the other. The correlation matrix
+     * of the ranks is then computed as explained in {@link
+     * PearsonsCorrelation#computeCorrelationMatrix(RealMatrix, ExecutorService)}.
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param executor executor service to use for running the tasks
+     * (see {@link org.apache.commons.math3.util.ConcurrencyUtils ConcurrencyUtils})
+     * @return correlation matrix
+     * @throws org.apache.commons.math3.exception.NullArgumentException
+     * if the executor is null
+     * @since 3.3
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix, final ExecutorService executor) {
+        MathUtils.checkNotNull(executor);
+        final RealMatrix matrixCopy = rankTransform(matrix, executor);
+        return new PearsonsCorrelation().computeCorrelationMatrix(matrixCopy, executor);
+    }
+
     /**
      * Computes the Spearman's rank correlation matrix for the columns of the
      * input rectangular array.  The columns of the array represent values
@@ -189,9 +240,11 @@ public class SpearmansCorrelation {
      * using the current <code>rankingAlgorithm</code>.
      *
      * @param matrix matrix to transform
+     * @param executor executor service to use for ranking the columns
+     * (if null, all columns are ranked in the calling thread)
      * @return a rank-transformed matrix
      */
-    private RealMatrix rankTransform(final RealMatrix matrix) {
+    private RealMatrix rankTransform(final RealMatrix matrix, final ExecutorService executor) {
         RealMatrix transformed = null;
 
         if (rankingAlgorithm instanceof NaturalRanking &&
@@ -215,13 +268,40 @@ public class SpearmansCorrelation {
             transformed = matrix.copy();
         }
 
-        for (int i = 0; i < transformed.getColumnDimension(); i++) {
-            transformed.setColumn(i, rankingAlgorithm.rank(transformed.getColumn(i)));
+        if (executor == null || !isThreadSafe(rankingAlgorithm)) {
+            for (int i = 0; i < transformed.getColumnDimension(); i++) {
+                transformed.setColumn(i, rankingAlgorithm.rank(transformed.getColumn(i)));
+            }
+        } else {
+            // rank the columns in parallel, and store them afterwards
+            final RealMatrix source = transformed;
+            final double[][] ranks = new double[source.getColumnDimension()][];
+            ColumnCrossProducts.forEachColumn(ranks.length, executor,
+                                              new ColumnCrossProducts.ColumnProcessor() {
+                /** {@inheritDoc} */
+                public void process(final int column) {
+                    ranks[column] = rankingAlgorithm.rank(source.getColumn(column));
+                }
+            });
+            for (int i = 0; i < ranks.length; i++) {
+                transformed.setColumn(i, ranks[i]);
+            }
         }
 
         return transformed;
     }
 
+    /**
+     * Check if a ranking algorithm can be used from several threads.
+     *
+     * @param algorithm ranking algorithm to check
+     * @return true if the algorithm is known to be thread-safe
+     */
+    private static boolean isThreadSafe(final RankingAlgorithm algorithm) {
+        return algorithm instanceof NaturalRanking &&
+               ((NaturalRanking) algorithm).getTiesStrategy() != TiesStrategy.RANDOM;
+    }
+
     /**
      * Returns a list containing the indices of NaN values in the input array.
      *
@@ -18,10 +18,13 @@
 package org.apache.commons.math3.stat.descriptive;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile;
 
 /**
  * <p>
@@ -234,6 +237,26 @@ public class AggregateSummaryStatistics implements StatisticalSummary,
         }
     }
 
+    /**
+     * Returns the percentile of all the aggregated data.
+     * <p>
+     * Percentiles are only computed if a percentile implementation has been
+     * configured in the prototype statistics (and in the initial statistics if
+     * they were provided), for example using a {@link
+     * org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile
+     * TDigestPercentile}. Otherwise, this method returns {@code Double.NaN}.
+     * </p>
+     *
+     * @return the percentile
+     * @see SummaryStatistics#getPercentile()
+     * @since 3.3
+     */
+    public double getPercentile() {
+        synchronized (statistics) {
+            return statistics.getPercentile();
+        }
+    }
+
     /**
      * Returns the sum of the squares of all the aggregated data.
      *
@@ -299,9 +322,16 @@ public class AggregateSummaryStatistics implements StatisticalSummary,
      * <p>
      * Returns null if the collection is empty or null.
      * </p>
+     * <p>
+     * The returned values do not include a percentile, as {@link
+     * StatisticalSummaryValues} has no room for one: the percentile sketches
+     * of the statistics are merged separately by {@link
+     * #aggregatePercentile(Collection)}.
+     * </p>
      *
      * @param statistics collection of SummaryStatistics to aggregate
      * @return summary statistics for the combined dataset
+     * @see #aggregatePercentile(Collection)
      */
     public static StatisticalSummaryValues aggregate(Collection<SummaryStatistics> statistics) {
         if (statistics == null) {
@@ -345,6 +375,42 @@ public class AggregateSummaryStatistics implements StatisticalSummary,
         return new StatisticalSummaryValues(mean, variance, n, max, min, sum);
     }
 
+    /**
+     * Computes the aggregate percentile sketch of a collection of summary
+     * statistics. This method is the percentile counterpart of {@link
+     * #aggregate(Collection)}: the {@link TDigestPercentile} sketches
+     * configured in the statistics (see {@link
+     * SummaryStatistics#setPercentileImpl(StorelessUnivariateStatistic)})
+     * are merged into a new sketch estimating the percentiles of the
+     * combined dataset. The statistics are not modified.
+     * <p>
+     * Other percentile implementations only provide the current estimate,
+     * which cannot be combined with the estimates of other subsamples, so
+     * null is returned if any of the statistics does not use a
+     * {@link TDigestPercentile}. Null is also returned if the collection is
+     * empty or null.
+     * </p>
+     *
+     * @param statistics collection of SummaryStatistics to aggregate
+     * @return percentile sketch for the combined dataset, using the
+     * compression and default percentile of the first sketch
+     * @since 3.3
+     */
+    public static TDigestPercentile aggregatePercentile(Collection<SummaryStatistics> statistics) {
+        if (statistics == null) {
+            return null;
+        }
+        final List<TDigestPercentile> digests = new ArrayList<TDigestPercentile>(statistics.size());
+        for (final SummaryStatistics current : statistics) {
+            final StorelessUnivariateStatistic percentile = current.getPercentileImpl();
+            if (!(percentile instanceof TDigestPercentile)) {
+                return null;
+            }
+            digests.add((TDigestPercentile) percentile);
+        }
+        return TDigestPercentile.aggregate(digests);
+    }
+
     /**
      * A SummaryStatistics that also forwards all values added to it to a second
      * {@code SummaryStatistics} for aggregation.
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+
+/**
+ * Summary statistics designed for concurrent ingestion of values by many threads.
+ * <p>
+ * {@link SynchronizedSummaryStatistics} serializes all threads on a single
+ * monitor, which becomes a bottleneck when many threads add values at a high
+ * rate. This class spreads the values over a fixed number of independent
+ * {@link SummaryStatistics} cells (stripes), each thread always updating the
+ * same cell, selected from its identifier. As long as there are more cells
+ * than concurrently active threads, cell monitors are almost never contended
+ * and writes scale nearly linearly with the number of threads.
+ * </p>
+ * <p>
+ * Statistics are computed on read, by merging the cells using the same
+ * formulas as {@link AggregateSummaryStatistics#aggregate(java.util.Collection)}.
+ * Reading is therefore much more expensive than writing; callers needing
+ * several statistics at once should use {@link #getSummary()} which merges
+ * the cells only once. Each cell is copied while holding its monitor, but
+ * cells are not all locked at the same time, so a summary computed while
+ * other threads are adding values reflects a subset of these values.
+ * </p>
+ *
+ * @see SynchronizedSummaryStatistics
+ * @see AggregateSummaryStatistics
+ * @version $Id$
+ * @since 3.3
+ */
+public class ConcurrentSummaryStatistics implements StatisticalSummary, Serializable {
+
+    /** Serializable version identifier */
+    private static final long serialVersionUID = 20131018L;
+
+    /** Statistics cells. */
+    private final SummaryStatistics[] cells;
+
+    /** Mask to convert hashed thread identifiers into cell indices. */
+    private final int mask;
+
+    /**
+     * Construct an instance with a number of cells adapted to the number of
+     * available processors.
+     */
+    public ConcurrentSummaryStatistics() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct an instance with a specified minimum number of cells.
+     * <p>
+     * The number of cells is rounded up to the next power of two.
+     * </p>
+     *
+     * @param minCells minimum number of cells
+     * @throws NotStrictlyPositiveException if {@code minCells} is not strictly positive
+     */
+    public ConcurrentSummaryStatistics(final int minCells) throws NotStrictlyPositiveException {
+        if (minCells <= 0) {
+            throw new NotStrictlyPositiveException(minCells);
+        }
+        int count = 1;
+        while (count < minCells && count < (1 << 30)) {
+            count <<= 1;
+        }
+        cells = new SummaryStatistics[count];
+        for (int i = 0; i < count; ++i) {
+            cells[i] = new SummaryStatistics();
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * Add a value to the data.
+     * <p>
+     * This method can be called concurrently by several threads.
+     * </p>
+     * @param value the value to add
+     */
+    public void addValue(final double value) {
+        final SummaryStatistics cell = cells[cellIndex()];
+        synchronized (cell) {
+            cell.addValue(value);
+        }
+    }
+
+    /**
+     * Resets all statistics.
+     * <p>
+     * Values added concurrently with a call to this method may or may not be
+     * kept.
+     * </p>
+     */
+    public void clear() {
+        for (final SummaryStatistics cell : cells) {
+            synchronized (cell) {
+                cell.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cells the values are spread over.
+     * @return number of cells
+     */
+    public int getCellsCount() {
+        return cells.length;
+    }
+
+    /**
+     * Return a snapshot of the current statistics.
+     * <p>
+     * All cells are merged once, so this method should be preferred to
+     * individual getters when several statistics are needed.
+     * </p>
+     * @return current values of statistics
+     */
+    public StatisticalSummaryValues getSummary() {
+
+        // copy the non-empty cells
+        final List<SummaryStatistics> snapshot = new ArrayList<SummaryStatistics>(cells.length);
+        for (final SummaryStatistics cell : cells) {
+            synchronized (cell) {
+                if (cell.getN() > 0) {
+                    snapshot.add(cell.copy());
+                }
+            }
+        }
+
+        if (snapshot.isEmpty()) {
+            return new StatisticalSummaryValues(Double.NaN, Double.NaN, 0,
+                                                Double.NaN, Double.NaN, 0);
+        }
+        return AggregateSummaryStatistics.aggregate(snapshot);
+
+    }
+
+    /**
+     * {@inheritDoc}.  This version merges all cells, use {@link #getSummary()}
+     * to retrieve several statistics at once.
+     */
+    public double getMean() {
+        return getSummary().getMean();
+    }
+
+    /**
+     * {@inheritDoc}.  This version merges all cells, use {@link #getSummary()}
+     * to retrieve several statistics at once.
+     */
+    public double getVariance() {
+        return getSummary().getVariance();
+    }
+
+    /**
+     * {@inheritDoc}.  This version merges all cells, use {@link #getSummary()}
+     * to retrieve several statistics at once.
+     */
+    public double getStandardDeviation() {
+        return getSummary().getStandardDeviation();
+    }
+
+    /**
+     * {@inheritDoc}.  This version merges all cells, use {@link #getSummary()}
+     * to retrieve several statistics at once.
+     */
+    public double getMax() {
+        return getSummary().getMax();
+    }
+
+    /**
+     * {@inheritDoc}.  This version merges all cells, use {@link #getSummary()}
+     * to retrieve several statistics at once.
+     */
+    public double getMin() {
+        return getSummary().getMin();
+    }
+
+    /**
+     * {@inheritDoc}.  This version only reads the cells counters.
+     */
+    public long getN() {
+        long n = 0;
+        for (final SummaryStatistics cell : cells) {
+            synchronized (cell) {
+                n += cell.getN();
+            }
+        }
+        return n;
+    }
+
+    /**
+     * {@inheritDoc}.  This version merges all cells, use {@link #getSummary()}
+     * to retrieve several statistics at once.
+     */
+    public double getSum() {
+        return getSummary().getSum();
+    }
+
+    /**
+     * Select the cell used by the current thread.
+     * @return index of the cell
+     */
+    private int cellIndex() {
+        // spread consecutive thread identifiers using a multiplicative hash
+        final long id = Thread.currentThread().getId();
+        final long h  = id * 0x9E3779B97F4A7C15L;
+        return ((int) (h ^ (h >>> 32))) & mask;
+    }
+
+}
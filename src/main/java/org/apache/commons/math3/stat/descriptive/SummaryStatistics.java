@@ -117,6 +117,9 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
     /** Variance statistic implementation - can be reset by setter. */
     private StorelessUnivariateStatistic varianceImpl = variance;
 
+    /** Percentile statistic implementation - not computed unless set by setter. */
+    private StorelessUnivariateStatistic percentileImpl = null;
+
     /**
      * Construct a SummaryStatistics instance
      */
@@ -165,6 +168,9 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         if (geoMeanImpl != geoMean) {
             geoMeanImpl.increment(value);
         }
+        if (percentileImpl != null) {
+            percentileImpl.increment(value);
+        }
         n++;
     }
 
@@ -299,6 +305,23 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         return sumLogImpl.getResult();
     }
 
+    /**
+     * Returns the percentile computed by the configured percentile implementation,
+     * or <code>Double.NaN</code> if no implementation has been configured or if no
+     * data has been added.
+     * <p>
+     * Percentiles are not computed by default, an implementation such as
+     * {@link org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile
+     * TDigestPercentile} must be set using {@link #setPercentileImpl(StorelessUnivariateStatistic)}
+     * before data is added.
+     * </p>
+     * @return the percentile
+     * @since 3.3
+     */
+    public double getPercentile() {
+        return (percentileImpl == null) ? Double.NaN : percentileImpl.getResult();
+    }
+
     /**
      * Returns a statistic related to the Second Central Moment.  Specifically,
      * what is returned is the sum of squared deviations from the sample mean
@@ -357,6 +380,9 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         if (varianceImpl != variance) {
             varianceImpl.clear();
         }
+        if (percentileImpl != null) {
+            percentileImpl.clear();
+        }
     }
 
     /**
@@ -645,6 +671,44 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         this.varianceImpl = varianceImpl;
     }
 
+    /**
+     * Returns the currently configured percentile implementation
+     * @return the StorelessUnivariateStatistic implementing the percentile,
+     * or null if percentiles are not computed
+     * @since 3.3
+     */
+    public StorelessUnivariateStatistic getPercentileImpl() {
+        return percentileImpl;
+    }
+
+    /**
+     * <p>
+     * Sets the implementation for the percentile.
+     * </p>
+     * <p>
+     * Percentiles are not computed by default. Setting a bounded-memory
+     * implementation such as {@link
+     * org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile
+     * TDigestPercentile} allows percentiles to be estimated without storing
+     * the data. Setting the implementation to null disables percentile computation.
+     * </p>
+     * <p>
+     * This method cannot be activated after data has been added - i.e.,
+     * after {@link #addValue(double) addValue} has been used to add data.
+     * If it is activated after data has been added, an IllegalStateException
+     * will be thrown.
+     * </p>
+     * @param percentileImpl the StorelessUnivariateStatistic instance to use for
+     *        computing the percentile (may be null)
+     * @throws MathIllegalStateException if data has already been added (i.e if n > 0)
+     * @since 3.3
+     */
+    public void setPercentileImpl(StorelessUnivariateStatistic percentileImpl)
+    throws MathIllegalStateException {
+        checkEmpty();
+        this.percentileImpl = percentileImpl;
+    }
+
     /**
      * Throws IllegalStateException if n > 0.
      * @throws MathIllegalStateException if data has been added
@@ -686,6 +750,7 @@ public class SummaryStatistics implements StatisticalSummary, Serializable {
         dest.sumLogImpl = source.sumLogImpl.copy();
         dest.sumsqImpl = source.sumsqImpl.copy();
         dest.secondMoment = source.secondMoment.copy();
+        dest.percentileImpl = (source.percentileImpl == null) ? null : source.percentileImpl.copy();
         dest.n = source.n;
 
         // Keep commons-math supplied statistics with embedded moments in synch
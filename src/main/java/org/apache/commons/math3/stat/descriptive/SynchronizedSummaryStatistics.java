@@ -152,6 +152,14 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
         return super.getGeometricMean();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double getPercentile() {
+        return super.getPercentile();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -320,6 +328,23 @@ public class SynchronizedSummaryStatistics extends SummaryStatistics {
         super.setVarianceImpl(varianceImpl);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized StorelessUnivariateStatistic getPercentileImpl() {
+        return super.getPercentileImpl();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setPercentileImpl(StorelessUnivariateStatistic percentileImpl)
+    throws MathIllegalStateException {
+        super.setPercentileImpl(percentileImpl);
+    }
+
     /**
      * Returns a copy of this SynchronizedSummaryStatistics instance with the
      * same internal state.
@@ -0,0 +1,580 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive.rank;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.stat.descriptive.AbstractStorelessUnivariateStatistic;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.MathArrays;
+import org.apache.commons.math3.util.MathUtils;
+
+/**
+ * Estimates percentiles of a data stream using a bounded amount of memory.
+ * <p>
+ * This implementation uses the merging variant of the t-digest algorithm
+ * by Ted Dunning. Values are first collected in a small buffer. When the
+ * buffer is full, it is sorted and merged with a sorted list of weighted
+ * centroids, adjacent values being combined as long as the centroid weights
+ * remain compatible with a scale function. The scale function used here
+ * keeps centroids small near the extreme quantiles and lets them grow near
+ * the median, so tail percentiles such as the 99<sup>th</sup> or the
+ * 99.9<sup>th</sup> are estimated with a much better accuracy than central
+ * ones.
+ * </p>
+ * <p>
+ * The number of centroids is bounded by about the compression parameter, so
+ * the memory used does not depend on the number of values added. The rank
+ * of an estimated q-quantile is off by at most about (&pi; / compression)
+ * &radic;(q (1 - q)), i.e. 1.6% of the data at the median and 0.3% at the
+ * 99<sup>th</sup> percentile with the default compression of 100, and is
+ * usually much closer.
+ * </p>
+ * <p>
+ * Instances built independently (for example by different threads, or over
+ * different partitions of a data set) can be combined using {@link
+ * #merge(TDigestPercentile)} or {@link #aggregate(Collection)}.
+ * </p>
+ * <p>
+ * {@link #getResult()} returns the percentile configured using {@link
+ * #setQuantile(double)}, but any other percentile can be retrieved from the
+ * same instance using {@link #getResult(double)}. For small data sets (up to
+ * a few dozen values), the result of {@link #getResult(double) getResult(50)}
+ * is the exact median. {@code NaN} values are ignored.
+ * </p>
+ * <p>
+ * <strong>Note that this implementation is not synchronized.</strong> If
+ * multiple threads access an instance of this class concurrently, and at least
+ * one of the threads invokes the <code>increment()</code>, <code>merge()</code>
+ * or <code>clear()</code> method, it must be synchronized externally. Note that
+ * computing a result may compact the internal state, hence it must also be
+ * synchronized with updates.</p>
+ *
+ * @see <a href="https://github.com/tdunning/t-digest">t-digest</a>
+ * @see Percentile
+ * @version $Id$
+ * @since 3.3
+ */
+public class TDigestPercentile extends AbstractStorelessUnivariateStatistic implements Serializable {
+
+    /** Default compression. */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    /** Serializable version identifier */
+    private static final long serialVersionUID = 20131018L;
+
+    /** Smallest allowed compression. */
+    private static final double MIN_COMPRESSION = 10;
+
+    /** Ratio between buffer size and compression. */
+    private static final int BUFFER_RATIO = 5;
+
+    /** Compression parameter (approximate maximum number of centroids). */
+    private double compression;
+
+    /** Default percentile to compute, between 0 (exclusive) and 100 (inclusive). */
+    private double quantile;
+
+    /** Number of values that have been added. */
+    private long n;
+
+    /** Smallest value added. */
+    private double min;
+
+    /** Largest value added. */
+    private double max;
+
+    /** Means of the centroids, sorted in increasing order. */
+    private double[] means;
+
+    /** Weights of the centroids. */
+    private double[] weights;
+
+    /** Number of centroids. */
+    private int centroids;
+
+    /** Total weight of the centroids. */
+    private double centroidsWeight;
+
+    /** Values not yet merged into centroids. */
+    private double[] buffer;
+
+    /** Number of values in the buffer. */
+    private int buffered;
+
+    /** Work array for the means of merged centroids. */
+    private double[] workMeans;
+
+    /** Work array for the weights of merged centroids. */
+    private double[] workWeights;
+
+    /**
+     * Constructs an instance estimating the median with the default compression.
+     */
+    public TDigestPercentile() {
+        this(50.0);
+    }
+
+    /**
+     * Constructs an instance with the default compression.
+     *
+     * @param p default percentile to compute
+     * @throws OutOfRangeException if p is not greater than 0 and less
+     * than or equal to 100
+     */
+    public TDigestPercentile(final double p) throws OutOfRangeException {
+        this(p, DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructs an instance.
+     * <p>
+     * Larger compression values give more accurate results at the expense of
+     * memory and computation time. The number of centroids is about the
+     * compression value.
+     * </p>
+     *
+     * @param p default percentile to compute
+     * @param compression compression parameter, must be at least 10
+     * @throws OutOfRangeException if p is not greater than 0 and less
+     * than or equal to 100
+     * @throws NumberIsTooSmallException if compression is smaller than 10
+     */
+    public TDigestPercentile(final double p, final double compression)
+        throws OutOfRangeException, NumberIsTooSmallException {
+        if (compression < MIN_COMPRESSION) {
+            throw new NumberIsTooSmallException(compression, MIN_COMPRESSION, true);
+        }
+        setQuantile(p);
+        this.compression = compression;
+        final int capacity = (int) FastMath.ceil(compression) + 10;
+        means       = new double[capacity];
+        weights     = new double[capacity];
+        workMeans   = new double[capacity];
+        workWeights = new double[capacity];
+        buffer      = new double[BUFFER_RATIO * capacity];
+        clear();
+    }
+
+    /**
+     * Copy constructor, creates a new {@code TDigestPercentile} identical
+     * to the {@code original}
+     *
+     * @param original the {@code TDigestPercentile} instance to copy
+     * @throws NullArgumentException if original is null
+     */
+    public TDigestPercentile(final TDigestPercentile original) throws NullArgumentException {
+        copy(original, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void increment(final double d) {
+        if (Double.isNaN(d)) {
+            return;
+        }
+        if (buffered == buffer.length) {
+            flush();
+        }
+        buffer[buffered++] = d;
+        if (n == 0 || d < min) {
+            min = d;
+        }
+        if (n == 0 || d > max) {
+            max = d;
+        }
+        ++n;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        n               = 0;
+        min             = Double.NaN;
+        max             = Double.NaN;
+        centroids       = 0;
+        centroidsWeight = 0;
+        buffered        = 0;
+    }
+
+    /**
+     * Returns an estimate of the percentile set by {@link #setQuantile(double)},
+     * or {@code Double.NaN} if no values have been added.
+     *
+     * @return estimate of the default percentile
+     */
+    @Override
+    public double getResult() {
+        return getResult(quantile);
+    }
+
+    /**
+     * Returns an estimate of the p<sup>th</sup> percentile of the values added so far.
+     *
+     * @param p the percentile to estimate
+     * @return estimate of the p<sup>th</sup> percentile, or {@code Double.NaN}
+     * if no values have been added
+     * @throws OutOfRangeException if p is not greater than 0 and less
+     * than or equal to 100
+     */
+    public double getResult(final double p) throws OutOfRangeException {
+
+        checkQuantile(p);
+        if (n == 0) {
+            return Double.NaN;
+        }
+        flush();
+
+        // each centroid is considered to be located at the middle of its weight,
+        // the min and max values being located at both ends of the cumulated weight
+        final double target = centroidsWeight * p / 100.0;
+        double left = 0.5 * weights[0];
+        if (target <= left) {
+            return interpolate(target, 0, min, left, means[0]);
+        }
+        for (int i = 1; i < centroids; ++i) {
+            final double right = left + 0.5 * (weights[i - 1] + weights[i]);
+            if (target <= right) {
+                return interpolate(target, left, means[i - 1], right, means[i]);
+            }
+            left = right;
+        }
+        return interpolate(target, left, means[centroids - 1], centroidsWeight, max);
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * Returns the value of the default percentile computed by {@link #getResult()}.
+     *
+     * @return the default percentile
+     */
+    public double getQuantile() {
+        return quantile;
+    }
+
+    /**
+     * Sets the value of the default percentile computed by {@link #getResult()}.
+     * <p>
+     * The default percentile can be changed at any time, it does not change
+     * the data retained by the instance.
+     * </p>
+     *
+     * @param p a value between 0 &lt; p &lt;= 100
+     * @throws OutOfRangeException if p is not greater than 0 and less
+     * than or equal to 100
+     */
+    public void setQuantile(final double p) throws OutOfRangeException {
+        checkQuantile(p);
+        quantile = p;
+    }
+
+    /**
+     * Returns the compression parameter.
+     *
+     * @return the compression parameter
+     */
+    public double getCompression() {
+        return compression;
+    }
+
+    /**
+     * Returns the number of centroids currently used to summarize the data.
+     * <p>
+     * This method is mainly useful to check memory consumption, it flushes
+     * the internal buffer.
+     * </p>
+     *
+     * @return number of centroids
+     */
+    public int getCentroidsCount() {
+        flush();
+        return centroids;
+    }
+
+    /**
+     * Merges the data summarized by another instance into this instance.
+     * <p>
+     * After the merge, this instance estimates the percentiles of the union
+     * of both data sets. The other instance is not modified.
+     * </p>
+     *
+     * @param other instance to merge into this one
+     * @throws NullArgumentException if other is null
+     */
+    public void merge(final TDigestPercentile other) throws NullArgumentException {
+
+        MathUtils.checkNotNull(other);
+        if (other.n == 0) {
+            return;
+        }
+        if (n == 0 || other.min < min) {
+            min = other.min;
+        }
+        if (n == 0 || other.max > max) {
+            max = other.max;
+        }
+        n += other.n;
+
+        // merge the other centroids, then the other buffered values
+        if (other.centroids > 0) {
+            mergeCentroids(other.means, other.weights, other.centroids, other.centroidsWeight);
+        }
+        if (other.buffered > 0) {
+            final double[] sorted = MathArrays.copyOf(other.buffer, other.buffered);
+            Arrays.sort(sorted);
+            mergeCentroids(sorted, null, sorted.length, sorted.length);
+        }
+
+    }
+
+    /**
+     * Merges a collection of instances into a new one.
+     * <p>
+     * The returned instance uses the compression and default percentile of
+     * the first element of the collection. The instances in the collection
+     * are not modified.
+     * </p>
+     *
+     * @param digests instances to merge
+     * @return a new instance summarizing the data of all instances, or null
+     * if the collection is empty
+     * @throws NullArgumentException if digests is null
+     */
+    public static TDigestPercentile aggregate(final Collection<TDigestPercentile> digests)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(digests);
+        final Iterator<TDigestPercentile> iterator = digests.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        final TDigestPercentile first = iterator.next();
+        final TDigestPercentile result = new TDigestPercentile(first.quantile, first.compression);
+        result.merge(first);
+        while (iterator.hasNext()) {
+            result.merge(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TDigestPercentile copy() {
+        final TDigestPercentile result = new TDigestPercentile(quantile, compression);
+        // No try-catch or advertised exception because args are non-null
+        copy(this, result);
+        return result;
+    }
+
+    /**
+     * Copies source to dest.
+     * <p>Neither source nor dest can be null.</p>
+     *
+     * @param source TDigestPercentile to copy
+     * @param dest TDigestPercentile to copy to
+     * @throws NullArgumentException if either source or dest is null
+     */
+    public static void copy(final TDigestPercentile source, final TDigestPercentile dest)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(source);
+        MathUtils.checkNotNull(dest);
+        dest.setData(source.getDataRef());
+        dest.compression     = source.compression;
+        dest.quantile        = source.quantile;
+        dest.n               = source.n;
+        dest.min             = source.min;
+        dest.max             = source.max;
+        dest.means           = source.means.clone();
+        dest.weights         = source.weights.clone();
+        dest.centroids       = source.centroids;
+        dest.centroidsWeight = source.centroidsWeight;
+        dest.buffer          = source.buffer.clone();
+        dest.buffered        = source.buffered;
+        dest.workMeans       = new double[source.workMeans.length];
+        dest.workWeights     = new double[source.workWeights.length];
+    }
+
+    /**
+     * Check a percentile value.
+     *
+     * @param p percentile to check
+     * @throws OutOfRangeException if p is not greater than 0 and less
+     * than or equal to 100
+     */
+    private static void checkQuantile(final double p) throws OutOfRangeException {
+        if (p <= 0 || p > 100) {
+            throw new OutOfRangeException(LocalizedFormats.OUT_OF_BOUNDS_QUANTILE_VALUE, p, 0, 100);
+        }
+    }
+
+    /**
+     * Linear interpolation between two points, clamped to the range of the data.
+     *
+     * @param x abscissa at which interpolation is performed
+     * @param x0 abscissa of the first point
+     * @param y0 ordinate of the first point
+     * @param x1 abscissa of the second point
+     * @param y1 ordinate of the second point
+     * @return interpolated value
+     */
+    private double interpolate(final double x,
+                               final double x0, final double y0,
+                               final double x1, final double y1) {
+        if (y0 == y1 || x1 <= x0) {
+            // this also handles infinite values
+            return y1;
+        }
+        final double y = y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+        return FastMath.max(min, FastMath.min(max, y));
+    }
+
+    /**
+     * Merge the buffered values into the centroids.
+     */
+    private void flush() {
+        if (buffered > 0) {
+            Arrays.sort(buffer, 0, buffered);
+            mergeCentroids(buffer, null, buffered, buffered);
+            buffered = 0;
+        }
+    }
+
+    /**
+     * Merge a sorted list of weighted points into the centroids.
+     *
+     * @param otherMeans sorted means of the points to merge
+     * @param otherWeights weights of the points to merge (null if all points
+     * have unit weight)
+     * @param otherCount number of points to merge
+     * @param otherWeight total weight of the points to merge
+     */
+    private void mergeCentroids(final double[] otherMeans, final double[] otherWeights,
+                                final int otherCount, final double otherWeight) {
+
+        final double total = centroidsWeight + otherWeight;
+
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        double currentMean   = 0;
+        double currentWeight = 0;
+        double cumulated     = 0;
+        double limit         = 0;
+        while (i < centroids || j < otherCount) {
+
+            // pick the smallest pending point from both sorted lists
+            final double mean;
+            final double weight;
+            if (j >= otherCount || (i < centroids && means[i] <= otherMeans[j])) {
+                mean   = means[i];
+                weight = weights[i];
+                ++i;
+            } else {
+                mean   = otherMeans[j];
+                weight = (otherWeights == null) ? 1.0 : otherWeights[j];
+                ++j;
+            }
+
+            if (currentWeight > 0 && cumulated + currentWeight + weight <= limit) {
+                // the point can be merged into the current centroid
+                currentWeight += weight;
+                currentMean   += (mean - currentMean) * weight / currentWeight;
+            } else {
+                // store the current centroid and start a new one
+                if (currentWeight > 0) {
+                    count = store(count, currentMean, currentWeight);
+                    cumulated += currentWeight;
+                }
+                limit         = total * upperQuantile(cumulated / total);
+                currentMean   = mean;
+                currentWeight = weight;
+            }
+
+        }
+        count = store(count, currentMean, currentWeight);
+
+        // swap the work arrays and the centroids arrays
+        final double[] tmpMeans   = means;
+        final double[] tmpWeights = weights;
+        means           = workMeans;
+        weights         = workWeights;
+        workMeans       = tmpMeans;
+        workWeights     = tmpWeights;
+        centroids       = count;
+        centroidsWeight = total;
+
+        if (workMeans.length < means.length) {
+            workMeans   = new double[means.length];
+            workWeights = new double[weights.length];
+        }
+
+    }
+
+    /**
+     * Store a centroid in the work arrays, growing them if needed.
+     *
+     * @param index index at which the centroid should be stored
+     * @param mean mean of the centroid
+     * @param weight weight of the centroid
+     * @return index at which next centroid should be stored
+     */
+    private int store(final int index, final double mean, final double weight) {
+        if (index == workMeans.length) {
+            workMeans   = MathArrays.copyOf(workMeans,   2 * index);
+            workWeights = MathArrays.copyOf(workWeights, 2 * index);
+        }
+        workMeans[index]   = mean;
+        workWeights[index] = weight;
+        return index + 1;
+    }
+
+    /**
+     * Compute the largest quantile a centroid starting at a given quantile can reach.
+     * <p>
+     * The centroid size is limited by the scale function
+     * k(q) = &delta; / (2&pi;) asin(2q - 1), which must not increase by more
+     * than one unit across a centroid.
+     * </p>
+     *
+     * @param q quantile at which the centroid starts
+     * @return largest quantile the centroid can reach
+     */
+    private double upperQuantile(final double q) {
+        final double k = FastMath.asin(2 * q - 1) + 2 * FastMath.PI / compression;
+        return (k >= 0.5 * FastMath.PI) ? 1.0 : 0.5 * (FastMath.sin(k) + 1);
+    }
+
+}
@@ -0,0 +1,434 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.regression;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This class is an updatable and mergeable implementation of ordinary
+ * least squares regression, based on a QR decomposition of the design
+ * matrix augmented with the regressand.
+ *
+ * <p>Only the upper triangular factor R of the augmented matrix [X y]
+ * is stored, which requires O(p<sup>2</sup>) memory for p regressors,
+ * regardless of the number of observations. Observations are eliminated
+ * into this factor using Householder reflections applied to batches of
+ * rows, so large batches added through {@link #addObservations(double[][],
+ * double[])} are processed efficiently.</p>
+ *
+ * <p>Since R<sup>T</sup>R is the cross products matrix of the augmented
+ * data, two instances built from disjoint sets of observations can be
+ * {@link #merge(QRUpdatingRegression) merged} by eliminating the factor
+ * of one instance into the other. This allows to process huge data sets
+ * by chunks in several threads (one instance per thread) or several
+ * processes (the class is serializable), and to combine the partial
+ * results at the end. Instances are not thread-safe by themselves.</p>
+ *
+ * <p>Linear dependencies between regressors are detected when the regression
+ * is performed, using the same kind of tolerance as {@link MillerUpdatingRegression}:
+ * the parameters associated with dependent regressors are set to NaN.</p>
+ *
+ * @see MillerUpdatingRegression
+ * @version $Id$
+ * @since 3.3
+ */
+public class QRUpdatingRegression implements UpdatingMultipleLinearRegression, Serializable {
+
+    /** Default relative tolerance for detecting linear dependencies. */
+    public static final double DEFAULT_TOLERANCE = 1.0e-12;
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20131021L;
+
+    /** Maximal number of observations eliminated at once. */
+    private static final int BATCH_SIZE = 128;
+
+    /** Number of variables in regression (including the constant if any). */
+    private final int nvars;
+
+    /** Boolean flag whether a regression constant is added. */
+    private final boolean hasIntercept;
+
+    /** Relative tolerance for detecting linear dependencies. */
+    private final double epsilon;
+
+    /** Upper triangular factor of the augmented matrix [X y], stored by rows. */
+    private final double[][] r;
+
+    /** Number of observations entered. */
+    private long nobs;
+
+    /** Summation of Y variable. */
+    private double sumy;
+
+    /** Summation of squared Y values. */
+    private double sumsqy;
+
+    /**
+     * Primary constructor for the QRUpdatingRegression.
+     *
+     * @param numberOfVariables number of regressors to expect, not including constant
+     * @param includeConstant include a constant automatically
+     * @throws ModelSpecificationException if {@code numberOfVariables is less than 1}
+     */
+    public QRUpdatingRegression(final int numberOfVariables, final boolean includeConstant)
+        throws ModelSpecificationException {
+        this(numberOfVariables, includeConstant, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * This is the augmented constructor for the QRUpdatingRegression class.
+     *
+     * @param numberOfVariables number of regressors to expect, not including constant
+     * @param includeConstant include a constant automatically
+     * @param errorTolerance relative tolerance for detecting linear dependencies
+     * @throws ModelSpecificationException if {@code numberOfVariables is less than 1}
+     */
+    public QRUpdatingRegression(final int numberOfVariables, final boolean includeConstant,
+                                final double errorTolerance)
+        throws ModelSpecificationException {
+        if (numberOfVariables < 1) {
+            throw new ModelSpecificationException(LocalizedFormats.NO_REGRESSORS);
+        }
+        this.nvars        = includeConstant ? numberOfVariables + 1 : numberOfVariables;
+        this.hasIntercept = includeConstant;
+        this.epsilon      = FastMath.abs(errorTolerance);
+        this.r            = new double[nvars + 1][nvars + 1];
+        clear();
+    }
+
+    /**
+     * A getter method which determines whether a constant is included.
+     * @return true regression has an intercept, false no intercept
+     */
+    public boolean hasIntercept() {
+        return hasIntercept;
+    }
+
+    /**
+     * Gets the number of observations added to the regression model.
+     * @return number of observations
+     */
+    public long getN() {
+        return nobs;
+    }
+
+    /**
+     * Adds an observation to the regression model.
+     * @param x the array with regressor values
+     * @param y  the value of dependent variable given these regressors
+     * @exception ModelSpecificationException if the length of {@code x} does not equal
+     * the number of independent variables in the model
+     */
+    public void addObservation(final double[] x, final double y)
+        throws ModelSpecificationException {
+        addObservations(new double[][] { x }, new double[] { y });
+    }
+
+    /**
+     * Adds multiple observations to the model.
+     * @param x observations on the regressors
+     * @param y observations on the regressand
+     * @throws ModelSpecificationException if {@code x} is not rectangular, does not match
+     * the length of {@code y} or does not contain sufficient data to estimate the model
+     */
+    public void addObservations(final double[][] x, final double[] y)
+        throws ModelSpecificationException {
+
+        if ((x == null) || (y == null) || (x.length != y.length)) {
+            throw new ModelSpecificationException(
+                  LocalizedFormats.DIMENSIONS_MISMATCH_SIMPLE,
+                  (x == null) ? 0 : x.length,
+                  (y == null) ? 0 : y.length);
+        }
+        final int offset = hasIntercept ? 1 : 0;
+        for (final double[] row : x) {
+            if (row.length + offset != nvars) {
+                throw new ModelSpecificationException(LocalizedFormats.INVALID_REGRESSION_OBSERVATION,
+                                                      row.length, nvars);
+            }
+        }
+
+        // eliminate the observations by batches, stored by columns
+        final double[][] columns = new double[nvars + 1][FastMath.min(BATCH_SIZE, x.length)];
+        for (int start = 0; start < x.length; start += BATCH_SIZE) {
+            final int count = FastMath.min(BATCH_SIZE, x.length - start);
+            for (int i = 0; i < count; ++i) {
+                final double[] row = x[start + i];
+                if (hasIntercept) {
+                    columns[0][i] = 1.0;
+                }
+                for (int k = 0; k < row.length; ++k) {
+                    columns[k + offset][i] = row[k];
+                }
+                final double yi = y[start + i];
+                columns[nvars][i] = yi;
+                sumy   += yi;
+                sumsqy += yi * yi;
+            }
+            eliminate(r, columns, count, 0);
+        }
+        nobs += x.length;
+
+    }
+
+    /**
+     * Merges the observations of another model into this one.
+     * <p>The other model is not modified. The result is the same as if all
+     * the observations of the other model had been added to this one.</p>
+     * @param other model to merge
+     * @throws ModelSpecificationException if the models do not have the same
+     * number of variables or do not agree about the regression constant
+     */
+    public void merge(final QRUpdatingRegression other) throws ModelSpecificationException {
+        if (other.nvars != nvars || other.hasIntercept != hasIntercept) {
+            throw new ModelSpecificationException(LocalizedFormats.DIMENSIONS_MISMATCH_SIMPLE,
+                                                  other.nvars, nvars);
+        }
+
+        // the rows of the other factor are equivalent to its observations
+        final double[][] columns = new double[nvars + 1][nvars + 1];
+        for (int i = 0; i <= nvars; ++i) {
+            for (int k = i; k <= nvars; ++k) {
+                columns[k][i] = other.r[i][k];
+            }
+        }
+        eliminate(r, columns, nvars + 1, 0);
+
+        nobs   += other.nobs;
+        sumy   += other.sumy;
+        sumsqy += other.sumsqy;
+    }
+
+    /**
+     * Clears internal buffers and resets the regression model. This means all
+     * data and derived values are initialized
+     */
+    public void clear() {
+        for (final double[] row : r) {
+            Arrays.fill(row, 0.0);
+        }
+        nobs   = 0;
+        sumy   = 0.0;
+        sumsqy = 0.0;
+    }
+
+    /**
+     * Conducts a regression on the data in the model, using all regressors.
+     *
+     * @return RegressionResults the structure holding all regression results
+     * @exception  ModelSpecificationException - thrown if number of observations is
+     * less than the number of variables
+     */
+    public RegressionResults regress() throws ModelSpecificationException {
+        final int[] all = new int[nvars];
+        for (int i = 0; i < nvars; ++i) {
+            all[i] = i;
+        }
+        return regress(all);
+    }
+
+    /**
+     * Conducts a regression on the data in the model, using a subset of regressors.
+     * <p>The factor of the subset is computed from the stored factor, so the
+     * model is not changed by this method and it can be called several times
+     * with different subsets.</p>
+     *
+     * @param variablesToInclude array of variables to include in regression
+     * (the constant, if any, has index 0)
+     * @return RegressionResults the structure holding all regression results
+     * @exception  ModelSpecificationException - thrown if number of observations is
+     * less than the number of variables or a regressor index in regressor
+     * array does not exist
+     * @exception MathIllegalArgumentException if the variablesToInclude array is null or zero length
+     */
+    public RegressionResults regress(final int[] variablesToInclude)
+        throws ModelSpecificationException, MathIllegalArgumentException {
+
+        if (variablesToInclude == null || variablesToInclude.length == 0) {
+            throw new MathIllegalArgumentException(LocalizedFormats.ARRAY_ZERO_LENGTH_OR_NULL_NOT_ALLOWED);
+        }
+
+        // sort and remove duplicates
+        final int[] sorted = variablesToInclude.clone();
+        Arrays.sort(sorted);
+        int m = 0;
+        for (int i = 0; i < sorted.length; ++i) {
+            if (sorted[i] < 0 || sorted[i] >= nvars) {
+                throw new ModelSpecificationException(LocalizedFormats.INDEX_LARGER_THAN_MAX,
+                                                      sorted[i], nvars);
+            }
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[m++] = sorted[i];
+            }
+        }
+
+        if (nobs <= m) {
+            throw new ModelSpecificationException(LocalizedFormats.NOT_ENOUGH_DATA_FOR_NUMBER_OF_PREDICTORS,
+                                                  nobs, m);
+        }
+
+        // factor of the selected columns: the selected columns of R have the same
+        // cross products as the selected columns of X, they just need to be triangularized
+        final double[][] s = new double[m + 1][m + 1];
+        final double[][] columns = new double[m + 1][nvars + 1];
+        for (int k = 0; k <= m; ++k) {
+            final int col = (k < m) ? sorted[k] : nvars;
+            for (int i = 0; i <= col; ++i) {
+                columns[k][i] = r[i][col];
+            }
+        }
+        eliminate(s, columns, nvars + 1, 0);
+
+        // detect linear dependencies, re-including the corresponding rows
+        // in the following ones so their information is not lost
+        final boolean[] lindep = new boolean[m];
+        final double[] row = new double[m + 1];
+        final double[][] single = new double[m + 1][1];
+        int rank = 0;
+        for (int j = 0; j < m; ++j) {
+            double scale = 0;
+            for (int i = 0; i <= j; ++i) {
+                scale += FastMath.abs(s[i][j]);
+            }
+            if (FastMath.abs(s[j][j]) <= epsilon * scale) {
+                lindep[j] = true;
+                System.arraycopy(s[j], 0, row, 0, m + 1);
+                Arrays.fill(s[j], 0.0);
+                for (int k = 0; k <= m; ++k) {
+                    single[k][0] = (k > j) ? row[k] : 0.0;
+                }
+                eliminate(s, single, 1, j + 1);
+            } else {
+                ++rank;
+            }
+        }
+
+        // parameters, by back substitution
+        final double[] beta = new double[m];
+        for (int i = m - 1; i >= 0; --i) {
+            if (lindep[i]) {
+                beta[i] = Double.NaN;
+            } else {
+                double sum = s[i][m];
+                for (int k = i + 1; k < m; ++k) {
+                    if (!lindep[k]) {
+                        sum -= s[i][k] * beta[k];
+                    }
+                }
+                beta[i] = sum / s[i][i];
+            }
+        }
+
+        // variance-covariance matrix, sigma^2 (R^T R)^-1 = sigma^2 R^-1 R^-T,
+        // stored in symmetric compressed form
+        final double sse = s[m][m] * s[m][m];
+        final double var = sse / (nobs - rank);
+        final double[][] rInv = new double[m][m];
+        for (int j = 0; j < m; ++j) {
+            if (!lindep[j]) {
+                rInv[j][j] = 1.0 / s[j][j];
+                for (int i = j - 1; i >= 0; --i) {
+                    if (!lindep[i]) {
+                        double sum = 0;
+                        for (int k = i + 1; k <= j; ++k) {
+                            sum += s[i][k] * rInv[k][j];
+                        }
+                        rInv[i][j] = -sum / s[i][i];
+                    }
+                }
+            }
+        }
+        final double[] cov = new double[m * (m + 1) / 2];
+        for (int col = 0; col < m; ++col) {
+            for (int i = 0; i <= col; ++i) {
+                final int index = (col + 1) * col / 2 + i;
+                if (lindep[i] || lindep[col]) {
+                    cov[index] = Double.NaN;
+                } else {
+                    double sum = 0;
+                    for (int k = col; k < m; ++k) {
+                        sum += rInv[i][k] * rInv[col][k];
+                    }
+                    cov[index] = var * sum;
+                }
+            }
+        }
+
+        final boolean containsConstant = hasIntercept && sorted[0] == 0;
+        return new RegressionResults(beta, new double[][] { cov }, true,
+                                     nobs, rank, sumy, sumsqy, sse, containsConstant, false);
+
+    }
+
+    /**
+     * Eliminates a batch of rows into an upper triangular factor.
+     * <p>For each column j, a Householder reflection combining row j of the
+     * factor and the batch rows cancels the batch entries in column j. Once
+     * all columns have been processed, the batch rows are all zero.</p>
+     * @param factor upper triangular factor, updated in place
+     * @param columns batch rows, stored by columns (the batch is destroyed)
+     * @param count number of rows in the batch
+     * @param start first column to eliminate (the batch entries of previous
+     * columns must be zero)
+     */
+    private static void eliminate(final double[][] factor, final double[][] columns,
+                                  final int count, final int start) {
+        final int last = factor.length - 1;
+        for (int j = start; j <= last; ++j) {
+
+            final double[] aj = columns[j];
+            double norm2 = 0;
+            for (int i = 0; i < count; ++i) {
+                norm2 += aj[i] * aj[i];
+            }
+            if (norm2 == 0) {
+                // nothing to eliminate in this column
+                continue;
+            }
+
+            final double[] fj    = factor[j];
+            final double   rjj   = fj[j];
+            final double   sigma = FastMath.sqrt(rjj * rjj + norm2);
+            final double   alpha = (rjj > 0) ? -sigma : sigma;
+            final double   v0    = rjj - alpha;
+            final double   f     = 2 / (v0 * v0 + norm2);
+
+            // apply the reflection to the remaining columns
+            for (int k = j + 1; k <= last; ++k) {
+                final double[] ak = columns[k];
+                double sum = v0 * fj[k];
+                for (int i = 0; i < count; ++i) {
+                    sum += aj[i] * ak[i];
+                }
+                final double g = f * sum;
+                fj[k] -= g * v0;
+                for (int i = 0; i < count; ++i) {
+                    ak[i] -= g * aj[i];
+                }
+            }
+            fj[j] = alpha;
+
+        }
+    }
+
+}
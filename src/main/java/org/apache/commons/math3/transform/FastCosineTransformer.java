@@ -22,8 +22,7 @@ import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
-import org.apache.commons.math3.exception.util.LocalizedFormats;
-import org.apache.commons.math3.util.ArithmeticUtils;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.util.FastMath;
 
 /**
@@ -56,9 +55,12 @@ import org.apache.commons.math3.util.FastMath;
  * &nbsp;&nbsp;&nbsp;&nbsp;k = 0, &hellip;, N-1.
  * <p>
  * The present implementation of the discrete cosine transform as a fast cosine
- * transform requires the length of the data set to be a power of two plus one
- * (N&nbsp;=&nbsp;2<sup>n</sup>&nbsp;+&nbsp;1). Besides, it implicitly assumes
- * that the sampled function is even.
+ * transform accepts data sets of any length N &ge; 2. It is fastest when N - 1
+ * is even, as a Fourier transform of size N - 1 is used, otherwise the Fourier
+ * transform of the extended data set (of size 2N - 2) is computed. Lengths
+ * for which N - 1 is not a power of two rely on the mixed-radix and Bluestein
+ * algorithms of {@link FastFourierTransformer}. Besides, the present
+ * implementation implicitly assumes that the sampled function is even.
  *
  * @version $Id$
  * @since 1.2
@@ -86,7 +88,7 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
      * {@inheritDoc}
      *
      * @throws MathIllegalArgumentException if the length of the data array is
-     * not a power of two plus one
+     * smaller than 2
      */
     public double[] transform(final double[] f, final TransformType type)
       throws MathIllegalArgumentException {
@@ -115,7 +117,7 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
      * @throws org.apache.commons.math3.exception.NotStrictlyPositiveException
      * if the number of sample points is negative
      * @throws MathIllegalArgumentException if the number of sample points is
-     * not a power of two plus one
+     * smaller than 2
      */
     public double[] transform(final UnivariateFunction f,
         final double min, final double max, final int n,
@@ -131,7 +133,7 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
      * @param f the real data array to be transformed
      * @return the real transformed array
      * @throws MathIllegalArgumentException if the length of the data array is
-     * not a power of two plus one
+     * smaller than 2
      */
     protected double[] fct(double[] f)
         throws MathIllegalArgumentException {
@@ -139,16 +141,31 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
         final double[] transformed = new double[f.length];
 
         final int n = f.length - 1;
-        if (!ArithmeticUtils.isPowerOfTwo(n)) {
-            throw new MathIllegalArgumentException(
-                LocalizedFormats.NOT_POWER_OF_TWO_PLUS_ONE,
-                Integer.valueOf(f.length));
+        if (n < 1) {
+            throw new NumberIsTooSmallException(f.length, 2, true);
         }
         if (n == 1) {       // trivial case
             transformed[0] = 0.5 * (f[0] + f[1]);
             transformed[1] = 0.5 * (f[0] - f[1]);
             return transformed;
         }
+        if ((n & 0x1) != 0) {
+            // the algorithm below needs an even size, use the extended data set
+            final double[] x = new double[2 * n];
+            x[0] = f[0];
+            x[n] = f[n];
+            for (int i = 1; i < n; i++) {
+                x[i]         = f[i];
+                x[2 * n - i] = f[i];
+            }
+            FastFourierTransformer transformer;
+            transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+            Complex[] y = transformer.transform(x, TransformType.FORWARD);
+            for (int i = 0; i <= n; i++) {
+                transformed[i] = 0.5 * y[i].getReal();
+            }
+            return transformed;
+        }
 
         // construct a new array and perform FFT on it
         final double[] x = new double[n];
@@ -18,13 +18,15 @@ package org.apache.commons.math3.transform;
 
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.exception.DimensionMismatchException;
-import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.util.ArithmeticUtils;
 import org.apache.commons.math3.util.FastMath;
@@ -39,10 +41,11 @@ import org.apache.commons.math3.util.MathArrays;
  * normalization conventions, which are specified by the parameter
  * {@link DftNormalization}.
  * <p>
- * The current implementation of the discrete Fourier transform as a fast
- * Fourier transform requires the length of the data set to be a power of 2.
- * This greatly simplifies and speeds up the code. Users can pad the data with
- * zeros to meet this requirement. There are other flavors of FFT, for
+ * Data sets whose length is a power of 2 are transformed using a dedicated
+ * radix-2 algorithm. Other lengths are supported too, without any padding:
+ * lengths whose prime factors are only 2, 3 and 5 use a mixed-radix algorithm
+ * and the remaining ones use Bluestein's chirp-z algorithm, so all lengths
+ * are transformed in O(n log(n)). There are other flavors of FFT, for
  * reference, see S. Winograd,
  * <i>On computing the discrete Fourier transform</i>, Mathematics of
  * Computation, 32 (1978), 175 - 199.
@@ -102,6 +105,24 @@ public class FastFourierTransformer implements Serializable {
             , -0x1.921fb54442d18p-54, -0x1.921fb54442d18p-55, -0x1.921fb54442d18p-56, -0x1.921fb54442d18p-57
             , -0x1.921fb54442d18p-58, -0x1.921fb54442d18p-59, -0x1.921fb54442d18p-60 };
 
+    /** Maximum number of cached plans for non power of two lengths. */
+    private static final int MAX_CACHED_PLANS = 16;
+
+    /** Cache for the plans of non power of two lengths, in least recently used order. */
+    private static final Map<Integer, MixedRadixFourierTransform> PLANS =
+        new LinkedHashMap<Integer, MixedRadixFourierTransform>(16, 0.75f, true) {
+
+            /** Serializable version identifier. */
+            private static final long serialVersionUID = 20131023L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, MixedRadixFourierTransform> eldest) {
+                return size() > MAX_CACHED_PLANS;
+            }
+
+        };
+
     /** The type of DFT to be performed. */
     private final DftNormalization normalization;
 
@@ -196,6 +217,28 @@ public class FastFourierTransformer implements Serializable {
         }
     }
 
+    /**
+     * Get the plan for a non power of two length.
+     * <p>
+     * Plans are immutable and thread-safe, they are shared between all
+     * callers and only the most recently used ones are kept.
+     * </p>
+     *
+     * @param n length of the transform
+     * @return plan for the specified length
+     */
+    private static MixedRadixFourierTransform getPlan(final int n) {
+        synchronized (PLANS) {
+            final Integer key = Integer.valueOf(n);
+            MixedRadixFourierTransform plan = PLANS.get(key);
+            if (plan == null) {
+                plan = new MixedRadixFourierTransform(n);
+                PLANS.put(key, plan);
+            }
+            return plan;
+        }
+    }
+
     /**
      * Computes the standard transform of the specified complex data. The
      * computation is done in place. The input data is laid out as follows
@@ -209,8 +252,7 @@ public class FastFourierTransformer implements Serializable {
      * @param type the type of transform (forward, inverse) to be performed
      * @throws DimensionMismatchException if the number of rows of the specified
      *   array is not two, or the array is not rectangular
-     * @throws MathIllegalArgumentException if the number of data points is not
-     *   a power of two
+     * @throws NoDataException if the array is empty
      */
     public static void transformInPlace(final double[][] dataRI,
         final DftNormalization normalization, final TransformType type) {
@@ -225,10 +267,14 @@ public class FastFourierTransformer implements Serializable {
         }
 
         final int n = dataR.length;
+        if (n == 0) {
+            throw new NoDataException();
+        }
         if (!ArithmeticUtils.isPowerOfTwo(n)) {
-            throw new MathIllegalArgumentException(
-                LocalizedFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
-                Integer.valueOf(n));
+            // mixed-radix or Bluestein algorithm
+            getPlan(n).transform(dataR, dataI, type == TransformType.INVERSE);
+            normalizeTransformedData(dataRI, normalization, type);
+            return;
         }
 
         if (n == 1) {
@@ -359,13 +405,34 @@ public class FastFourierTransformer implements Serializable {
         normalizeTransformedData(dataRI, normalization, type);
     }
 
+    /**
+     * Computes the standard transform of the specified complex data, given
+     * as separate arrays of real and imaginary parts. The computation is
+     * done in place, using the normalization convention of this transformer,
+     * and no {@link Complex} instance is created.
+     *
+     * @param re the real parts of the data, replaced by the real parts of
+     * the transformed data
+     * @param im the imaginary parts of the data, replaced by the imaginary
+     * parts of the transformed data
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws DimensionMismatchException if the two arrays do not have the
+     * same length
+     * @throws NoDataException if the arrays are empty
+     * @see FourierTransformPlan
+     * @since 3.3
+     */
+    public void transform(final double[] re, final double[] im, final TransformType type) {
+        transformInPlace(new double[][] { re, im }, normalization, type);
+    }
+
     /**
      * Returns the (forward, inverse) transform of the specified real data set.
      *
      * @param f the real data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
+     * @throws NoDataException if the data array is empty
      */
     public Complex[] transform(final double[] f, final TransformType type) {
         final double[][] dataRI = new double[][] {
@@ -391,8 +458,6 @@ public class FastFourierTransformer implements Serializable {
      *   if the lower bound is greater than, or equal to the upper bound
      * @throws org.apache.commons.math3.exception.NotStrictlyPositiveException
      *   if the number of sample points {@code n} is negative
-     * @throws MathIllegalArgumentException if the number of sample points
-     *   {@code n} is not a power of two
      */
     public Complex[] transform(final UnivariateFunction f,
                                final double min, final double max, final int n,
@@ -408,7 +473,7 @@ public class FastFourierTransformer implements Serializable {
      * @param f the complex data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
+     * @throws NoDataException if the data array is empty
      */
     public Complex[] transform(final Complex[] f, final TransformType type) {
         final double[][] dataRI = TransformUtils.createRealImaginaryArray(f);
@@ -430,7 +495,6 @@ public class FastFourierTransformer implements Serializable {
      * @param mdca Multi-Dimensional Complex Array, i.e. {@code Complex[][][][]}
      * @param type the type of transform (forward, inverse) to be performed
      * @return transform of {@code mdca} as a Multi-Dimensional Complex Array, i.e. {@code Complex[][][][]}
-     * @throws IllegalArgumentException if any dimension is not a power of two
      * @deprecated see MATH-736
      */
     @Deprecated
@@ -452,7 +516,6 @@ public class FastFourierTransformer implements Serializable {
      * @param type the type of transform (forward, inverse) to be performed
      * @param d index of the dimension to process
      * @param subVector recursion subvector
-     * @throws IllegalArgumentException if any dimension is not a power of two
      * @deprecated see MATH-736
      */
     @Deprecated
@@ -22,8 +22,8 @@ import org.apache.commons.math3.analysis.FunctionUtils;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
-import org.apache.commons.math3.util.ArithmeticUtils;
 import org.apache.commons.math3.util.FastMath;
 
 /**
@@ -59,8 +59,12 @@ import org.apache.commons.math3.util.FastMath;
  * &nbsp;&nbsp;&nbsp;&nbsp;k = 0, &hellip;, N-1.
  * <p>
  * The present implementation of the discrete sine transform as a fast sine
- * transform requires the length of the data to be a power of two. Besides,
- * it implicitly assumes that the sampled function is odd. In particular, the
+ * transform accepts data sets of any non-zero length N. It is fastest when N
+ * is even, as a Fourier transform of size N is used, otherwise the Fourier
+ * transform of the extended data set (of size 2N) is computed. Lengths which
+ * are not powers of two rely on the mixed-radix and Bluestein algorithms of
+ * {@link FastFourierTransformer}. Besides, the present implementation
+ * implicitly assumes that the sampled function is odd. In particular, the
  * first element of the data set must be 0, which is enforced in
  * {@link #transform(UnivariateFunction, double, double, int, TransformType)},
  * after sampling.
@@ -90,8 +94,8 @@ public class FastSineTransformer implements RealTransformer, Serializable {
      *
      * The first element of the specified data set is required to be {@code 0}.
      *
-     * @throws MathIllegalArgumentException if the length of the data array is
-     *   not a power of two, or the first element of the data array is not zero
+     * @throws MathIllegalArgumentException if the data array is empty, or the
+     *   first element of the data array is not zero
      */
     public double[] transform(final double[] f, final TransformType type) {
         if (normalization == DstNormalization.ORTHOGONAL_DST_I) {
@@ -114,7 +118,6 @@ public class FastSineTransformer implements RealTransformer, Serializable {
      *   if the lower bound is greater than, or equal to the upper bound
      * @throws org.apache.commons.math3.exception.NotStrictlyPositiveException
      *   if the number of sample points is negative
-     * @throws MathIllegalArgumentException if the number of sample points is not a power of two
      */
     public double[] transform(final UnivariateFunction f,
         final double min, final double max, final int n,
@@ -131,17 +134,15 @@ public class FastSineTransformer implements RealTransformer, Serializable {
      *
      * @param f the real data array to be transformed
      * @return the real transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is
-     *   not a power of two, or the first element of the data array is not zero
+     * @throws MathIllegalArgumentException if the data array is empty, or the
+     *   first element of the data array is not zero
      */
     protected double[] fst(double[] f) throws MathIllegalArgumentException {
 
         final double[] transformed = new double[f.length];
 
-        if (!ArithmeticUtils.isPowerOfTwo(f.length)) {
-            throw new MathIllegalArgumentException(
-                    LocalizedFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
-                    Integer.valueOf(f.length));
+        if (f.length == 0) {
+            throw new NoDataException();
         }
         if (f[0] != 0.0) {
             throw new MathIllegalArgumentException(
@@ -153,6 +154,22 @@ public class FastSineTransformer implements RealTransformer, Serializable {
             transformed[0] = 0.0;
             return transformed;
         }
+        if ((n & 0x1) != 0) {
+            // the algorithm below needs an even size, use the extended data set
+            final double[] x = new double[2 * n];
+            for (int i = 1; i < n; i++) {
+                x[i]         =  f[i];
+                x[2 * n - i] = -f[i];
+            }
+            FastFourierTransformer transformer;
+            transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+            Complex[] y = transformer.transform(x, TransformType.FORWARD);
+            transformed[0] = 0.0;
+            for (int i = 1; i < n; i++) {
+                transformed[i] = -0.5 * y[i].getImaginary();
+            }
+            return transformed;
+        }
 
         // construct a new array and perform FFT on it
         final double[] x = new double[n];
@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.transform;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.util.ArithmeticUtils;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Precomputed plan for fast Fourier transforms of a fixed size, working on
+ * primitive arrays supplied by the caller.
+ * <p>
+ * The {@link FastFourierTransformer} API is convenient but allocates a
+ * {@link org.apache.commons.math3.complex.Complex Complex} instance per data
+ * point. When many transforms of the same size are computed, a plan avoids
+ * this overhead: the twiddle factors are computed once at construction, and
+ * the transforms are performed in place on split real/imaginary arrays,
+ * without allocating any memory.
+ * </p>
+ * <p>
+ * In addition to complex transforms, plans provide transforms of real data
+ * into the half-complex representation of their spectrum. As the spectrum of
+ * real data of size n is conjugate-symmetric, only its first n / 2 + 1 bins
+ * are computed, using a complex transform of size n / 2, hence half the work
+ * of a complex transform of size n.
+ * </p>
+ * <p>
+ * The normalization conventions are the same as in {@link FastFourierTransformer},
+ * so a plan and a transformer built with the same {@link DftNormalization} give
+ * the same results (up to rounding errors). The size must be a power of two.
+ * </p>
+ * <p>
+ * Plans are immutable, a single instance can be shared by several threads
+ * as long as each thread works on its own arrays.
+ * </p>
+ *
+ * @see FastFourierTransformer
+ * @version $Id$
+ * @since 3.3
+ */
+public class FourierTransformPlan {
+
+    /** Size of the transform. */
+    private final int n;
+
+    /** Normalization convention. */
+    private final DftNormalization normalization;
+
+    /** Cosines of 2&pi;k/n for k in [0; n/2). */
+    private final double[] cos;
+
+    /** Sines of 2&pi;k/n for k in [0; n/2). */
+    private final double[] sin;
+
+    /**
+     * Build a plan for transforms of a given size.
+     *
+     * @param n size of the transform (number of complex points for complex
+     * transforms, number of real points for real transforms)
+     * @param normalization the type of normalization to be applied to the
+     * transformed data
+     * @throws MathIllegalArgumentException if {@code n} is not a power of two
+     */
+    public FourierTransformPlan(final int n, final DftNormalization normalization)
+        throws MathIllegalArgumentException {
+
+        if (n <= 0 || !ArithmeticUtils.isPowerOfTwo(n)) {
+            throw new MathIllegalArgumentException(LocalizedFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
+                                                   Integer.valueOf(n));
+        }
+
+        this.n             = n;
+        this.normalization = normalization;
+
+        // twiddle factors, computed directly rather than by recurrence to avoid error accumulation
+        final int half = FastMath.max(1, n / 2);
+        cos = new double[half];
+        sin = new double[half];
+        final int quarter = n / 4;
+        for (int k = 0; k < half; ++k) {
+            // use symmetries so that exact values are used at multiples of pi/2
+            if (k == 0) {
+                cos[k] = 1.0;
+                sin[k] = 0.0;
+            } else if (k == quarter) {
+                cos[k] = 0.0;
+                sin[k] = 1.0;
+            } else {
+                final double angle = 2 * FastMath.PI * k / n;
+                cos[k] = FastMath.cos(angle);
+                sin[k] = FastMath.sin(angle);
+            }
+        }
+
+    }
+
+    /**
+     * Get the size of the transform.
+     *
+     * @return size of the transform
+     */
+    public int getSize() {
+        return n;
+    }
+
+    /**
+     * Get the normalization convention.
+     *
+     * @return normalization convention
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /**
+     * Computes the transform of complex data in place.
+     *
+     * @param re real parts of the data, replaced by the real parts of the transform
+     * @param im imaginary parts of the data, replaced by the imaginary parts of the transform
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws DimensionMismatchException if the length of one of the arrays
+     * is not the plan size
+     */
+    public void transform(final double[] re, final double[] im, final TransformType type)
+        throws DimensionMismatchException {
+
+        checkLength(re, n);
+        checkLength(im, n);
+
+        fft(re, im, n, type == TransformType.INVERSE);
+
+        final double scale;
+        switch (normalization) {
+            case STANDARD:
+                scale = (type == TransformType.INVERSE) ? 1.0 / n : 1.0;
+                break;
+            case UNITARY:
+                scale = 1.0 / FastMath.sqrt(n);
+                break;
+            default:
+                // this should never happen
+                throw new MathIllegalStateException();
+        }
+        scale(re, im, n, scale);
+
+    }
+
+    /**
+     * Computes the forward transform of real data.
+     * <p>
+     * Only the bins 0 to n / 2 (included) of the transform are computed, the
+     * other ones can be recovered from conjugate symmetry:
+     * X<sub>n-k</sub> = conj(X<sub>k</sub>). The imaginary parts of bins 0 and
+     * n / 2 are always 0.
+     * </p>
+     *
+     * @param x real data, of length n (not modified)
+     * @param re array where to store the real parts of the transform, of length n / 2 + 1
+     * @param im array where to store the imaginary parts of the transform, of length n / 2 + 1
+     * @throws DimensionMismatchException if the length of one of the arrays
+     * is not consistent with the plan size
+     * @see #inverseTransformReal(double[], double[], double[])
+     */
+    public void transformReal(final double[] x, final double[] re, final double[] im)
+        throws DimensionMismatchException {
+
+        final int m = n / 2;
+        checkLength(x, n);
+        checkLength(re, m + 1);
+        checkLength(im, m + 1);
+
+        final double scale;
+        switch (normalization) {
+            case STANDARD:
+                scale = 1.0;
+                break;
+            case UNITARY:
+                scale = 1.0 / FastMath.sqrt(n);
+                break;
+            default:
+                // this should never happen
+                throw new MathIllegalStateException();
+        }
+
+        if (n == 1) {
+            re[0] = scale * x[0];
+            im[0] = 0;
+            return;
+        }
+
+        // pack even and odd samples as real and imaginary parts of a complex signal of size n/2
+        for (int k = 0; k < m; ++k) {
+            re[k] = x[2 * k];
+            im[k] = x[2 * k + 1];
+        }
+        fft(re, im, m, false);
+
+        // split the transform of the packed signal into the transform of the real signal
+        final double r0 = re[0];
+        final double i0 = im[0];
+        re[0] = r0 + i0;
+        im[0] = 0;
+        re[m] = r0 - i0;
+        im[m] = 0;
+        for (int k = 1; 2 * k <= m; ++k) {
+            final int j = m - k;
+            final double ar = re[k];
+            final double ai = im[k];
+            final double br = re[j];
+            final double bi = im[j];
+
+            // transforms of the even and odd samples
+            final double er = 0.5 * (ar + br);
+            final double ei = 0.5 * (ai - bi);
+            final double or = 0.5 * (ai + bi);
+            final double oi = 0.5 * (br - ar);
+
+            // twiddled transform of the odd samples
+            final double c  = cos[k];
+            final double s  = sin[k];
+            final double tr = c * or + s * oi;
+            final double ti = c * oi - s * or;
+
+            re[k] = er + tr;
+            im[k] = ei + ti;
+            if (j != k) {
+                re[j] = er - tr;
+                im[j] = ti - ei;
+            }
+        }
+
+        scale(re, im, m + 1, scale);
+
+    }
+
+    /**
+     * Computes the inverse transform of the half-complex spectrum of real data.
+     * <p>
+     * This method is the inverse of {@link #transformReal(double[], double[], double[])}.
+     * The imaginary parts of bins 0 and n / 2 are ignored, as they are always 0
+     * for the spectrum of real data.
+     * </p>
+     * <p>
+     * <strong>The spectrum arrays are used as workspace and their content
+     * is destroyed.</strong>
+     * </p>
+     *
+     * @param re real parts of bins 0 to n / 2 of the spectrum, of length n / 2 + 1
+     * (overwritten)
+     * @param im imaginary parts of bins 0 to n / 2 of the spectrum, of length n / 2 + 1
+     * (overwritten)
+     * @param x array where to store the real data, of length n
+     * @throws DimensionMismatchException if the length of one of the arrays
+     * is not consistent with the plan size
+     */
+    public void inverseTransformReal(final double[] re, final double[] im, final double[] x)
+        throws DimensionMismatchException {
+
+        final int m = n / 2;
+        checkLength(x, n);
+        checkLength(re, m + 1);
+        checkLength(im, m + 1);
+
+        final double scale;
+        switch (normalization) {
+            case STANDARD:
+                scale = 1.0 / FastMath.max(1, m);
+                break;
+            case UNITARY:
+                scale = FastMath.sqrt(n) / FastMath.max(1, m);
+                break;
+            default:
+                // this should never happen
+                throw new MathIllegalStateException();
+        }
+
+        if (n == 1) {
+            x[0] = re[0];
+            return;
+        }
+
+        // merge the transforms of the even and odd samples into the transform of the packed signal
+        final double x0 = re[0];
+        final double xm = re[m];
+        re[0] = 0.5 * (x0 + xm);
+        im[0] = 0.5 * (x0 - xm);
+        for (int k = 1; 2 * k <= m; ++k) {
+            final int j = m - k;
+            final double pr = re[k];
+            final double pi = im[k];
+            final double qr = re[j];
+            final double qi = im[j];
+
+            // transform of the even samples
+            final double er = 0.5 * (pr + qr);
+            final double ei = 0.5 * (pi - qi);
+
+            // transform of the odd samples
+            final double dr = 0.5 * (pr - qr);
+            final double di = 0.5 * (pi + qi);
+            final double c  = cos[k];
+            final double s  = sin[k];
+            final double or = c * dr - s * di;
+            final double oi = c * di + s * dr;
+
+            re[k] = er - oi;
+            im[k] = ei + or;
+            if (j != k) {
+                re[j] = er + oi;
+                im[j] = or - ei;
+            }
+        }
+
+        fft(re, im, m, true);
+
+        // unpack the even and odd samples
+        for (int k = 0; k < m; ++k) {
+            x[2 * k]     = scale * re[k];
+            x[2 * k + 1] = scale * im[k];
+        }
+
+    }
+
+    /**
+     * Check the length of an array.
+     *
+     * @param array array to check
+     * @param expected expected length
+     * @throws DimensionMismatchException if the array length is not the expected one
+     */
+    private static void checkLength(final double[] array, final int expected)
+        throws DimensionMismatchException {
+        if (array.length != expected) {
+            throw new DimensionMismatchException(array.length, expected);
+        }
+    }
+
+    /**
+     * Scale the first elements of split complex arrays.
+     *
+     * @param re real parts
+     * @param im imaginary parts
+     * @param length number of elements to scale
+     * @param scale scaling factor
+     */
+    private static void scale(final double[] re, final double[] im, final int length, final double scale) {
+        if (scale != 1.0) {
+            for (int i = 0; i < length; ++i) {
+                re[i] *= scale;
+                im[i] *= scale;
+            }
+        }
+    }
+
+    /**
+     * Unnormalized in-place radix-2 complex transform.
+     *
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param size size of the transform, must be a power of two dividing
+     * the plan size
+     * @param inverse if true, the inverse transform is computed
+     */
+    private void fft(final double[] re, final double[] im, final int size, final boolean inverse) {
+
+        // bit reversal permutation
+        final int halfSize = size >> 1;
+        for (int i = 0, j = 0; i < size; ++i) {
+            if (i < j) {
+                final double tr = re[i];
+                re[i] = re[j];
+                re[j] = tr;
+                final double ti = im[i];
+                im[i] = im[j];
+                im[j] = ti;
+            }
+            int k = halfSize;
+            while (k > 0 && k <= j) {
+                j -= k;
+                k >>= 1;
+            }
+            j += k;
+        }
+
+        // butterflies
+        final double sign = inverse ? 1.0 : -1.0;
+        for (int length = 2; length <= size; length <<= 1) {
+            final int half   = length >> 1;
+            final int stride = n / length;
+            for (int start = 0; start < size; start += length) {
+                for (int r = 0; r < half; ++r) {
+                    final double wr = cos[r * stride];
+                    final double wi = sign * sin[r * stride];
+                    final int a = start + r;
+                    final int b = a + half;
+                    final double tr = wr * re[b] - wi * im[b];
+                    final double ti = wr * im[b] + wi * re[b];
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+
+    }
+
+}
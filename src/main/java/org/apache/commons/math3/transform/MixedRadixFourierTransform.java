@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.transform;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Unnormalized discrete Fourier transform for arbitrary lengths.
+ * <p>
+ * Lengths whose prime factors are only 2, 3 and 5 are handled by a recursive
+ * mixed-radix Cooley-Tukey decimation in time. Other lengths are handled by
+ * Bluestein's chirp-z algorithm, which expresses the transform as a circular
+ * convolution computed using mixed-radix transforms of a power of two length
+ * at least twice as large. Both paths run in O(n log(n)).
+ * </p>
+ * <p>
+ * Instances hold only precomputed tables (twiddle factors, radices and, for
+ * Bluestein algorithm, the chirp and the spectra of the convolution filters),
+ * which are never modified after construction. Workspace arrays are allocated
+ * at each call, so instances are thread-safe and can be cached and shared.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+class MixedRadixFourierTransform {
+
+    /** Largest radix supported by the mixed-radix path. */
+    private static final int MAX_RADIX = 5;
+
+    /** Length of the transform. */
+    private final int n;
+
+    /** Radices of the successive recursion levels, null if Bluestein algorithm is used. */
+    private final int[] factors;
+
+    /** Cosines of 2&pi;k/n for k in [0; n), only for mixed-radix path. */
+    private final double[] cos;
+
+    /** Sines of 2&pi;k/n for k in [0; n), only for mixed-radix path. */
+    private final double[] sin;
+
+    /** Transform used for the convolution in Bluestein algorithm, null if mixed-radix path is used. */
+    private final MixedRadixFourierTransform convolution;
+
+    /** Real parts of the chirp exp(-i&pi;k<sup>2</sup>/n), only for Bluestein algorithm. */
+    private final double[] chirpR;
+
+    /** Imaginary parts of the chirp exp(-i&pi;k<sup>2</sup>/n), only for Bluestein algorithm. */
+    private final double[] chirpI;
+
+    /** Real parts of the filter spectrum for forward transforms, only for Bluestein algorithm. */
+    private final double[] forwardFilterR;
+
+    /** Imaginary parts of the filter spectrum for forward transforms, only for Bluestein algorithm. */
+    private final double[] forwardFilterI;
+
+    /** Real parts of the filter spectrum for inverse transforms, only for Bluestein algorithm. */
+    private final double[] inverseFilterR;
+
+    /** Imaginary parts of the filter spectrum for inverse transforms, only for Bluestein algorithm. */
+    private final double[] inverseFilterI;
+
+    /**
+     * Simple constructor.
+     *
+     * @param n length of the transform (must be strictly positive)
+     */
+    MixedRadixFourierTransform(final int n) {
+
+        this.n = n;
+        factors = factorize(n);
+
+        if (factors != null) {
+            // mixed-radix path
+            cos = new double[n];
+            sin = new double[n];
+            for (int k = 0; k < n; ++k) {
+                final double angle = 2 * FastMath.PI * k / n;
+                cos[k] = FastMath.cos(angle);
+                sin[k] = FastMath.sin(angle);
+            }
+            convolution    = null;
+            chirpR         = null;
+            chirpI         = null;
+            forwardFilterR = null;
+            forwardFilterI = null;
+            inverseFilterR = null;
+            inverseFilterI = null;
+        } else {
+            // Bluestein path
+            int m = 1;
+            while (m < 2 * n - 1) {
+                m <<= 1;
+            }
+            convolution = new MixedRadixFourierTransform(m);
+            cos         = null;
+            sin         = null;
+            chirpR      = new double[n];
+            chirpI      = new double[n];
+            final long twoN = 2L * n;
+            for (int k = 0; k < n; ++k) {
+                // reduce k^2 modulo 2n to keep the angle small and accurate
+                final long k2 = ((long) k * k) % twoN;
+                final double angle = FastMath.PI * k2 / n;
+                chirpR[k] = FastMath.cos(angle);
+                chirpI[k] = -FastMath.sin(angle);
+            }
+
+            // the filters depend only on n, their spectra are computed once
+            forwardFilterR = new double[m];
+            forwardFilterI = new double[m];
+            buildFilter(1.0, forwardFilterR, forwardFilterI);
+            inverseFilterR = new double[m];
+            inverseFilterI = new double[m];
+            buildFilter(-1.0, inverseFilterR, inverseFilterI);
+        }
+
+    }
+
+    /**
+     * Build the spectrum of the convolution filter for Bluestein algorithm.
+     *
+     * @param sign sign applied to the imaginary part of the chirp
+     * (+1 for forward transforms, -1 for inverse transforms)
+     * @param filterR placeholder for the real parts of the filter spectrum
+     * @param filterI placeholder for the imaginary parts of the filter spectrum
+     */
+    private void buildFilter(final double sign, final double[] filterR, final double[] filterI) {
+
+        // conjugate chirp, wrapped around for circular convolution
+        final int m = filterR.length;
+        filterR[0] = chirpR[0];
+        filterI[0] = -sign * chirpI[0];
+        for (int k = 1; k < n; ++k) {
+            filterR[k]     = chirpR[k];
+            filterI[k]     = -sign * chirpI[k];
+            filterR[m - k] = filterR[k];
+            filterI[m - k] = filterI[k];
+        }
+
+        convolution.transform(filterR, filterI, false);
+
+    }
+
+    /**
+     * Factorize a length into radices 2, 3 and 5.
+     *
+     * @param n length to factorize
+     * @return radices in the order in which they should be used,
+     * or null if n has other prime factors
+     */
+    private static int[] factorize(final int n) {
+        final int[] tmp = new int[32];
+        int count = 0;
+        int remaining = n;
+        for (int radix = 2; radix <= MAX_RADIX; ++radix) {
+            while (remaining % radix == 0) {
+                tmp[count++] = radix;
+                remaining /= radix;
+            }
+        }
+        if (remaining != 1) {
+            return null;
+        }
+        final int[] factors = new int[count];
+        System.arraycopy(tmp, 0, factors, 0, count);
+        return factors;
+    }
+
+    /**
+     * Check if a length can be handled by the mixed-radix path.
+     *
+     * @param n length to check
+     * @return true if the only prime factors of n are 2, 3 and 5
+     */
+    static boolean isMixedRadix(final int n) {
+        return n > 0 && factorize(n) != null;
+    }
+
+    /**
+     * Compute the unnormalized transform in place.
+     * <p>
+     * The forward transform uses exp(-2&pi;ijk/n) kernels, the inverse
+     * transform uses exp(+2&pi;ijk/n) kernels, neither is scaled.
+     * </p>
+     *
+     * @param re real parts of the data, replaced by the real parts of the transform
+     * @param im imaginary parts of the data, replaced by the imaginary parts of the transform
+     * @param inverse if true, the inverse transform is computed
+     */
+    void transform(final double[] re, final double[] im, final boolean inverse) {
+        if (factors != null) {
+            final double[] workR = new double[n];
+            final double[] workI = new double[n];
+            mixedRadix(re, im, workR, workI, new double[MAX_RADIX], new double[MAX_RADIX],
+                       0, 1, 0, n, 0, inverse ? 1.0 : -1.0);
+            System.arraycopy(workR, 0, re, 0, n);
+            System.arraycopy(workI, 0, im, 0, n);
+        } else {
+            bluestein(re, im, inverse);
+        }
+    }
+
+    /**
+     * Recursive mixed-radix decimation in time, from the data into the workspace.
+     *
+     * @param re real parts of the data
+     * @param im imaginary parts of the data
+     * @param workR workspace for real parts
+     * @param workI workspace for imaginary parts
+     * @param butterflyR workspace for real parts of butterflies inputs
+     * @param butterflyI workspace for imaginary parts of butterflies inputs
+     * @param inOffset offset of the first element of the sub-sequence in the data
+     * @param stride stride of the sub-sequence in the data
+     * @param outOffset offset of the sub-transform in the workspace
+     * @param size size of the sub-transform
+     * @param level recursion level
+     * @param sign sign of the exponent in the kernel
+     */
+    private void mixedRadix(final double[] re, final double[] im,
+                            final double[] workR, final double[] workI,
+                            final double[] butterflyR, final double[] butterflyI,
+                            final int inOffset, final int stride, final int outOffset,
+                            final int size, final int level, final double sign) {
+
+        if (size == 1) {
+            workR[outOffset] = re[inOffset];
+            workI[outOffset] = im[inOffset];
+            return;
+        }
+
+        // transform the p interleaved sub-sequences
+        final int p = factors[level];
+        final int m = size / p;
+        for (int j = 0; j < p; ++j) {
+            mixedRadix(re, im, workR, workI, butterflyR, butterflyI,
+                       inOffset + j * stride, stride * p, outOffset + j * m, m, level + 1, sign);
+        }
+
+        // combine them
+        final int step = n / size;
+        if (p == 2) {
+            for (int k = 0; k < m; ++k) {
+                final int a = outOffset + k;
+                final int b = a + m;
+                final double wr = cos[k * step];
+                final double wi = sign * sin[k * step];
+                final double tr = wr * workR[b] - wi * workI[b];
+                final double ti = wr * workI[b] + wi * workR[b];
+                workR[b] = workR[a] - tr;
+                workI[b] = workI[a] - ti;
+                workR[a] += tr;
+                workI[a] += ti;
+            }
+        } else {
+            final int pStep = n / p;
+            for (int k = 0; k < m; ++k) {
+
+                // twiddled inputs of the butterfly
+                for (int j = 0; j < p; ++j) {
+                    final int index = outOffset + j * m + k;
+                    final double wr = cos[j * k * step];
+                    final double wi = sign * sin[j * k * step];
+                    butterflyR[j] = wr * workR[index] - wi * workI[index];
+                    butterflyI[j] = wr * workI[index] + wi * workR[index];
+                }
+
+                // small DFT of size p
+                for (int q = 0; q < p; ++q) {
+                    double sr = butterflyR[0];
+                    double si = butterflyI[0];
+                    for (int j = 1; j < p; ++j) {
+                        final int e = ((j * q) % p) * pStep;
+                        final double wr = cos[e];
+                        final double wi = sign * sin[e];
+                        sr += wr * butterflyR[j] - wi * butterflyI[j];
+                        si += wr * butterflyI[j] + wi * butterflyR[j];
+                    }
+                    final int index = outOffset + q * m + k;
+                    workR[index] = sr;
+                    workI[index] = si;
+                }
+
+            }
+        }
+
+    }
+
+    /**
+     * Bluestein chirp-z algorithm.
+     *
+     * @param re real parts of the data, replaced by the real parts of the transform
+     * @param im imaginary parts of the data, replaced by the imaginary parts of the transform
+     * @param inverse if true, the inverse transform is computed
+     */
+    private void bluestein(final double[] re, final double[] im, final boolean inverse) {
+
+        // the inverse kernel is the conjugate of the forward one
+        final double sign = inverse ? -1.0 : 1.0;
+        final double[] filterR = inverse ? inverseFilterR : forwardFilterR;
+        final double[] filterI = inverse ? inverseFilterI : forwardFilterI;
+        final int m = filterR.length;
+
+        // chirp-modulated input, zero-padded
+        final double[] workR = new double[m];
+        final double[] workI = new double[m];
+        for (int k = 0; k < n; ++k) {
+            final double cr = chirpR[k];
+            final double ci = sign * chirpI[k];
+            workR[k] = re[k] * cr - im[k] * ci;
+            workI[k] = re[k] * ci + im[k] * cr;
+        }
+
+        // circular convolution with the precomputed filter spectrum
+        convolution.transform(workR, workI, false);
+        for (int k = 0; k < m; ++k) {
+            final double ar = workR[k];
+            final double ai = workI[k];
+            workR[k] = ar * filterR[k] - ai * filterI[k];
+            workI[k] = ar * filterI[k] + ai * filterR[k];
+        }
+        convolution.transform(workR, workI, true);
+
+        // final chirp modulation, including the 1/m scaling of the convolution
+        final double scale = 1.0 / m;
+        for (int k = 0; k < n; ++k) {
+            final double cr = chirpR[k];
+            final double ci = sign * chirpI[k];
+            re[k] = scale * (workR[k] * cr - workI[k] * ci);
+            im[k] = scale * (workR[k] * ci + workI[k] * cr);
+        }
+
+    }
+
+}
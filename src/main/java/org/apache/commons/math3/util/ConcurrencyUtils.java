@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathInternalError;
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+
+/**
+ * Utilities for algorithms that split their work into tasks submitted
+ * to a caller-supplied {@link java.util.concurrent.ExecutorService}.
+ * <p>
+ * All methods of the library accepting such an executor follow the same
+ * contract:
+ * </p>
+ * <ul>
+ *   <li>any executor service can be used, for example one created by
+ *   {@link java.util.concurrent.Executors#newFixedThreadPool(int)} or,
+ *   on Java 7 and above, a {@code java.util.concurrent.ForkJoinPool},</li>
+ *   <li>the executor is neither configured nor shut down by the method,
+ *   its life cycle remains under the responsibility of the caller,</li>
+ *   <li>the tasks are submitted by the calling thread, which then blocks
+ *   until they are all completed, so the method must not be called from a
+ *   task running in a bounded executor that would have to run its tasks
+ *   too,</li>
+ *   <li>if one task fails, the remaining ones are cancelled and the failure
+ *   is propagated as explained in {@link #waitForAll(List)}, and if the
+ *   calling thread is interrupted while waiting, a {@link
+ *   MathIllegalStateException} is thrown.</li>
+ * </ul>
+ * <p>
+ * Each method documents how it splits its work into tasks, and whether
+ * its result depends on the executor or not.
+ * </p>
+ *
+ * @version $Id$
+ * @since 3.3
+ */
+public final class ConcurrencyUtils {
+
+    /**
+     * Class contains only static methods.
+     */
+    private ConcurrencyUtils() {}
+
+    /**
+     * Wait for the completion of all tasks.
+     * <p>
+     * If one task fails, all remaining tasks are cancelled and the failure
+     * is propagated: unchecked exceptions and errors thrown by the task are
+     * rethrown as is, checked exceptions are wrapped in a {@link MathInternalError}.
+     * If the current thread is interrupted while waiting, all remaining tasks
+     * are cancelled, the interrupted status of the thread is restored and a
+     * {@link MathIllegalStateException} is thrown.
+     * </p>
+     *
+     * @param tasks tasks to wait for
+     * @throws MathIllegalStateException if the current thread is interrupted
+     * while waiting
+     */
+    public static void waitForAll(final List<? extends Future<?>> tasks)
+        throws MathIllegalStateException {
+        for (final Future<?> task : tasks) {
+            get(task, tasks);
+        }
+    }
+
+    /**
+     * Wait for the completion of all tasks and get their results.
+     * <p>
+     * Failures are handled as in {@link #waitForAll(List)}.
+     * </p>
+     *
+     * @param <V> type of the tasks results
+     * @param tasks tasks to wait for
+     * @return results of the tasks, in the same order as the tasks
+     * @throws MathIllegalStateException if the current thread is interrupted
+     * while waiting
+     */
+    public static <V> List<V> getAll(final List<? extends Future<V>> tasks)
+        throws MathIllegalStateException {
+        final List<V> results = new ArrayList<V>(tasks.size());
+        for (final Future<V> task : tasks) {
+            results.add(get(task, tasks));
+        }
+        return results;
+    }
+
+    /**
+     * Wait for the completion of one task and get its result.
+     *
+     * @param <V> type of the task result
+     * @param task task to wait for
+     * @param tasks all tasks, to be cancelled in case of failure
+     * @return result of the task
+     * @throws MathIllegalStateException if the current thread is interrupted
+     * while waiting
+     */
+    private static <V> V get(final Future<V> task, final List<? extends Future<?>> tasks)
+        throws MathIllegalStateException {
+        try {
+            return task.get();
+        } catch (InterruptedException ie) {
+            cancelAll(tasks);
+            Thread.currentThread().interrupt();
+            throw new MathIllegalStateException(ie, LocalizedFormats.INTERRUPTED_COMPUTATION);
+        } catch (ExecutionException ee) {
+            cancelAll(tasks);
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MathInternalError(cause);
+        }
+    }
+
+    /**
+     * Cancel all tasks, interrupting them if they are running.
+     *
+     * @param tasks tasks to cancel
+     */
+    public static void cancelAll(final List<? extends Future<?>> tasks) {
+        for (final Future<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+}
@@ -452,6 +452,22 @@ public class MathArrays {
         checkOrder(val, OrderDirection.INCREASING, true);
     }
 
+    /**
+     * Check that both arrays have the same length.
+     *
+     * @param a Array.
+     * @param b Array.
+     * @throws DimensionMismatchException if the lengths differ.
+     * @since 3.3
+     */
+    public static void checkEqualLength(final double[] a,
+                                        final double[] b)
+        throws DimensionMismatchException {
+        if (a.length != b.length) {
+            throw new DimensionMismatchException(b.length, a.length);
+        }
+    }
+
     /**
      * Throws DimensionMismatchException if the input array is not rectangular.
      *
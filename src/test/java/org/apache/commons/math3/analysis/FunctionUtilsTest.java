@@ -20,22 +20,50 @@ package org.apache.commons.math3.analysis;
 import org.apache.commons.math3.analysis.differentiation.DerivativeStructure;
 import org.apache.commons.math3.analysis.differentiation.MultivariateDifferentiableFunction;
 import org.apache.commons.math3.analysis.differentiation.UnivariateDifferentiableFunction;
+import org.apache.commons.math3.analysis.function.Abs;
+import org.apache.commons.math3.analysis.function.Acos;
+import org.apache.commons.math3.analysis.function.Acosh;
 import org.apache.commons.math3.analysis.function.Add;
+import org.apache.commons.math3.analysis.function.Asin;
+import org.apache.commons.math3.analysis.function.Asinh;
+import org.apache.commons.math3.analysis.function.Atan;
+import org.apache.commons.math3.analysis.function.Atanh;
+import org.apache.commons.math3.analysis.function.Cbrt;
+import org.apache.commons.math3.analysis.function.Ceil;
 import org.apache.commons.math3.analysis.function.Constant;
 import org.apache.commons.math3.analysis.function.Cos;
 import org.apache.commons.math3.analysis.function.Cosh;
 import org.apache.commons.math3.analysis.function.Divide;
+import org.apache.commons.math3.analysis.function.Exp;
+import org.apache.commons.math3.analysis.function.Expm1;
+import org.apache.commons.math3.analysis.function.Floor;
+import org.apache.commons.math3.analysis.function.Gaussian;
+import org.apache.commons.math3.analysis.function.HarmonicOscillator;
 import org.apache.commons.math3.analysis.function.Identity;
 import org.apache.commons.math3.analysis.function.Inverse;
 import org.apache.commons.math3.analysis.function.Log;
+import org.apache.commons.math3.analysis.function.Log10;
+import org.apache.commons.math3.analysis.function.Log1p;
+import org.apache.commons.math3.analysis.function.Logistic;
+import org.apache.commons.math3.analysis.function.Logit;
 import org.apache.commons.math3.analysis.function.Max;
 import org.apache.commons.math3.analysis.function.Min;
 import org.apache.commons.math3.analysis.function.Minus;
 import org.apache.commons.math3.analysis.function.Multiply;
 import org.apache.commons.math3.analysis.function.Pow;
 import org.apache.commons.math3.analysis.function.Power;
+import org.apache.commons.math3.analysis.function.Rint;
+import org.apache.commons.math3.analysis.function.Sigmoid;
+import org.apache.commons.math3.analysis.function.Signum;
 import org.apache.commons.math3.analysis.function.Sin;
 import org.apache.commons.math3.analysis.function.Sinc;
+import org.apache.commons.math3.analysis.function.Sinh;
+import org.apache.commons.math3.analysis.function.Sqrt;
+import org.apache.commons.math3.analysis.function.StepFunction;
+import org.apache.commons.math3.analysis.function.Tan;
+import org.apache.commons.math3.analysis.function.Tanh;
+import org.apache.commons.math3.analysis.function.Ulp;
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.util.FastMath;
@@ -346,4 +374,54 @@ public class FunctionUtilsTest {
         }
     }
 
+    @Test
+    public void testBatchValue() {
+        final UnivariateFunction[] functions = {
+            new Abs(), new Acos(), new Acosh(), new Asin(), new Asinh(), new Atan(), new Atanh(),
+            new Cbrt(), new Ceil(), new Constant(2.5), new Cos(), new Cosh(), new Exp(), new Expm1(),
+            new Floor(), new Gaussian(0.5, 2.0), new HarmonicOscillator(2, 3, 0.5), new Identity(),
+            new Inverse(), new Log(), new Log10(), new Log1p(), new Logistic(2, 0.5, 1, 2, 1, 3),
+            new Logit(-2, 2), new Minus(), new Power(1.5), new Rint(), new Sigmoid(-1, 3), new Signum(),
+            new Sin(), new Sinc(), new Sinc(true), new Sinh(), new Sqrt(),
+            new StepFunction(new double[] { -1, 0, 1 }, new double[] { 2, 3, 4 }),
+            new Tan(), new Tanh(), new Ulp()
+        };
+        final double[] x = { -1.75, -1, -0.5, -0.0, 0.0, 1.0e-3, 0.5, 1, 1.5, 1.75 };
+        final double[] y = new double[x.length];
+        for (final UnivariateFunction f : functions) {
+            FunctionUtils.value(f, x, y);
+            for (int i = 0; i < x.length; i++) {
+                Assert.assertEquals(f.getClass().getSimpleName() + "(" + x[i] + ")",
+                                    f.value(x[i]), y[i], 0.0);
+            }
+        }
+
+        // fallback for functions without batch evaluation
+        final UnivariateFunction square = new UnivariateFunction() {
+            public double value(double t) {
+                return t * t;
+            }
+        };
+        FunctionUtils.value(square, x, y);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals(x[i] * x[i], y[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testBatchImplementations() {
+        // only functions sharing work between points implement batch evaluation
+        Assert.assertTrue(new Gaussian(0.5, 2.0) instanceof BatchUnivariateFunction);
+        Assert.assertTrue(new HarmonicOscillator(2, 3, 0.5) instanceof BatchUnivariateFunction);
+        Assert.assertTrue(new Logistic(2, 0.5, 1, 2, 1, 3) instanceof BatchUnivariateFunction);
+        Assert.assertTrue(new Logit(-2, 2) instanceof BatchUnivariateFunction);
+        Assert.assertTrue(new Sigmoid(-1, 3) instanceof BatchUnivariateFunction);
+        Assert.assertTrue(new StepFunction(new double[] { 0 }, new double[] { 1 }) instanceof BatchUnivariateFunction);
+        Assert.assertFalse(new Sin() instanceof BatchUnivariateFunction);
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testBatchValueDimensionMismatch() {
+        new Gaussian(0.5, 2.0).value(new double[3], new double[4]);
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for class {@link DerivativeStructurePool}.
+ */
+public class DerivativeStructurePoolTest {
+
+    @Test
+    public void testReuse() {
+        final DerivativeStructurePool pool = new DerivativeStructurePool(2, 1);
+        Assert.assertEquals(2, pool.getFreeParameters());
+        Assert.assertEquals(1, pool.getOrder());
+        final MutableDerivativeStructure[] first = new MutableDerivativeStructure[5];
+        for (int k = 0; k < 10; ++k) {
+            final int mark = pool.mark();
+            final MutableDerivativeStructure[] x = pool.acquireVariables(1.0, 2.0);
+            final MutableDerivativeStructure a = pool.acquire();
+            final MutableDerivativeStructure b = pool.acquireConstant(3.0);
+            final MutableDerivativeStructure c = pool.acquire();
+            Assert.assertEquals(5, pool.getAcquired());
+            Assert.assertEquals(5, pool.getCapacity());
+            final MutableDerivativeStructure[] current = { x[0], x[1], a, b, c };
+            for (int i = 0; i < current.length; ++i) {
+                if (k == 0) {
+                    first[i] = current[i];
+                } else {
+                    // instances are reused from one evaluation to the next
+                    Assert.assertSame(first[i], current[i]);
+                }
+            }
+            // acquired instances are properly initialized even when reused
+            Assert.assertEquals(0.0, a.getValue(), 0.0);
+            Assert.assertEquals(0.0, a.getPartialDerivative(1, 0), 0.0);
+            Assert.assertEquals(3.0, b.getValue(), 0.0);
+            Assert.assertEquals(1.0, x[1].getPartialDerivative(0, 1), 0.0);
+            a.addProduct(x[0], x[1]).multiply(a, b);
+            c.set(a);
+            pool.release(mark);
+            Assert.assertEquals(0, pool.getAcquired());
+        }
+    }
+
+    @Test
+    public void testNestedMarks() {
+        final DerivativeStructurePool pool = new DerivativeStructurePool(1, 2);
+        final MutableDerivativeStructure outer = pool.acquireVariable(0, 1.0);
+        final int mark = pool.mark();
+        final MutableDerivativeStructure inner1 = pool.acquire();
+        pool.acquire();
+        Assert.assertEquals(3, pool.getAcquired());
+        pool.release(mark);
+        Assert.assertEquals(1, pool.getAcquired());
+        Assert.assertSame(inner1, pool.acquire());
+        Assert.assertNotSame(outer, inner1);
+        pool.releaseAll();
+        Assert.assertEquals(0, pool.getAcquired());
+        Assert.assertEquals(3, pool.getCapacity());
+        Assert.assertSame(outer, pool.acquire());
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testWrongMark() {
+        final DerivativeStructurePool pool = new DerivativeStructurePool(1, 2);
+        pool.acquire();
+        pool.release(2);
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testTooManyVariables() {
+        new DerivativeStructurePool(2, 1).acquireVariables(1.0, 2.0, 3.0);
+    }
+
+}
@@ -55,6 +55,40 @@ public class GradientFunctionTest {
         }
     }
 
+    @Test
+    public void testMutableDistance() {
+        EuclideanDistance f = new EuclideanDistance();
+        GradientFunction g = new GradientFunction(new MutableEuclideanDistance());
+        for (double x = -10; x < 10; x += 0.5) {
+            for (double y = -10; y < 10; y += 0.5) {
+                for (double z = -10; z < 10; z += 0.5) {
+                    double[] point = new double[] { x, y, z };
+                    TestUtils.assertEquals(f.gradient(point), g.value(point), 1.0e-15);
+                }
+            }
+        }
+        // changing dimension
+        double[] point = new double[] { 1.0, -2.0 };
+        TestUtils.assertEquals(f.gradient(point), g.value(point), 1.0e-15);
+    }
+
+    private static class MutableEuclideanDistance implements MultivariateMutableDifferentiableFunction {
+
+        public double value(double[] point) {
+            return new EuclideanDistance().value(point);
+        }
+
+        public MutableDerivativeStructure value(MutableDerivativeStructure[] point,
+                                                DerivativeStructurePool pool) {
+            MutableDerivativeStructure d2 = pool.acquire();
+            for (MutableDerivativeStructure x : point) {
+                d2.addProduct(x, x);
+            }
+            return d2.sqrt(d2);
+        }
+
+    }
+
     private static class EuclideanDistance implements MultivariateDifferentiableFunction {
         
         public double value(double[] point) {
@@ -46,6 +46,52 @@ public class JacobianFunctionTest {
         }
     }
 
+    @Test
+    public void testSphereMutable() {
+        SphereMapping        f = new SphereMapping(10.0);
+        MutableSphereMapping m = new MutableSphereMapping(10.0);
+        JacobianFunction     j = new JacobianFunction(m);
+        for (double latitude = -1.5; latitude < 1.5; latitude += 0.1) {
+            for (double longitude = -3.1; longitude < 3.1; longitude += 0.1) {
+                double[] point = new double[] { latitude, longitude };
+                double[][] referenceJacobian  = f.jacobian(point);
+                double[][] testJacobian       = j.value(point);
+                Assert.assertEquals(referenceJacobian.length, testJacobian.length);
+                for (int i = 0; i < 3; ++i) {
+                    TestUtils.assertEquals(referenceJacobian[i], testJacobian[i], 2.0e-15);
+                }
+            }
+        }
+    }
+
+    /* Maps (latitude, longitude) to (x, y, z) using mutable derivative structures */
+    private static class MutableSphereMapping implements MultivariateMutableDifferentiableVectorFunction {
+
+        private final SphereMapping reference;
+
+        public MutableSphereMapping(final double radius) {
+            this.reference = new SphereMapping(radius);
+        }
+
+        public double[] value(double[] point) {
+            return reference.value(point);
+        }
+
+        public MutableDerivativeStructure[] value(MutableDerivativeStructure[] point,
+                                                  DerivativeStructurePool pool) {
+            final MutableDerivativeStructure cLat = pool.acquire().cos(point[0]);
+            final MutableDerivativeStructure sLat = pool.acquire().sin(point[0]);
+            final MutableDerivativeStructure cLon = pool.acquire().cos(point[1]);
+            final MutableDerivativeStructure sLon = pool.acquire().sin(point[1]);
+            return new MutableDerivativeStructure[] {
+                cLon.multiply(cLon, cLat).multiply(cLon, reference.radius),
+                sLon.multiply(sLon, cLat).multiply(sLon, reference.radius),
+                sLat.multiply(sLat, reference.radius)
+            };
+        }
+
+    }
+
     /* Maps (latitude, longitude) to (x, y, z) */
     private static class SphereMapping implements MultivariateDifferentiableVectorFunction {
 
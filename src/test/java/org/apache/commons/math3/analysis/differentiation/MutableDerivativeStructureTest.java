@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for class {@link MutableDerivativeStructure}.
+ */
+public class MutableDerivativeStructureTest {
+
+    @Test
+    public void testUnaryFunctions() {
+        for (int order = 0; order < 4; ++order) {
+            for (final UnaryCase c : UnaryCase.values()) {
+                for (double x = 0.1; x < 0.9; x += 0.125) {
+                    final DerivativeStructure dsX = new DerivativeStructure(2, order, 0, x).
+                                                    add(new DerivativeStructure(2, order, 1, 0.5 * x));
+                    final DerivativeStructure expected = c.value(dsX);
+
+                    // separate result
+                    final MutableDerivativeStructure mX = new MutableDerivativeStructure(2, order).set(dsX);
+                    final MutableDerivativeStructure mY = new MutableDerivativeStructure(2, order);
+                    checkEquals(c.name(), expected, c.value(mY, mX));
+                    checkEquals(c.name(), dsX, mX);
+
+                    // result overwriting operand
+                    checkEquals(c.name(), expected, c.value(mX, mX));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBinaryFunctions() {
+        for (int order = 0; order < 4; ++order) {
+            for (final BinaryCase c : BinaryCase.values()) {
+                for (double x = 0.1; x < 0.9; x += 0.25) {
+                    for (double y = 0.2; y < 0.9; y += 0.25) {
+                        final DerivativeStructure dsX = new DerivativeStructure(2, order, 0, x);
+                        final DerivativeStructure dsY = new DerivativeStructure(2, order, 1, y).multiply(dsX);
+                        final DerivativeStructure expected = c.value(dsX, dsY);
+
+                        final MutableDerivativeStructure mX = new MutableDerivativeStructure(2, order).set(dsX);
+                        final MutableDerivativeStructure mY = new MutableDerivativeStructure(2, order).set(dsY);
+                        final MutableDerivativeStructure mZ = new MutableDerivativeStructure(2, order);
+                        checkEquals(c.name(), expected, c.value(mZ, mX, mY));
+
+                        // result overwriting either operand
+                        checkEquals(c.name(), expected, c.value(mX, mX, mY));
+                        mX.set(dsX);
+                        checkEquals(c.name(), expected, c.value(mY, mX, mY));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBuffersReuse() {
+        // operations leaving parts of the internal buffers untouched
+        // must not be affected by the previous operations
+        final DerivativeStructure dsX = new DerivativeStructure(1, 3, 0, 0.75);
+        final MutableDerivativeStructure mX = new MutableDerivativeStructure(1, 3).set(dsX);
+        final MutableDerivativeStructure mY = new MutableDerivativeStructure(1, 3);
+        checkEquals("tan", dsX.tan(), mY.tan(mX));
+        checkEquals("pow", dsX.pow(1), mY.pow(mX, 1));
+        checkEquals("atan", dsX.atan(), mY.atan(mX));
+        checkEquals("tanh", dsX.tanh(), mY.tanh(mX));
+        checkEquals("pow", DerivativeStructure.pow(0.0, dsX), mY.pow(0.0, mX));
+        checkEquals("divide", dsX.divide(dsX.exp()), mY.divide(mX, mY.exp(mX)));
+    }
+
+    @Test
+    public void testSquare() {
+        final DerivativeStructure dsX = new DerivativeStructure(1, 3, 0, 1.5);
+        final MutableDerivativeStructure mX = new MutableDerivativeStructure(1, 3).set(dsX);
+        checkEquals("square", dsX.multiply(dsX), mX.multiply(mX, mX));
+    }
+
+    @Test
+    public void testAccumulation() {
+        final int n = 5;
+        final DerivativeStructurePool pool = new DerivativeStructurePool(n, 2);
+        final MutableDerivativeStructure[] x = pool.acquireVariables(1.0, -2.0, 0.5, 3.0, -1.25);
+        final MutableDerivativeStructure sum = pool.acquire();
+        DerivativeStructure expected = new DerivativeStructure(n, 2, 0.0);
+        for (int i = 0; i < n; ++i) {
+            final DerivativeStructure dsX = x[i].toDerivativeStructure();
+            final DerivativeStructure dsY = x[(i + 1) % n].toDerivativeStructure();
+            expected = expected.add(dsX.multiply(dsY));
+            sum.addProduct(x[i], x[(i + 1) % n]);
+        }
+        checkEquals("accumulation", expected, sum);
+        Assert.assertEquals(-2.0 - 1.0 + 1.5 - 3.75 - 1.25, sum.getValue(), 1.0e-15);
+        Assert.assertEquals(-2.0 - 1.25, sum.getPartialDerivative(1, 0, 0, 0, 0), 1.0e-15);
+        Assert.assertEquals(1.0, sum.getPartialDerivative(1, 1, 0, 0, 0), 1.0e-15);
+    }
+
+    @Test
+    public void testCallerBuffer() {
+        final int size = DSCompiler.getCompiler(2, 2).getSize();
+        final double[] buffer = new double[3 * size + 1];
+        final MutableDerivativeStructure a = new MutableDerivativeStructure(2, 2, buffer, 1);
+        final MutableDerivativeStructure b = new MutableDerivativeStructure(2, 2, buffer, 1 + size);
+        final MutableDerivativeStructure c = new MutableDerivativeStructure(2, 2, buffer, 1 + 2 * size);
+        Assert.assertSame(buffer, c.getBuffer());
+        Assert.assertEquals(1 + 2 * size, c.getOffset());
+        a.setVariable(0, 2.0);
+        b.setVariable(1, 3.0);
+        Assert.assertEquals(2.0, buffer[1], 0.0);
+        Assert.assertEquals(3.0, buffer[1 + size], 0.0);
+
+        final DerivativeStructure dsA = new DerivativeStructure(2, 2, 0, 2.0);
+        final DerivativeStructure dsB = new DerivativeStructure(2, 2, 1, 3.0);
+        checkEquals("divide", dsA.divide(dsB), c.divide(a, b));
+        checkEquals("linear combination",
+                    dsA.multiply(2).add(dsB.multiply(-3)).add(dsA.divide(dsB).multiply(0.5)),
+                    c.linearCombination(2, a, -3, b, 0.5, c));
+        Assert.assertEquals(0.0, buffer[0], 0.0);
+    }
+
+    @Test
+    public void testShiftedOverlap() {
+        final int size = DSCompiler.getCompiler(1, 2).getSize();
+        final double[] buffer = new double[size + 1];
+        final MutableDerivativeStructure a = new MutableDerivativeStructure(1, 2, buffer, 0);
+        final MutableDerivativeStructure b = new MutableDerivativeStructure(1, 2, buffer, 1);
+        a.setVariable(0, 2.0);
+        final DerivativeStructure dsA = a.toDerivativeStructure();
+        checkEquals("shifted", dsA.add(dsA), b.add(a, a));
+        a.setVariable(0, 2.0);
+        checkEquals("shifted", dsA.multiply(-0.5), b.multiply(a, -0.5));
+    }
+
+    @Test
+    public void testCompose() {
+        final DerivativeStructure dsX = new DerivativeStructure(2, 2, 1, 0.7);
+        final MutableDerivativeStructure mX = new MutableDerivativeStructure(2, 2).set(dsX);
+        final double[] f = { FastMath.sin(0.7), FastMath.cos(0.7), -FastMath.sin(0.7) };
+        checkEquals("compose", dsX.compose(f), mX.compose(mX, f));
+        Assert.assertEquals(dsX.sin().taylor(0.1, -0.2), mX.taylor(0.1, -0.2), 1.0e-15);
+    }
+
+    @Test
+    public void testConstantAndVariable() {
+        final MutableDerivativeStructure m = new MutableDerivativeStructure(3, 2);
+        checkEquals("variable", new DerivativeStructure(3, 2, 2, 1.5), m.setVariable(2, 1.5));
+        checkEquals("constant", new DerivativeStructure(3, 2, -4.0), m.setConstant(-4.0));
+        Assert.assertEquals(3, m.getFreeParameters());
+        Assert.assertEquals(2, m.getOrder());
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testWrongVariable() {
+        new MutableDerivativeStructure(3, 2).setVariable(3, 1.0);
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testBufferTooSmall() {
+        new MutableDerivativeStructure(3, 2, new double[12], 3);
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testNegativeOffset() {
+        new MutableDerivativeStructure(3, 2, new double[20], -1);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testIncompatible() {
+        new MutableDerivativeStructure(3, 2).add(new MutableDerivativeStructure(3, 2),
+                                                 new MutableDerivativeStructure(2, 2));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongComposeLength() {
+        final MutableDerivativeStructure m = new MutableDerivativeStructure(1, 2);
+        m.compose(m, 1.0, 2.0);
+    }
+
+    private void checkEquals(final String name, final DerivativeStructure expected,
+                             final MutableDerivativeStructure actual) {
+        final double[] e = expected.getAllDerivatives();
+        final double[] a = actual.toDerivativeStructure().getAllDerivatives();
+        Assert.assertEquals(name, e.length, a.length);
+        for (int i = 0; i < e.length; ++i) {
+            Assert.assertEquals(name, e[i], a[i], 1.0e-14 * FastMath.max(1.0, FastMath.abs(e[i])));
+        }
+    }
+
+    private static enum UnaryCase {
+
+        ADD_DOUBLE {
+            DerivativeStructure value(DerivativeStructure x) { return x.add(1.25); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.add(x, 1.25); }
+        },
+        SUBTRACT_DOUBLE {
+            DerivativeStructure value(DerivativeStructure x) { return x.subtract(1.25); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.subtract(x, 1.25); }
+        },
+        MULTIPLY_DOUBLE {
+            DerivativeStructure value(DerivativeStructure x) { return x.multiply(-3.5); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.multiply(x, -3.5); }
+        },
+        DIVIDE_DOUBLE {
+            DerivativeStructure value(DerivativeStructure x) { return x.divide(-3.5); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.divide(x, -3.5); }
+        },
+        NEGATE {
+            DerivativeStructure value(DerivativeStructure x) { return x.negate(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.negate(x); }
+        },
+        ABS {
+            DerivativeStructure value(DerivativeStructure x) { return x.subtract(0.5).abs(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.abs(r.subtract(x, 0.5)); }
+        },
+        RECIPROCAL {
+            DerivativeStructure value(DerivativeStructure x) { return x.reciprocal(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.reciprocal(x); }
+        },
+        SQRT {
+            DerivativeStructure value(DerivativeStructure x) { return x.sqrt(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.sqrt(x); }
+        },
+        CBRT {
+            DerivativeStructure value(DerivativeStructure x) { return x.cbrt(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.cbrt(x); }
+        },
+        ROOT_N {
+            DerivativeStructure value(DerivativeStructure x) { return x.rootN(5); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.rootN(x, 5); }
+        },
+        POW_DOUBLE {
+            DerivativeStructure value(DerivativeStructure x) { return x.pow(2.7); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.pow(x, 2.7); }
+        },
+        POW_INT {
+            DerivativeStructure value(DerivativeStructure x) { return x.pow(3); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.pow(x, 3); }
+        },
+        POW_STATIC {
+            DerivativeStructure value(DerivativeStructure x) { return DerivativeStructure.pow(2.5, x); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.pow(2.5, x); }
+        },
+        EXP {
+            DerivativeStructure value(DerivativeStructure x) { return x.exp(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.exp(x); }
+        },
+        EXPM1 {
+            DerivativeStructure value(DerivativeStructure x) { return x.expm1(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.expm1(x); }
+        },
+        LOG {
+            DerivativeStructure value(DerivativeStructure x) { return x.log(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.log(x); }
+        },
+        LOG1P {
+            DerivativeStructure value(DerivativeStructure x) { return x.log1p(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.log1p(x); }
+        },
+        LOG10 {
+            DerivativeStructure value(DerivativeStructure x) { return x.log10(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.log10(x); }
+        },
+        COS {
+            DerivativeStructure value(DerivativeStructure x) { return x.cos(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.cos(x); }
+        },
+        SIN {
+            DerivativeStructure value(DerivativeStructure x) { return x.sin(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.sin(x); }
+        },
+        TAN {
+            DerivativeStructure value(DerivativeStructure x) { return x.tan(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.tan(x); }
+        },
+        ACOS {
+            DerivativeStructure value(DerivativeStructure x) { return x.multiply(0.5).acos(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.acos(r.multiply(x, 0.5)); }
+        },
+        ASIN {
+            DerivativeStructure value(DerivativeStructure x) { return x.multiply(0.5).asin(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.asin(r.multiply(x, 0.5)); }
+        },
+        ATAN {
+            DerivativeStructure value(DerivativeStructure x) { return x.atan(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.atan(x); }
+        },
+        COSH {
+            DerivativeStructure value(DerivativeStructure x) { return x.cosh(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.cosh(x); }
+        },
+        SINH {
+            DerivativeStructure value(DerivativeStructure x) { return x.sinh(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.sinh(x); }
+        },
+        TANH {
+            DerivativeStructure value(DerivativeStructure x) { return x.tanh(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.tanh(x); }
+        },
+        ACOSH {
+            DerivativeStructure value(DerivativeStructure x) { return x.add(1.5).acosh(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.acosh(r.add(x, 1.5)); }
+        },
+        ASINH {
+            DerivativeStructure value(DerivativeStructure x) { return x.asinh(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.asinh(x); }
+        },
+        ATANH {
+            DerivativeStructure value(DerivativeStructure x) { return x.multiply(0.5).atanh(); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x) { return r.atanh(r.multiply(x, 0.5)); }
+        };
+
+        abstract DerivativeStructure value(DerivativeStructure x);
+        abstract MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x);
+
+    }
+
+    private static enum BinaryCase {
+
+        ADD {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.add(y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.add(x, y); }
+        },
+        SUBTRACT {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.subtract(y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.subtract(x, y); }
+        },
+        MULTIPLY {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.multiply(y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.multiply(x, y); }
+        },
+        DIVIDE {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.divide(y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.divide(x, y); }
+        },
+        REMAINDER {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.remainder(y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.remainder(x, y); }
+        },
+        POW {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.pow(y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.pow(x, y); }
+        },
+        ATAN2 {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return DerivativeStructure.atan2(x, y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.atan2(x, y); }
+        },
+        LINEAR_COMBINATION_2 {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.linearCombination(2.0, x, -0.5, y); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.linearCombination(2.0, x, -0.5, y); }
+        },
+        LINEAR_COMBINATION_4 {
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.linearCombination(2.0, x, -0.5, y, 1.5, y, 3.0, x); }
+            MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y) { return r.linearCombination(2.0, x, -0.5, y, 1.5, y, 3.0, x); }
+        };
+
+        abstract DerivativeStructure value(DerivativeStructure x, DerivativeStructure y);
+        abstract MutableDerivativeStructure value(MutableDerivativeStructure r, MutableDerivativeStructure x, MutableDerivativeStructure y);
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.analysis.MultivariateVectorFunction;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.apache.commons.math3.optim.InitialGuess;
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.SimpleValueChecker;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.optim.nonlinear.scalar.ObjectiveFunction;
+import org.apache.commons.math3.optim.nonlinear.scalar.ObjectiveFunctionGradient;
+import org.apache.commons.math3.optim.nonlinear.scalar.gradient.NonLinearConjugateGradientOptimizer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for class {@link ReverseModeDifferentiator}.
+ */
+public class ReverseModeDifferentiatorTest {
+
+    @Test
+    public void testGradient() {
+        final ReverseModeDifferentiator differentiator = new ReverseModeDifferentiator();
+        final MultivariateVectorFunction reverse = differentiator.gradient(new Rosenbrock());
+        final GradientFunction forward = new GradientFunction(new Rosenbrock());
+        for (int n = 2; n < 30; n += 3) {
+            final double[] point = new double[n];
+            for (int i = 0; i < n; ++i) {
+                point[i] = 0.3 * i - 1.7;
+            }
+            TestUtils.assertEquals(forward.value(point), reverse.value(point), 1.0e-12);
+        }
+    }
+
+    @Test
+    public void testDerivativeStructure() {
+        final ReverseModeDifferentiator differentiator = new ReverseModeDifferentiator();
+        final MultivariateDifferentiableFunction f = differentiator.differentiate(new Rosenbrock());
+        final Rosenbrock ref = new Rosenbrock();
+        final double[] point = { 0.5, -1.25, 2.0 };
+        Assert.assertEquals(ref.value(point), f.value(point), 1.0e-15);
+
+        // first order derivatives with respect to a single parameter t,
+        // with x = (0.5 + t, -1.25 + 2t, 2 - t)
+        final DerivativeStructure t = new DerivativeStructure(1, 1, 0, 0.0);
+        final DerivativeStructure[] x = new DerivativeStructure[] {
+            t.add(0.5), t.multiply(2).add(-1.25), t.negate().add(2.0)
+        };
+        final DerivativeStructure expected = ref.value(x);
+        final DerivativeStructure y = f.value(x);
+        Assert.assertEquals(expected.getValue(), y.getValue(), 1.0e-15);
+        Assert.assertEquals(expected.getPartialDerivative(1), y.getPartialDerivative(1), 1.0e-12);
+
+        // order 0
+        final DerivativeStructure[] x0 = new DerivativeStructure[point.length];
+        for (int i = 0; i < point.length; ++i) {
+            x0[i] = new DerivativeStructure(point.length, 0, point[i]);
+        }
+        Assert.assertEquals(ref.value(point), f.value(x0).getValue(), 1.0e-15);
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testTooLargeOrder() {
+        final ReverseModeDifferentiator differentiator = new ReverseModeDifferentiator();
+        differentiator.differentiate(new Rosenbrock()).value(new DerivativeStructure[] {
+            new DerivativeStructure(2, 2, 0, 1.0), new DerivativeStructure(2, 2, 1, 1.0)
+        });
+    }
+
+    @Test
+    public void testOptimizer() {
+        final ReverseModeDifferentiator differentiator = new ReverseModeDifferentiator();
+        final Rosenbrock rosenbrock = new Rosenbrock();
+        final NonLinearConjugateGradientOptimizer optimizer
+            = new NonLinearConjugateGradientOptimizer(NonLinearConjugateGradientOptimizer.Formula.POLAK_RIBIERE,
+                                                      new SimpleValueChecker(1.0e-14, 1.0e-14));
+        final PointValuePair optimum
+            = optimizer.optimize(new MaxEval(10000),
+                                 new ObjectiveFunction(differentiator.differentiate(rosenbrock)),
+                                 new ObjectiveFunctionGradient(differentiator.gradient(rosenbrock)),
+                                 GoalType.MINIMIZE,
+                                 new InitialGuess(new double[] { -1.2, 1.0 }));
+        Assert.assertEquals(1.0, optimum.getPoint()[0], 1.0e-4);
+        Assert.assertEquals(1.0, optimum.getPoint()[1], 1.0e-4);
+        Assert.assertEquals(0.0, optimum.getValue(), 1.0e-8);
+    }
+
+    /** Generalized Rosenbrock function, in both reverse and forward mode. */
+    private static class Rosenbrock
+        implements MultivariateTapeFunction, MultivariateDifferentiableFunction {
+
+        public TapeVariable value(TapeVariable[] x) {
+            TapeVariable sum = x[0].getField().getZero();
+            for (int i = 0; i < x.length - 1; ++i) {
+                final TapeVariable a = x[i + 1].subtract(x[i].multiply(x[i]));
+                final TapeVariable b = x[i].negate().add(1);
+                sum = sum.add(a.multiply(a).multiply(100)).add(b.multiply(b));
+            }
+            return sum;
+        }
+
+        public DerivativeStructure value(DerivativeStructure[] x) {
+            DerivativeStructure sum = x[0].getField().getZero();
+            for (int i = 0; i < x.length - 1; ++i) {
+                final DerivativeStructure a = x[i + 1].subtract(x[i].multiply(x[i]));
+                final DerivativeStructure b = x[i].negate().add(1);
+                sum = sum.add(a.multiply(a).multiply(100)).add(b.multiply(b));
+            }
+            return sum;
+        }
+
+        public double value(double[] x) {
+            double sum = 0;
+            for (int i = 0; i < x.length - 1; ++i) {
+                final double a = x[i + 1] - x[i] * x[i];
+                final double b = 1 - x[i];
+                sum += 100 * a * a + b * b;
+            }
+            return sum;
+        }
+
+    }
+
+}
@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.analysis.differentiation;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for classes {@link GradientTape} and {@link TapeVariable}.
+ */
+public class TapeVariableTest {
+
+    @Test
+    public void testUnaryFunctions() {
+        for (final UnaryCase c : UnaryCase.values()) {
+            for (double x = c.min; x <= c.max; x += 0.0625) {
+                final GradientTape tape = new GradientTape();
+                final TapeVariable tx   = tape.variable(x);
+                final TapeVariable ty   = c.value(tx);
+                final DerivativeStructure dsY = c.value(new DerivativeStructure(1, 1, 0, x));
+                Assert.assertEquals(c.name(), dsY.getValue(), ty.getValue(), 1.0e-15 * FastMath.abs(dsY.getValue()));
+                Assert.assertEquals(c.name() + " " + x,
+                                    dsY.getPartialDerivative(1), tape.gradient(ty, tx)[0],
+                                    1.0e-13 * FastMath.max(1, FastMath.abs(dsY.getPartialDerivative(1))));
+            }
+        }
+    }
+
+    @Test
+    public void testBinaryFunctions() {
+        for (final BinaryCase c : BinaryCase.values()) {
+            for (double x = 0.3; x < 4; x += 0.25) {
+                for (double y = 0.2; y < 3; y += 0.375) {
+                    final GradientTape tape = new GradientTape();
+                    final TapeVariable tx   = tape.variable(x);
+                    final TapeVariable ty   = tape.variable(y);
+                    final TapeVariable tz   = c.value(tx, ty);
+                    final DerivativeStructure dsZ = c.value(new DerivativeStructure(2, 1, 0, x),
+                                                            new DerivativeStructure(2, 1, 1, y));
+                    final double[] g = tape.gradient(tz, tx, ty);
+                    Assert.assertEquals(c.name(), dsZ.getValue(), tz.getValue(), 1.0e-14 * FastMath.abs(dsZ.getValue()));
+                    Assert.assertEquals(c.name(), dsZ.getPartialDerivative(1, 0), g[0], 1.0e-13);
+                    Assert.assertEquals(c.name(), dsZ.getPartialDerivative(0, 1), g[1], 1.0e-13);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLinearCombination() {
+        final GradientTape tape = new GradientTape();
+        final TapeVariable[] a = tape.variables(1.0, -2.0, 3.5, 0.25);
+        final TapeVariable[] b = tape.variables(-0.5, 4.0, 1.0e10, 3.0);
+        final TapeVariable lc  = a[0].linearCombination(a, b);
+        Assert.assertEquals(-0.5 - 8.0 + 3.5e10 + 0.75, lc.getValue(), 1.0e-15);
+        final double[] gA = tape.gradient(lc, a);
+        final double[] gB = tape.gradient(lc, b);
+        for (int i = 0; i < a.length; ++i) {
+            Assert.assertEquals(b[i].getValue(), gA[i], 0.0);
+            Assert.assertEquals(a[i].getValue(), gB[i], 0.0);
+        }
+
+        final TapeVariable lc3 = a[0].linearCombination(2.0, b[0], -1.0, b[1], 4.0, b[3]);
+        Assert.assertArrayEquals(new double[] { 2.0, -1.0, 0.0, 4.0 }, tape.gradient(lc3, b), 0.0);
+        Assert.assertEquals(-1.0 - 4.0 + 12.0, lc3.getValue(), 0.0);
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testLinearCombinationDimension() {
+        final GradientTape tape = new GradientTape();
+        final TapeVariable[] a = tape.variables(1.0, 2.0);
+        a[0].linearCombination(new double[] { 1.0 }, a);
+    }
+
+    @Test
+    public void testConstants() {
+        final GradientTape tape = new GradientTape(1);
+        final TapeVariable x = tape.variable(2.0);
+        final TapeVariable c = tape.constant(3.0);
+        Assert.assertTrue(c.isConstant());
+        Assert.assertFalse(x.isConstant());
+
+        // operations involving only constants are not recorded
+        final TapeVariable k = c.multiply(c).sin().add(x.getField().getOne());
+        Assert.assertTrue(k.isConstant());
+        Assert.assertEquals(1, tape.getSize());
+
+        final TapeVariable y = x.multiply(k).add(c);
+        Assert.assertEquals(3, tape.getSize());
+        Assert.assertArrayEquals(new double[] { k.getValue(), 0.0 }, tape.gradient(y, x, c), 0.0);
+        Assert.assertArrayEquals(new double[] { 0.0 }, tape.gradient(k, x), 0.0);
+
+        // piecewise constant functions do not depend on variables
+        Assert.assertTrue(x.floor().isConstant());
+        Assert.assertTrue(x.signum().isConstant());
+        Assert.assertEquals(2L, x.round());
+    }
+
+    @Test
+    public void testIntermediateResult() {
+        final GradientTape tape = new GradientTape();
+        final TapeVariable x = tape.variable(2.0);
+        final TapeVariable y = tape.variable(5.0);
+        final TapeVariable u = x.multiply(x);
+        final TapeVariable z = u.multiply(y);
+        Assert.assertArrayEquals(new double[] { 4.0, 0.0 }, tape.gradient(u, x, y), 0.0);
+        Assert.assertArrayEquals(new double[] { 20.0, 4.0 }, tape.gradient(z, x, y), 0.0);
+        Assert.assertArrayEquals(new double[] { 5.0 }, tape.gradient(z, u), 0.0);
+    }
+
+    @Test
+    public void testReuse() {
+        final GradientTape tape = new GradientTape(4);
+        for (int n = 1; n < 200; n += 17) {
+            tape.reset();
+            Assert.assertEquals(0, tape.getSize());
+            final double[] values = new double[n];
+            for (int i = 0; i < n; ++i) {
+                values[i] = 0.1 * (i + 1);
+            }
+            final TapeVariable[] x = tape.variables(values);
+            TapeVariable sum = x[0].getField().getZero();
+            for (int i = 0; i < n; ++i) {
+                sum = sum.add(x[i].multiply(x[i]));
+            }
+            final double[] g = new double[n];
+            tape.gradient(sum, x, g);
+            for (int i = 0; i < n; ++i) {
+                Assert.assertEquals(2 * values[i], g[i], 1.0e-15);
+            }
+        }
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testGradientDimension() {
+        final GradientTape tape = new GradientTape();
+        final TapeVariable x = tape.variable(1.0);
+        tape.gradient(x.sin(), new TapeVariable[] { x }, new double[2]);
+    }
+
+    private static enum UnaryCase {
+
+        NEGATE(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.negate(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.negate(); }
+        },
+        ABS(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.abs(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.abs(); }
+        },
+        SCALAR(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.add(1.5).multiply(3).subtract(0.5).divide(0.75).multiply(-2.5); }
+            DerivativeStructure value(DerivativeStructure x) { return x.add(1.5).multiply(3).subtract(0.5).divide(0.75).multiply(-2.5); }
+        },
+        REMAINDER(-5, 5) {
+            TapeVariable value(TapeVariable x) { return x.remainder(0.7); }
+            DerivativeStructure value(DerivativeStructure x) { return x.remainder(0.7); }
+        },
+        COPY_SIGN(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.copySign(-1.0); }
+            DerivativeStructure value(DerivativeStructure x) { return x.copySign(-1.0); }
+        },
+        SCALB(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.scalb(3); }
+            DerivativeStructure value(DerivativeStructure x) { return x.scalb(3); }
+        },
+        RECIPROCAL(0.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.reciprocal(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.reciprocal(); }
+        },
+        SQRT(0.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.sqrt(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.sqrt(); }
+        },
+        CBRT(0.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.cbrt(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.cbrt(); }
+        },
+        ROOT_N(0.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.rootN(5); }
+            DerivativeStructure value(DerivativeStructure x) { return x.rootN(5); }
+        },
+        POW_DOUBLE(0.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.pow(2.7); }
+            DerivativeStructure value(DerivativeStructure x) { return x.pow(2.7); }
+        },
+        POW_INT(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.pow(5); }
+            DerivativeStructure value(DerivativeStructure x) { return x.pow(5); }
+        },
+        POW_STATIC(-2, 2) {
+            TapeVariable value(TapeVariable x) { return TapeVariable.pow(2.5, x); }
+            DerivativeStructure value(DerivativeStructure x) { return DerivativeStructure.pow(2.5, x); }
+        },
+        EXP(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.exp(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.exp(); }
+        },
+        EXPM1(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.expm1(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.expm1(); }
+        },
+        LOG(0.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.log(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.log(); }
+        },
+        LOG1P(-0.5, 3) {
+            TapeVariable value(TapeVariable x) { return x.log1p(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.log1p(); }
+        },
+        LOG10(0.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.log10(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.log10(); }
+        },
+        COS(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.cos(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.cos(); }
+        },
+        SIN(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.sin(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.sin(); }
+        },
+        TAN(-1.5, 1.5) {
+            TapeVariable value(TapeVariable x) { return x.tan(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.tan(); }
+        },
+        ACOS(-0.9, 0.9) {
+            TapeVariable value(TapeVariable x) { return x.acos(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.acos(); }
+        },
+        ASIN(-0.9, 0.9) {
+            TapeVariable value(TapeVariable x) { return x.asin(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.asin(); }
+        },
+        ATAN(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.atan(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.atan(); }
+        },
+        COSH(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.cosh(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.cosh(); }
+        },
+        SINH(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.sinh(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.sinh(); }
+        },
+        TANH(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.tanh(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.tanh(); }
+        },
+        ACOSH(1.1, 3) {
+            TapeVariable value(TapeVariable x) { return x.acosh(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.acosh(); }
+        },
+        ASINH(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.asinh(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.asinh(); }
+        },
+        ATANH(-0.9, 0.9) {
+            TapeVariable value(TapeVariable x) { return x.atanh(); }
+            DerivativeStructure value(DerivativeStructure x) { return x.atanh(); }
+        },
+        DEGREES(-2, 2) {
+            TapeVariable value(TapeVariable x) { return x.toDegrees().toRadians().multiply(x.toDegrees()); }
+            DerivativeStructure value(DerivativeStructure x) { return x.toDegrees().toRadians().multiply(x.toDegrees()); }
+        };
+
+        private final double min;
+        private final double max;
+
+        private UnaryCase(double min, double max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        abstract TapeVariable value(TapeVariable x);
+        abstract DerivativeStructure value(DerivativeStructure x);
+
+    }
+
+    private static enum BinaryCase {
+
+        ADD {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return x.add(y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.add(y); }
+        },
+        SUBTRACT {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return x.subtract(y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.subtract(y); }
+        },
+        MULTIPLY {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return x.multiply(y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.multiply(y); }
+        },
+        DIVIDE {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return x.divide(y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.divide(y); }
+        },
+        REMAINDER {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return x.remainder(y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.remainder(y); }
+        },
+        POW {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return x.pow(y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return x.pow(y); }
+        },
+        ATAN2 {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return TapeVariable.atan2(x, y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return DerivativeStructure.atan2(x, y); }
+        },
+        HYPOT {
+            TapeVariable value(TapeVariable x, TapeVariable y) { return TapeVariable.hypot(x, y); }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) { return DerivativeStructure.hypot(x, y); }
+        },
+        COMPOSITE {
+            TapeVariable value(TapeVariable x, TapeVariable y) {
+                return x.multiply(y).sin().add(x.divide(y.add(1)).exp()).multiply(x.subtract(y.pow(2)));
+            }
+            DerivativeStructure value(DerivativeStructure x, DerivativeStructure y) {
+                return x.multiply(y).sin().add(x.divide(y.add(1)).exp()).multiply(x.subtract(y.pow(2)));
+            }
+        };
+
+        abstract TapeVariable value(TapeVariable x, TapeVariable y);
+        abstract DerivativeStructure value(DerivativeStructure x, DerivativeStructure y);
+
+    }
+
+}
@@ -113,4 +113,30 @@ public class StepFunctionTest {
         Assert.assertEquals(1, h.value(2), 0);
         Assert.assertEquals(1, h.value(Double.POSITIVE_INFINITY), 0);
     }
+
+    @Test
+    public void testBatch() {
+        final double[] x = { -0.5, 0, 1, 2, 3, 4, 5, 6 };
+        final double[] y = { 1, 0, 3, 5, -2, 7, 9, 4 };
+        final StepFunction f = new StepFunction(x, y);
+        final double[] sorted = { Double.NEGATIVE_INFINITY, -1, -0.5, -0.25, -0.0, 0.0, 0.5, 1, 1,
+                                  2.5, 4, 4.5, 5, 5.5, 100, Double.POSITIVE_INFINITY, Double.NaN };
+        final double[] unsorted = { 5.5, -0.0, 4, 0.5, -1, 100, 1, -0.25, Double.NaN, 2.5, 0.0 };
+        for (final double[] points : new double[][] { sorted, unsorted }) {
+            final double[] values = new double[points.length];
+            f.value(points, values);
+            for (int i = 0; i < points.length; i++) {
+                Assert.assertEquals(f.value(points[i]), values[i], 0.0);
+            }
+            // in place evaluation
+            final double[] inPlace = points.clone();
+            f.value(inPlace, inPlace);
+            Assert.assertArrayEquals(values, inPlace, 0.0);
+        }
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testBatchDimensionMismatch() {
+        new StepFunction(new double[] { 0, 1 }, new double[] { 1, 2 }).value(new double[3], new double[2]);
+    }
 }
@@ -262,4 +262,20 @@ public final class PolynomialFunctionTest {
             Assert.assertEquals(0, coefficient, 1e-15);
         }
     }
+
+    @Test
+    public void testBatch() {
+        final PolynomialFunction f = new PolynomialFunction(new double[] { 1.5, -2, 0.25, 3, -0.125 });
+        final double[] x = { -3.5, -1, -0.0, 0, 0.5, 2, 7.25, Double.NaN };
+        final double[] y = new double[x.length];
+        f.value(x, y);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals(f.value(x[i]), y[i], 0.0);
+        }
+        final PolynomialFunction c = new PolynomialFunction(new double[] { 4 });
+        c.value(x, y);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals(4, y[i], 0.0);
+        }
+    }
 }
@@ -184,5 +184,37 @@ public class PolynomialSplineFunctionTest {
          }
          throw new MathIllegalStateException();
      }
-}
 
+    @Test
+    public void testBatch() {
+        PolynomialSplineFunction spline =
+            new PolynomialSplineFunction(knots, polynomials);
+        final double[] sorted   = { -1, -0.75, -0.5, -0.0, 0.0, 0.25, 0.25, 1, 1.5, 2 };
+        final double[] unsorted = { 1.5, -0.5, 2, -0.0, 0.25, 0.0, -1, 1, Double.NaN };
+        for (final double[] points : new double[][] { sorted, unsorted }) {
+            final double[] values = new double[points.length];
+            spline.value(points, values);
+            for (int i = 0; i < points.length; i++) {
+                Assert.assertEquals(spline.value(points[i]), values[i], 0.0);
+            }
+        }
+
+        // in place evaluation, on a large sorted grid
+        final double[] grid = new double[1001];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = -1 + 3.0 * i / (grid.length - 1);
+        }
+        final double[] values = grid.clone();
+        spline.value(values, values);
+        for (int i = 0; i < grid.length; i++) {
+            Assert.assertEquals(spline.value(grid[i]), values[i], 0.0);
+        }
+
+        try {
+            spline.value(new double[] { 0.5, 2.5 }, new double[2]);
+            Assert.fail("OutOfRangeException expected");
+        } catch (OutOfRangeException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.distribution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DistributionFactoryTest {
+
+    @Test
+    public void testSameInstance() {
+        final DistributionFactory factory = new DistributionFactory();
+        final GammaDistribution gamma = factory.gamma(2.5, 1.3);
+        Assert.assertSame(gamma, factory.gamma(2.5, 1.3));
+        Assert.assertNotSame(gamma, factory.gamma(2.5, 1.4));
+        Assert.assertSame(factory.beta(0.5, 2.0), factory.beta(0.5, 2.0));
+        Assert.assertSame(factory.binomial(10, 0.25), factory.binomial(10, 0.25));
+        Assert.assertSame(factory.poisson(3.5), factory.poisson(3.5));
+        Assert.assertSame(factory.t(4.0), factory.t(4.0));
+        Assert.assertEquals(6, factory.getSize());
+        Assert.assertEquals(6, factory.getMisses());
+        Assert.assertEquals(5, factory.getHits());
+        factory.clear();
+        Assert.assertEquals(0, factory.getSize());
+        Assert.assertNotSame(gamma, factory.gamma(2.5, 1.3));
+    }
+
+    @Test
+    public void testKeys() {
+        final DistributionFactory factory = new DistributionFactory();
+        // same parameters for different distributions must not collide
+        final RealDistribution chi2        = factory.chiSquared(3.0);
+        final RealDistribution t           = factory.t(3.0);
+        final RealDistribution exponential = factory.exponential(3.0);
+        Assert.assertTrue(chi2 instanceof ChiSquaredDistribution);
+        Assert.assertTrue(t instanceof TDistribution);
+        Assert.assertTrue(exponential instanceof ExponentialDistribution);
+        Assert.assertTrue(factory.normal(1.0, 2.0) instanceof NormalDistribution);
+        Assert.assertTrue(factory.f(1.0, 2.0) instanceof FDistribution);
+        Assert.assertTrue(factory.gamma(1.0, 2.0) instanceof GammaDistribution);
+        Assert.assertTrue(factory.beta(1.0, 2.0) instanceof BetaDistribution);
+        Assert.assertEquals(7, factory.getSize());
+    }
+
+    @Test
+    public void testLeastRecentlyUsed() {
+        final DistributionFactory factory = new DistributionFactory(3);
+        Assert.assertEquals(3, factory.getMaxSize());
+        final PoissonDistribution p1 = factory.poisson(1.0);
+        final PoissonDistribution p2 = factory.poisson(2.0);
+        final PoissonDistribution p3 = factory.poisson(3.0);
+        Assert.assertSame(p1, factory.poisson(1.0));
+        // p2 is now the least recently used instance
+        factory.poisson(4.0);
+        Assert.assertEquals(3, factory.getSize());
+        Assert.assertSame(p1, factory.poisson(1.0));
+        Assert.assertSame(p3, factory.poisson(3.0));
+        Assert.assertNotSame(p2, factory.poisson(2.0));
+    }
+
+    @Test
+    public void testValues() {
+        final DistributionFactory factory = new DistributionFactory();
+        final GammaDistribution gamma = new GammaDistribution(3.5, 0.25);
+        final BetaDistribution beta = new BetaDistribution(0.75, 4.0);
+        final BinomialDistribution binomial = new BinomialDistribution(20, 0.3);
+        final PoissonDistribution poisson = new PoissonDistribution(7.5);
+        for (int i = 1; i < 20; ++i) {
+            final double x = 0.05 * i;
+            Assert.assertEquals(gamma.density(x), factory.gamma(3.5, 0.25).density(x), 0.0);
+            Assert.assertEquals(gamma.cumulativeProbability(x),
+                                factory.gamma(3.5, 0.25).cumulativeProbability(x), 0.0);
+            Assert.assertEquals(beta.density(x), factory.beta(0.75, 4.0).density(x), 0.0);
+            Assert.assertEquals(beta.inverseCumulativeProbability(x),
+                                factory.beta(0.75, 4.0).inverseCumulativeProbability(x), 0.0);
+            Assert.assertEquals(binomial.probability(i), factory.binomial(20, 0.3).probability(i), 0.0);
+            Assert.assertEquals(poisson.cumulativeProbability(i),
+                                factory.poisson(7.5).cumulativeProbability(i), 0.0);
+        }
+        Assert.assertEquals(new FDistribution(5.0, 7.0).getNumericalVariance(),
+                            factory.f(5.0, 7.0).getNumericalVariance(), 0.0);
+        Assert.assertEquals(5, factory.getSize());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final DistributionFactory factory = new DistributionFactory(8);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Double>> results = new ArrayList<Future<Double>>();
+            for (int k = 0; k < 16; ++k) {
+                results.add(executor.submit(new Callable<Double>() {
+                    public Double call() {
+                        double sum = 0;
+                        for (int i = 0; i < 2000; ++i) {
+                            sum += factory.gamma(1 + (i % 10), 2.0).cumulativeProbability(3.0);
+                        }
+                        return sum;
+                    }
+                }));
+            }
+            final double expected = results.get(0).get();
+            for (final Future<Double> result : results) {
+                Assert.assertEquals(expected, result.get(), 0.0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(8, factory.getSize());
+        Assert.assertEquals(16 * 2000, factory.getHits() + factory.getMisses());
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongSize() {
+        new DistributionFactory(0);
+    }
+
+    @Test
+    public void testInvalidParametersNotCached() {
+        final DistributionFactory factory = new DistributionFactory();
+        try {
+            factory.binomial(-1, 0.5);
+            Assert.fail("an exception should have been thrown");
+        } catch (NotPositiveException npe) {
+            // expected
+        }
+        try {
+            factory.binomial(10, 1.5);
+            Assert.fail("an exception should have been thrown");
+        } catch (OutOfRangeException oore) {
+            // expected
+        }
+        try {
+            factory.gamma(-1.0, 1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (NotStrictlyPositiveException nspe) {
+            // expected
+        }
+        Assert.assertEquals(0, factory.getSize());
+    }
+
+}
@@ -19,6 +19,10 @@ package org.apache.commons.math3.distribution;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.Precision;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.ZigguratSampler;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -132,4 +136,32 @@ public class ExponentialDistributionTest extends RealDistributionAbstractTest {
         Assert.assertEquals(dist.getNumericalMean(), 10.5d, tol);
         Assert.assertEquals(dist.getNumericalVariance(), 10.5d * 10.5d, tol);
     }
+
+    @Test
+    public void testZigguratSampling() {
+        Assert.assertEquals(SamplingMethod.DEFAULT, makeDistribution().getSamplingMethod());
+        ExponentialDistribution distribution =
+            new ExponentialDistribution(new Well19937c(100), 2.0, ExponentialDistribution.DEFAULT_INVERSE_ABSOLUTE_ACCURACY, SamplingMethod.ZIGGURAT);
+        Assert.assertEquals(SamplingMethod.ZIGGURAT, distribution.getSamplingMethod());
+        RandomGenerator reference = new Well19937c(100);
+        double[] expected = new double[1000];
+        for (int i = 0; i < expected.length; ++i) {
+            expected[i] = 2.0 * ZigguratSampler.nextExponential(reference);
+        }
+        verifySampling(distribution, expected);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullSamplingMethod() {
+        new ExponentialDistribution(new Well19937c(100), 2.0, 1.0e-9, null);
+    }
+
+    @Test
+    public void testBatchBitExact() {
+        verifyBatchBitExact(new ExponentialDistribution(2.5), new double[] {
+            -1, -0.0, 0.0, Double.MIN_VALUE, 1.0e-10, 0.5, 1, 2.5, 10, 100, 1000, 1.0e300,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NaN
+        });
+    }
+
 }
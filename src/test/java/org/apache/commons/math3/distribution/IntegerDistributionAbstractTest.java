@@ -236,6 +236,25 @@ public abstract class IntegerDistributionAbstractTest {
         }
     }
 
+    /**
+     * Test sampling into a caller-supplied array
+     */
+    @Test
+    public void testSampleArray() {
+        AbstractIntegerDistribution dist = (AbstractIntegerDistribution) makeDistribution();
+        dist.reseedRandomGenerator(1000);
+        final int[] expected = new int[100];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = dist.sample();
+        }
+        dist.reseedRandomGenerator(1000);
+        final int[] out = new int[100];
+        dist.sample(out);
+        for (int i = 0; i < out.length; i++) {
+            Assert.assertEquals(expected[i], out[i]);
+        }
+    }
+
     /**
      * Test sampling
      */
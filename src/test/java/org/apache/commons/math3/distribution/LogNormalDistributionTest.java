@@ -243,4 +243,13 @@ public class LogNormalDistributionTest extends RealDistributionAbstractTest {
         Assert.assertEquals(dist.getNumericalMean(), 0.0, tol);
         Assert.assertEquals(dist.getNumericalVariance(), 0.0, tol);
     }
+
+    @Test
+    public void testBatchBitExact() {
+        verifyBatchBitExact(new LogNormalDistribution(0.5, 0.75), new double[] {
+            -1, -0.0, 0.0, Double.MIN_VALUE, 1.0e-20, 0.01, 0.5, 1, 1.6487212707001282, 3, 25,
+            1.0e12, 1.0e300, Double.POSITIVE_INFINITY, Double.NaN
+        });
+    }
+
 }
@@ -18,6 +18,10 @@
 package org.apache.commons.math3.distribution;
 
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.random.ZigguratSampler;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -202,4 +206,32 @@ public class NormalDistributionTest extends RealDistributionAbstractTest {
         Assert.assertEquals(dist.getNumericalMean(), -2000.9, tol);
         Assert.assertEquals(dist.getNumericalVariance(), 10.4 * 10.4, tol);
     }
+
+    @Test
+    public void testZigguratSampling() {
+        Assert.assertEquals(SamplingMethod.DEFAULT, makeDistribution().getSamplingMethod());
+        NormalDistribution distribution =
+            new NormalDistribution(new Well19937c(100), 2.0, 3.0, NormalDistribution.DEFAULT_INVERSE_ABSOLUTE_ACCURACY, SamplingMethod.ZIGGURAT);
+        Assert.assertEquals(SamplingMethod.ZIGGURAT, distribution.getSamplingMethod());
+        RandomGenerator reference = new Well19937c(100);
+        double[] expected = new double[1000];
+        for (int i = 0; i < expected.length; ++i) {
+            expected[i] = 2.0 + 3.0 * ZigguratSampler.nextGaussian(reference);
+        }
+        verifySampling(distribution, expected);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullSamplingMethod() {
+        new NormalDistribution(new Well19937c(100), 2.0, 3.0, 1.0e-9, null);
+    }
+
+    @Test
+    public void testBatchBitExact() {
+        verifyBatchBitExact(new NormalDistribution(-1.5, 2.5), new double[] {
+            -200, -101.5, -98.5, -10, -1.5, -1.0e-300, -0.0, 0.0, 0.3, 1, 7.25, 98.5, 101.5, 1.0e300,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NaN
+        });
+    }
+
 }
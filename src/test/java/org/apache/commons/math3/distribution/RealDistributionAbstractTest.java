@@ -30,6 +30,7 @@ import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.integration.BaseAbstractUnivariateIntegrator;
 import org.apache.commons.math3.analysis.integration.IterativeLegendreGaussIntegrator;
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.junit.After;
@@ -288,6 +289,75 @@ public abstract class RealDistributionAbstractTest {
         }
     }
     
+    /**
+     * Test sampling into a caller-supplied array
+     */
+    @Test
+    public void testSampleArray() {
+        AbstractRealDistribution dist = (AbstractRealDistribution) makeDistribution();
+        dist.reseedRandomGenerator(1000);
+        final double[] expected = new double[100];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = dist.sample();
+        }
+        dist.reseedRandomGenerator(1000);
+        final double[] out = new double[100];
+        dist.sample(out);
+        for (int i = 0; i < out.length; i++) {
+            Assert.assertEquals(expected[i], out[i], 0.0);
+        }
+    }
+
+    /**
+     * Test evaluation of densities and probabilities at several points at once
+     */
+    @Test
+    public void testBatchEvaluation() {
+        AbstractRealDistribution dist = (AbstractRealDistribution) makeDistribution();
+        final double[] x = cumulativeTestPoints.clone();
+        final double[] out = new double[x.length];
+        dist.density(x, out);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals(dist.density(x[i]), out[i], 0.0);
+        }
+        dist.cumulativeProbability(x, out);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals(dist.cumulativeProbability(x[i]), out[i], 0.0);
+        }
+        // in place evaluation
+        dist.cumulativeProbability(x, x);
+        Assert.assertArrayEquals(out, x, 0.0);
+        try {
+            dist.density(x, new double[x.length + 1]);
+            Assert.fail("an exception should have been thrown");
+        } catch (DimensionMismatchException dme) {
+            // expected
+        }
+    }
+
+    /**
+     * Verify that batch evaluations of densities and cumulative probabilities
+     * are bit-identical to the scalar evaluations, including signed zeros and NaN.
+     *
+     * @param dist distribution to check
+     * @param x points at which to evaluate the distribution
+     */
+    protected void verifyBatchBitExact(final AbstractRealDistribution dist, final double[] x) {
+        final double[] out = new double[x.length];
+        dist.density(x, out);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals("density(" + x[i] + ")",
+                                Double.doubleToRawLongBits(dist.density(x[i])),
+                                Double.doubleToRawLongBits(out[i]));
+        }
+        dist.cumulativeProbability(x, out);
+        for (int i = 0; i < x.length; i++) {
+            Assert.assertEquals("cumulativeProbability(" + x[i] + ")",
+                                Double.doubleToRawLongBits(dist.cumulativeProbability(x[i])),
+                                Double.doubleToRawLongBits(out[i]));
+        }
+    }
+
     /**
      * Test sampling
      */
@@ -305,6 +375,28 @@ public abstract class RealDistributionAbstractTest {
         TestUtils.assertChiSquareAccept(expected, counts, 0.001);
     }
     
+    /**
+     * Verify that a distribution reproduces a reference sequence of samples,
+     * and that its samples are distributed according to its quartiles.
+     * This is intended for distributions using alternative sampling methods,
+     * with reference samples computed directly by the sampling algorithm.
+     *
+     * @param dist distribution to sample
+     * @param expected expected first samples of the distribution
+     */
+    protected void verifySampling(final RealDistribution dist, final double[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], dist.sample(), 1.0e-15);
+        }
+        final int sampleSize = 10000;
+        double[] quartiles = TestUtils.getDistributionQuartiles(dist);
+        long[] counts = new long[4];
+        for (int i = 0; i < sampleSize; i++) {
+            TestUtils.updateCounts(dist.sample(), counts, quartiles);
+        }
+        TestUtils.assertChiSquareAccept(new double[] { 2500, 2500, 2500, 2500 }, counts, 0.001);
+    }
+
     /**
      * Verify that density integrals match the distribution.
      * The (filtered, sorted) cumulativeTestPoints array is used to source
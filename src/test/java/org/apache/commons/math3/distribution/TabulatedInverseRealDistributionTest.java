@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.distribution;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TabulatedInverseRealDistributionTest {
+
+    @Test
+    public void testGamma() {
+        checkAccuracy(new GammaDistribution(2.5, 1.3), 1.0e-12, 0x3e1f0d5b7a92c864l);
+        checkAccuracy(new GammaDistribution(0.4, 2.0), 1.0e-12, 0x5f29d6a8c04b13e7l);
+    }
+
+    @Test
+    public void testBeta() {
+        checkAccuracy(new BetaDistribution(0.7, 3.2), 1.0e-12, 0x71a4c9e02b5d386fl);
+        checkAccuracy(new BetaDistribution(5.0, 5.0), 1.0e-12, 0x0c93b4f6e17a52d8l);
+    }
+
+    @Test
+    public void testT() {
+        checkAccuracy(new TDistribution(4.5), 1.0e-12, 0x2d6f8b1ac9e40357l);
+        checkAccuracy(new TDistribution(1.0), 1.0e-12, 0x48e0a3d7f61c9b25l);
+    }
+
+    @Test
+    public void testF() {
+        checkAccuracy(new FDistribution(3.0, 7.0), 1.0e-12, 0x6b3d1e09f2a7c584l);
+    }
+
+    @Test
+    public void testNormalCoarse() {
+        final NormalDistribution normal = new NormalDistribution(1.0, 3.0);
+        final TabulatedInverseRealDistribution fine   = checkAccuracy(normal, 1.0e-12, 0x1a7c5e93d0b28f46l);
+        final TabulatedInverseRealDistribution coarse = checkAccuracy(normal, 1.0e-6,  0x37b9f2c6a4e1d058l);
+        Assert.assertTrue(coarse.getNumberOfIntervals() < fine.getNumberOfIntervals());
+    }
+
+    @Test
+    public void testMonotonic() {
+        final TabulatedInverseRealDistribution tabulated =
+                new TabulatedInverseRealDistribution(new GammaDistribution(1.5, 2.0));
+        double previous = tabulated.inverseCumulativeProbability(0.0);
+        for (int i = 1; i <= 1000000; ++i) {
+            final double x = tabulated.inverseCumulativeProbability(i * 1.0e-6);
+            Assert.assertTrue(x >= previous);
+            previous = x;
+        }
+    }
+
+    @Test
+    public void testTailsAndBounds() {
+        final GammaDistribution gamma = new GammaDistribution(3.0, 0.5);
+        final TabulatedInverseRealDistribution tabulated =
+                new TabulatedInverseRealDistribution(gamma, 1.0e-10);
+        Assert.assertSame(gamma, tabulated.getDistribution());
+        Assert.assertEquals(1.0e-10, tabulated.getProbabilityAccuracy(), 0.0);
+        Assert.assertEquals(0.0, tabulated.inverseCumulativeProbability(0.0), 0.0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, tabulated.inverseCumulativeProbability(1.0), 0.0);
+        // extreme tails are delegated to the wrapped distribution
+        Assert.assertEquals(gamma.inverseCumulativeProbability(1.0e-13),
+                            tabulated.inverseCumulativeProbability(1.0e-13), 0.0);
+        Assert.assertEquals(gamma.inverseCumulativeProbability(1 - 1.0e-13),
+                            tabulated.inverseCumulativeProbability(1 - 1.0e-13), 0.0);
+    }
+
+    @Test
+    public void testDelegation() {
+        final BetaDistribution beta = new BetaDistribution(2.0, 3.0);
+        final TabulatedInverseRealDistribution tabulated = new TabulatedInverseRealDistribution(beta);
+        for (double x = 0.05; x < 1; x += 0.1) {
+            Assert.assertEquals(beta.density(x), tabulated.density(x), 0.0);
+            Assert.assertEquals(beta.cumulativeProbability(x), tabulated.cumulativeProbability(x), 0.0);
+        }
+        Assert.assertEquals(beta.getNumericalMean(), tabulated.getNumericalMean(), 0.0);
+        Assert.assertEquals(beta.getNumericalVariance(), tabulated.getNumericalVariance(), 0.0);
+        Assert.assertEquals(beta.getSupportLowerBound(), tabulated.getSupportLowerBound(), 0.0);
+        Assert.assertEquals(beta.getSupportUpperBound(), tabulated.getSupportUpperBound(), 0.0);
+        Assert.assertEquals(beta.isSupportLowerBoundInclusive(), tabulated.isSupportLowerBoundInclusive());
+        Assert.assertEquals(beta.isSupportUpperBoundInclusive(), tabulated.isSupportUpperBoundInclusive());
+        Assert.assertEquals(beta.isSupportConnected(), tabulated.isSupportConnected());
+        Assert.assertEquals(0.0, tabulated.probability(0.5), 0.0);
+    }
+
+    @Test
+    public void testSampling() {
+        final TDistribution t = new TDistribution(6.0);
+        final TabulatedInverseRealDistribution tabulated =
+                new TabulatedInverseRealDistribution(new Well19937c(0x5d3a7f1e2c9b0486l), t,
+                                                     TabulatedInverseRealDistribution.DEFAULT_PROBABILITY_ACCURACY);
+        final SummaryStatistics stats = new SummaryStatistics();
+        for (final double x : tabulated.sample(100000)) {
+            stats.addValue(x);
+        }
+        Assert.assertEquals(t.getNumericalMean(), stats.getMean(), 0.02);
+        Assert.assertEquals(t.getNumericalVariance(), stats.getVariance(), 0.05);
+    }
+
+    @Test
+    public void testSerialization() {
+        final TabulatedInverseRealDistribution tabulated =
+                new TabulatedInverseRealDistribution(new FDistribution(4.0, 9.0));
+        final TabulatedInverseRealDistribution recovered =
+                (TabulatedInverseRealDistribution) TestUtils.serializeAndRecover(tabulated);
+        Assert.assertEquals(tabulated.getNumberOfIntervals(), recovered.getNumberOfIntervals());
+        for (double p = 0.01; p < 1; p += 0.01) {
+            Assert.assertEquals(tabulated.inverseCumulativeProbability(p),
+                                recovered.inverseCumulativeProbability(p), 0.0);
+        }
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testOutOfRange() {
+        new TabulatedInverseRealDistribution(new NormalDistribution()).inverseCumulativeProbability(1.5);
+    }
+
+    @Test(expected=OutOfRangeException.class)
+    public void testWrongAccuracy() {
+        new TabulatedInverseRealDistribution(new NormalDistribution(), 0.0);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullDistribution() {
+        new TabulatedInverseRealDistribution(null);
+    }
+
+    @Test
+    public void testGuaranteed() {
+        for (final RealDistribution distribution :
+             new RealDistribution[] { new NormalDistribution(1.0, 3.0), new GammaDistribution(0.4, 2.0) }) {
+            final double accuracy = 1.0e-5;
+            final TabulatedInverseRealDistribution heuristic =
+                    new TabulatedInverseRealDistribution(null, distribution, accuracy);
+            final TabulatedInverseRealDistribution guaranteed =
+                    new TabulatedInverseRealDistribution(null, distribution, accuracy, true);
+            Assert.assertFalse(heuristic.isAccuracyGuaranteed());
+            Assert.assertTrue(guaranteed.isAccuracyGuaranteed());
+            Assert.assertTrue(guaranteed.getNumberOfIntervals() >= heuristic.getNumberOfIntervals());
+
+            // no allowance for the wrapped distribution accuracy here
+            final RandomGenerator random = new Well19937c(0x4f1e6a2d93c07b58l);
+            for (int i = 0; i < 100000; ++i) {
+                final double p = random.nextDouble();
+                final double x = guaranteed.inverseCumulativeProbability(p);
+                Assert.assertEquals(p, distribution.cumulativeProbability(x), accuracy);
+            }
+        }
+    }
+
+    private TabulatedInverseRealDistribution checkAccuracy(final RealDistribution distribution,
+                                                           final double accuracy, final long seed) {
+        final TabulatedInverseRealDistribution tabulated =
+                new TabulatedInverseRealDistribution(distribution, accuracy);
+        final RandomGenerator random = new Well19937c(seed);
+        for (int i = 0; i < 20000; ++i) {
+            checkPoint(distribution, tabulated, random.nextDouble(), accuracy);
+        }
+        // regularly spaced points
+        for (double p = 0.001; p < 1; p += 0.001) {
+            final double x = checkPoint(distribution, tabulated, p, accuracy);
+            Assert.assertFalse(Double.isNaN(x) || FastMath.abs(x) > 1.0e100);
+        }
+        return tabulated;
+    }
+
+    private double checkPoint(final RealDistribution distribution,
+                              final TabulatedInverseRealDistribution tabulated,
+                              final double p, final double accuracy) {
+        final double x     = tabulated.inverseCumulativeProbability(p);
+        final double error = FastMath.abs(distribution.cumulativeProbability(x) - p);
+        if (error > accuracy) {
+            // the wrapped cumulative probability itself may be less accurate
+            // than the table (this happens for example for TDistribution near 0)
+            final double reference =
+                    distribution.cumulativeProbability(distribution.inverseCumulativeProbability(p)) - p;
+            Assert.assertEquals(0.0, error, accuracy + FastMath.abs(reference));
+        }
+        return x;
+    }
+
+}
@@ -121,4 +121,13 @@ public class UniformRealDistributionTest extends RealDistributionAbstractTest {
         
         Assert.assertEquals(2.5e-10, dist.inverseCumulativeProbability(0.25), 0);
     }
+
+    @Test
+    public void testBatchBitExact() {
+        verifyBatchBitExact(new UniformRealDistribution(-0.5, 1.25), new double[] {
+            -1, -0.5, -0.49999999999999994, -0.0, 0.0, 0.25, 1.2499999999999998, 1.25, 2,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NaN
+        });
+    }
+
 }
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.math3.linear;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.Test;
 import org.junit.Assert;
 
@@ -223,6 +226,47 @@ public final class Array2DRowRealMatrixTest {
        TestUtils.assertEquals("m3*m4=m5", m3.multiply(m4), m5, entryTolerance);
    }
 
+    @Test
+    public void testMultiplyInto() {
+        Random random = new Random(0x4f1c2d63a8b7e905l);
+        Array2DRowRealMatrix m1 = new Array2DRowRealMatrix(37, 53);
+        Array2DRowRealMatrix m2 = new Array2DRowRealMatrix(53, 29);
+        fillRandom(random, m1);
+        fillRandom(random, m2);
+
+        // reference product computed entry by entry, through the generic implementation
+        RealMatrix reference = m1.multiply((RealMatrix) new BlockRealMatrix(m2.getData()));
+
+        Array2DRowRealMatrix out = new Array2DRowRealMatrix(37, 29);
+        fillRandom(random, out);
+        for (int k = 0; k < 2; ++k) {
+            // the destination is fully overwritten, even when reused
+            Assert.assertSame(out, m1.multiply(m2, out));
+            for (int i = 0; i < 37; ++i) {
+                // the terms are summed in the same order, results must be bit-identical
+                Assert.assertTrue(Arrays.equals(reference.getRow(i), out.getRow(i)));
+            }
+        }
+        for (int i = 0; i < 37; ++i) {
+            Assert.assertTrue(Arrays.equals(reference.getRow(i), m1.multiply(m2).getRow(i)));
+        }
+
+        // destination aliased with an operand
+        Array2DRowRealMatrix m = new Array2DRowRealMatrix(testData);
+        RealMatrix square = m.multiply(m);
+        m.multiply(m, m);
+        for (int i = 0; i < m.getRowDimension(); ++i) {
+            Assert.assertTrue(Arrays.equals(square.getRow(i), m.getRow(i)));
+        }
+
+        try {
+            m1.multiply(m2, new Array2DRowRealMatrix(29, 37));
+            Assert.fail("an exception should have been thrown");
+        } catch (MatrixDimensionMismatchException ex) {
+            // expected
+        }
+    }
+
     @Test
     public void testPower() {
         Array2DRowRealMatrix m = new Array2DRowRealMatrix(testData);
@@ -316,6 +360,31 @@ public final class Array2DRowRealMatrixTest {
         }
     }
 
+    @Test
+    public void testOperateInto() {
+        Array2DRowRealMatrix m = new Array2DRowRealMatrix(testData);
+        ArrayRealVector x = new ArrayRealVector(testVector);
+        ArrayRealVector y = new ArrayRealVector(testVector.length, Double.NaN);
+        Assert.assertSame(y, m.operate(x, y));
+        Assert.assertTrue(Arrays.equals(m.operate(testVector), y.toArray()));
+
+        // destination aliased with the operand
+        m.operate(x, x);
+        Assert.assertTrue(Arrays.equals(m.operate(testVector), x.toArray()));
+
+        // generic vectors
+        RealVector z = new OpenMapRealVector(testVector.length);
+        m.operate(new OpenMapRealVector(testVector), z);
+        TestUtils.assertEquals(m.operate(testVector), z.toArray(), entryTolerance);
+
+        try {
+            m.operate(new ArrayRealVector(testVector), new ArrayRealVector(2));
+            Assert.fail("an exception should have been thrown");
+        } catch (DimensionMismatchException ex) {
+            // expected
+        }
+    }
+
     /** test issue MATH-209 */
     @Test
     public void testMath209() {
@@ -1169,5 +1238,12 @@ public final class Array2DRowRealMatrixTest {
 //              System.out.println(os);
 //          }
 //    }
-}
 
+    private void fillRandom(Random random, RealMatrix m) {
+        for (int i = 0; i < m.getRowDimension(); ++i) {
+            for (int j = 0; j < m.getColumnDimension(); ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+    }
+}
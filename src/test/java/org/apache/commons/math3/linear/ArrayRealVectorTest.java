@@ -16,6 +16,9 @@
  */
 package org.apache.commons.math3.linear;
 
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.junit.Assert;
 import org.junit.Test;
@@ -170,4 +173,57 @@ public class ArrayRealVectorTest extends RealVectorAbstractTest {
         Assert.assertEquals(0, new ArrayRealVector(new double[0], true).getDimension());
         Assert.assertEquals(0, new ArrayRealVector(new double[0], false).getDimension());
     }
+
+    @Test
+    public void testOperationsInto() {
+        final double[] data1 = { 1.25, -2.5, 3.0, 0.0, 7.5 };
+        final double[] data2 = { 4.0, 0.5, -1.75, 2.0, -3.0 };
+        final ArrayRealVector v1 = new ArrayRealVector(data1);
+        final ArrayRealVector v2 = new ArrayRealVector(data2);
+        final RealVector alien = createAlien(data2);
+        final ArrayRealVector out = new ArrayRealVector(data1.length, Double.NaN);
+
+        Assert.assertSame(out, v1.add(v2, out));
+        checkSame(v1.add(v2), out);
+        Assert.assertSame(out, v1.add(alien, out));
+        checkSame(v1.add(v2), out);
+        Assert.assertSame(out, v1.subtract(v2, out));
+        checkSame(v1.subtract(v2), out);
+        Assert.assertSame(out, v1.subtract(alien, out));
+        checkSame(v1.subtract(v2), out);
+        Assert.assertSame(out, v1.ebeMultiply(v2, out));
+        checkSame(v1.ebeMultiply(v2), out);
+        Assert.assertSame(out, v1.ebeMultiply(alien, out));
+        checkSame(v1.ebeMultiply(v2), out);
+        Assert.assertSame(out, v1.ebeDivide(v2, out));
+        checkSame(v1.ebeDivide(v2), out);
+        Assert.assertSame(out, v1.ebeDivide(alien, out));
+        checkSame(v1.ebeDivide(v2), out);
+        Assert.assertSame(out, v1.mapMultiply(-0.75, out));
+        checkSame(v1.mapMultiply(-0.75), out);
+        Assert.assertSame(out, v1.combine(2.0, -3.0, v2, out));
+        checkSame(v1.combine(2.0, -3.0, v2), out);
+        Assert.assertSame(out, v1.combine(2.0, -3.0, alien, out));
+        checkSame(v1.combine(2.0, -3.0, v2), out);
+
+        // destination aliased with the operands
+        final RealVector sum = v1.add(v2);
+        v1.add(v2, v2);
+        checkSame(sum, v2);
+        final RealVector combination = v1.combine(0.5, 2.0, v2);
+        v1.combine(0.5, 2.0, v2, v1);
+        checkSame(combination, v1);
+
+        // input vectors are not modified
+        Assert.assertTrue(Arrays.equals(data2, alien.toArray()));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testOperationsIntoDimensionMismatch() {
+        new ArrayRealVector(3).add(new ArrayRealVector(3), new ArrayRealVector(4));
+    }
+
+    private void checkSame(final RealVector expected, final RealVector actual) {
+        Assert.assertTrue(Arrays.equals(expected.toArray(), actual.toArray()));
+    }
 }
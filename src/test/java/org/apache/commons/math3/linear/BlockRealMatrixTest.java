@@ -18,12 +18,15 @@ package org.apache.commons.math3.linear;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 import org.junit.Assert;
 
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.exception.DimensionMismatchException;
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.NoDataException;
@@ -302,6 +305,78 @@ public final class BlockRealMatrixTest {
         assertClose(m3.multiply(m4), m5, entryTolerance);
     }
 
+    @Test
+    public void testMultiplyInto() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int r =  3 * BlockRealMatrix.BLOCK_SIZE;
+        Random random = new Random(0x2b6e51f0d39a7c84l);
+        BlockRealMatrix m1 = createRandomMatrix(random, p, q);
+        BlockRealMatrix m2 = createRandomMatrix(random, q, r);
+        BlockRealMatrix expected = m1.multiply(m2);
+        BlockRealMatrix out = createRandomMatrix(random, p, r);
+        for (int k = 0; k < 2; ++k) {
+            // the destination is fully overwritten, even when reused
+            Assert.assertSame(out, m1.multiply(m2, out));
+            for (int i = 0; i < p; ++i) {
+                Assert.assertTrue(Arrays.equals(expected.getRow(i), out.getRow(i)));
+            }
+        }
+        assertClose(new Array2DRowRealMatrix(m1.getData()).multiply(new Array2DRowRealMatrix(m2.getData())),
+                    out, 1.0e-12 * out.getNorm());
+
+        // destination aliased with an operand
+        BlockRealMatrix m = createRandomMatrix(random, q, q);
+        BlockRealMatrix square = m.multiply(m);
+        m.multiply(m, m);
+        for (int i = 0; i < q; ++i) {
+            checkArrays(square.getRow(i), m.getRow(i));
+        }
+    }
+
+    @Test(expected=MatrixDimensionMismatchException.class)
+    public void testMultiplyIntoDimensionMismatch() {
+        new BlockRealMatrix(120, 80).multiply(new BlockRealMatrix(80, 110), new BlockRealMatrix(110, 120));
+    }
+
+    @Test
+    public void testMultiplyParallel() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int r =  3 * BlockRealMatrix.BLOCK_SIZE;
+        Random random = new Random(111007463902334l);
+        BlockRealMatrix m1 = createRandomMatrix(random, p, q);
+        BlockRealMatrix m2 = createRandomMatrix(random, q, r);
+        BlockRealMatrix serial = m1.multiply(m2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int threshold : new int[] { 0, 1, 16, Integer.MAX_VALUE }) {
+                BlockRealMatrix parallel = m1.multiply(m2, executor, threshold);
+                for (int i = 0; i < p; ++i) {
+                    // results must be bit-identical, not only close
+                    Assert.assertTrue(Arrays.equals(serial.getRow(i), parallel.getRow(i)));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testMultiplyParallelDimensionMismatch() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new BlockRealMatrix(120, 80).multiply(new BlockRealMatrix(90, 110), executor, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testMultiplyParallelNullExecutor() {
+        new BlockRealMatrix(testData).multiply(new BlockRealMatrix(testData), (ExecutorService) null);
+    }
+
     /** test trace */
     @Test
     public void testTrace() {
@@ -352,6 +427,39 @@ public final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    public void testOperateInto() {
+        int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        Random random = new Random(0x61d0b8c4e29f3a57l);
+        BlockRealMatrix m = createRandomMatrix(random, p, q);
+        ArrayRealVector x = new ArrayRealVector(createRandomMatrix(random, 1, q).getRow(0));
+        ArrayRealVector y = new ArrayRealVector(p, Double.NaN);
+        for (int k = 0; k < 2; ++k) {
+            // the destination is fully overwritten, even when reused
+            Assert.assertSame(y, m.operate(x, y));
+            Assert.assertTrue(Arrays.equals(m.operate(x.toArray()), y.toArray()));
+        }
+
+        // generic vectors
+        RealVector z = new OpenMapRealVector(p);
+        m.operate(new OpenMapRealVector(x), z);
+        assertClose(y.toArray(), z.toArray(), 1.0e-12 * y.getLInfNorm());
+
+        // destination aliased with the operand
+        BlockRealMatrix square = createRandomMatrix(random, q, q);
+        double[] expected = square.operate(x.toArray());
+        square.operate(x, x);
+        Assert.assertTrue(Arrays.equals(expected, x.toArray()));
+
+        try {
+            m.operate(x, new ArrayRealVector(q));
+            Assert.fail("an exception should have been thrown");
+        } catch (DimensionMismatchException ex) {
+            // expected
+        }
+    }
+
     @Test
     public void testOperatePremultiplyLarge() {
         int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
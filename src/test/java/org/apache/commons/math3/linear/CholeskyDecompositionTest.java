@@ -17,6 +17,10 @@
 
 package org.apache.commons.math3.linear;
 
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.Test;
 import org.junit.Assert;
 
@@ -135,4 +139,34 @@ public class CholeskyDecompositionTest {
         Assert.assertTrue(l  == llt.getL());
         Assert.assertTrue(lt == llt.getLT());
     }
+
+    /** test the parallel algorithm gives the same decomposition */
+    @Test
+    public void testParallel() {
+        final Random r = new Random(0x43484fl);
+        final int n = 3 * BlockRealMatrix.BLOCK_SIZE + 11;
+        final RealMatrix b = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                b.setEntry(i, j, 2.0 * r.nextDouble() - 1.0);
+            }
+        }
+        final RealMatrix matrix = b.multiply(b.transpose()).add(MatrixUtils.createRealIdentityMatrix(n));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final CholeskyDecomposition sequential = new CholeskyDecomposition(matrix);
+            final CholeskyDecomposition parallel   =
+                    new CholeskyDecomposition(matrix,
+                                              CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                              CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD,
+                                              executor);
+            Assert.assertEquals(sequential.getLT(), parallel.getLT());
+            final double norm = parallel.getL().multiply(parallel.getLT()).subtract(matrix).getNorm();
+            Assert.assertEquals(0, norm, 1.0e-13 * matrix.getNorm());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
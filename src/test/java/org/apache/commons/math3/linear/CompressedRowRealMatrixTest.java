@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.linear;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link CompressedRowRealMatrix} class.
+ */
+public class CompressedRowRealMatrixTest {
+
+    @Test
+    public void testBuilderDuplicatesAndZeros() {
+        final CompressedRowRealMatrix m = new CompressedRowRealMatrix.Builder(3, 4).
+                                          addToEntry(2, 3, 1.0).
+                                          addToEntry(0, 1, 2.0).
+                                          addToEntry(2, 0, 3.0).
+                                          addToEntry(0, 1, 0.5).
+                                          addToEntry(1, 2, 4.0).
+                                          addToEntry(1, 2, -4.0).
+                                          addToEntry(2, 2, 0.0).
+                                          build();
+        Assert.assertEquals(3, m.getRowDimension());
+        Assert.assertEquals(4, m.getColumnDimension());
+        Assert.assertEquals(3, m.getNonZeroCount());
+        final double[][] expected = {
+            { 0.0, 2.5, 0.0, 0.0 },
+            { 0.0, 0.0, 0.0, 0.0 },
+            { 3.0, 0.0, 0.0, 1.0 }
+        };
+        for (int i = 0; i < expected.length; ++i) {
+            for (int j = 0; j < expected[i].length; ++j) {
+                Assert.assertEquals(expected[i][j], m.getEntry(i, j), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testCopyConstructor() {
+        final RealMatrix dense = createRandom(37, 23, 0.2, 0x3a2c9f1ebc7d81e5l);
+        final CompressedRowRealMatrix m = new CompressedRowRealMatrix(dense);
+        Assert.assertEquals(dense, m);
+        Assert.assertEquals(dense, m.copy());
+    }
+
+    @Test(expected = NotStrictlyPositiveException.class)
+    public void testBuilderBadDimension() {
+        new CompressedRowRealMatrix.Builder(3, 0);
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testBuilderBadRow() {
+        new CompressedRowRealMatrix.Builder(3, 4).addToEntry(3, 0, 1.0);
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testBuilderBadColumn() {
+        new CompressedRowRealMatrix.Builder(3, 4).addToEntry(0, -1, 1.0);
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testGetEntryOutOfRange() {
+        new CompressedRowRealMatrix.Builder(3, 4).build().getEntry(0, 4);
+    }
+
+    @Test(expected = MathUnsupportedOperationException.class)
+    public void testImmutable() {
+        new CompressedRowRealMatrix.Builder(3, 4).build().setEntry(0, 0, 1.0);
+    }
+
+    @Test
+    public void testOperate() {
+        final RealMatrix dense = createRandom(50, 30, 0.1, 0x5ab3f6e7c6e2d41bl);
+        final CompressedRowRealMatrix m = new CompressedRowRealMatrix(dense);
+        final double[] v = createVector(30, 0x1c3c7d9e0f4a8b2dl);
+        final double[] expected = dense.operate(v);
+        final double[] actual = m.operate(v);
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i], actual[i], 1.0e-14);
+        }
+        final RealVector actualVector = m.operate(new OpenMapRealVector(v));
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i], actualVector.getEntry(i), 1.0e-14);
+        }
+    }
+
+    @Test
+    public void testPreMultiply() {
+        final RealMatrix dense = createRandom(50, 30, 0.1, 0x07a6b3fa9c2b3e1fl);
+        final CompressedRowRealMatrix m = new CompressedRowRealMatrix(dense);
+        final double[] v = createVector(50, 0x4ebc93b9a78d6f3el);
+        final double[] expected = dense.preMultiply(v);
+        final double[] actual = m.preMultiply(v);
+        final RealVector transposed = m.operateTranspose(new ArrayRealVector(v));
+        Assert.assertTrue(m.isTransposable());
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i], actual[i], 1.0e-14);
+            Assert.assertEquals(expected[i], transposed.getEntry(i), 1.0e-14);
+        }
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testOperateDimensionMismatch() {
+        new CompressedRowRealMatrix.Builder(3, 4).build().operate(new double[3]);
+    }
+
+    @Test
+    public void testTranspose() {
+        final RealMatrix dense = createRandom(41, 17, 0.3, 0x2bd4a1f96ec3b8a7l);
+        final CompressedRowRealMatrix t = new CompressedRowRealMatrix(dense).transpose();
+        Assert.assertEquals(dense.transpose(), t);
+        Assert.assertEquals(dense, t.transpose());
+    }
+
+    @Test
+    public void testOperateParallel() {
+        final int n = 3000;
+        final Random random = new Random(0x9e3779b97f4a7c15l);
+        final CompressedRowRealMatrix.Builder builder = new CompressedRowRealMatrix.Builder(n, n);
+        for (int k = 0; k < 20 * n; ++k) {
+            builder.addToEntry(random.nextInt(n), random.nextInt(n), random.nextDouble());
+        }
+        final CompressedRowRealMatrix m = builder.build();
+        Assert.assertTrue(m.getNonZeroCount() > CompressedRowRealMatrix.DEFAULT_PARALLEL_THRESHOLD);
+        final double[] v = createVector(n, 0x6a09e667f3bcc908l);
+        final double[] serial = m.operate(v);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final int tasks : new int[] { 1, 2, 3, 7, 64, n + 10 }) {
+                Assert.assertArrayEquals(serial, m.operate(v, executor, tasks), 0.0);
+            }
+            Assert.assertArrayEquals(serial, m.operate(v, executor), 0.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testOperateParallelNullExecutor() {
+        new CompressedRowRealMatrix.Builder(3, 4).build().operate(new double[4], null);
+    }
+
+    @Test(expected = NotStrictlyPositiveException.class)
+    public void testOperateParallelNoTasks() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            new CompressedRowRealMatrix.Builder(3, 4).build().operate(new double[4], executor, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOperateInto() {
+        final RealMatrix dense = createRandom(40, 40, 0.2, 0x3c6ef372fe94f82bl);
+        final CompressedRowRealMatrix m = new CompressedRowRealMatrix(dense);
+        final double[] v = createVector(40, 0x1f83d9abfb41bd6bl);
+        final double[] expected = m.operate(v);
+
+        final ArrayRealVector y = new ArrayRealVector(40, Double.NaN);
+        Assert.assertSame(y, m.operate(new ArrayRealVector(v), y));
+        Assert.assertArrayEquals(expected, y.toArray(), 0.0);
+
+        // destination aliased with the operand
+        final ArrayRealVector x = new ArrayRealVector(v);
+        m.operate(x, x);
+        Assert.assertArrayEquals(expected, x.toArray(), 0.0);
+
+        // generic vectors
+        final RealVector z = new OpenMapRealVector(40);
+        m.operate(new OpenMapRealVector(v), z);
+        Assert.assertArrayEquals(expected, z.toArray(), 0.0);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final ArrayRealVector p = new ArrayRealVector(40, Double.NaN);
+            Assert.assertSame(p, m.getParallelOperator(executor).operate(new ArrayRealVector(v), p));
+            Assert.assertArrayEquals(expected, p.toArray(), 0.0);
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            m.operate(new ArrayRealVector(v), new ArrayRealVector(39));
+            Assert.fail("an exception should have been thrown");
+        } catch (DimensionMismatchException dme) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConjugateGradient() {
+        // 1D Laplacian, symmetric positive definite
+        final int n = 200;
+        final CompressedRowRealMatrix.Builder builder = new CompressedRowRealMatrix.Builder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addToEntry(i, i, 2.0);
+            if (i > 0) {
+                builder.addToEntry(i, i - 1, -1.0);
+                builder.addToEntry(i - 1, i, -1.0);
+            }
+        }
+        final CompressedRowRealMatrix a = builder.build();
+        final RealVector b = new ArrayRealVector(createVector(n, 0x510e527fade682d1l));
+        final RealVector expected = new LUDecomposition(MatrixUtils.createRealMatrix(a.getData())).
+                                    getSolver().solve(b);
+
+        final ConjugateGradient solver = new ConjugateGradient(10 * n, 1.0e-14, false);
+        final RealVector serial = solver.solve(a, b);
+        Assert.assertEquals(0.0, serial.getDistance(expected), 1.0e-9 * expected.getNorm());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final RealLinearOperator op = a.getParallelOperator(executor);
+            Assert.assertEquals(n, op.getRowDimension());
+            Assert.assertEquals(n, op.getColumnDimension());
+            Assert.assertTrue(op.isTransposable());
+            final RealVector parallel = solver.solve(op, b);
+            Assert.assertEquals(0.0, parallel.getDistance(serial), 0.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static RealMatrix createRandom(final int rows, final int columns,
+                                           final double density, final long seed) {
+        final Random random = new Random(seed);
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                if (random.nextDouble() < density) {
+                    m.setEntry(i, j, 2 * random.nextDouble() - 1);
+                }
+            }
+        }
+        return m;
+    }
+
+    private static double[] createVector(final int n, final long seed) {
+        final Random random = new Random(seed);
+        final double[] v = new double[n];
+        for (int i = 0; i < n; ++i) {
+            v[i] = 2 * random.nextDouble() - 1;
+        }
+        return v;
+    }
+
+}
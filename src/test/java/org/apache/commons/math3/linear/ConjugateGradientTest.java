@@ -602,4 +602,63 @@ public class ConjugateGradientTest {
             solver.solve(a, m, b);
         }
     }
+
+    @Test
+    public void testIterationsUseDestinationProducts() {
+        final int n = 5;
+        final HilbertMatrix hilbert = new HilbertMatrix(n);
+        final CountingOperator a = new CountingOperator(hilbert);
+        final CountingOperator m = new CountingOperator(JacobiPreconditioner.create(hilbert));
+        final ConjugateGradient solver = new ConjugateGradient(100, 1E-10, true);
+        final RealVector b = new ArrayRealVector(n, 1.0);
+        final RealVector x = solver.solve(a, m, b);
+        Assert.assertTrue(solver.getIterationManager().getIterations() > 2);
+        // only the initial product allocates a vector, iterations reuse it
+        Assert.assertEquals(1, a.allocating);
+        Assert.assertEquals(solver.getIterationManager().getIterations() - 1, a.inPlace);
+        Assert.assertEquals(0, m.allocating);
+        Assert.assertEquals(solver.getIterationManager().getIterations() - 1, m.inPlace);
+        final RealVector r = b.subtract(hilbert.operate(x));
+        Assert.assertEquals(0.0, r.getNorm(), 1E-10 * b.getNorm());
+    }
+
+    /** Linear operator counting how its products are computed. */
+    private static class CountingOperator extends RealLinearOperator {
+
+        /** Underlying operator. */
+        private final RealLinearOperator delegate;
+
+        /** Number of products returning a new vector. */
+        private int allocating;
+
+        /** Number of products stored in an existing vector. */
+        private int inPlace;
+
+        CountingOperator(final RealLinearOperator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int getRowDimension() {
+            return delegate.getRowDimension();
+        }
+
+        @Override
+        public int getColumnDimension() {
+            return delegate.getColumnDimension();
+        }
+
+        @Override
+        public RealVector operate(final RealVector x) {
+            ++allocating;
+            return delegate.operate(x);
+        }
+
+        @Override
+        public RealVector operate(final RealVector x, final RealVector y) {
+            ++inPlace;
+            return delegate.operate(x, y);
+        }
+
+    }
 }
@@ -17,6 +17,12 @@
 
 package org.apache.commons.math3.linear;
 
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.util.FastMath;
+
 import org.junit.Test;
 import org.junit.Assert;
 
@@ -288,4 +294,53 @@ public class LUDecompositionTest {
         Assert.assertTrue(u == lu.getU());
         Assert.assertTrue(p == lu.getP());
     }
+
+    /** test the blocked algorithm */
+    @Test
+    public void testBlocked() {
+        final Random r = new Random(0x4c55l);
+        final int n = 303;
+        final RealMatrix matrix = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                matrix.setEntry(i, j, 2.0 * r.nextDouble() - 1.0);
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final LUDecomposition crout      = new LUDecomposition(matrix);
+            final LUDecomposition sequential = new LUDecomposition(matrix, 1.0e-11, null);
+            final LUDecomposition parallel   = new LUDecomposition(matrix, 1.0e-11, executor);
+            final RealMatrix l = parallel.getL();
+            final RealMatrix u = parallel.getU();
+            final RealMatrix p = parallel.getP();
+            final double norm = l.multiply(u).subtract(p.multiply(matrix)).getNorm();
+            Assert.assertEquals(0, norm, 1.0e-11 * matrix.getNorm());
+
+            // the rows updates do not depend on the number of threads
+            Assert.assertArrayEquals(sequential.getPivot(), parallel.getPivot());
+            Assert.assertEquals(sequential.getL(), l);
+            Assert.assertEquals(sequential.getU(), u);
+
+            // the blocked algorithm agrees with the default one up to rounding
+            Assert.assertArrayEquals(crout.getPivot(), parallel.getPivot());
+            Assert.assertEquals(0, crout.getL().subtract(l).getNorm(), 1.0e-12 * n);
+            Assert.assertEquals(0, crout.getU().subtract(u).getNorm(), 1.0e-12 * u.getNorm());
+            Assert.assertEquals(crout.getDeterminant(), parallel.getDeterminant(),
+                                1.0e-10 * FastMath.abs(crout.getDeterminant()));
+
+            // small matrices can also be decomposed with the blocked algorithm
+            final RealMatrix small = MatrixUtils.createRealMatrix(testData);
+            final LUDecomposition smallLU = new LUDecomposition(small, 1.0e-11, executor);
+            Assert.assertEquals(0,
+                                smallLU.getL().multiply(smallLU.getU()).subtract(smallLU.getP().multiply(small)).getNorm(),
+                                normTolerance);
+            Assert.assertFalse(new LUDecomposition(MatrixUtils.createRealMatrix(bigSingular),
+                                                   1.0e-11, executor).getSolver().isNonSingular());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
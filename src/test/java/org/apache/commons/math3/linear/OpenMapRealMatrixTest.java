@@ -16,14 +16,38 @@
  */
 package org.apache.commons.math3.linear;
 
-import org.apache.commons.math3.exception.NumberIsTooLargeException;
+import org.junit.Assert;
 import org.junit.Test;
 
 public final class OpenMapRealMatrixTest {
 
-    @Test(expected=NumberIsTooLargeException.class)
+    @Test
     public void testMath679() {
-        new OpenMapRealMatrix(3, Integer.MAX_VALUE);
+        // more than Integer.MAX_VALUE entries are supported
+        final OpenMapRealMatrix m = new OpenMapRealMatrix(3, Integer.MAX_VALUE);
+        m.setEntry(2, Integer.MAX_VALUE - 1, 4.0);
+        m.setEntry(0, 1, 2.0);
+        Assert.assertEquals(4.0, m.getEntry(2, Integer.MAX_VALUE - 1), 0);
+        Assert.assertEquals(2.0, m.getEntry(0, 1), 0);
+        Assert.assertEquals(0.0, m.getEntry(1, Integer.MAX_VALUE - 1), 0);
+    }
+
+    @Test
+    public void testLargeSparseProduct() {
+        final int n = 100000;
+        final OpenMapRealMatrix a = new OpenMapRealMatrix(n, n);
+        final OpenMapRealMatrix b = new OpenMapRealMatrix(n, n);
+        a.setEntry(n - 1, n - 2, 3.0);
+        a.setEntry(7, n - 2, 1.0);
+        b.setEntry(n - 2, n - 1, 2.0);
+        final OpenMapRealMatrix product = a.multiply(b);
+        Assert.assertEquals(6.0, product.getEntry(n - 1, n - 1), 0);
+        Assert.assertEquals(2.0, product.getEntry(7, n - 1), 0);
+        Assert.assertEquals(0.0, product.getEntry(n - 2, n - 1), 0);
+
+        final OpenMapRealMatrix sum = a.add(a);
+        Assert.assertEquals(6.0, sum.getEntry(n - 1, n - 2), 0);
+        Assert.assertEquals(0.0, sum.subtract(a).subtract(a).getEntry(n - 1, n - 2), 0);
     }
 
 }
\ No newline at end of file
@@ -18,6 +18,9 @@
 package org.apache.commons.math3.linear;
 
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.linear.SingularMatrixException;
 
 import org.junit.Assert;
@@ -259,4 +262,36 @@ public class QRDecompositionTest {
         return m;
     }
 
+    /** test the blocked algorithm gives the same decomposition, up to rounding */
+    @Test
+    public void testBlocked() {
+        final Random r = new Random(0x5152l);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final int p = BlockRealMatrix.BLOCK_SIZE;
+            for (final int[] dim : new int[][] { { 3 * p + 5, 2 * p + 7 }, { 2 * p + 7, 3 * p + 5 },
+                                                 { 2 * p, 2 * p }, { 3, 4 } }) {
+                final RealMatrix matrix = createTestMatrix(r, dim[0], dim[1]);
+                final double tolerance = 1.0e-13 * matrix.getNorm();
+                final QRDecomposition column     = new QRDecomposition(matrix);
+                final QRDecomposition sequential = new QRDecomposition(matrix, 0.0, null);
+                final QRDecomposition parallel   = new QRDecomposition(matrix, 0.0, executor);
+
+                // the tiles updates do not depend on the number of threads
+                Assert.assertEquals(sequential.getR(), parallel.getR());
+                Assert.assertEquals(sequential.getQ(), parallel.getQ());
+                Assert.assertEquals(sequential.getH(), parallel.getH());
+
+                Assert.assertEquals(0, column.getR().subtract(parallel.getR()).getNorm(), tolerance);
+                Assert.assertEquals(0, column.getQ().subtract(parallel.getQ()).getNorm(), 1.0e-12);
+                Assert.assertEquals(0, column.getH().subtract(parallel.getH()).getNorm(), 1.0e-12);
+                Assert.assertEquals(0,
+                                    parallel.getQ().multiply(parallel.getR()).subtract(matrix).getNorm(),
+                                    tolerance);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
@@ -684,5 +684,62 @@ public class SymmLQTest {
             solver.solve(a, m, b);
         }
     }
-}
 
+    @Test
+    public void testIterationsUseDestinationProducts() {
+        final int n = 5;
+        final HilbertMatrix hilbert = new HilbertMatrix(n);
+        final CountingOperator a = new CountingOperator(hilbert);
+        final CountingOperator m = new CountingOperator(JacobiPreconditioner.create(hilbert));
+        final SymmLQ solver = new SymmLQ(100, 1E-10, false);
+        final RealVector b = new ArrayRealVector(n, 1.0);
+        solver.solve(a, m, b);
+        final int iterations = solver.getIterationManager().getIterations();
+        Assert.assertTrue(iterations > 2);
+        // only the initialization phase allocates vectors, iterations reuse them
+        Assert.assertEquals(1, a.allocating);
+        Assert.assertEquals(3, m.allocating);
+        Assert.assertTrue(a.inPlace >= iterations - 2);
+        Assert.assertEquals(a.inPlace, m.inPlace);
+    }
+
+    /** Linear operator counting how its products are computed. */
+    private static class CountingOperator extends RealLinearOperator {
+
+        /** Underlying operator. */
+        private final RealLinearOperator delegate;
+
+        /** Number of products returning a new vector. */
+        private int allocating;
+
+        /** Number of products stored in an existing vector. */
+        private int inPlace;
+
+        CountingOperator(final RealLinearOperator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int getRowDimension() {
+            return delegate.getRowDimension();
+        }
+
+        @Override
+        public int getColumnDimension() {
+            return delegate.getColumnDimension();
+        }
+
+        @Override
+        public RealVector operate(final RealVector x) {
+            ++allocating;
+            return delegate.operate(x);
+        }
+
+        @Override
+        public RealVector operate(final RealVector x, final RealVector y) {
+            ++inPlace;
+            return delegate.operate(x, y);
+        }
+
+    }
+}
@@ -16,11 +16,17 @@
  */
 package org.apache.commons.math3.ml.clustering;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
 import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -159,6 +165,49 @@ public class DBSCANClustererTest {
         Assert.assertTrue(clusters.get(0).getPoints().containsAll(clusterOne));
     }
     
+    @Test
+    public void testIndexedSameAsBruteForce() {
+        final RandomGenerator random = new Well19937c(0x52fe1c3b7a9d6e04l);
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 3000; ++i) {
+            // a few dense blobs with some background noise
+            final double cx = 10 * (i % 5);
+            final double cy = 7 * (i % 3);
+            final double spread = (i % 10 == 0) ? 30 : 1.5;
+            points.add(new DoublePoint(new double[] {
+                cx + spread * random.nextGaussian(), cy + spread * random.nextGaussian()
+            }));
+        }
+
+        final NeighborIndexFactory bruteForce = new NeighborIndexFactory() {
+            public <T extends Clusterable> NeighborIndex<T> createIndex(Collection<T> data,
+                                                                        DistanceMeasure measure) {
+                return new BruteForceNeighborIndex<T>(data, measure);
+            }
+        };
+        final List<Cluster<DoublePoint>> expected =
+                new DBSCANClusterer<DoublePoint>(0.4, 8, new EuclideanDistance(), bruteForce).cluster(points);
+        final List<Cluster<DoublePoint>> actual =
+                new DBSCANClusterer<DoublePoint>(0.4, 8).cluster(points);
+
+        Assert.assertTrue(expected.size() > 1);
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(expected.get(i).getPoints(), actual.get(i).getPoints());
+        }
+    }
+
+    @Test
+    public void testGetNeighborIndexFactory() {
+        final DBSCANClusterer<DoublePoint> transformer = new DBSCANClusterer<DoublePoint>(2.0, 5);
+        Assert.assertTrue(transformer.getNeighborIndexFactory() instanceof DefaultNeighborIndexFactory);
+    }
+
+    @Test(expected = NullArgumentException.class)
+    public void testNullIndexFactory() {
+        new DBSCANClusterer<DoublePoint>(2.0, 5, new EuclideanDistance(), null);
+    }
+
     @Test
     public void testGetEps() {
         final DBSCANClusterer<DoublePoint> transformer = new DBSCANClusterer<DoublePoint>(2.0, 5);
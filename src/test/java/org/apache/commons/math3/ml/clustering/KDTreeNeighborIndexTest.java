@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.ml.distance.CanberraDistance;
+import org.apache.commons.math3.ml.distance.ChebyshevDistance;
+import org.apache.commons.math3.ml.distance.DistanceMeasure;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.ml.distance.ManhattanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.Precision;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KDTreeNeighborIndexTest {
+
+    @Test
+    public void testSameAsBruteForce() {
+        final RandomGenerator random = new Well19937c(0x7c2fd8a1e5b4409cl);
+        final DistanceMeasure[] measures = {
+            new EuclideanDistance(), new ManhattanDistance(), new ChebyshevDistance()
+        };
+        for (final int dimension : new int[] { 1, 2, 3, 5 }) {
+            final List<DoublePoint> points = createPoints(random, 2000, dimension);
+            for (final DistanceMeasure measure : measures) {
+                final NeighborIndex<DoublePoint> tree  =
+                        new KDTreeNeighborIndex<DoublePoint>(points, measure);
+                final NeighborIndex<DoublePoint> brute =
+                        new BruteForceNeighborIndex<DoublePoint>(points, measure);
+                for (int i = 0; i < 100; ++i) {
+                    final DoublePoint query = points.get(random.nextInt(points.size()));
+                    for (final double radius : new double[] { 0.0, 0.5, 1.0, 3.0, 50.0 }) {
+                        Assert.assertEquals(brute.getNeighbors(query, radius),
+                                            tree.getNeighbors(query, radius));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicatePoints() {
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 100; ++i) {
+            points.add(new DoublePoint(new double[] { 1.0, 2.0 }));
+        }
+        points.add(new DoublePoint(new double[] { 5.0, 2.0 }));
+        final NeighborIndex<DoublePoint> tree =
+                new KDTreeNeighborIndex<DoublePoint>(points, new EuclideanDistance());
+
+        final List<DoublePoint> neighbors = tree.getNeighbors(points.get(17), 0.0);
+        Assert.assertEquals(99, neighbors.size());
+        for (final DoublePoint neighbor : neighbors) {
+            Assert.assertNotSame(points.get(17), neighbor);
+        }
+        Assert.assertEquals(100, tree.getNeighbors(points.get(100), 4.0).size());
+        Assert.assertEquals(0, tree.getNeighbors(points.get(100), 3.99).size());
+    }
+
+    @Test
+    public void testEmpty() {
+        final NeighborIndex<DoublePoint> tree =
+                new KDTreeNeighborIndex<DoublePoint>(new ArrayList<DoublePoint>(),
+                                                     new EuclideanDistance());
+        Assert.assertTrue(tree.getNeighbors(new DoublePoint(new double[] { 0.0 }), 1.0).isEmpty());
+    }
+
+    @Test(expected = MathIllegalArgumentException.class)
+    public void testUnsupportedMeasure() {
+        new KDTreeNeighborIndex<DoublePoint>(new ArrayList<DoublePoint>(), new CanberraDistance());
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testDimensionMismatch() {
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        points.add(new DoublePoint(new double[] { 1.0, 2.0 }));
+        points.add(new DoublePoint(new double[] { 1.0, 2.0, 3.0 }));
+        new KDTreeNeighborIndex<DoublePoint>(points, new EuclideanDistance());
+    }
+
+    @Test
+    public void testDefaultFactory() {
+        final RandomGenerator random = new Well19937c(0x3a7b5c19e2d4f681l);
+        final List<DoublePoint> points = createPoints(random, 1000, 2);
+        final NeighborIndexFactory factory = new DefaultNeighborIndexFactory();
+        Assert.assertTrue(factory.createIndex(points, new EuclideanDistance()) instanceof KDTreeNeighborIndex);
+        Assert.assertTrue(factory.createIndex(points, new CanberraDistance()) instanceof BruteForceNeighborIndex);
+        Assert.assertTrue(factory.createIndex(points.subList(0, 10), new EuclideanDistance()) instanceof BruteForceNeighborIndex);
+    }
+
+    private List<DoublePoint> createPoints(final RandomGenerator random, final int n, final int dimension) {
+        final List<DoublePoint> points = new ArrayList<DoublePoint>(n);
+        for (int i = 0; i < n; ++i) {
+            final double[] p = new double[dimension];
+            for (int j = 0; j < dimension; ++j) {
+                // use a coarse grid so that some points share coordinates
+                p[j] = Precision.round(10 * random.nextDouble(), 1);
+            }
+            points.add(new DoublePoint(p));
+        }
+        return points;
+    }
+
+}
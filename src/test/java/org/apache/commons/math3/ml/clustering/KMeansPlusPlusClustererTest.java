@@ -21,11 +21,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.ml.distance.EuclideanDistance;
 import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -188,4 +192,65 @@ public class KMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    public void testParallelSameAsSerial() {
+        // enough points to span several chunks
+        final RandomGenerator data = new Well19937c(0x5a7e1d9bl);
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 10000; ++i) {
+            final int c = data.nextInt(5);
+            points.add(new DoublePoint(new double[] {
+                10 * c + data.nextGaussian(), -7 * c + data.nextGaussian(), data.nextDouble()
+            }));
+        }
+
+        final List<CentroidCluster<DoublePoint>> expected =
+                new KMeansPlusPlusClusterer<DoublePoint>(5, 100, new EuclideanDistance(),
+                                                         new Well19937c(42)).cluster(points);
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        final ExecutorService pool   = Executors.newFixedThreadPool(4);
+        try {
+            final List<CentroidCluster<DoublePoint>> actual =
+                    new KMeansPlusPlusClusterer<DoublePoint>(5, 100, new EuclideanDistance(),
+                                                             new Well19937c(42)).cluster(points, pool);
+            final List<CentroidCluster<DoublePoint>> reference =
+                    new KMeansPlusPlusClusterer<DoublePoint>(5, 100, new EuclideanDistance(),
+                                                             new Well19937c(42)).cluster(points, single);
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); ++i) {
+
+                // the chunks sums are merged in a fixed order, whatever the executor
+                Assert.assertArrayEquals(reference.get(i).getCenter().getPoint(),
+                                         actual.get(i).getCenter().getPoint(), 0.0);
+                Assert.assertEquals(reference.get(i).getPoints(), actual.get(i).getPoints());
+
+                // only the summation order differs from the serial computation
+                Assert.assertArrayEquals(expected.get(i).getCenter().getPoint(),
+                                         actual.get(i).getCenter().getPoint(), 1.0e-12);
+                Assert.assertEquals(expected.get(i).getPoints(), actual.get(i).getPoints());
+
+                // once converged, serial centers are the plain centroids of their points
+                final double[] centroid = new double[3];
+                for (final DoublePoint p : expected.get(i).getPoints()) {
+                    for (int j = 0; j < centroid.length; ++j) {
+                        centroid[j] += p.getPoint()[j];
+                    }
+                }
+                for (int j = 0; j < centroid.length; ++j) {
+                    centroid[j] /= expected.get(i).getPoints().size();
+                }
+                Assert.assertArrayEquals(centroid, expected.get(i).getCenter().getPoint(), 0.0);
+            }
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullExecutor() {
+        new KMeansPlusPlusClusterer<DoublePoint>(1, 1, new EuclideanDistance(), random).
+            cluster(Arrays.asList(new DoublePoint(new double[] { 1.0 })), null);
+    }
+
 }
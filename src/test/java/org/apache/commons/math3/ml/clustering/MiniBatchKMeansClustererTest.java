@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.math3.ml.clustering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.NoDataException;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MiniBatchKMeansClustererTest {
+
+    private static final double[][] CENTERS = {
+        { -10.0,  0.0 }, { 0.0, 10.0 }, { 10.0, 0.0 }
+    };
+
+    @Test
+    public void testCollection() {
+        final RandomGenerator data = new Well19937c(0x2c4a1l);
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 3000; ++i) {
+            points.add(blobPoint(data));
+        }
+
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(3, 100, 50, new EuclideanDistance(),
+                                                          new Well19937c(7));
+        final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(points);
+        Assert.assertEquals(3, clusters.size());
+        checkCenters(clusters, 0.3);
+
+        int total = 0;
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            Assert.assertTrue(cluster.getPoints().size() > 900);
+            total += cluster.getPoints().size();
+        }
+        Assert.assertEquals(points.size(), total);
+    }
+
+    @Test
+    public void testIterator() {
+        // points are generated on the fly and never stored
+        final int n = 100000;
+        final RandomGenerator data = new Well19937c(0x91e3l);
+        final Iterator<DoublePoint> iterator = new Iterator<DoublePoint>() {
+            private int count = 0;
+            public boolean hasNext() {
+                return count < n;
+            }
+            public DoublePoint next() {
+                ++count;
+                return blobPoint(data);
+            }
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(3, 256, 1, new EuclideanDistance(),
+                                                          new Well19937c(11));
+        final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(iterator);
+        Assert.assertEquals(3, clusters.size());
+        checkCenters(clusters, 0.05);
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            Assert.assertTrue(cluster.getPoints().isEmpty());
+        }
+
+        long total = 0;
+        for (final long count : clusterer.getCounts()) {
+            total += count;
+        }
+        Assert.assertEquals(n, total);
+    }
+
+    @Test
+    public void testPartialFit() {
+        final RandomGenerator data = new Well19937c(0x4d2l);
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(3, 50, 1, new EuclideanDistance(),
+                                                          new Well19937c(3));
+        Assert.assertTrue(clusterer.getClusters().isEmpty());
+        Assert.assertEquals(0, clusterer.getCounts().length);
+
+        final List<DoublePoint> batch = new ArrayList<DoublePoint>();
+        for (int b = 0; b < 200; ++b) {
+            batch.clear();
+            for (int i = 0; i < 50; ++i) {
+                batch.add(blobPoint(data));
+            }
+            clusterer.partialFit(batch);
+        }
+        checkCenters(clusterer.getClusters(), 0.1);
+
+        // each blob center is predicted in its own cluster
+        final int i0 = clusterer.predict(new DoublePoint(CENTERS[0]));
+        final int i1 = clusterer.predict(new DoublePoint(CENTERS[1]));
+        final int i2 = clusterer.predict(new DoublePoint(CENTERS[2]));
+        Assert.assertTrue(i0 != i1 && i1 != i2 && i0 != i2);
+
+        clusterer.reset();
+        Assert.assertTrue(clusterer.getClusters().isEmpty());
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testBatchSmallerThanK() {
+        new MiniBatchKMeansClusterer<DoublePoint>(5, 4, 10);
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testFirstBatchTooSmall() {
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(2, 10, 10);
+        clusterer.partialFit(Arrays.asList(new DoublePoint(new double[] { 1.0 })));
+    }
+
+    @Test(expected=NoDataException.class)
+    public void testEmptyIterator() {
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(2, 10, 10);
+        clusterer.cluster(new ArrayList<DoublePoint>().iterator());
+    }
+
+    @Test(expected=NoDataException.class)
+    public void testPredictBeforeFit() {
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(2, 10, 10);
+        clusterer.predict(new DoublePoint(new double[] { 1.0 }));
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testDimensionMismatch() {
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                new MiniBatchKMeansClusterer<DoublePoint>(1, 1, 10);
+        clusterer.partialFit(Arrays.asList(new DoublePoint(new double[] { 1.0 })));
+        clusterer.partialFit(Arrays.asList(new DoublePoint(new double[] { 1.0, 2.0 })));
+    }
+
+    private static DoublePoint blobPoint(final RandomGenerator data) {
+        final double[] center = CENTERS[data.nextInt(CENTERS.length)];
+        return new DoublePoint(new double[] {
+            center[0] + data.nextGaussian(), center[1] + data.nextGaussian()
+        });
+    }
+
+    private static void checkCenters(final List<CentroidCluster<DoublePoint>> clusters,
+                                     final double tolerance) {
+        for (final double[] expected : CENTERS) {
+            double best = Double.POSITIVE_INFINITY;
+            for (final CentroidCluster<DoublePoint> cluster : clusters) {
+                best = Math.min(best, new EuclideanDistance().compute(expected,
+                                                                      cluster.getCenter().getPoint()));
+            }
+            Assert.assertEquals(0.0, best, tolerance);
+        }
+    }
+
+}
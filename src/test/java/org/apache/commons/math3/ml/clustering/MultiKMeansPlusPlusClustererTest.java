@@ -18,8 +18,16 @@
 package org.apache.commons.math3.ml.clustering;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.math3.ml.distance.EuclideanDistance;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -95,4 +103,69 @@ public class MultiKMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    public void testParallelReproducible() {
+        final RandomGenerator data = new Well19937c(0x3c1dl);
+        final List<DoublePoint> points = new ArrayList<DoublePoint>();
+        for (int i = 0; i < 5000; ++i) {
+            final int c = data.nextInt(4);
+            points.add(new DoublePoint(new double[] {
+                5 * c + data.nextGaussian(), 3 * c * c + data.nextGaussian()
+            }));
+        }
+
+        // the parallel trials use one generator each, seeded from the parent one
+        final RandomGenerator parent = new Well19937c(17);
+        final long[] seeds = new long[3];
+        for (int i = 0; i < seeds.length; ++i) {
+            seeds[i] = parent.nextLong();
+        }
+        List<CentroidCluster<DoublePoint>> expected = null;
+        double bestVarianceSum = Double.POSITIVE_INFINITY;
+        for (final long seed : seeds) {
+            final List<CentroidCluster<DoublePoint>> clusters =
+                    new KMeansPlusPlusClusterer<DoublePoint>(4, 50, new EuclideanDistance(),
+                                                             new Well19937c(seed)).cluster(points);
+            final double varianceSum = varianceSum(clusters);
+            if (varianceSum <= bestVarianceSum) {
+                expected        = clusters;
+                bestVarianceSum = varianceSum;
+            }
+        }
+
+        for (final int nbThreads : new int[] { 1, 3 }) {
+            final MultiKMeansPlusPlusClusterer<DoublePoint> parallel =
+                new MultiKMeansPlusPlusClusterer<DoublePoint>(
+                        new KMeansPlusPlusClusterer<DoublePoint>(4, 50, new EuclideanDistance(),
+                                                                 new Well19937c(17)), 3);
+            final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+            try {
+                final List<CentroidCluster<DoublePoint>> actual = parallel.cluster(points, executor);
+                Assert.assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); ++i) {
+                    Assert.assertArrayEquals(expected.get(i).getCenter().getPoint(),
+                                             actual.get(i).getCenter().getPoint(), 0.0);
+                    Assert.assertEquals(expected.get(i).getPoints(), actual.get(i).getPoints());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private double varianceSum(final List<CentroidCluster<DoublePoint>> clusters) {
+        final EuclideanDistance distance = new EuclideanDistance();
+        double sum = 0;
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            if (!cluster.getPoints().isEmpty()) {
+                final Variance stat = new Variance();
+                for (final DoublePoint point : cluster.getPoints()) {
+                    stat.increment(distance.compute(point.getPoint(), cluster.getCenter().getPoint()));
+                }
+                sum += stat.getResult();
+            }
+        }
+        return sum;
+    }
+
 }
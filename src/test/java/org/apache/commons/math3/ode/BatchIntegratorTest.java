@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ode;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.apache.commons.math3.ode.events.EventHandler;
+import org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator;
+import org.apache.commons.math3.ode.sampling.StepHandler;
+import org.apache.commons.math3.ode.sampling.StepInterpolator;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchIntegratorTest {
+
+    @Test
+    public void testSameAsIndividualIntegrations() {
+        final double[][] y0 = initialStates(100);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BatchIntegrator batch = new BatchIntegrator(new DormandPrince853Provider(), 7);
+            Assert.assertEquals(7, batch.getChunkSize());
+            final BatchIntegrator.Result serial   = batch.integrate(vanDerPol, 0.0, y0, 10.0, null);
+            final BatchIntegrator.Result parallel = batch.integrate(vanDerPol, 0.0, y0, 10.0, null, executor);
+            Assert.assertEquals(y0.length, serial.size());
+            Assert.assertEquals(y0.length, parallel.size());
+
+            long total = 0;
+            for (int i = 0; i < y0.length; ++i) {
+                final FirstOrderIntegrator integrator = new DormandPrince853Provider().newIntegrator();
+                final double[] y = new double[2];
+                final double tEnd = integrator.integrate(vanDerPol, 0.0, y0[i], 10.0, y);
+                total += integrator.getEvaluations();
+                for (final BatchIntegrator.Result result : new BatchIntegrator.Result[] { serial, parallel }) {
+                    Assert.assertEquals(tEnd, result.getFinalTime(i), 0.0);
+                    Assert.assertArrayEquals(y, result.getFinalState(i), 0.0);
+                    Assert.assertEquals(integrator.getEvaluations(), result.getEvaluations(i));
+                }
+            }
+
+            final StatisticalSummary statistics = parallel.getEvaluationsStatistics();
+            Assert.assertEquals(y0.length, statistics.getN());
+            Assert.assertEquals(total, statistics.getSum(), 1.0e-10);
+            Assert.assertTrue(statistics.getMin() <= statistics.getMean());
+            Assert.assertTrue(statistics.getMax() >= statistics.getMean());
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStepHandlers() {
+        final double[][] y0 = initialStates(50);
+        final AtomicIntegerArray steps = new AtomicIntegerArray(y0.length);
+        final double[] lastTimes = new double[y0.length];
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            new BatchIntegrator(new DormandPrince853Provider()).integrate(vanDerPol, 0.0, y0, 5.0,
+                new BatchIntegrator.StepHandlerProvider() {
+                    public StepHandler newStepHandler(final int index) {
+                        return new StepHandler() {
+                            public void init(double t0, double[] y, double t) {
+                                Assert.assertArrayEquals(y0[index], y, 0.0);
+                            }
+                            public void handleStep(StepInterpolator interpolator, boolean isLast) {
+                                steps.incrementAndGet(index);
+                                if (isLast) {
+                                    lastTimes[index] = interpolator.getCurrentTime();
+                                }
+                            }
+                        };
+                    }
+                }, executor);
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i < y0.length; ++i) {
+            Assert.assertTrue(steps.get(i) > 0);
+            Assert.assertEquals(5.0, lastTimes[i], 1.0e-15);
+        }
+    }
+
+    @Test
+    public void testEvents() {
+        final double[][] y0 = initialStates(40);
+        final BatchIntegrator.Result result =
+                new BatchIntegrator(new BatchIntegrator.IntegratorProvider() {
+                    public FirstOrderIntegrator newIntegrator() {
+                        final FirstOrderIntegrator integrator = new DormandPrince853Provider().newIntegrator();
+                        // stop when first component crosses zero
+                        integrator.addEventHandler(new EventHandler() {
+                            public void init(double t0, double[] y, double t) {
+                            }
+                            public double g(double t, double[] y) {
+                                return y[0];
+                            }
+                            public Action eventOccurred(double t, double[] y, boolean increasing) {
+                                return Action.STOP;
+                            }
+                            public void resetState(double t, double[] y) {
+                            }
+                        }, 0.1, 1.0e-10, 100);
+                        return integrator;
+                    }
+                }, 3).integrate(vanDerPol, 0.0, y0, 20.0, null);
+        for (int i = 0; i < y0.length; ++i) {
+            Assert.assertTrue(result.getFinalTime(i) < 20.0);
+            Assert.assertEquals(0.0, result.getFinalState(i)[0], 1.0e-9);
+        }
+    }
+
+    @Test
+    public void testFailure() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new BatchIntegrator(new BatchIntegrator.IntegratorProvider() {
+                public FirstOrderIntegrator newIntegrator() {
+                    final FirstOrderIntegrator integrator = new DormandPrince853Provider().newIntegrator();
+                    integrator.setMaxEvaluations(100);
+                    return integrator;
+                }
+            }, 2).integrate(vanDerPol, 0.0, initialStates(10), 100.0, null, executor);
+            Assert.fail("an exception should have been thrown");
+        } catch (MaxCountExceededException mcee) {
+            // expected
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=DimensionMismatchException.class)
+    public void testWrongDimension() {
+        final double[][] y0 = initialStates(3);
+        y0[2] = new double[3];
+        new BatchIntegrator(new DormandPrince853Provider()).integrate(vanDerPol, 0.0, y0, 1.0, null);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullExecutor() {
+        new BatchIntegrator(new DormandPrince853Provider()).integrate(vanDerPol, 0.0, initialStates(3), 1.0, null, null);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testNullProvider() {
+        new BatchIntegrator(null);
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongChunkSize() {
+        new BatchIntegrator(new DormandPrince853Provider(), 0);
+    }
+
+    private double[][] initialStates(final int n) {
+        final double[][] y0 = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            final double theta = 2 * FastMath.PI * i / n;
+            y0[i] = new double[] { 0.5 + FastMath.cos(theta), FastMath.sin(theta) };
+        }
+        return y0;
+    }
+
+    private static class DormandPrince853Provider implements BatchIntegrator.IntegratorProvider {
+        public FirstOrderIntegrator newIntegrator() {
+            return new DormandPrince853Integrator(1.0e-8, 1.0, 1.0e-10, 1.0e-10);
+        }
+    }
+
+    /** Van der Pol oscillator, stateless and hence thread-safe. */
+    private final FirstOrderDifferentialEquations vanDerPol = new FirstOrderDifferentialEquations() {
+        public int getDimension() {
+            return 2;
+        }
+        public void computeDerivatives(double t, double[] y, double[] yDot) {
+            yDot[0] = y[1];
+            yDot[1] = 1.5 * (1 - y[0] * y[0]) * y[1] - y[0];
+        }
+    };
+
+}
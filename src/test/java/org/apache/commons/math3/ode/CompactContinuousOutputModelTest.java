@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.ode;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.exception.MathUnsupportedOperationException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.apache.commons.math3.ode.nonstiff.DormandPrince54Integrator;
+import org.apache.commons.math3.ode.nonstiff.DormandPrince853Integrator;
+import org.apache.commons.math3.ode.sampling.DummyStepInterpolator;
+import org.apache.commons.math3.ode.sampling.StepHandler;
+import org.apache.commons.math3.ode.sampling.StepInterpolator;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactContinuousOutputModelTest {
+
+    @Test
+    public void testRandomAccess() {
+
+        TestProblem3 pb = new TestProblem3(0.9);
+        FirstOrderIntegrator integ =
+                new DormandPrince54Integrator(0, pb.getFinalTime() - pb.getInitialTime(), 1.0e-8, 1.0e-8);
+        CompactContinuousOutputModel cm = new CompactContinuousOutputModel();
+        integ.addStepHandler(cm);
+        integ.integrate(pb,
+                        pb.getInitialTime(), pb.getInitialState(),
+                        pb.getFinalTime(), new double[pb.getDimension()]);
+        Assert.assertEquals(pb.getInitialTime(), cm.getInitialTime(), 1.0e-15);
+        Assert.assertEquals(pb.getFinalTime(),   cm.getFinalTime(),   1.0e-15);
+        Assert.assertEquals(cm.getFinalTime(),   cm.getInterpolatedTime(), 1.0e-15);
+
+        Random random = new Random(347588535632l);
+        double maxError = 0.0;
+        for (int i = 0; i < 1000; ++i) {
+            double r = random.nextDouble();
+            double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+            cm.setInterpolatedTime(time);
+            double[] interpolatedY = cm.getInterpolatedState();
+            double[] theoreticalY  = pb.computeTheoreticalState(time);
+            double dx = interpolatedY[0] - theoreticalY[0];
+            double dy = interpolatedY[1] - theoreticalY[1];
+            maxError = FastMath.max(maxError, dx * dx + dy * dy);
+        }
+        Assert.assertTrue(maxError < 1.0e-9);
+
+    }
+
+    @Test
+    public void testSameAsContinuousOutputModel() {
+        for (FirstOrderIntegrator integ : new FirstOrderIntegrator[] {
+            new DormandPrince853Integrator(0, 10.0, 1.0e-10, 1.0e-10),
+            new DormandPrince54Integrator(0, 10.0, 1.0e-10, 1.0e-10),
+            new ClassicalRungeKuttaIntegrator(0.01)
+        }) {
+            checkSameAsContinuousOutputModel(integ, new TestProblem3(0.9));
+            checkSameAsContinuousOutputModel(integ, new TestProblem5());
+        }
+    }
+
+    private void checkSameAsContinuousOutputModel(FirstOrderIntegrator integ, TestProblemAbstract pb) {
+
+        ContinuousOutputModel        reference = new ContinuousOutputModel();
+        CompactContinuousOutputModel compact   = new CompactContinuousOutputModel();
+        final List<double[]> derivatives = new ArrayList<double[]>();
+        integ.clearStepHandlers();
+        integ.addStepHandler(reference);
+        integ.addStepHandler(compact);
+        integ.addStepHandler(new StepHandler() {
+            public void init(double t0, double[] y0, double t) {
+            }
+            public void handleStep(StepInterpolator interpolator, boolean isLast) {
+                // record the interpolator derivatives inside the step,
+                // ignoring very short steps for which polynomial derivatives
+                // suffer from cancellation
+                if (FastMath.abs(interpolator.getCurrentTime() - interpolator.getPreviousTime()) < 1.0e-6) {
+                    return;
+                }
+                double t = 0.5 * (interpolator.getPreviousTime() + interpolator.getCurrentTime());
+                interpolator.setInterpolatedTime(t);
+                double[] yDot = interpolator.getInterpolatedDerivatives();
+                double[] entry = new double[yDot.length + 1];
+                entry[0] = t;
+                System.arraycopy(yDot, 0, entry, 1, yDot.length);
+                derivatives.add(entry);
+            }
+        });
+        integ.integrate(pb,
+                        pb.getInitialTime(), pb.getInitialState(),
+                        pb.getFinalTime(), new double[pb.getDimension()]);
+
+        Random random = new Random(0x6a1f9e35d2b07c48l);
+        for (int i = 0; i < 1000; ++i) {
+            double r = random.nextDouble();
+            double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+            reference.setInterpolatedTime(time);
+            compact.setInterpolatedTime(time);
+            double[] expectedY = reference.getInterpolatedState();
+            double[] y         = compact.getInterpolatedState();
+            for (int j = 0; j < y.length; ++j) {
+                Assert.assertEquals(expectedY[j], y[j], 1.0e-12);
+            }
+        }
+
+        for (double[] entry : derivatives) {
+            compact.setInterpolatedTime(entry[0]);
+            double[] yDot = compact.getInterpolatedDerivatives();
+            for (int j = 0; j < yDot.length; ++j) {
+                Assert.assertEquals(entry[j + 1], yDot[j], 1.0e-10 * FastMath.max(1.0, FastMath.abs(yDot[j])));
+            }
+        }
+
+    }
+
+    @Test
+    public void testSteps() {
+        CompactContinuousOutputModel cm = new CompactContinuousOutputModel(3, 0);
+        cm.handleStep(buildInterpolator(0.0, new double[] { 1.0, 2.0 }, 1.0), false);
+        cm.handleStep(buildInterpolator(1.0, new double[] { 3.0, 4.0 }, 3.0), true);
+        Assert.assertEquals(2, cm.getNumberOfSteps());
+        Assert.assertEquals(3, cm.getDegree());
+        Assert.assertEquals(0.0, cm.getInitialTime(), 1.0e-15);
+        Assert.assertEquals(3.0, cm.getFinalTime(), 1.0e-15);
+
+        // the dummy interpolator is constant on each step
+        cm.setInterpolatedTime(0.5);
+        Assert.assertEquals(1.0, cm.getInterpolatedState()[0], 1.0e-15);
+        Assert.assertEquals(0.0, cm.getInterpolatedDerivatives()[1], 1.0e-14);
+        cm.setInterpolatedTime(1.0);
+        Assert.assertEquals(3.0, cm.getInterpolatedState()[0], 1.0e-15);
+        cm.setInterpolatedTime(2.0);
+        Assert.assertEquals(4.0, cm.getInterpolatedState()[1], 1.0e-15);
+
+        // extrapolation
+        cm.setInterpolatedTime(-1.0);
+        Assert.assertEquals(1.0, cm.getInterpolatedState()[0], 1.0e-12);
+        cm.setInterpolatedTime(10.0);
+        Assert.assertEquals(4.0, cm.getInterpolatedState()[1], 1.0e-12);
+
+        // reinitialization
+        cm.init(0.0, new double[2], 1.0);
+        Assert.assertEquals(0, cm.getNumberOfSteps());
+        Assert.assertTrue(Double.isNaN(cm.getInitialTime()));
+    }
+
+    @Test
+    public void testSecondaryEquations() {
+
+        // primary: y[0] = cos(t), y[1] = sin(t), secondary: z[0] = t^2
+        ExpandableStatefulODE equations = new ExpandableStatefulODE(new FirstOrderDifferentialEquations() {
+            public int getDimension() {
+                return 2;
+            }
+            public void computeDerivatives(double t, double[] y, double[] yDot) {
+                yDot[0] = -y[1];
+                yDot[1] =  y[0];
+            }
+        });
+        equations.addSecondaryEquations(new SecondaryEquations() {
+            public int getDimension() {
+                return 1;
+            }
+            public void computeDerivatives(double t, double[] primary, double[] primaryDot,
+                                           double[] secondary, double[] secondaryDot) {
+                secondaryDot[0] = 2 * t;
+            }
+        });
+        equations.setTime(0.0);
+        equations.setPrimaryState(new double[] { 1.0, 0.0 });
+        equations.setSecondaryState(0, new double[] { 0.0 });
+
+        CompactContinuousOutputModel cm = new CompactContinuousOutputModel(CompactContinuousOutputModel.DEFAULT_DEGREE, 1);
+        DormandPrince853Integrator integ = new DormandPrince853Integrator(0, 1.0, 1.0e-12, 1.0e-12);
+        integ.addStepHandler(cm);
+        integ.integrate(equations, 5.0);
+
+        for (double t = 0; t < 5.0; t += 0.1) {
+            cm.setInterpolatedTime(t);
+            Assert.assertEquals(FastMath.cos(t), cm.getInterpolatedState()[0], 1.0e-10);
+            Assert.assertEquals(FastMath.cos(t), cm.getInterpolatedDerivatives()[1], 1.0e-8);
+            Assert.assertEquals(t * t, cm.getInterpolatedSecondaryState(0)[0], 1.0e-10);
+            Assert.assertEquals(2 * t, cm.getInterpolatedSecondaryDerivatives(0)[0], 1.0e-8);
+        }
+
+    }
+
+    @Test
+    public void testSaveLoad() throws IOException {
+
+        TestProblem5 pb = new TestProblem5();
+        FirstOrderIntegrator integ = new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10);
+        CompactContinuousOutputModel cm = new CompactContinuousOutputModel();
+        integ.addStepHandler(cm);
+        integ.integrate(pb,
+                        pb.getInitialTime(), pb.getInitialState(),
+                        pb.getFinalTime(), new double[pb.getDimension()]);
+
+        File file = File.createTempFile("dense-output", ".bin");
+        try {
+            cm.save(file);
+            CompactContinuousOutputModel loaded = CompactContinuousOutputModel.load(file);
+            Assert.assertEquals(cm.getNumberOfSteps(), loaded.getNumberOfSteps());
+            Assert.assertEquals(cm.getDegree(),        loaded.getDegree());
+            Assert.assertEquals(cm.getInitialTime(),   loaded.getInitialTime(), 0.0);
+            Assert.assertEquals(cm.getFinalTime(),     loaded.getFinalTime(), 0.0);
+            Assert.assertEquals(cm.getFinalTime(),     loaded.getInterpolatedTime(), 0.0);
+            Random random = new Random(0x3b8e1d4a9c2f7065l);
+            for (int i = 0; i < 100; ++i) {
+                double r = random.nextDouble();
+                double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+                cm.setInterpolatedTime(time);
+                loaded.setInterpolatedTime(time);
+                Assert.assertArrayEquals(cm.getInterpolatedState(), loaded.getInterpolatedState(), 0.0);
+                Assert.assertArrayEquals(cm.getInterpolatedDerivatives(), loaded.getInterpolatedDerivatives(), 0.0);
+            }
+
+            // loaded models are read-only
+            try {
+                loaded.handleStep(buildInterpolator(pb.getFinalTime(), new double[2], pb.getFinalTime() - 1), true);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathUnsupportedOperationException muoe) {
+                // expected
+            }
+
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+
+    }
+
+    @Test
+    public void testNotDenseOutputFile() throws IOException {
+        File file = File.createTempFile("dense-output", ".bin");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                                   17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30 });
+            out.close();
+            CompactContinuousOutputModel.load(file);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            // expected
+        } finally {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        CompactContinuousOutputModel cm = new CompactContinuousOutputModel();
+        Assert.assertEquals(0, cm.getNumberOfSteps());
+        Assert.assertTrue(Double.isNaN(cm.getInitialTime()));
+        Assert.assertTrue(Double.isNaN(cm.getFinalTime()));
+        try {
+            cm.setInterpolatedTime(1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            // expected
+        }
+        try {
+            cm.getInterpolatedState();
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            // expected
+        }
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testWrongDegree() {
+        new CompactContinuousOutputModel(0, 0);
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testWrongSecondarySets() {
+        new CompactContinuousOutputModel(3, -1);
+    }
+
+    private DummyStepInterpolator buildInterpolator(double t0, double[] y0, double t1) {
+        DummyStepInterpolator interpolator = new DummyStepInterpolator(y0, new double[y0.length], t1 >= t0);
+        interpolator.storeTime(t0);
+        interpolator.shift();
+        interpolator.storeTime(t1);
+        return interpolator;
+    }
+
+}
@@ -382,6 +382,22 @@ public final class ISAACTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Test
+    public void testSplit() {
+        ISAACRandom original  = new ISAACRandom(SEED_1);
+        ISAACRandom reference = new ISAACRandom(SEED_1);
+        ISAACRandom split = original.split();
+
+        // the split generator is seeded from the first values of the original sequence
+        int[] seed = new int[256];
+        for (int i = 0; i < seed.length; i++) {
+            seed[i] = reference.nextInt();
+        }
+        Assert.assertArrayEquals(getActualSequence(new ISAACRandom(seed)), getActualSequence(split));
+        Assert.assertArrayEquals(getActualSequence(reference), getActualSequence(original));
+
+    }
+
     private int[] getActualSequence(ISAACRandom isaacRandom) {
         int[] actualSequence = new int[1024];
         for (int i = 0; i < actualSequence.length; i++) {
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Base class for tests of generators able to jump ahead and split.
+ *
+ * Test classes should extend this class, implementing makeGenerator()
+ * as for {@link RandomGeneratorAbstractTest}, jump(generator, steps) to
+ * call the jump method of the concrete generator, and getStateSize() to
+ * provide the number of ints in the generator state, which is used to
+ * select jump lengths and offsets around the pool boundaries.
+ *
+ * @version $Id$
+ */
+public abstract class JumpableRandomGeneratorAbstractTest extends RandomGeneratorAbstractTest {
+
+    /**
+     * Override this method in subclasses to advance the generator.
+     * @param generator generator to advance, as returned by makeGenerator()
+     * @param steps number of steps to jump over
+     */
+    protected abstract void jump(RandomGenerator generator, long steps);
+
+    /**
+     * Override this method in subclasses to provide the state size.
+     * @return number of ints in the generator state
+     */
+    protected abstract int getStateSize();
+
+    @Test
+    public void testJump() {
+        final int r = getStateSize();
+        final int n = FastMath.max(2000, 3 * r);
+        for (long steps : new long[] { 1, 17, r - 1, r, r + 1, 2 * r + 7, 123457 }) {
+            for (int offset : new int[] { 0, 1, r / 2, r }) {
+                RandomGenerator stepped = makeGenerator();
+                RandomGenerator jumped  = makeGenerator();
+                for (int i = 0; i < offset; ++i) {
+                    stepped.nextInt();
+                    jumped.nextInt();
+                }
+                for (long i = 0; i < steps; ++i) {
+                    stepped.nextInt();
+                }
+                jump(jumped, steps);
+                for (int i = 0; i < n; ++i) {
+                    Assert.assertEquals(stepped.nextInt(), jumped.nextInt());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testJumpComposition() {
+        RandomGenerator twice = makeGenerator();
+        jump(twice, 1l << 40);
+        jump(twice, 1l << 40);
+        RandomGenerator once = makeGenerator();
+        jump(once, 1l << 41);
+        for (int i = 0; i < 2000; ++i) {
+            Assert.assertEquals(once.nextInt(), twice.nextInt());
+        }
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testNegativeJump() {
+        jump(makeGenerator(), -1);
+    }
+
+    @Test
+    public void testSplit() {
+        RandomGenerator original  = makeGenerator();
+        RandomGenerator reference = makeGenerator();
+        RandomGenerator jumped    = makeGenerator();
+        for (int i = 0; i < 100; ++i) {
+            original.nextInt();
+            reference.nextInt();
+            jumped.nextInt();
+        }
+        jump(jumped, 1l << 62);
+        RandomGenerator split = ((SplittableRandomGenerator) original).split();
+        Assert.assertEquals(original.getClass(), split.getClass());
+        for (int i = 0; i < 2000; ++i) {
+            Assert.assertEquals(reference.nextInt(), split.nextInt());
+            Assert.assertEquals(jumped.nextInt(), original.nextInt());
+        }
+    }
+
+}
@@ -19,7 +19,7 @@ package org.apache.commons.math3.random;
 import org.junit.Assert;
 import org.junit.Test;
 
-public class MersenneTwisterTest extends RandomGeneratorAbstractTest {
+public class MersenneTwisterTest extends JumpableRandomGeneratorAbstractTest {
 
     @Override
     protected RandomGenerator makeGenerator() {
@@ -301,4 +301,14 @@ public class MersenneTwisterTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Override
+    protected void jump(RandomGenerator generator, long steps) {
+        ((MersenneTwister) generator).jump(steps);
+    }
+
+    @Override
+    protected int getStateSize() {
+        return 624;
+    }
+
 }
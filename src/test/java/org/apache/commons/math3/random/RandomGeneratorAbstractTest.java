@@ -23,8 +23,11 @@ import org.apache.commons.math3.stat.Frequency;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.apache.commons.math3.exception.NumberIsTooLargeException;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -429,4 +432,47 @@ public abstract class RandomGeneratorAbstractTest extends RandomDataGeneratorTes
         Assert.assertTrue(Arrays.equals(values[0], values[1]));
     }
 
+    @Test
+    public void testBulkGeneration() {
+        Assume.assumeTrue(generator instanceof BitsStreamGenerator);
+        final BitsStreamGenerator bulk = (BitsStreamGenerator) generator;
+        final RandomGenerator single = makeGenerator();
+
+        // odd lengths exercise blocks boundaries and pairs of words
+        final double[] doubles = new double[1500];
+        bulk.nextDoubles(doubles, 3, 1497);
+        Assert.assertEquals(0.0, doubles[0], 0.0);
+        for (int i = 3; i < doubles.length; ++i) {
+            Assert.assertEquals(single.nextDouble(), doubles[i], 0.0);
+        }
+
+        final int[] ints = new int[2001];
+        bulk.nextInts(ints, 0, 1999);
+        for (int i = 0; i < 1999; ++i) {
+            Assert.assertEquals(single.nextInt(), ints[i]);
+        }
+        Assert.assertEquals(0, ints[2000]);
+
+        // the bulk methods leave the generator in the same state as the single ones
+        Assert.assertEquals(single.nextLong(), bulk.nextLong());
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testBulkGenerationTooLong() {
+        Assume.assumeTrue(generator instanceof BitsStreamGenerator);
+        ((BitsStreamGenerator) generator).nextDoubles(new double[10], 5, 6);
+    }
+
+    @Test(expected=NumberIsTooLargeException.class)
+    public void testBulkGenerationLengthOverflow() {
+        Assume.assumeTrue(generator instanceof BitsStreamGenerator);
+        ((BitsStreamGenerator) generator).nextInts(new int[10], 1, Integer.MAX_VALUE);
+    }
+
+    @Test(expected=NotPositiveException.class)
+    public void testBulkGenerationNegativeStart() {
+        Assume.assumeTrue(generator instanceof BitsStreamGenerator);
+        ((BitsStreamGenerator) generator).nextInts(new int[10], -1, 2);
+    }
+
 }
@@ -16,8 +16,14 @@
  */
 package org.apache.commons.math3.random;
 
+import java.util.List;
 import java.util.Random;
 
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
 /**
  * Test cases for the {@link RandomGeneratorFactory} class.
  *
@@ -31,4 +37,31 @@ public class RandomGeneratorFactoryTest extends RandomGeneratorAbstractTest {
         generator.setSeed(1001);
         return generator;
     }
+
+    @Test
+    public void testIndependentGenerators() {
+        List<RandomGenerator> generators =
+                RandomGeneratorFactory.createIndependentGenerators(new Well1024a(1001), 4);
+        Assert.assertEquals(4, generators.size());
+        for (int k = 0; k < generators.size(); ++k) {
+            // generator k starts k jumps of 2^62 steps ahead of the source
+            Well1024a reference = new Well1024a(1001);
+            for (int j = 0; j < k; ++j) {
+                reference.jump(1l << 62);
+            }
+            for (int i = 0; i < 100; ++i) {
+                Assert.assertEquals(reference.nextInt(), generators.get(k).nextInt());
+            }
+        }
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testIndependentGeneratorsNotPositive() {
+        RandomGeneratorFactory.createIndependentGenerators(new MersenneTwister(1001), 0);
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testIndependentGeneratorsNull() {
+        RandomGeneratorFactory.createIndependentGenerators(null, 4);
+    }
 }
@@ -19,7 +19,7 @@ package org.apache.commons.math3.random;
 import org.junit.Assert;
 import org.junit.Test;
 
-public class Well19937cTest extends RandomGeneratorAbstractTest {
+public class Well19937cTest extends JumpableRandomGeneratorAbstractTest {
     
     @Override
     public RandomGenerator makeGenerator() {
@@ -112,4 +112,14 @@ public class Well19937cTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Override
+    protected void jump(RandomGenerator generator, long steps) {
+        ((Well19937c) generator).jump(steps);
+    }
+
+    @Override
+    protected int getStateSize() {
+        return ((AbstractWell) makeGenerator()).v.length;
+    }
+
 }
@@ -19,7 +19,7 @@ package org.apache.commons.math3.random;
 import org.junit.Assert;
 import org.junit.Test;
 
-public class Well44497bTest extends RandomGeneratorAbstractTest {
+public class Well44497bTest extends JumpableRandomGeneratorAbstractTest {
     
     @Override
     public RandomGenerator makeGenerator() {
@@ -112,4 +112,14 @@ public class Well44497bTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Override
+    protected void jump(RandomGenerator generator, long steps) {
+        ((Well44497b) generator).jump(steps);
+    }
+
+    @Override
+    protected int getStateSize() {
+        return ((AbstractWell) makeGenerator()).v.length;
+    }
+
 }
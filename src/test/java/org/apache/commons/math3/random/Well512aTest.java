@@ -19,7 +19,7 @@ package org.apache.commons.math3.random;
 import org.junit.Assert;
 import org.junit.Test;
 
-public class Well512aTest extends RandomGeneratorAbstractTest {
+public class Well512aTest extends JumpableRandomGeneratorAbstractTest {
     
     @Override
     public RandomGenerator makeGenerator() {
@@ -72,4 +72,14 @@ public class Well512aTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Override
+    protected void jump(RandomGenerator generator, long steps) {
+        ((Well512a) generator).jump(steps);
+    }
+
+    @Override
+    protected int getStateSize() {
+        return ((AbstractWell) makeGenerator()).v.length;
+    }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.random;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.distribution.ExponentialDistribution;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZigguratSamplerTest {
+
+    @Test
+    public void testGaussian() {
+        final RandomGenerator generator = new Well19937c(0x5a2c1f8ee5ae9c7bl);
+        // the bins include the tails beyond 3.4426, which use the slow path
+        final double[] quantiles = {
+            1.0e-5, 1.0e-4, 1.0e-3, 0.01, 0.05, 0.1, 0.2, 0.3, 0.4, 0.5,
+            0.6, 0.7, 0.8, 0.9, 0.95, 0.99, 0.999, 0.9999, 0.99999
+        };
+        final SummaryStatistics stats = new SummaryStatistics();
+        final long[] counts = new long[quantiles.length + 1];
+        final double[] limits = limits(new NormalDistribution(), quantiles);
+        for (int i = 0; i < 1000000; ++i) {
+            final double x = ZigguratSampler.nextGaussian(generator);
+            stats.addValue(x);
+            ++counts[bin(x, limits)];
+        }
+        Assert.assertEquals(0.0, stats.getMean(), 0.003);
+        Assert.assertEquals(1.0, stats.getStandardDeviation(), 0.003);
+        TestUtils.assertChiSquareAccept(expected(quantiles, 1000000), counts, 0.001);
+    }
+
+    @Test
+    public void testExponential() {
+        final RandomGenerator generator = new Well19937c(0x5a2c1f8ee5ae9c7bl);
+        // the last bins are beyond 7.6971, which use the slow path
+        final double[] quantiles = {
+            0.01, 0.05, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 0.95, 0.99, 0.999, 0.9999, 0.99999
+        };
+        final SummaryStatistics stats = new SummaryStatistics();
+        final long[] counts = new long[quantiles.length + 1];
+        final double[] limits = limits(new ExponentialDistribution(1.0), quantiles);
+        for (int i = 0; i < 1000000; ++i) {
+            final double x = ZigguratSampler.nextExponential(generator);
+            Assert.assertTrue(x >= 0);
+            stats.addValue(x);
+            ++counts[bin(x, limits)];
+        }
+        Assert.assertEquals(1.0, stats.getMean(), 0.003);
+        Assert.assertEquals(1.0, stats.getStandardDeviation(), 0.003);
+        TestUtils.assertChiSquareAccept(expected(quantiles, 1000000), counts, 0.001);
+    }
+
+    @Test
+    public void testNormalizedGenerator() {
+        final NormalizedRandomGenerator normalized =
+                new ZigguratNormalizedRandomGenerator(new Well1024a(5l));
+        final RandomGenerator reference = new Well1024a(5l);
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(ZigguratSampler.nextGaussian(reference),
+                                normalized.nextNormalizedDouble(), 0.0);
+        }
+    }
+
+    private double[] limits(final RealDistribution distribution, final double[] quantiles) {
+        final double[] limits = new double[quantiles.length];
+        for (int i = 0; i < quantiles.length; ++i) {
+            limits[i] = distribution.inverseCumulativeProbability(quantiles[i]);
+        }
+        return limits;
+    }
+
+    private int bin(final double x, final double[] limits) {
+        int i = 0;
+        while (i < limits.length && x >= limits[i]) {
+            ++i;
+        }
+        return i;
+    }
+
+    private double[] expected(final double[] quantiles, final int n) {
+        final double[] expected = new double[quantiles.length + 1];
+        double previous = 0;
+        for (int i = 0; i < quantiles.length; ++i) {
+            expected[i] = n * (quantiles[i] - previous);
+            previous = quantiles[i];
+        }
+        expected[quantiles.length] = n * (1 - previous);
+        return expected;
+    }
+
+}
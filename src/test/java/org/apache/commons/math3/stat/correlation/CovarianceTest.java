@@ -16,11 +16,18 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -240,6 +247,43 @@ public class CovarianceTest {
                 new Covariance().covariance(x, y, true), Double.MIN_VALUE);
     }
 
+    @Test
+    public void testParallel() {
+        // several tiles and several row chunks
+        final RandomGenerator random = new Well1024a(0x7e3a4b1c92ef6d5dl);
+        final RealMatrix matrix = new Array2DRowRealMatrix(300, 130);
+        for (int i = 0; i < matrix.getRowDimension(); ++i) {
+            for (int j = 0; j < matrix.getColumnDimension(); ++j) {
+                matrix.setEntry(i, j, 10 * j + random.nextGaussian() * (1 + (j % 7)));
+            }
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final boolean biasCorrected : new boolean[] { true, false }) {
+                final RealMatrix serial   = new Covariance(matrix, biasCorrected).getCovarianceMatrix();
+                final RealMatrix parallel = new Covariance(matrix, biasCorrected, executor).getCovarianceMatrix();
+                TestUtils.assertEquals("covariance matrix", serial, parallel, 1.0e-12);
+                Assert.assertEquals(parallel, parallel.transpose());
+            }
+            final RealMatrix longley = createRealMatrix(longleyData, 16, 7);
+            final RealMatrix serial   = new Covariance(longley).getCovarianceMatrix();
+            final RealMatrix parallel = new Covariance(longley, true, executor).getCovarianceMatrix();
+            for (int i = 0; i < 7; ++i) {
+                for (int j = 0; j < 7; ++j) {
+                    Assert.assertEquals(serial.getEntry(i, j), parallel.getEntry(i, j),
+                                        1.0e-13 * FastMath.abs(serial.getEntry(i, j)));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        new Covariance(createRealMatrix(longleyData, 16, 7), true, null);
+    }
+
     protected RealMatrix createRealMatrix(double[] data, int nRows, int nCols) {
         double[][] matrixData = new double[nRows][nCols];
         int ptr = 0;
@@ -16,10 +16,16 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well1024a;
 import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
@@ -282,6 +288,45 @@ public class PearsonsCorrelationTest {
                 new PearsonsCorrelation().computeCorrelationMatrix(data), Double.MIN_VALUE);
     }
 
+    @Test
+    public void testParallel() {
+        final RealMatrix matrix = createRandomMatrix(300, 130, 0x2c94f0a81be6d3a7l);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final RealMatrix serial   = new PearsonsCorrelation(matrix).getCorrelationMatrix();
+            final RealMatrix parallel = new PearsonsCorrelation(matrix, executor).getCorrelationMatrix();
+            TestUtils.assertEquals("correlation matrix", serial, parallel, 1.0e-11);
+            TestUtils.assertEquals("correlation matrix", serial,
+                                   new PearsonsCorrelation().computeCorrelationMatrix(matrix, executor),
+                                   1.0e-11);
+            final RealMatrix longley = createRealMatrix(longleyData, 16, 7);
+            TestUtils.assertEquals("correlation matrix",
+                                   new PearsonsCorrelation(longley).getCorrelationMatrix(),
+                                   new PearsonsCorrelation(longley, executor).getCorrelationMatrix(),
+                                   1.0e-14);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        new PearsonsCorrelation(createRealMatrix(longleyData, 16, 7), null);
+    }
+
+    protected RealMatrix createRandomMatrix(int nRows, int nCols, long seed) {
+        // integer values, in order to have ties for rank correlation
+        final RandomGenerator random = new Well1024a(seed);
+        final RealMatrix matrix = new BlockRealMatrix(nRows, nCols);
+        for (int i = 0; i < nRows; ++i) {
+            final double common = random.nextInt(50);
+            for (int j = 0; j < nCols; ++j) {
+                matrix.setEntry(i, j, (j % 3) * common + random.nextInt(10 + j));
+            }
+        }
+        return matrix;
+    }
+
     protected RealMatrix createRealMatrix(double[] data, int nRows, int nCols) {
         double[][] matrixData = new double[nRows][nCols];
         int ptr = 0;
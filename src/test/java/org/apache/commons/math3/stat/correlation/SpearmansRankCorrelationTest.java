@@ -16,12 +16,17 @@
  */
 package org.apache.commons.math3.stat.correlation;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.commons.math3.linear.BlockRealMatrix;
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.stat.ranking.NaNStrategy;
 import org.apache.commons.math3.stat.ranking.NaturalRanking;
+import org.apache.commons.math3.stat.ranking.TiesStrategy;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -150,6 +155,37 @@ public class SpearmansRankCorrelationTest extends PearsonsCorrelationTest {
         Assert.assertEquals(0.5, spearman.getCorrelationMatrix().getEntry(0, 1), Double.MIN_VALUE);
     }
 
+    @Override
+    @Test
+    public void testParallel() {
+        final RealMatrix matrix = createRandomMatrix(300, 130, 0x51d7c0e93fa2b846l);
+        matrix.setEntry(17, 4, Double.NaN);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final NaNStrategy nanStrategy : new NaNStrategy[] { NaNStrategy.MAXIMAL, NaNStrategy.REMOVED }) {
+                for (final TiesStrategy tiesStrategy : new TiesStrategy[] { TiesStrategy.AVERAGE, TiesStrategy.MINIMUM }) {
+                    final NaturalRanking ranking = new NaturalRanking(nanStrategy, tiesStrategy);
+                    final RealMatrix serial =
+                            new SpearmansCorrelation(matrix, ranking).getCorrelationMatrix();
+                    final RealMatrix parallel =
+                            new SpearmansCorrelation(matrix, ranking, executor).getCorrelationMatrix();
+                    TestUtils.assertEquals("Spearman's correlation matrix", serial, parallel, 1.0e-11);
+                    TestUtils.assertEquals("Spearman's correlation matrix", serial,
+                                           new SpearmansCorrelation(ranking).computeCorrelationMatrix(matrix, executor),
+                                           1.0e-11);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    @Test(expected=NullArgumentException.class)
+    public void testParallelNullExecutor() {
+        new SpearmansCorrelation(createRealMatrix(longleyData, 16, 7), new NaturalRanking(), null);
+    }
+
     // Not relevant here
     @Override
     @Test
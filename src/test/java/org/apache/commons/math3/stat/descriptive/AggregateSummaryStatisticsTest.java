@@ -26,6 +26,7 @@ import org.apache.commons.math3.distribution.RealDistribution;
 import org.apache.commons.math3.distribution.UniformRealDistribution;
 import org.apache.commons.math3.distribution.IntegerDistribution;
 import org.apache.commons.math3.distribution.UniformIntegerDistribution;
+import org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile;
 import org.apache.commons.math3.util.Precision;
 import org.junit.Assert;
 import org.junit.Test;
@@ -68,6 +69,69 @@ public class AggregateSummaryStatisticsTest {
         Assert.assertTrue("Wrong aggregate sum", Precision.equals(42.0, aggregate.getSum(), 1));
     }
 
+    /**
+     * Tests aggregation of percentiles estimated in bounded memory
+     */
+    @Test
+    public void testAggregationPercentile() {
+        SummaryStatistics prototype = new SummaryStatistics();
+        prototype.setPercentileImpl(new TDigestPercentile(50.0));
+        AggregateSummaryStatistics aggregate = new AggregateSummaryStatistics(prototype);
+        SummaryStatistics setOneStats = aggregate.createContributingStatistics();
+        SummaryStatistics setTwoStats = aggregate.createContributingStatistics();
+
+        setOneStats.addValue(2);
+        setOneStats.addValue(3);
+        setOneStats.addValue(5);
+        setOneStats.addValue(7);
+        setOneStats.addValue(11);
+        Assert.assertEquals(5, setOneStats.getPercentile(), 0);
+
+        setTwoStats.addValue(2);
+        setTwoStats.addValue(4);
+        setTwoStats.addValue(8);
+        Assert.assertEquals(4, setTwoStats.getPercentile(), 0);
+
+        Assert.assertEquals(4.5, aggregate.getPercentile(), 0);
+        Assert.assertTrue(Double.isNaN(new AggregateSummaryStatistics().getPercentile()));
+    }
+
+    @Test
+    public void testAggregatePercentile() {
+        SummaryStatistics setOneStats = new SummaryStatistics();
+        setOneStats.setPercentileImpl(new TDigestPercentile(50.0));
+        SummaryStatistics setTwoStats = new SummaryStatistics();
+        setTwoStats.setPercentileImpl(new TDigestPercentile(50.0));
+        double[] setOne = {2, 3, 5, 7, 11};
+        double[] setTwo = {2, 4, 8};
+        for (double x : setOne) {
+            setOneStats.addValue(x);
+        }
+        for (double x : setTwo) {
+            setTwoStats.addValue(x);
+        }
+        Collection<SummaryStatistics> statistics = new ArrayList<SummaryStatistics>();
+        statistics.add(setOneStats);
+        statistics.add(setTwoStats);
+
+        TDigestPercentile percentile = AggregateSummaryStatistics.aggregatePercentile(statistics);
+        Assert.assertEquals(8, percentile.getN());
+        Assert.assertEquals(4.5, percentile.getResult(), 0);
+        Assert.assertEquals(2, percentile.getResult(1.0), 0);
+        Assert.assertEquals(11, percentile.getResult(100.0), 0);
+
+        // the sketches of the statistics are left untouched
+        Assert.assertEquals(5, setOneStats.getN());
+        Assert.assertEquals(5, setOneStats.getPercentile(), 0);
+        Assert.assertEquals(4, setTwoStats.getPercentile(), 0);
+
+        // percentiles cannot be aggregated without sketches
+        statistics.add(new SummaryStatistics());
+        Assert.assertNull(AggregateSummaryStatistics.aggregatePercentile(statistics));
+        Assert.assertNull(AggregateSummaryStatistics.aggregatePercentile(null));
+        Assert.assertNull(AggregateSummaryStatistics.aggregatePercentile(new ArrayList<SummaryStatistics>()));
+    }
+
     /**
      * Verify that aggregating over a partition gives the same results
      * as direct computation.
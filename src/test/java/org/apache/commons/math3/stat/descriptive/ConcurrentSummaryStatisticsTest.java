@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.exception.NotStrictlyPositiveException;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link ConcurrentSummaryStatistics} class.
+ *
+ * @version $Id$
+ */
+public class ConcurrentSummaryStatisticsTest {
+
+    @Test
+    public void testEmpty() {
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics();
+        Assert.assertEquals(0, stats.getN());
+        Assert.assertTrue(Double.isNaN(stats.getMean()));
+        Assert.assertTrue(Double.isNaN(stats.getVariance()));
+        Assert.assertTrue(Double.isNaN(stats.getMin()));
+        Assert.assertTrue(Double.isNaN(stats.getMax()));
+        Assert.assertEquals(0, stats.getSum(), 0);
+    }
+
+    @Test
+    public void testSingleThread() {
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics(3);
+        Assert.assertEquals(4, stats.getCellsCount());
+        final SummaryStatistics reference = new SummaryStatistics();
+        for (final double x : new double[] { 1, 2, 2, 3, 8, -4 }) {
+            stats.addValue(x);
+            reference.addValue(x);
+        }
+        checkSummary(reference, stats.getSummary(), 1.0e-14);
+        Assert.assertEquals(6, stats.getN());
+        stats.clear();
+        Assert.assertEquals(0, stats.getN());
+        Assert.assertTrue(Double.isNaN(stats.getMean()));
+    }
+
+    @Test
+    public void testConcurrentIngestion() throws Exception {
+        final int nThreads = 16;
+        final int nValues  = 20000;
+        final double[][] data = new double[nThreads][nValues];
+        final RandomGenerator random = new Well19937c(0x4c1f8e2a7b3d9065l);
+        final SummaryStatistics reference = new SummaryStatistics();
+        for (int i = 0; i < nThreads; ++i) {
+            for (int j = 0; j < nValues; ++j) {
+                data[i][j] = 100 + 15 * random.nextGaussian();
+                reference.addValue(data[i][j]);
+            }
+        }
+
+        final ConcurrentSummaryStatistics stats = new ConcurrentSummaryStatistics(8);
+        final ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < nThreads; ++i) {
+                final double[] values = data[i];
+                futures.add(executor.submit(new Callable<Void>() {
+                    public Void call() {
+                        for (final double value : values) {
+                            stats.addValue(value);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        checkSummary(reference, stats.getSummary(), 1.0e-10);
+        Assert.assertEquals(reference.getN(), stats.getN());
+    }
+
+    @Test(expected=NotStrictlyPositiveException.class)
+    public void testZeroCells() {
+        new ConcurrentSummaryStatistics(0);
+    }
+
+    private void checkSummary(final StatisticalSummary expected, final StatisticalSummary actual,
+                              final double relativeTolerance) {
+        Assert.assertEquals(expected.getN(), actual.getN());
+        Assert.assertEquals(expected.getMin(), actual.getMin(), 0);
+        Assert.assertEquals(expected.getMax(), actual.getMax(), 0);
+        Assert.assertEquals(expected.getSum(), actual.getSum(),
+                            relativeTolerance * FastMath.abs(expected.getSum()));
+        Assert.assertEquals(expected.getMean(), actual.getMean(),
+                            relativeTolerance * FastMath.abs(expected.getMean()));
+        Assert.assertEquals(expected.getVariance(), actual.getVariance(),
+                            relativeTolerance * expected.getVariance());
+    }
+
+}
@@ -22,6 +22,7 @@ import org.apache.commons.math3.TestUtils;
 import org.apache.commons.math3.stat.descriptive.moment.GeometricMean;
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
+import org.apache.commons.math3.stat.descriptive.rank.TDigestPercentile;
 import org.apache.commons.math3.stat.descriptive.summary.Sum;
 import org.apache.commons.math3.util.FastMath;
 import org.junit.Assert;
@@ -301,6 +302,33 @@ public class SummaryStatisticsTest {
     }
     
     
+    @Test
+    public void testPercentileImpl() {
+        SummaryStatistics u = createSummaryStatistics();
+        Assert.assertNull(u.getPercentileImpl());
+        u.addValue(1);
+        Assert.assertTrue(Double.isNaN(u.getPercentile()));
+        u.clear();
+        u.setPercentileImpl(new TDigestPercentile(50.0));
+        Assert.assertTrue(Double.isNaN(u.getPercentile()));
+        u.addValue(4);
+        u.addValue(1);
+        u.addValue(3);
+        u.addValue(2);
+        Assert.assertEquals(2.5, u.getPercentile(), 0);
+
+        // copies hold independent percentile implementations
+        SummaryStatistics v = u.copy();
+        Assert.assertNotSame(u.getPercentileImpl(), v.getPercentileImpl());
+        v.addValue(5);
+        Assert.assertEquals(2.5, u.getPercentile(), 0);
+        Assert.assertEquals(3.0, v.getPercentile(), 0);
+
+        u.clear();
+        Assert.assertTrue(Double.isNaN(u.getPercentile()));
+        Assert.assertEquals(0, u.getPercentileImpl().getN());
+    }
+
     /**
      * JIRA: MATH-691
      */
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.descriptive.rank;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.distribution.ExponentialDistribution;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.distribution.UniformRealDistribution;
+import org.apache.commons.math3.exception.NumberIsTooSmallException;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.stat.descriptive.StorelessUnivariateStatisticAbstractTest;
+import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link TDigestPercentile} class.
+ * @version $Id$
+ */
+public class TDigestPercentileTest extends StorelessUnivariateStatisticAbstractTest {
+
+    private static final double[] PERCENTILES = {
+        0.1, 1, 5, 10, 25, 50, 75, 90, 95, 99, 99.9
+    };
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UnivariateStatistic getUnivariateStatistic() {
+        return new TDigestPercentile();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double expectedValue() {
+        return this.median;
+    }
+
+    @Test
+    public void testSmallSampleExactMedian() {
+        final TDigestPercentile digest = new TDigestPercentile();
+        Assert.assertTrue(Double.isNaN(digest.getResult()));
+        digest.increment(3);
+        Assert.assertEquals(3, digest.getResult(), 0);
+        digest.increment(1);
+        Assert.assertEquals(2, digest.getResult(), 0);
+        digest.increment(7);
+        Assert.assertEquals(3, digest.getResult(), 0);
+        Assert.assertEquals(1, digest.getResult(1), 0);
+        Assert.assertEquals(7, digest.getResult(100), 0);
+    }
+
+    @Test
+    public void testNaNIgnored() {
+        final TDigestPercentile digest = new TDigestPercentile();
+        digest.incrementAll(new double[] { 1, Double.NaN, 2, 3 });
+        Assert.assertEquals(3, digest.getN());
+        Assert.assertEquals(2, digest.getResult(), 0);
+    }
+
+    @Test
+    public void testInfinite() {
+        final TDigestPercentile digest = new TDigestPercentile();
+        digest.incrementAll(new double[] {
+            Double.NEGATIVE_INFINITY, 1, 2, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY
+        });
+        Assert.assertEquals(2, digest.getResult(), 0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, digest.getResult(100), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, digest.getResult(1), 0);
+    }
+
+    @Test
+    public void testAccuracy() {
+        final RealDistribution[] distributions = {
+            new UniformRealDistribution(new Well19937c(0x8f3d2a7c4b91e605l), -5.0, 12.0),
+            new NormalDistribution(new Well19937c(0x1e4f7a3b2c9d8e60l), 10.0, 3.0, 1.0e-9),
+            new ExponentialDistribution(new Well19937c(0x6c0b5d1e9f2a3748l), 2.0, 1.0e-9)
+        };
+        for (final RealDistribution distribution : distributions) {
+            final double[] data = distribution.sample(100000);
+            final TDigestPercentile digest = new TDigestPercentile();
+            digest.incrementAll(data);
+            checkRankError(data, digest);
+            Assert.assertTrue(digest.getCentroidsCount() <= digest.getCompression() + 10);
+        }
+    }
+
+    @Test
+    public void testSortedInput() {
+        final double[] data = new double[50000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = i;
+        }
+        final TDigestPercentile digest = new TDigestPercentile();
+        digest.incrementAll(data);
+        checkRankError(data, digest);
+    }
+
+    @Test
+    public void testMerge() {
+        final RealDistribution distribution =
+                new NormalDistribution(new Well19937c(0x2d9c4e7f1a3b5068l), 0.0, 1.0, 1.0e-9);
+        final double[] data = distribution.sample(80000);
+
+        final List<TDigestPercentile> parts = new ArrayList<TDigestPercentile>();
+        for (int i = 0; i < 8; ++i) {
+            final TDigestPercentile part = new TDigestPercentile(99.0);
+            // use uneven partitions, some of them keeping values in the buffer
+            part.incrementAll(data, i * 10000, (i % 2 == 0) ? 10000 : 200);
+            parts.add(part);
+        }
+        final TDigestPercentile aggregated = TDigestPercentile.aggregate(parts);
+        Assert.assertEquals(99.0, aggregated.getQuantile(), 0);
+
+        final double[] used = new double[4 * 10000 + 4 * 200];
+        int k = 0;
+        for (int i = 0; i < 8; ++i) {
+            final int length = (i % 2 == 0) ? 10000 : 200;
+            System.arraycopy(data, i * 10000, used, k, length);
+            k += length;
+            Assert.assertEquals(length, parts.get(i).getN());
+        }
+        Assert.assertEquals(used.length, aggregated.getN());
+        checkRankError(used, aggregated);
+        Assert.assertNull(TDigestPercentile.aggregate(new ArrayList<TDigestPercentile>()));
+    }
+
+    @Test
+    public void testMergeEmpty() {
+        final TDigestPercentile digest = new TDigestPercentile();
+        digest.incrementAll(new double[] { 4, 5, 6 });
+        digest.merge(new TDigestPercentile());
+        Assert.assertEquals(5, digest.getResult(), 0);
+        final TDigestPercentile empty = new TDigestPercentile();
+        empty.merge(digest);
+        Assert.assertEquals(5, empty.getResult(), 0);
+        Assert.assertEquals(3, empty.getN());
+    }
+
+    @Test
+    public void testSetQuantile() {
+        final TDigestPercentile digest = new TDigestPercentile(10.0);
+        Assert.assertEquals(10.0, digest.getQuantile(), 0);
+        digest.setQuantile(90.0);
+        Assert.assertEquals(90.0, digest.getQuantile(), 0);
+        try {
+            digest.setQuantile(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OutOfRangeException oore) {
+            // expected
+        }
+        try {
+            digest.getResult(100.1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OutOfRangeException oore) {
+            // expected
+        }
+    }
+
+    @Test(expected=NumberIsTooSmallException.class)
+    public void testTooSmallCompression() {
+        new TDigestPercentile(50.0, 5.0);
+    }
+
+    private void checkRankError(final double[] data, final TDigestPercentile digest) {
+        final double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        for (final double p : PERCENTILES) {
+            final double estimate = digest.getResult(p);
+            // fraction of the data below the estimate
+            int index = Arrays.binarySearch(sorted, estimate);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            final double rank = 100.0 * index / sorted.length;
+            // centroids span about (2 pi / compression) sqrt(q (1 - q)) in rank
+            final double q = p / 100;
+            final double tolerance = 100 * FastMath.PI / digest.getCompression() *
+                                     FastMath.sqrt(q * (1 - q));
+            Assert.assertEquals("percentile " + p, p, rank, tolerance);
+        }
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.stat.regression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.TestUtils;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.commons.math3.util.ConcurrencyUtils;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QRUpdatingRegressionTest {
+
+    /** Longley data, Y values first, then independent variables. */
+    private static final double[] LONGLEY = new double[] {
+        60323, 83.0, 234289, 2356, 1590, 107608, 1947,
+        61122, 88.5, 259426, 2325, 1456, 108632, 1948,
+        60171, 88.2, 258054, 3682, 1616, 109773, 1949,
+        61187, 89.5, 284599, 3351, 1650, 110929, 1950,
+        63221, 96.2, 328975, 2099, 3099, 112075, 1951,
+        63639, 98.1, 346999, 1932, 3594, 113270, 1952,
+        64989, 99.0, 365385, 1870, 3547, 115094, 1953,
+        63761, 100.0, 363112, 3578, 3350, 116219, 1954,
+        66019, 101.2, 397469, 2904, 3048, 117388, 1955,
+        67857, 104.6, 419180, 2822, 2857, 118734, 1956,
+        68169, 108.4, 442769, 2936, 2798, 120445, 1957,
+        66513, 110.8, 444546, 4681, 2637, 121950, 1958,
+        68655, 112.6, 482704, 3813, 2552, 123366, 1959,
+        69564, 114.2, 502601, 3931, 2514, 125368, 1960,
+        69331, 115.7, 518173, 4806, 2572, 127852, 1961,
+        70551, 116.9, 554894, 4007, 2827, 130081, 1962
+    };
+
+    @Test
+    public void testLongley() {
+
+        // Estimate the model
+        QRUpdatingRegression model = new QRUpdatingRegression(6, true);
+        addLongley(model);
+        Assert.assertTrue(model.hasIntercept());
+        Assert.assertEquals(16, model.getN());
+
+        // Check expected beta values from NIST
+        // (Longley is ill-conditioned, the intercept is only accurate to about 3e-13 relative)
+        RegressionResults result = model.regress();
+        TestUtils.assertEquals(result.getParameterEstimates(),
+                new double[]{-3482258.63459582, 15.0618722713733,
+                    -0.358191792925910E-01, -2.02022980381683,
+                    -1.03322686717359, -0.511041056535807E-01,
+                    1829.15146461355}, 1E-6);
+
+        // Check standard errors from NIST
+        TestUtils.assertEquals(new double[]{890420.383607373,
+                    84.9149257747669,
+                    0.334910077722432E-01,
+                    0.488399681651699,
+                    0.214274163161675,
+                    0.226073200069370,
+                    455.478499142212}, result.getStdErrorOfEstimates(), 1E-6);
+
+        // Check R-Square statistics against R
+        TestUtils.assertEquals(0.995479004577296, result.getRSquared(), 1E-12);
+        TestUtils.assertEquals(0.992465007628826, result.getAdjustedRSquared(), 1E-12);
+
+        // Estimate model without intercept
+        model = new QRUpdatingRegression(6, false);
+        addLongley(model);
+        result = model.regress();
+        TestUtils.assertEquals(result.getParameterEstimates(),
+                new double[]{-52.99357013868291, 0.07107319907358,
+                    -0.42346585566399, -0.57256866841929,
+                    -0.41420358884978, 48.41786562001326}, 1E-11);
+        TestUtils.assertEquals(new double[]{129.54486693117232, 0.03016640003786,
+                    0.41773654056612, 0.27899087467676, 0.32128496193363,
+                    17.68948737819961}, result.getStdErrorOfEstimates(), 1E-11);
+        TestUtils.assertEquals(0.9999670130706, result.getRSquared(), 1E-12);
+        TestUtils.assertEquals(0.999947220913, result.getAdjustedRSquared(), 1E-12);
+
+    }
+
+    @Test
+    public void testSameAsOLS() {
+        final double[][] x = new double[1000][];
+        final double[]   y = new double[x.length];
+        createData(x, y, 5, 0x43e1a8f2c9b5d760l);
+
+        final OLSMultipleLinearRegression ols = new OLSMultipleLinearRegression();
+        ols.newSampleData(y, x);
+        final double[] expected = ols.estimateRegressionParameters();
+        final double[] expectedErrors = ols.estimateRegressionParametersStandardErrors();
+
+        final QRUpdatingRegression model = new QRUpdatingRegression(5, true);
+        model.addObservations(x, y);
+        final RegressionResults result = model.regress();
+        Assert.assertEquals(6, result.getNumberOfParameters());
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i], result.getParameterEstimate(i), 1.0e-12 * FastMath.abs(expected[i]));
+            Assert.assertEquals(expectedErrors[i], result.getStdErrorOfEstimate(i), 1.0e-10 * expectedErrors[i]);
+        }
+        Assert.assertEquals(ols.calculateResidualSumOfSquares(), result.getErrorSumSquares(),
+                            1.0e-10 * result.getErrorSumSquares());
+        Assert.assertEquals(ols.calculateRSquared(), result.getRSquared(), 1.0e-12);
+        Assert.assertEquals(ols.calculateAdjustedRSquared(), result.getAdjustedRSquared(), 1.0e-12);
+    }
+
+    @Test
+    public void testMerge() {
+        final double[][] x = new double[2000][];
+        final double[]   y = new double[x.length];
+        createData(x, y, 4, 0x1f6b0c3d8e7a9254l);
+
+        final QRUpdatingRegression reference = new QRUpdatingRegression(4, true);
+        reference.addObservations(x, y);
+        final RegressionResults expected = reference.regress();
+
+        // fit chunks of observations in several threads and merge the partial fits
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        final List<Future<QRUpdatingRegression>> tasks = new ArrayList<Future<QRUpdatingRegression>>();
+        try {
+            for (int start = 0; start < x.length; start += 300) {
+                final int s = start;
+                final int e = FastMath.min(x.length, start + 300);
+                tasks.add(executor.submit(new Callable<QRUpdatingRegression>() {
+                    public QRUpdatingRegression call() {
+                        final QRUpdatingRegression partial = new QRUpdatingRegression(4, true);
+                        for (int i = s; i < e; ++i) {
+                            partial.addObservation(x[i], y[i]);
+                        }
+                        return partial;
+                    }
+                }));
+            }
+            final QRUpdatingRegression merged = new QRUpdatingRegression(4, true);
+            for (final QRUpdatingRegression partial : ConcurrencyUtils.getAll(tasks)) {
+                merged.merge(partial);
+            }
+            Assert.assertEquals(x.length, merged.getN());
+            final RegressionResults result = merged.regress();
+            for (int i = 0; i < 5; ++i) {
+                Assert.assertEquals(expected.getParameterEstimate(i), result.getParameterEstimate(i),
+                                    1.0e-12 * FastMath.abs(expected.getParameterEstimate(i)));
+                Assert.assertEquals(expected.getStdErrorOfEstimate(i), result.getStdErrorOfEstimate(i),
+                                    1.0e-10 * expected.getStdErrorOfEstimate(i));
+            }
+            Assert.assertEquals(expected.getRSquared(), result.getRSquared(), 1.0e-12);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testMergeMismatch() {
+        new QRUpdatingRegression(4, true).merge(new QRUpdatingRegression(4, false));
+    }
+
+    @Test
+    public void testRedundantColumn() {
+        final double[][] x  = new double[200][];
+        final double[]   y  = new double[x.length];
+        createData(x, y, 3, 0x7c2d9e4b1a086f53l);
+        final double[][] x2 = new double[x.length][];
+        for (int i = 0; i < x.length; ++i) {
+            x2[i] = new double[] { x[i][0], x[i][1], x[i][0] + x[i][1], x[i][2] };
+        }
+
+        final QRUpdatingRegression model = new QRUpdatingRegression(3, true);
+        model.addObservations(x, y);
+        final RegressionResults result = model.regress();
+
+        final QRUpdatingRegression redundant = new QRUpdatingRegression(4, true);
+        redundant.addObservations(x2, y);
+        final RegressionResults resultRedundant = redundant.regress();
+
+        Assert.assertEquals(5, resultRedundant.getNumberOfParameters());
+        Assert.assertTrue(Double.isNaN(resultRedundant.getParameterEstimate(3)));
+        final int[] mapping = new int[] { 0, 1, 2, 4 };
+        for (int i = 0; i < 4; ++i) {
+            Assert.assertEquals(result.getParameterEstimate(i),
+                                resultRedundant.getParameterEstimate(mapping[i]), 1.0e-10);
+            Assert.assertEquals(result.getStdErrorOfEstimate(i),
+                                resultRedundant.getStdErrorOfEstimate(mapping[i]), 1.0e-10);
+        }
+        Assert.assertEquals(result.getErrorSumSquares(), resultRedundant.getErrorSumSquares(), 1.0e-8);
+        Assert.assertEquals(result.getAdjustedRSquared(), resultRedundant.getAdjustedRSquared(), 1.0e-10);
+    }
+
+    @Test
+    public void testSubsetRegression() {
+        final double[][] x = new double[300][];
+        final double[]   y = new double[x.length];
+        createData(x, y, 3, 0x58d4a1e7c03b2f96l);
+        final double[][] xReduced = new double[x.length][];
+        for (int i = 0; i < x.length; ++i) {
+            xReduced[i] = new double[] { x[i][0], x[i][2] };
+        }
+
+        final QRUpdatingRegression model = new QRUpdatingRegression(3, true);
+        model.addObservations(x, y);
+        final QRUpdatingRegression reduced = new QRUpdatingRegression(2, true);
+        reduced.addObservations(xReduced, y);
+
+        // duplicate indices are ignored
+        final RegressionResults subset  = model.regress(new int[] { 3, 0, 1, 3 });
+        final RegressionResults expected = reduced.regress();
+        TestUtils.assertEquals(expected.getParameterEstimates(), subset.getParameterEstimates(), 1.0e-12);
+        TestUtils.assertEquals(expected.getStdErrorOfEstimates(), subset.getStdErrorOfEstimates(), 1.0e-12);
+        Assert.assertEquals(expected.getRSquared(), subset.getRSquared(), 1.0e-12);
+
+        // the model is not changed by subset regressions
+        Assert.assertEquals(4, model.regress().getNumberOfParameters());
+    }
+
+    @Test
+    public void testSerialization() {
+        final QRUpdatingRegression model = new QRUpdatingRegression(6, true);
+        addLongley(model);
+        final QRUpdatingRegression recovered = (QRUpdatingRegression) TestUtils.serializeAndRecover(model);
+        Assert.assertEquals(model.getN(), recovered.getN());
+        TestUtils.assertEquals(model.regress().getParameterEstimates(),
+                               recovered.regress().getParameterEstimates(), 0.0);
+    }
+
+    @Test
+    public void testClear() {
+        final QRUpdatingRegression model = new QRUpdatingRegression(6, true);
+        addLongley(model);
+        model.clear();
+        Assert.assertEquals(0, model.getN());
+        addLongley(model);
+        TestUtils.assertEquals(-3482258.63459582, model.regress().getParameterEstimate(0), 1E-6);
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testNoRegressors() {
+        new QRUpdatingRegression(0, true);
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testWrongObservationLength() {
+        new QRUpdatingRegression(2, true).addObservation(new double[] { 1, 2, 3 }, 4);
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testDimensionMismatch() {
+        new QRUpdatingRegression(2, false).addObservations(new double[][] { { 1, 2 } }, new double[] { 1, 2 });
+    }
+
+    @Test(expected=ModelSpecificationException.class)
+    public void testNotEnoughData() {
+        final QRUpdatingRegression model = new QRUpdatingRegression(2, true);
+        model.addObservation(new double[] { 1, 2 }, 3);
+        model.addObservation(new double[] { 2, 1 }, 4);
+        model.regress();
+    }
+
+    private void addLongley(final QRUpdatingRegression model) {
+        // add half of the observations one at a time and the other half as a batch
+        final double[][] x = new double[8][];
+        final double[]   y = new double[8];
+        for (int i = 0; i < 16; ++i) {
+            final double[] row = new double[6];
+            System.arraycopy(LONGLEY, 7 * i + 1, row, 0, 6);
+            if (i < 8) {
+                model.addObservation(row, LONGLEY[7 * i]);
+            } else {
+                x[i - 8] = row;
+                y[i - 8] = LONGLEY[7 * i];
+            }
+        }
+        model.addObservations(x, y);
+    }
+
+    private void createData(final double[][] x, final double[] y, final int nvars, final long seed) {
+        final RandomGenerator random = new Well19937c(seed);
+        final double[] beta = new double[nvars + 1];
+        for (int j = 0; j <= nvars; ++j) {
+            beta[j] = 10 * random.nextDouble() - 5;
+        }
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = new double[nvars];
+            double yi = beta[0] + random.nextGaussian();
+            for (int j = 0; j < nvars; ++j) {
+                x[i][j] = 100 * random.nextDouble() + j;
+                yi += beta[j + 1] * x[i][j];
+            }
+            y[i] = yi;
+        }
+    }
+
+}
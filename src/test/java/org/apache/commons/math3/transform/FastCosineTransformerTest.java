@@ -53,13 +53,14 @@ public final class FastCosineTransformerTest
     public FastCosineTransformerTest(final DctNormalization normalization) {
         this.normalization = normalization;
         this.validDataSize = new int[] {
-            2, 3, 5, 9, 17, 33, 65, 129
+            2, 3, 5, 9, 17, 33, 65, 129, 4, 7, 12, 100, 128, 1001
         };
         this.invalidDataSize = new int[] {
-            128
+            1
         };
         this.relativeTolerance = new double[] {
-            1E-15, 1E-15, 1E-14, 1E-13, 1E-13, 1E-12, 1E-11, 1E-10
+            1E-15, 1E-15, 1E-14, 1E-13, 1E-13, 1E-12, 1E-11, 1E-10,
+            1E-13, 1E-13, 1E-12, 1E-11, 1E-10, 1E-9
         };
     }
 
@@ -237,14 +238,6 @@ public final class FastCosineTransformerTest
         } catch (IllegalArgumentException ex) {
             // expected
         }
-        try {
-            // bad samples number
-            transformer.transform(f, -1, 1, 64, TransformType.FORWARD);
-            Assert
-                .fail("Expecting IllegalArgumentException - bad samples number");
-        } catch (IllegalArgumentException ex) {
-            // expected
-        }
     }
 
     /** Test of transformer for the sine function. */
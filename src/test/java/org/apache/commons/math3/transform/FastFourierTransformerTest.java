@@ -23,6 +23,7 @@ import org.apache.commons.math3.analysis.function.Sin;
 import org.apache.commons.math3.analysis.function.Sinc;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.apache.commons.math3.exception.NoDataException;
 import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.util.FastMath;
@@ -46,68 +47,15 @@ public final class FastFourierTransformerTest {
      */
 
     @Test
-    public void testTransformComplexSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final Complex[] x = createComplexData(n);
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(x, type[j]);
-                    Assert.fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
-                }
-            }
-        }
-    }
-
-    @Test
-    public void testTransformRealSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final double[] x = createRealData(n);
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(x, type[j]);
-                    Assert.fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
-                }
-            }
-        }
-    }
-
-    @Test
-    public void testTransformFunctionSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final UnivariateFunction f = new Sin();
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
+    public void testTransformEmptyData() {
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+            for (final TransformType type : TransformType.values()) {
                 try {
-                    fft.transform(f, 0.0, Math.PI, n, type[j]);
-                    Assert.fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
+                    fft.transform(new Complex[0], type);
+                    Assert.fail(normalization + ", " + type +
+                        ": NoDataException was expected");
+                } catch (NoDataException e) {
                     // Expected behaviour
                 }
             }
@@ -352,6 +300,109 @@ public final class FastFourierTransformerTest {
         }
     }
 
+    @Test
+    public void testTransformComplexSizeNotAPowerOfTwo() {
+        final DftNormalization[] norm;
+        norm = DftNormalization.values();
+        final TransformType[] type;
+        type = TransformType.values();
+        for (int i = 0; i < norm.length; i++) {
+            for (int j = 0; j < type.length; j++) {
+                // mixed-radix sizes
+                doTestTransformComplex(3, 1.0E-14, norm[i], type[j]);
+                doTestTransformComplex(5, 1.0E-14, norm[i], type[j]);
+                doTestTransformComplex(6, 1.0E-14, norm[i], type[j]);
+                doTestTransformComplex(15, 1.0E-13, norm[i], type[j]);
+                doTestTransformComplex(60, 1.0E-12, norm[i], type[j]);
+                doTestTransformComplex(100, 1.0E-12, norm[i], type[j]);
+                doTestTransformComplex(1000, 1.0E-10, norm[i], type[j]);
+                // Bluestein sizes
+                doTestTransformComplex(7, 1.0E-13, norm[i], type[j]);
+                doTestTransformComplex(14, 1.0E-13, norm[i], type[j]);
+                doTestTransformComplex(127, 1.0E-11, norm[i], type[j]);
+                doTestTransformComplex(1009, 1.0E-10, norm[i], type[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testTransformRealSizeNotAPowerOfTwo() {
+        final DftNormalization[] norm;
+        norm = DftNormalization.values();
+        final TransformType[] type;
+        type = TransformType.values();
+        for (int i = 0; i < norm.length; i++) {
+            for (int j = 0; j < type.length; j++) {
+                doTestTransformReal(12, 1.0E-13, norm[i], type[j]);
+                doTestTransformReal(127, 1.0E-11, norm[i], type[j]);
+                doTestTransformReal(441, 1.0E-10, norm[i], type[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testTransformFunctionSizeNotAPowerOfTwo() {
+        final UnivariateFunction f = new Sinc();
+        final double min = -FastMath.PI;
+        final double max = FastMath.PI;
+        final DftNormalization[] norm;
+        norm = DftNormalization.values();
+        final TransformType[] type;
+        type = TransformType.values();
+        for (int i = 0; i < norm.length; i++) {
+            for (int j = 0; j < type.length; j++) {
+                doTestTransformFunction(f, min, max, 10, 1.0E-14, norm[i], type[j]);
+                doTestTransformFunction(f, min, max, 127, 1.0E-11, norm[i], type[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTripSizeNotAPowerOfTwo() {
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+            for (final int n : new int[] { 3, 45, 97, 250, 1001 }) {
+                final Complex[] x = createComplexData(n);
+                final Complex[] y = fft.transform(fft.transform(x, TransformType.FORWARD),
+                                                  TransformType.INVERSE);
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(x[i].getReal(),      y[i].getReal(),      1.0e-13);
+                    Assert.assertEquals(x[i].getImaginary(), y[i].getImaginary(), 1.0e-13);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTransformSplitArrays() {
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+            for (final TransformType type : TransformType.values()) {
+                for (int n = 1; n <= 128; n *= 2) {
+                    final Complex[] x = createComplexData(n);
+                    final double[] re = new double[n];
+                    final double[] im = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        re[i] = x[i].getReal();
+                        im[i] = x[i].getImaginary();
+                    }
+                    final Complex[] expected = fft.transform(x, type);
+                    fft.transform(re, im, type);
+                    for (int i = 0; i < n; i++) {
+                        Assert.assertEquals(expected[i].getReal(), re[i], 0.0);
+                        Assert.assertEquals(expected[i].getImaginary(), im[i], 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = MathIllegalArgumentException.class)
+    public void testTransformSplitArraysDimensionMismatch() {
+        new FastFourierTransformer(DftNormalization.STANDARD).transform(new double[8], new double[4],
+                                                                        TransformType.FORWARD);
+    }
+
     @Test
     public void testStandardTransformReal() {
         final DftNormalization[] norm;
@@ -53,13 +53,14 @@ public final class FastSineTransformerTest extends RealTransformerAbstractTest {
     public FastSineTransformerTest(final DstNormalization normalization) {
         this.normalization = normalization;
         this.validDataSize = new int[] {
-            1, 2, 4, 8, 16, 32, 64, 128
+            1, 2, 4, 8, 16, 32, 64, 128, 3, 6, 7, 100, 129, 1000
         };
         this.invalidDataSize = new int[] {
-            129
+            0
         };
         this.relativeTolerance = new double[] {
-            1E-15, 1E-15, 1E-14, 1E-14, 1E-13, 1E-12, 1E-11, 1E-11
+            1E-15, 1E-15, 1E-14, 1E-14, 1E-13, 1E-12, 1E-11, 1E-11,
+            1E-13, 1E-13, 1E-13, 1E-11, 1E-11, 1E-9
         };
     }
 
@@ -88,7 +89,9 @@ public final class FastSineTransformerTest extends RealTransformerAbstractTest {
     @Override
     double[] createRealData(final int n) {
         final double[] data = super.createRealData(n);
-        data[0] = 0.0;
+        if (n > 0) {
+            data[0] = 0.0;
+        }
         return data;
     }
 
@@ -290,12 +293,5 @@ public final class FastSineTransformerTest extends RealTransformerAbstractTest {
         } catch (IllegalArgumentException ex) {
             // expected
         }
-        try {
-            // bad samples number
-            transformer.transform(f, -1, 1, 100, TransformType.FORWARD);
-            Assert.fail("Expecting IllegalArgumentException - bad samples number");
-        } catch (IllegalArgumentException ex) {
-            // expected
-        }
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.transform;
+
+import java.util.Random;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.exception.DimensionMismatchException;
+import org.apache.commons.math3.exception.MathIllegalArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test case for Fourier transform plans.
+ *
+ * @version $Id$
+ */
+public final class FourierTransformPlanTest {
+
+    /** The common seed of all random number generators used in this test. */
+    private final static long SEED = 20131018L;
+
+    @Test(expected = MathIllegalArgumentException.class)
+    public void testSizeNotAPowerOfTwo() {
+        new FourierTransformPlan(127, DftNormalization.STANDARD);
+    }
+
+    @Test(expected = MathIllegalArgumentException.class)
+    public void testSizeZero() {
+        new FourierTransformPlan(0, DftNormalization.STANDARD);
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testComplexDimensionMismatch() {
+        new FourierTransformPlan(16, DftNormalization.STANDARD).transform(new double[16], new double[8],
+                                                                          TransformType.FORWARD);
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testRealDimensionMismatch() {
+        new FourierTransformPlan(16, DftNormalization.STANDARD).transformReal(new double[16],
+                                                                              new double[8], new double[8]);
+    }
+
+    @Test(expected = DimensionMismatchException.class)
+    public void testInverseRealDimensionMismatch() {
+        new FourierTransformPlan(16, DftNormalization.STANDARD).inverseTransformReal(new double[9], new double[9],
+                                                                                     new double[15]);
+    }
+
+    @Test
+    public void testGetters() {
+        final FourierTransformPlan plan = new FourierTransformPlan(32, DftNormalization.UNITARY);
+        Assert.assertEquals(32, plan.getSize());
+        Assert.assertEquals(DftNormalization.UNITARY, plan.getNormalization());
+    }
+
+    @Test
+    public void testTransformComplex() {
+        final Random random = new Random(SEED);
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+            for (int n = 1; n <= 1024; n *= 2) {
+                final FourierTransformPlan plan = new FourierTransformPlan(n, normalization);
+                for (final TransformType type : TransformType.values()) {
+                    final Complex[] x = new Complex[n];
+                    final double[] re = new double[n];
+                    final double[] im = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        re[i] = 2.0 * random.nextDouble() - 1.0;
+                        im[i] = 2.0 * random.nextDouble() - 1.0;
+                        x[i]  = new Complex(re[i], im[i]);
+                    }
+                    final Complex[] expected = fft.transform(x, type);
+                    plan.transform(re, im, type);
+                    for (int i = 0; i < n; i++) {
+                        Assert.assertEquals(expected[i].getReal(),      re[i], 1.0e-12);
+                        Assert.assertEquals(expected[i].getImaginary(), im[i], 1.0e-12);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTransformReal() {
+        final Random random = new Random(SEED);
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+            for (int n = 1; n <= 1024; n *= 2) {
+                final FourierTransformPlan plan = new FourierTransformPlan(n, normalization);
+                final double[] x = new double[n];
+                for (int i = 0; i < n; i++) {
+                    x[i] = 2.0 * random.nextDouble() - 1.0;
+                }
+                final double[] copy = x.clone();
+                final Complex[] expected = fft.transform(x, TransformType.FORWARD);
+                final double[] re = new double[n / 2 + 1];
+                final double[] im = new double[n / 2 + 1];
+                plan.transformReal(x, re, im);
+                Assert.assertArrayEquals(copy, x, 0.0);
+                for (int k = 0; k <= n / 2; k++) {
+                    Assert.assertEquals(expected[k].getReal(),      re[k], 1.0e-12);
+                    Assert.assertEquals(expected[k].getImaginary(), im[k], 1.0e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInverseTransformReal() {
+        final Random random = new Random(SEED);
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            for (int n = 1; n <= 1024; n *= 2) {
+                final FourierTransformPlan plan = new FourierTransformPlan(n, normalization);
+                final double[] x = new double[n];
+                for (int i = 0; i < n; i++) {
+                    x[i] = 2.0 * random.nextDouble() - 1.0;
+                }
+                final double[] re = new double[n / 2 + 1];
+                final double[] im = new double[n / 2 + 1];
+                plan.transformReal(x, re, im);
+                final double[] y = new double[n];
+                plan.inverseTransformReal(re, im, y);
+                Assert.assertArrayEquals(x, y, 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    public void testInverseTransformRealAgainstComplex() {
+        // the inverse real transform must agree with the complex inverse transform
+        // of the full conjugate-symmetric spectrum
+        final Random random = new Random(SEED);
+        final int n = 64;
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FourierTransformPlan plan = new FourierTransformPlan(n, normalization);
+            final double[] re = new double[n / 2 + 1];
+            final double[] im = new double[n / 2 + 1];
+            final double[] fullRe = new double[n];
+            final double[] fullIm = new double[n];
+            for (int k = 0; k <= n / 2; k++) {
+                re[k] = 2.0 * random.nextDouble() - 1.0;
+                im[k] = (k == 0 || k == n / 2) ? 0.0 : 2.0 * random.nextDouble() - 1.0;
+                fullRe[k] = re[k];
+                fullIm[k] = im[k];
+                if (k > 0 && k < n / 2) {
+                    fullRe[n - k] =  re[k];
+                    fullIm[n - k] = -im[k];
+                }
+            }
+            plan.transform(fullRe, fullIm, TransformType.INVERSE);
+            final double[] x = new double[n];
+            plan.inverseTransformReal(re, im, x);
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(fullRe[i], x[i], 1.0e-14);
+                Assert.assertEquals(0.0, fullIm[i], 1.0e-14);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.exception.MathInternalError;
+import org.apache.commons.math3.exception.NotPositiveException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for the {@link ConcurrencyUtils} class.
+ */
+public class ConcurrencyUtilsTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWaitForAll() {
+        final AtomicInteger counter = new AtomicInteger();
+        final List<Future<?>> tasks = new ArrayList<Future<?>>();
+        for (int i = 0; i < 20; ++i) {
+            tasks.add(executor.submit(new Runnable() {
+                public void run() {
+                    counter.incrementAndGet();
+                }
+            }));
+        }
+        ConcurrencyUtils.waitForAll(tasks);
+        Assert.assertEquals(20, counter.get());
+    }
+
+    @Test
+    public void testGetAll() {
+        final List<Future<Integer>> tasks = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 20; ++i) {
+            final int value = i;
+            tasks.add(executor.submit(new Callable<Integer>() {
+                public Integer call() {
+                    return value * value;
+                }
+            }));
+        }
+        final List<Integer> results = ConcurrencyUtils.getAll(tasks);
+        Assert.assertEquals(20, results.size());
+        for (int i = 0; i < 20; ++i) {
+            Assert.assertEquals(i * i, results.get(i).intValue());
+        }
+    }
+
+    @Test(expected = NotPositiveException.class)
+    public void testUncheckedExceptionRethrown() {
+        final List<Future<Integer>> tasks = new ArrayList<Future<Integer>>();
+        tasks.add(executor.submit(new Callable<Integer>() {
+            public Integer call() {
+                throw new NotPositiveException(-1);
+            }
+        }));
+        ConcurrencyUtils.waitForAll(tasks);
+    }
+
+    @Test(expected = MathInternalError.class)
+    public void testCheckedExceptionWrapped() {
+        final List<Future<Integer>> tasks = new ArrayList<Future<Integer>>();
+        tasks.add(executor.submit(new Callable<Integer>() {
+            public Integer call() throws Exception {
+                throw new Exception("checked");
+            }
+        }));
+        ConcurrencyUtils.waitForAll(tasks);
+    }
+
+}
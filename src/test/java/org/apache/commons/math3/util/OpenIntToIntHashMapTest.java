@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * Test cases for the {@link OpenIntToIntHashMap}.
+ */
+@SuppressWarnings("boxing")
+public class OpenIntToIntHashMapTest {
+
+    private Map<Integer, Integer> generate() {
+        final Map<Integer, Integer> map = new HashMap<Integer, Integer>();
+        final Random r = new Random(0x494e54l);
+        for (int i = 0; i < 2000; ++i) {
+            map.put(r.nextInt(), r.nextInt());
+        }
+        map.put(0, 17);
+        map.put(Integer.MIN_VALUE, -3);
+        return map;
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        final Map<Integer, Integer> javaMap = generate();
+        final OpenIntToIntHashMap map = new OpenIntToIntHashMap();
+        for (Map.Entry<Integer, Integer> entry : javaMap.entrySet()) {
+            Assert.assertEquals(0, map.put(entry.getKey(), entry.getValue()));
+        }
+        Assert.assertEquals(javaMap.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : javaMap.entrySet()) {
+            Assert.assertEquals(entry.getValue().intValue(), map.get(entry.getKey()));
+        }
+        Assert.assertEquals(17, map.remove(0));
+        Assert.assertEquals(0, map.get(0));
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertEquals(-1, new OpenIntToIntHashMap(4, -1).get(5));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        final Map<Integer, Integer> javaMap = generate();
+        final OpenIntToIntHashMap source = new OpenIntToIntHashMap();
+        for (Map.Entry<Integer, Integer> entry : javaMap.entrySet()) {
+            source.put(entry.getKey(), entry.getValue());
+        }
+
+        final OpenIntToIntHashMap map = new OpenIntToIntHashMap();
+        map.put(1, 1);
+        map.putAll(source);
+        map.remove(1);
+        map.trimToSize();
+        Assert.assertEquals(javaMap.size(), map.size());
+
+        final OpenIntToIntHashMap.Iterator iterator = map.sortedIterator();
+        for (Map.Entry<Integer, Integer> entry : new TreeMap<Integer, Integer>(javaMap).entrySet()) {
+            Assert.assertTrue(iterator.hasNext());
+            iterator.advance();
+            Assert.assertEquals(entry.getKey().intValue(), iterator.key());
+            Assert.assertEquals(entry.getValue().intValue(), iterator.value());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Test cases for the {@link OpenLongToDoubleHashMap}.
+ */
+@SuppressWarnings("boxing")
+public class OpenLongToDoubleHashMapTest {
+
+    private Map<Long, Double> javaMap = new HashMap<Long, Double>();
+
+    @Before
+    public void setUp() throws Exception {
+        javaMap.put(50l, 100.0);
+        javaMap.put(0l, -1.0);
+        javaMap.put(-1l, -2323.0);
+        javaMap.put(Long.MAX_VALUE, Double.MAX_VALUE);
+        javaMap.put(Long.MIN_VALUE, 44.0);
+        javaMap.put(1l + Integer.MAX_VALUE, 3.0);
+        javaMap.put(1l << 32, 4.0);
+        javaMap.put(1l, 5.0);
+
+        /* Add a few more to cause the table to rehash */
+        final Random r = new Random(0x4c4f4e47l);
+        for (int i = 0; i < 2000; ++i) {
+            javaMap.put(r.nextLong(), r.nextDouble());
+        }
+    }
+
+    private OpenLongToDoubleHashMap createFromJavaMap() {
+        OpenLongToDoubleHashMap map = new OpenLongToDoubleHashMap();
+        for (Map.Entry<Long, Double> mapEntry : javaMap.entrySet()) {
+            map.put(mapEntry.getKey(), mapEntry.getValue());
+        }
+        return map;
+    }
+
+    @Test
+    public void testPutAndGet() {
+        OpenLongToDoubleHashMap map = createFromJavaMap();
+        Assert.assertEquals(javaMap.size(), map.size());
+        for (Map.Entry<Long, Double> mapEntry : javaMap.entrySet()) {
+            Assert.assertTrue(map.containsKey(mapEntry.getKey()));
+            Assert.assertEquals(mapEntry.getValue(), map.get(mapEntry.getKey()), 0);
+        }
+        Assert.assertTrue(Double.isNaN(map.get(12345l)));
+        Assert.assertFalse(map.containsKey(12345l));
+    }
+
+    @Test
+    public void testKeysDifferingInHighBits() {
+        // keys with the same low 32 bits must not be confused
+        OpenLongToDoubleHashMap map = new OpenLongToDoubleHashMap(0.0);
+        for (long i = 0; i < 100; ++i) {
+            map.put((i << 32) | 7l, i);
+        }
+        Assert.assertEquals(100, map.size());
+        for (long i = 0; i < 100; ++i) {
+            Assert.assertEquals(i, map.get((i << 32) | 7l), 0);
+        }
+        Assert.assertEquals(0.0, map.get(7l << 32), 0);
+    }
+
+    @Test
+    public void testRemove() {
+        OpenLongToDoubleHashMap map = createFromJavaMap();
+        int mapSize = javaMap.size();
+        for (Map.Entry<Long, Double> mapEntry : javaMap.entrySet()) {
+            Assert.assertEquals(mapEntry.getValue(), map.remove(mapEntry.getKey()), 0);
+            Assert.assertEquals(--mapSize, map.size());
+            Assert.assertTrue(Double.isNaN(map.get(mapEntry.getKey())));
+        }
+        Assert.assertTrue(Double.isNaN(map.remove(50l)));
+    }
+
+    @Test
+    public void testCopy() {
+        OpenLongToDoubleHashMap copy =
+            new OpenLongToDoubleHashMap(createFromJavaMap());
+        Assert.assertEquals(javaMap.size(), copy.size());
+        for (Map.Entry<Long, Double> mapEntry : javaMap.entrySet()) {
+            Assert.assertEquals(mapEntry.getValue(), copy.get(mapEntry.getKey()), 0);
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        OpenLongToDoubleHashMap map = createFromJavaMap();
+        OpenLongToDoubleHashMap.Iterator iterator = map.iterator();
+        int n = 0;
+        while (iterator.hasNext()) {
+            iterator.advance();
+            Assert.assertEquals(javaMap.get(iterator.key()), iterator.value(), 0);
+            ++n;
+        }
+        Assert.assertEquals(javaMap.size(), n);
+    }
+
+    @Test
+    public void testSortedIterator() {
+        OpenLongToDoubleHashMap map = createFromJavaMap();
+        map.remove(50l);
+        final TreeMap<Long, Double> sorted = new TreeMap<Long, Double>(javaMap);
+        sorted.remove(50l);
+
+        OpenLongToDoubleHashMap.Iterator iterator = map.sortedIterator();
+        for (Map.Entry<Long, Double> entry : sorted.entrySet()) {
+            Assert.assertTrue(iterator.hasNext());
+            iterator.advance();
+            Assert.assertEquals(entry.getKey().longValue(), iterator.key());
+            Assert.assertEquals(entry.getValue(), iterator.value(), 0);
+        }
+        Assert.assertFalse(iterator.hasNext());
+
+        Assert.assertFalse(new OpenLongToDoubleHashMap().sortedIterator().hasNext());
+    }
+
+    @Test(expected=ConcurrentModificationException.class)
+    public void testSortedIteratorConcurrentModification() {
+        OpenLongToDoubleHashMap map = createFromJavaMap();
+        OpenLongToDoubleHashMap.Iterator iterator = map.sortedIterator();
+        map.put(3l, 3.0);
+        iterator.advance();
+    }
+
+    @Test
+    public void testPutAll() {
+        OpenLongToDoubleHashMap map = new OpenLongToDoubleHashMap();
+        map.put(50l, -7.0);
+        map.put(12345l, 8.0);
+        map.putAll(createFromJavaMap());
+        Assert.assertEquals(javaMap.size() + 1, map.size());
+        for (Map.Entry<Long, Double> mapEntry : javaMap.entrySet()) {
+            Assert.assertEquals(mapEntry.getValue(), map.get(mapEntry.getKey()), 0);
+        }
+        Assert.assertEquals(8.0, map.get(12345l), 0);
+    }
+
+    @Test
+    public void testTrimToSize() {
+        OpenLongToDoubleHashMap map = createFromJavaMap();
+        int n = 0;
+        for (Map.Entry<Long, Double> mapEntry : javaMap.entrySet()) {
+            if (n++ % 10 != 0) {
+                map.remove(mapEntry.getKey());
+            }
+        }
+        final int remaining = map.size();
+        map.trimToSize();
+        Assert.assertEquals(remaining, map.size());
+        n = 0;
+        for (Map.Entry<Long, Double> mapEntry : javaMap.entrySet()) {
+            if (n++ % 10 == 0) {
+                Assert.assertEquals(mapEntry.getValue(), map.get(mapEntry.getKey()), 0);
+            } else {
+                Assert.assertFalse(map.containsKey(mapEntry.getKey()));
+            }
+        }
+
+        // the map can grow again after trimming
+        map.put(-12l, 1.0);
+        Assert.assertEquals(remaining + 1, map.size());
+
+        OpenLongToDoubleHashMap empty = createFromJavaMap();
+        for (Long key : javaMap.keySet()) {
+            empty.remove(key);
+        }
+        empty.trimToSize();
+        Assert.assertEquals(0, empty.size());
+        empty.put(1l, 2.0);
+        Assert.assertEquals(2.0, empty.get(1l), 0);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.math3.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.apache.commons.math3.fraction.Fraction;
+import org.apache.commons.math3.fraction.FractionField;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * Test cases for the {@link OpenLongToFieldHashMap}.
+ */
+@SuppressWarnings("boxing")
+public class OpenLongToFieldHashMapTest {
+
+    private FractionField field = FractionField.getInstance();
+
+    private Map<Long, Fraction> generate() {
+        final Map<Long, Fraction> map = new HashMap<Long, Fraction>();
+        final Random r = new Random(0x4649454c44l);
+        for (int i = 0; i < 2000; ++i) {
+            map.put(r.nextLong(), new Fraction(r.nextInt(1000), 1 + r.nextInt(1000)));
+        }
+        map.put(0l, new Fraction(3, 4));
+        map.put(5l << 40, new Fraction(-1, 3));
+        return map;
+    }
+
+    private OpenLongToFieldHashMap<Fraction> create(final Map<Long, Fraction> javaMap) {
+        final OpenLongToFieldHashMap<Fraction> map = new OpenLongToFieldHashMap<Fraction>(field);
+        for (Map.Entry<Long, Fraction> entry : javaMap.entrySet()) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        final Map<Long, Fraction> javaMap = generate();
+        final OpenLongToFieldHashMap<Fraction> map = create(javaMap);
+        Assert.assertEquals(javaMap.size(), map.size());
+        for (Map.Entry<Long, Fraction> entry : javaMap.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Assert.assertEquals(field.getZero(), map.get(5l));
+        Assert.assertEquals(new Fraction(-1, 3), map.remove(5l << 40));
+        Assert.assertFalse(map.containsKey(5l << 40));
+        Assert.assertEquals(javaMap.size() - 1, map.size());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        final Map<Long, Fraction> javaMap = generate();
+        final OpenLongToFieldHashMap<Fraction> map = new OpenLongToFieldHashMap<Fraction>(field);
+        map.put(-7l, Fraction.ONE);
+        map.putAll(create(javaMap));
+        map.remove(-7l);
+        map.trimToSize();
+        Assert.assertEquals(javaMap.size(), map.size());
+
+        final OpenLongToFieldHashMap<Fraction>.Iterator iterator = map.sortedIterator();
+        for (Map.Entry<Long, Fraction> entry : new TreeMap<Long, Fraction>(javaMap).entrySet()) {
+            Assert.assertTrue(iterator.hasNext());
+            iterator.advance();
+            Assert.assertEquals(entry.getKey().longValue(), iterator.key());
+            Assert.assertEquals(entry.getValue(), iterator.value());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+}